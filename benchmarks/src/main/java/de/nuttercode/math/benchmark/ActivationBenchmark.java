@@ -0,0 +1,76 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.function.ActivationFunction;
+import de.nuttercode.math.function.Functions;
+
+/**
+ * the activation functions of {@link Functions}, applied element by element and
+ * in bulk. the functions are applied repeatedly on the same values, which stay
+ * in the range of the function - the cost of the kernels does not depend on the
+ * values.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class ActivationBenchmark {
+
+	@Param({ "1024", "65536" })
+	private int dimension;
+
+	@Param({ "SIGMOID", "TANH", "RELU" })
+	private String function;
+
+	private ActivationFunction activation;
+
+	private double[] values;
+
+	@Setup
+	public void setup() {
+		switch (function) {
+		case "TANH":
+			activation = Functions.TANH;
+			break;
+		case "RELU":
+			activation = Functions.RELU;
+			break;
+		default:
+			activation = Functions.SIGMOID;
+		}
+		values = Benchmarks.array(dimension, new Random(Benchmarks.SEED));
+	}
+
+	@Benchmark
+	public double[] apply() {
+		for (int i = 0; i < values.length; i++)
+			values[i] = activation.apply(values[i]);
+		return values;
+	}
+
+	@Benchmark
+	public double[] applyInPlace() {
+		activation.applyInPlace(values, 0, values.length);
+		return values;
+	}
+
+}
@@ -0,0 +1,88 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * shared settings and inputs of the benchmarks. all inputs are derived from
+ * {@link #SEED}, so every run measures the same data.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class Benchmarks {
+
+	/**
+	 * seed of every {@link Random} which creates inputs
+	 */
+	static final long SEED = 42;
+
+	/**
+	 * jvm argument which enables the vectorized kernels in the forked jvm
+	 */
+	static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+	private Benchmarks() {
+	}
+
+	/**
+	 * @param dimension
+	 * @param random
+	 * @return vector with uniformly distributed components in [-1, 1)
+	 */
+	static DoubleVector vector(int dimension, Random random) {
+		return new DoubleVector(array(dimension, random));
+	}
+
+	/**
+	 * @param length
+	 * @param random
+	 * @return array with uniformly distributed values in [-1, 1)
+	 */
+	static double[] array(int length, Random random) {
+		double[] array = new double[length];
+		for (int i = 0; i < length; i++)
+			array[i] = 2 * random.nextDouble() - 1;
+		return array;
+	}
+
+	/**
+	 * sets every value of the matrix with the given probability to a uniformly
+	 * distributed value in [-1, 1)
+	 * 
+	 * @param matrix
+	 * @param density probability of a value
+	 * @param random
+	 * @return matrix
+	 */
+	static <T extends DoubleMatrix> T fill(T matrix, double density, Random random) {
+		for (int i = 0; i < matrix.getRowCount(); i++)
+			for (int j = 0; j < matrix.getColumnCount(); j++)
+				if (density >= 1 || random.nextDouble() < density)
+					matrix.setValue(2 * random.nextDouble() - 1, i, j);
+		return matrix;
+	}
+
+	/**
+	 * @param rowCount
+	 * @param columnCount
+	 * @param density     expected fraction of mapped values
+	 * @param random
+	 * @return sparse matrix whose mapped values are chosen like in
+	 *         {@link #fill(DoubleMatrix, double, Random)} - the values are drawn
+	 *         per row, so large matrices with small densities are created in
+	 *         O(number of values)
+	 */
+	static SparseDoubleMatrix sparse(int rowCount, int columnCount, double density, Random random) {
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(rowCount, columnCount);
+		int valuesPerRow = Math.max(1, (int) Math.round(density * columnCount));
+		for (int i = 0; i < rowCount; i++)
+			for (int k = 0; k < valuesPerRow; k++)
+				matrix.setValue(2 * random.nextDouble() - 1, i, random.nextInt(columnCount));
+		return matrix;
+	}
+
+}
@@ -0,0 +1,98 @@
+package de.nuttercode.math.benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.Euclid;
+import de.nuttercode.math.parallel.Parallelism;
+
+/**
+ * {@link Euclid#gcd(BigInteger, BigInteger)} and {@link BigInteger#gcd(BigInteger)}
+ * of {@value #PAIR_COUNT} random pairs with the given number of bits and
+ * {@link Euclid#batchGcd(BigInteger[], Parallelism)} of {@value #MODULUS_COUNT}
+ * moduli with the given number of bits
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class BigIntegerGcdBenchmark {
+
+	private static final int PAIR_COUNT = 64;
+
+	private static final int MODULUS_COUNT = 128;
+
+	@Param({ "256", "1024", "4096" })
+	private int bits;
+
+	private BigInteger[] left;
+
+	private BigInteger[] right;
+
+	private BigInteger[] moduli;
+
+	private Parallelism parallelism;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		left = new BigInteger[PAIR_COUNT];
+		right = new BigInteger[PAIR_COUNT];
+		for (int p = 0; p < PAIR_COUNT; p++) {
+			left[p] = new BigInteger(bits, random);
+			right[p] = new BigInteger(bits, random);
+		}
+		moduli = new BigInteger[MODULUS_COUNT];
+		for (int m = 0; m < MODULUS_COUNT; m++)
+			moduli[m] = new BigInteger(bits, random).setBit(bits - 1);
+		parallelism = new Parallelism();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIR_COUNT)
+	public int lehmerGcd() {
+		int sum = 0;
+		for (int p = 0; p < PAIR_COUNT; p++)
+			sum += Euclid.gcd(left[p], right[p]).bitLength();
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIR_COUNT)
+	public int bigIntegerGcd() {
+		int sum = 0;
+		for (int p = 0; p < PAIR_COUNT; p++)
+			sum += left[p].gcd(right[p]).bitLength();
+		return sum;
+	}
+
+	@Benchmark
+	public BigInteger[] batchGcd() {
+		return Euclid.batchGcd(moduli, Parallelism.SEQUENTIAL);
+	}
+
+	@Benchmark
+	public BigInteger[] batchGcdParallel() {
+		return Euclid.batchGcd(moduli, parallelism);
+	}
+
+}
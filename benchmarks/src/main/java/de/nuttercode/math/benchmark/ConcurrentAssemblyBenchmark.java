@@ -0,0 +1,95 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.ConcurrentSparseDoubleMatrix;
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+
+/**
+ * parallel assembly of a banded sparse matrix with {@link #SIZE} rows by all
+ * available threads into a matrix whose band is already mapped - {@link ConcurrentSparseDoubleMatrix} against a
+ * {@link SparseDoubleMatrix} behind one global lock
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentAssemblyBenchmark {
+
+	private static final int SIZE = 1 << 16;
+
+	private static final int BAND = 3;
+
+	private ConcurrentSparseDoubleMatrix concurrent;
+
+	private SparseDoubleMatrix locked;
+
+	@State(Scope.Thread)
+	public static class Writer {
+
+		private final SplittableRandom random = new SplittableRandom(Benchmarks.SEED);
+
+		private int row;
+
+		private int column;
+
+		void next() {
+			row = random.nextInt(SIZE);
+			column = Math.floorMod(row + random.nextInt(2 * BAND + 1) - BAND, SIZE);
+		}
+
+	}
+
+	@Setup
+	public void setup() {
+		concurrent = new ConcurrentSparseDoubleMatrix(SIZE, SIZE);
+		locked = new SparseDoubleMatrix(SIZE, SIZE);
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = i - BAND; j <= i + BAND; j++) {
+				concurrent.setValue(1, i, Math.floorMod(j, SIZE));
+				locked.setValue(1, i, Math.floorMod(j, SIZE));
+			}
+		}
+	}
+
+	@Benchmark
+	public double addConcurrent(Writer writer) {
+		writer.next();
+		return concurrent.addToValue(1, writer.row, writer.column);
+	}
+
+	@Benchmark
+	public double addLocked(Writer writer) {
+		writer.next();
+		synchronized (locked) {
+			return locked.addToValue(1, writer.row, writer.column);
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public CsrDoubleMatrix freeze() {
+		return concurrent.freeze();
+	}
+
+}
@@ -0,0 +1,75 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.OffHeapDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * products of dense square matrices and vectors. {@link #multiply()} allocates
+ * its result, {@link #multiplyInto()} reuses it - the difference is visible
+ * with the gc profiler.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class DenseMatrixBenchmark {
+
+	@Param({ "64", "256", "1024" })
+	private int size;
+
+	@Param({ "FULL", "OFF_HEAP" })
+	private String storage;
+
+	private DoubleMatrix matrix;
+
+	private DoubleVector vector;
+
+	private DoubleVector result;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		matrix = "FULL".equals(storage) ? new FullDoubleMatrix(size, size) : new OffHeapDoubleMatrix(size, size);
+		Benchmarks.fill(matrix, 1, random);
+		vector = Benchmarks.vector(size, random);
+		result = new DoubleVector(size);
+	}
+
+	@Benchmark
+	public DoubleVector multiply() {
+		return matrix.multiply(vector);
+	}
+
+	@Benchmark
+	public DoubleVector multiplyInto() {
+		return matrix.multiply(vector, result);
+	}
+
+	@Benchmark
+	public DoubleVector multiplyTransposed() {
+		return matrix.multiplyTransposed(vector, result);
+	}
+
+}
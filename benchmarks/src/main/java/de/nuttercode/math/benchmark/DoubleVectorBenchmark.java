@@ -0,0 +1,78 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * the level 1 operations of {@link DoubleVector}. {@link #copy()} measures the
+ * allocation of a vector.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class DoubleVectorBenchmark {
+
+	@Param({ "16", "1024", "65536" })
+	private int dimension;
+
+	private DoubleVector left;
+
+	private DoubleVector right;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		left = Benchmarks.vector(dimension, random);
+		right = Benchmarks.vector(dimension, random);
+	}
+
+	@Benchmark
+	public double scalarProduct() {
+		return left.scalarProduct(right);
+	}
+
+	@Benchmark
+	public DoubleVector add() {
+		// alternating signs keep the values bounded
+		left.add(right, 1);
+		left.add(right, -1);
+		return left;
+	}
+
+	@Benchmark
+	public DoubleVector scale() {
+		left.scale(-1);
+		return left;
+	}
+
+	@Benchmark
+	public int getMaxIndex() {
+		return left.getMaxIndex();
+	}
+
+	@Benchmark
+	public DoubleVector copy() {
+		return new DoubleVector(left);
+	}
+
+}
@@ -0,0 +1,75 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.Euclid;
+
+/**
+ * {@link Euclid#gcd(long, long)} and {@link Euclid#binaryGcd(long, long)} of
+ * {@value #PAIR_COUNT} random pairs of non-negative values with the given
+ * number of bits
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class EuclidBenchmark {
+
+	private static final int PAIR_COUNT = 1024;
+
+	@Param({ "16", "32", "62" })
+	private int bits;
+
+	private long[] left;
+
+	private long[] right;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		left = new long[PAIR_COUNT];
+		right = new long[PAIR_COUNT];
+		for (int p = 0; p < PAIR_COUNT; p++) {
+			left[p] = random.nextLong() >>> (64 - bits);
+			right[p] = random.nextLong() >>> (64 - bits);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIR_COUNT)
+	public long gcd() {
+		long sum = 0;
+		for (int p = 0; p < PAIR_COUNT; p++)
+			sum += Euclid.gcd(left[p], right[p]);
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIR_COUNT)
+	public long binaryGcd() {
+		long sum = 0;
+		for (int p = 0; p < PAIR_COUNT; p++)
+			sum += Euclid.binaryGcd(left[p], right[p]);
+		return sum;
+	}
+
+}
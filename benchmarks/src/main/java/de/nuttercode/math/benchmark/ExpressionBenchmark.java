@@ -0,0 +1,77 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.expression.VectorExpression;
+import de.nuttercode.math.function.Functions;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * the layer sigmoid(W * x + b) of a neural network, evaluated by a fused
+ * {@link VectorExpression} and by three eager passes
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class ExpressionBenchmark {
+
+	@Param({ "1024", "16384" })
+	private int rowCount;
+
+	@Param({ "16", "256" })
+	private int columnCount;
+
+	private FullDoubleMatrix weights;
+
+	private DoubleVector input;
+
+	private DoubleVector bias;
+
+	private DoubleVector result;
+
+	private VectorExpression expression;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		weights = Benchmarks.fill(new FullDoubleMatrix(rowCount, columnCount), 1, random);
+		input = Benchmarks.vector(columnCount, random);
+		bias = Benchmarks.vector(rowCount, random);
+		result = new DoubleVector(rowCount);
+		expression = VectorExpression.product(weights, input).add(bias).map(Functions.SIGMOID);
+	}
+
+	@Benchmark
+	public DoubleVector fused() {
+		return expression.evaluate(result);
+	}
+
+	@Benchmark
+	public DoubleVector eager() {
+		weights.multiply(input, result);
+		result.add(bias);
+		Functions.SIGMOID.applyInPlace(result);
+		return result;
+	}
+
+}
@@ -0,0 +1,87 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.FullFloatMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.Accumulation;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.FloatVector;
+
+/**
+ * products of dense square matrices and vectors in single precision with both
+ * {@link Accumulation accumulations} and the same product in double precision
+ * as reference.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class FloatMatrixBenchmark {
+
+	@Param({ "256", "1024" })
+	private int size;
+
+	private FullDoubleMatrix doubleMatrix;
+
+	private DoubleVector doubleVector;
+
+	private DoubleVector doubleResult;
+
+	private FullFloatMatrix floatMatrix;
+
+	private FloatVector floatVector;
+
+	private FloatVector floatResult;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		doubleMatrix = Benchmarks.fill(new FullDoubleMatrix(size, size), 1, random);
+		doubleVector = Benchmarks.vector(size, random);
+		doubleResult = new DoubleVector(size);
+		floatMatrix = new FullFloatMatrix(doubleMatrix);
+		floatVector = new FloatVector(doubleVector);
+		floatResult = new FloatVector(size);
+	}
+
+	@Benchmark
+	public DoubleVector multiplyDouble() {
+		return doubleMatrix.multiply(doubleVector, doubleResult, Parallelism.SEQUENTIAL);
+	}
+
+	@Benchmark
+	public FloatVector multiplyFloat() {
+		return floatMatrix.multiply(floatVector, floatResult, Accumulation.FLOAT, Parallelism.SEQUENTIAL);
+	}
+
+	@Benchmark
+	public FloatVector multiplyFloatDoubleAccumulation() {
+		return floatMatrix.multiply(floatVector, floatResult, Accumulation.DOUBLE, Parallelism.SEQUENTIAL);
+	}
+
+	@Benchmark
+	public FloatVector multiplyTransposedFloat() {
+		return floatMatrix.multiplyTransposed(floatVector, floatResult, Accumulation.FLOAT, Parallelism.SEQUENTIAL);
+	}
+
+}
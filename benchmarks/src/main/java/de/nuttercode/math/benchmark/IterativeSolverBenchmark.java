@@ -0,0 +1,94 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.solver.ConjugateGradientSolver;
+import de.nuttercode.math.solver.IncompleteLUPreconditioner;
+import de.nuttercode.math.solver.JacobiPreconditioner;
+import de.nuttercode.math.solver.Preconditioner;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * {@link ConjugateGradientSolver} on the five-point discretization of the
+ * poisson equation on a grid x grid square with the right-hand side 1
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class IterativeSolverBenchmark {
+
+	@Param({ "32", "128" })
+	private int grid;
+
+	@Param({ "IDENTITY", "JACOBI", "ILU" })
+	private String preconditioner;
+
+	private ConjugateGradientSolver solver;
+
+	private DoubleVector vector;
+
+	private DoubleVector solution;
+
+	@Setup
+	public void setup() {
+		int size = grid * grid;
+		SparseDoubleMatrix sparse = new SparseDoubleMatrix(size, size);
+		for (int i = 0; i < size; i++) {
+			sparse.setValue(4, i, i);
+			if (i % grid != 0)
+				sparse.setValue(-1, i, i - 1);
+			if (i % grid != grid - 1)
+				sparse.setValue(-1, i, i + 1);
+			if (i >= grid)
+				sparse.setValue(-1, i, i - grid);
+			if (i < size - grid)
+				sparse.setValue(-1, i, i + grid);
+		}
+		CsrDoubleMatrix matrix = new CsrDoubleMatrix(sparse);
+		Preconditioner instance;
+		switch (preconditioner) {
+		case "JACOBI":
+			instance = new JacobiPreconditioner(matrix);
+			break;
+		case "ILU":
+			instance = new IncompleteLUPreconditioner(matrix);
+			break;
+		default:
+			instance = Preconditioner.IDENTITY;
+		}
+		solver = new ConjugateGradientSolver(matrix, instance);
+		solver.setMaximalIterationCount(10 * size);
+		vector = new DoubleVector(size);
+		for (int i = 0; i < size; i++)
+			vector.setValue(1, i);
+		solution = new DoubleVector(size);
+	}
+
+	@Benchmark
+	public DoubleVector solve() {
+		solution.scale(0);
+		solver.solve(vector, solution);
+		return solution;
+	}
+
+}
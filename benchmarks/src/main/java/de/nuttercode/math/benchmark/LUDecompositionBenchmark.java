@@ -0,0 +1,67 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.LUDecomposition;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * factorization of a random dense square matrix and solution of a system with
+ * the factorization
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class LUDecompositionBenchmark {
+
+	@Param({ "64", "256", "512" })
+	private int size;
+
+	private FullDoubleMatrix matrix;
+
+	private LUDecomposition decomposition;
+
+	private DoubleVector vector;
+
+	private DoubleVector result;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		matrix = Benchmarks.fill(new FullDoubleMatrix(size), 1, random);
+		decomposition = new LUDecomposition(matrix);
+		vector = Benchmarks.vector(size, random);
+		result = new DoubleVector(size);
+	}
+
+	@Benchmark
+	public LUDecomposition factorize() {
+		return new LUDecomposition(matrix);
+	}
+
+	@Benchmark
+	public DoubleVector solve() {
+		return decomposition.solve(vector, result);
+	}
+
+}
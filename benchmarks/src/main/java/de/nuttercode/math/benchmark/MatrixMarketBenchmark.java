@@ -0,0 +1,138 @@
+package de.nuttercode.math.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.CsvFormat;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.MatrixMarketFormat;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+
+/**
+ * streaming matrix market and csv import and export of a sparse matrix with
+ * {@link #SIZE} rows and about {@link #VALUES_PER_ROW} values per row and a
+ * dense matrix of {@link #DENSE_SIZE}x{@link #DENSE_SIZE} - the sparse import
+ * is compared against line by line parsing with {@link BufferedReader} and
+ * {@link Double#parseDouble(String)}
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class MatrixMarketBenchmark {
+
+	private static final int SIZE = 1 << 17;
+
+	private static final int VALUES_PER_ROW = 8;
+
+	private static final int DENSE_SIZE = 1 << 10;
+
+	private SparseDoubleMatrix sparse;
+
+	private CsrDoubleMatrix csr;
+
+	private FullDoubleMatrix dense;
+
+	private Path sparseFile;
+
+	private Path csvFile;
+
+	private Path output;
+
+	private Parallelism parallelism;
+
+	@Setup
+	public void setup() throws IOException {
+		Random random = new Random(Benchmarks.SEED);
+		sparse = Benchmarks.sparse(SIZE, SIZE, (double) VALUES_PER_ROW / SIZE, random);
+		csr = new CsrDoubleMatrix(sparse);
+		dense = Benchmarks.fill(new FullDoubleMatrix(DENSE_SIZE, DENSE_SIZE), 1, random);
+		parallelism = new Parallelism();
+		sparseFile = Files.createTempFile("benchmark", ".mtx");
+		csvFile = Files.createTempFile("benchmark", ".csv");
+		output = Files.createTempFile("benchmark", ".out");
+		MatrixMarketFormat.write(csr, sparseFile, parallelism);
+		CsvFormat.write(dense, csvFile, parallelism);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(sparseFile);
+		Files.delete(csvFile);
+		Files.delete(output);
+	}
+
+	@Benchmark
+	public SparseDoubleMatrix readSparseBufferedReader() throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(sparseFile)) {
+			String line;
+			do
+				line = reader.readLine();
+			while (line.startsWith("%"));
+			String[] size = line.trim().split("\\s+");
+			SparseDoubleMatrix matrix = new SparseDoubleMatrix(0, Integer.parseInt(size[0]),
+					Integer.parseInt(size[1]), Integer.parseInt(size[2]));
+			String[] tokens;
+			while ((line = reader.readLine()) != null) {
+				tokens = line.trim().split("\\s+");
+				matrix.setValue(Double.parseDouble(tokens[2]), Integer.parseInt(tokens[0]) - 1,
+						Integer.parseInt(tokens[1]) - 1);
+			}
+			return matrix;
+		}
+	}
+
+	@Benchmark
+	public SparseDoubleMatrix readSparse() throws IOException {
+		return MatrixMarketFormat.readSparse(sparseFile, Parallelism.SEQUENTIAL);
+	}
+
+	@Benchmark
+	public SparseDoubleMatrix readSparseParallel() throws IOException {
+		return MatrixMarketFormat.readSparse(sparseFile, parallelism);
+	}
+
+	@Benchmark
+	public CsrDoubleMatrix readCsrParallel() throws IOException {
+		return MatrixMarketFormat.readCsr(sparseFile, parallelism);
+	}
+
+	@Benchmark
+	public FullDoubleMatrix readCsvParallel() throws IOException {
+		return CsvFormat.readDense(csvFile, parallelism);
+	}
+
+	@Benchmark
+	public void writeCsrParallel() throws IOException {
+		MatrixMarketFormat.write(csr, output, parallelism);
+	}
+
+	@Benchmark
+	public void writeCsvParallel() throws IOException {
+		CsvFormat.write(dense, output, parallelism);
+	}
+
+}
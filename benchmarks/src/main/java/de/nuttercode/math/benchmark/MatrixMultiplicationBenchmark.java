@@ -0,0 +1,64 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+
+/**
+ * products of dense square matrices, sequential and on the common pool
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class MatrixMultiplicationBenchmark {
+
+	@Param({ "64", "256", "512" })
+	private int size;
+
+	@Param({ "false", "true" })
+	private boolean parallel;
+
+	private FullDoubleMatrix left;
+
+	private FullDoubleMatrix right;
+
+	private FullDoubleMatrix result;
+
+	private Parallelism parallelism;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		left = Benchmarks.fill(new FullDoubleMatrix(size), 1, random);
+		right = Benchmarks.fill(new FullDoubleMatrix(size), 1, random);
+		result = new FullDoubleMatrix(size);
+		parallelism = parallel ? new Parallelism() : Parallelism.SEQUENTIAL;
+	}
+
+	@Benchmark
+	public DoubleMatrix multiply() {
+		return left.multiply(right, result, parallelism);
+	}
+
+}
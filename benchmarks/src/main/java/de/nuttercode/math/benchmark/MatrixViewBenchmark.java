@@ -0,0 +1,89 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * products of views of a dense square matrix with vectors against the products
+ * of the matrix itself and of copies. {@link #transposeCopy()} copies the
+ * transpose before the product like callers without views had to.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class MatrixViewBenchmark {
+
+	@Param({ "256", "1024" })
+	private int size;
+
+	private FullDoubleMatrix matrix;
+
+	private DoubleMatrix transposed;
+
+	private DoubleMatrix block;
+
+	private DoubleVector vector;
+
+	private DoubleVector blockVector;
+
+	private DoubleVector result;
+
+	private DoubleVector blockResult;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		matrix = Benchmarks.fill(new FullDoubleMatrix(size, size), 1, random);
+		transposed = matrix.transpose();
+		block = matrix.subMatrix(size / 4, size / 4, size / 2, size / 2);
+		vector = Benchmarks.vector(size, random);
+		blockVector = Benchmarks.vector(size / 2, random);
+		result = new DoubleVector(size);
+		blockResult = new DoubleVector(size / 2);
+	}
+
+	@Benchmark
+	public DoubleVector multiply() {
+		return matrix.multiply(vector, result);
+	}
+
+	@Benchmark
+	public DoubleVector transposeView() {
+		return transposed.multiply(vector, result);
+	}
+
+	@Benchmark
+	public DoubleVector transposeCopy() {
+		FullDoubleMatrix copy = new FullDoubleMatrix(size, size);
+		matrix.forEach((i, j, value) -> copy.setValue(value, j, i));
+		return copy.multiply(vector, result);
+	}
+
+	@Benchmark
+	public DoubleVector subMatrixView() {
+		return block.multiply(blockVector, blockResult);
+	}
+
+}
@@ -0,0 +1,128 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.metrics.Metrics;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * overhead of {@link Metrics} on dense matrix-vector products and sparse
+ * lookups - the plain matrix against an instrumented view with disabled and
+ * with enabled metrics
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+	private static final int ACCESS_COUNT = 1024;
+
+	@Param({ "16", "256" })
+	private int size;
+
+	private FullDoubleMatrix dense;
+
+	private DoubleMatrix denseDisabled;
+
+	private DoubleMatrix denseEnabled;
+
+	private SparseDoubleMatrix sparse;
+
+	private DoubleMatrix sparseDisabled;
+
+	private DoubleMatrix sparseEnabled;
+
+	private DoubleVector vector;
+
+	private DoubleVector result;
+
+	private int[] rows;
+
+	private int[] columns;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		Metrics disabled = new Metrics("disabled", false);
+		Metrics enabled = new Metrics("enabled", true);
+		dense = new FullDoubleMatrix(size, size);
+		dense.randomize(random);
+		denseDisabled = disabled.instrument(dense);
+		denseEnabled = enabled.instrument(dense);
+		sparse = Benchmarks.sparse(size, size, 0.05, random);
+		sparseDisabled = disabled.instrument(sparse);
+		sparseEnabled = enabled.instrument(sparse);
+		vector = Benchmarks.vector(size, random);
+		result = new DoubleVector(size);
+		rows = new int[ACCESS_COUNT];
+		columns = new int[ACCESS_COUNT];
+		for (int a = 0; a < ACCESS_COUNT; a++) {
+			rows[a] = random.nextInt(size);
+			columns[a] = random.nextInt(size);
+		}
+	}
+
+	private double lookup(DoubleMatrix matrix) {
+		double sum = 0;
+		for (int a = 0; a < ACCESS_COUNT; a++)
+			sum += matrix.getValue(rows[a], columns[a]);
+		return sum;
+	}
+
+	@Benchmark
+	public DoubleVector multiply() {
+		return dense.multiply(vector, result);
+	}
+
+	@Benchmark
+	public DoubleVector multiplyDisabled() {
+		return denseDisabled.multiply(vector, result);
+	}
+
+	@Benchmark
+	public DoubleVector multiplyEnabled() {
+		return denseEnabled.multiply(vector, result);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ACCESS_COUNT)
+	public double lookup() {
+		return lookup(sparse);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ACCESS_COUNT)
+	public double lookupDisabled() {
+		return lookup(sparseDisabled);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ACCESS_COUNT)
+	public double lookupEnabled() {
+		return lookup(sparseEnabled);
+	}
+
+}
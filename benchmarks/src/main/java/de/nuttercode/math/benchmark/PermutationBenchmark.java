@@ -0,0 +1,83 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.permutation.CompiledIntPermutation;
+import de.nuttercode.math.permutation.IntPermutation;
+import de.nuttercode.math.permutation.IntTransposition;
+
+/**
+ * application of a random {@link IntPermutation} on {@value #SIZE} values,
+ * before and after it is compiled
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class PermutationBenchmark {
+
+	private static final int SIZE = 4096;
+
+	@Param({ "8", "64", "512" })
+	private int transpositionCount;
+
+	private IntPermutation permutation;
+
+	private CompiledIntPermutation compiledPermutation;
+
+	private double[] values;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		permutation = new IntPermutation();
+		for (int t = 0; t < transpositionCount; t++)
+			permutation.chain(new IntTransposition(random.nextInt(SIZE), random.nextInt(SIZE)));
+		compiledPermutation = permutation.compile(SIZE);
+		values = Benchmarks.array(SIZE, random);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int apply() {
+		int sum = 0;
+		for (int v = 0; v < SIZE; v++)
+			sum += permutation.apply(v);
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public int applyCompiled() {
+		int sum = 0;
+		for (int v = 0; v < SIZE; v++)
+			sum += compiledPermutation.apply(v);
+		return sum;
+	}
+
+	@Benchmark
+	public double[] permute() {
+		compiledPermutation.permute(values);
+		return values;
+	}
+
+}
@@ -0,0 +1,84 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.function.Functions;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * compensated deterministic reductions of large vectors against the
+ * uncompensated scalar product kernel
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class ReductionBenchmark {
+
+	@Param({ "1000000", "10000000" })
+	private int dimension;
+
+	private DoubleVector vector;
+
+	private DoubleVector other;
+
+	private Parallelism parallelism;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		vector = Benchmarks.vector(dimension, random);
+		other = Benchmarks.vector(dimension, random);
+		parallelism = new Parallelism();
+	}
+
+	@Benchmark
+	public double scalarProductKernel() {
+		return vector.scalarProduct(other);
+	}
+
+	@Benchmark
+	public double scalarProductCompensated() {
+		return vector.scalarProduct(other, Parallelism.SEQUENTIAL);
+	}
+
+	@Benchmark
+	public double scalarProductCompensatedParallel() {
+		return vector.scalarProduct(other, parallelism);
+	}
+
+	@Benchmark
+	public double sum() {
+		return vector.sum();
+	}
+
+	@Benchmark
+	public double norm2() {
+		return vector.norm2();
+	}
+
+	@Benchmark
+	public double meanSquaredErrorParallel() {
+		return Functions.meanSquaredError(vector, other, parallelism);
+	}
+
+}
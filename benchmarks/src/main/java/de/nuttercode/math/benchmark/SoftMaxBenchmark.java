@@ -0,0 +1,58 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.function.SoftMax;
+
+/**
+ * soft max and log-sum-exp of {@link SoftMax}
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class SoftMaxBenchmark {
+
+	@Param({ "16", "1024", "65536" })
+	private int dimension;
+
+	private double[] source;
+
+	private double[] destination;
+
+	@Setup
+	public void setup() {
+		source = Benchmarks.array(dimension, new Random(Benchmarks.SEED));
+		destination = new double[dimension];
+	}
+
+	@Benchmark
+	public double[] softMax() {
+		SoftMax.softMax(source, 0, destination, 0, dimension);
+		return destination;
+	}
+
+	@Benchmark
+	public double logSumExp() {
+		return SoftMax.logSumExp(source, 0, dimension);
+	}
+
+}
@@ -0,0 +1,96 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+
+/**
+ * random access to the hash table of {@link SparseDoubleMatrix}. every
+ * invocation performs {@value #ACCESS_COUNT} accesses at precomputed positions,
+ * half of them at mapped values. {@link #setValue()} only overwrites mapped
+ * values, so the table does not grow during the measurement.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class SparseMatrixAccessBenchmark {
+
+	private static final int ACCESS_COUNT = 1024;
+
+	@Param({ "1024", "8192" })
+	private int size;
+
+	@Param({ "0.001", "0.01", "0.05" })
+	private double density;
+
+	private SparseDoubleMatrix matrix;
+
+	private int[] rows;
+
+	private int[] columns;
+
+	private int[] mappedRows;
+
+	private int[] mappedColumns;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		matrix = Benchmarks.sparse(size, size, density, random);
+		rows = new int[ACCESS_COUNT];
+		columns = new int[ACCESS_COUNT];
+		mappedRows = new int[ACCESS_COUNT];
+		mappedColumns = new int[ACCESS_COUNT];
+		for (int a = 0; a < ACCESS_COUNT; a++) {
+			do {
+				mappedRows[a] = random.nextInt(size);
+				mappedColumns[a] = random.nextInt(size);
+			} while (!matrix.hasValue(mappedRows[a], mappedColumns[a]));
+			if (a % 2 == 0) {
+				rows[a] = mappedRows[a];
+				columns[a] = mappedColumns[a];
+			} else {
+				rows[a] = random.nextInt(size);
+				columns[a] = random.nextInt(size);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ACCESS_COUNT)
+	public double getValue() {
+		double sum = 0;
+		for (int a = 0; a < ACCESS_COUNT; a++)
+			sum += matrix.getValue(rows[a], columns[a]);
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ACCESS_COUNT)
+	public SparseDoubleMatrix setValue() {
+		for (int a = 0; a < ACCESS_COUNT; a++)
+			matrix.setValue(a, mappedRows[a], mappedColumns[a]);
+		return matrix;
+	}
+
+}
@@ -0,0 +1,82 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.CscDoubleMatrix;
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * products of sparse square matrices and vectors in the hash table, CSR and
+ * CSC format
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class SparseMatrixMultiplicationBenchmark {
+
+	@Param({ "1024", "8192" })
+	private int size;
+
+	@Param({ "0.001", "0.01", "0.05" })
+	private double density;
+
+	@Param({ "SPARSE", "CSR", "CSC" })
+	private String format;
+
+	private DoubleMatrix matrix;
+
+	private DoubleVector vector;
+
+	private DoubleVector result;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		SparseDoubleMatrix sparse = Benchmarks.sparse(size, size, density, random);
+		switch (format) {
+		case "CSR":
+			matrix = new CsrDoubleMatrix(sparse);
+			break;
+		case "CSC":
+			matrix = new CscDoubleMatrix(sparse);
+			break;
+		default:
+			matrix = sparse;
+		}
+		vector = Benchmarks.vector(size, random);
+		result = new DoubleVector(size);
+	}
+
+	@Benchmark
+	public DoubleVector multiply() {
+		return matrix.multiply(vector, result);
+	}
+
+	@Benchmark
+	public DoubleVector multiplyTransposed() {
+		return matrix.multiplyTransposed(vector, result);
+	}
+
+}
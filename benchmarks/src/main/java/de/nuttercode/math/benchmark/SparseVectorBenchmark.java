@@ -0,0 +1,99 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+
+/**
+ * products of {@link SparseDoubleVector sparse vectors} with {@link #DIMENSION}
+ * components of which the given number are stored - with a dense vector, with
+ * another sparse vector and with a dense matrix with {@link #ROW_COUNT} rows
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class SparseVectorBenchmark {
+
+	private static final int DIMENSION = 1 << 20;
+
+	private static final int ROW_COUNT = 64;
+
+	@Param({ "100", "10000" })
+	private int valueCount;
+
+	private SparseDoubleVector sparse;
+
+	private SparseDoubleVector otherSparse;
+
+	private DoubleVector dense;
+
+	private DoubleVector result;
+
+	private FullDoubleMatrix matrix;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		sparse = sparse(random);
+		otherSparse = sparse(random);
+		dense = Benchmarks.vector(DIMENSION, random);
+		result = new DoubleVector(DIMENSION);
+		matrix = Benchmarks.fill(new FullDoubleMatrix(ROW_COUNT, DIMENSION), 1, random);
+	}
+
+	/**
+	 * @param random
+	 * @return sparse vector with {@link #valueCount} uniformly distributed indices
+	 *         and values in [-1, 1)
+	 */
+	private SparseDoubleVector sparse(Random random) {
+		SparseDoubleVector vector = new SparseDoubleVector(DIMENSION);
+		while (vector.getValueCount() < valueCount)
+			vector.setValue(2 * random.nextDouble() - 1, random.nextInt(DIMENSION));
+		return vector;
+	}
+
+	@Benchmark
+	public double scalarProductDense() {
+		return sparse.scalarProduct(dense);
+	}
+
+	@Benchmark
+	public double scalarProductSparse() {
+		return sparse.scalarProduct(otherSparse);
+	}
+
+	@Benchmark
+	public DoubleVector addToDense() {
+		result.add(sparse, 0.5);
+		return result;
+	}
+
+	@Benchmark
+	public DoubleVector multiplyMatrix() {
+		return matrix.multiply(sparse, new DoubleVector(ROW_COUNT), Parallelism.SEQUENTIAL);
+	}
+
+}
@@ -0,0 +1,100 @@
+package de.nuttercode.math.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+
+/**
+ * transposition of a dense square matrix, of a flat array with twice as many
+ * columns as rows and of a sparse matrix with about 8 values per row -
+ * {@link #copyForEach()} copies the transpose value by value like callers
+ * without {@link FullDoubleMatrix#transposeCopy()} had to. the in-place
+ * benchmarks transpose the same storage on every call.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Benchmarks.VECTOR_MODULE)
+@State(Scope.Benchmark)
+public class TransposeBenchmark {
+
+	@Param({ "1024", "4096" })
+	private int size;
+
+	private FullDoubleMatrix matrix;
+
+	private double[] rectangular;
+
+	private boolean rectangularTransposed;
+
+	private CsrDoubleMatrix sparse;
+
+	private Parallelism parallelism;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(Benchmarks.SEED);
+		matrix = Benchmarks.fill(new FullDoubleMatrix(size, size), 1, random);
+		rectangular = Benchmarks.fill(new FullDoubleMatrix(size / 2, size), 1, random).getArray();
+		sparse = new CsrDoubleMatrix(Benchmarks.sparse(16 * size, 16 * size, 8.0 / (16 * size), random));
+		parallelism = new Parallelism();
+	}
+
+	@Benchmark
+	public FullDoubleMatrix copyForEach() {
+		FullDoubleMatrix copy = new FullDoubleMatrix(size, size);
+		matrix.forEach((i, j, value) -> copy.setValue(value, j, i));
+		return copy;
+	}
+
+	@Benchmark
+	public FullDoubleMatrix transposeCopy() {
+		return matrix.transposeCopy();
+	}
+
+	@Benchmark
+	public FullDoubleMatrix transposeCopyParallel() {
+		return matrix.transposeCopy(parallelism);
+	}
+
+	@Benchmark
+	public FullDoubleMatrix transposeInPlace() {
+		matrix.transposeInPlace();
+		return matrix;
+	}
+
+	@Benchmark
+	public double[] transposeInPlaceRectangular() {
+		if (rectangularTransposed)
+			FullDoubleMatrix.transposeInPlace(rectangular, size, size / 2);
+		else
+			FullDoubleMatrix.transposeInPlace(rectangular, size / 2, size);
+		rectangularTransposed = !rectangularTransposed;
+		return rectangular;
+	}
+
+	@Benchmark
+	public CsrDoubleMatrix transposeCopySparse() {
+		return sparse.transposeCopy();
+	}
+
+}
@@ -1,13 +1,43 @@
 package de.nuttercode.math;
 
+import java.math.BigInteger;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * greatest common divisors and related functions for long and
+ * {@link BigInteger} values. the gcd of two values is the gcd of their absolute
+ * values and gcd(0, 0) = 0. results which can not be represented as long throw
+ * an {@link ArithmeticException}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
 public class Euclid {
 
 	/**
-	 * modern euclids algorithm for greatest common denominator in iterative version
+	 * values with at most this many bits are reduced with long arithmetic by
+	 * {@link #gcd(BigInteger, BigInteger)}
+	 */
+	private static final int LEHMER_THRESHOLD = 63;
+
+	/**
+	 * number of leading bits which approximate a value in a step of
+	 * {@link #gcd(BigInteger, BigInteger)} - the cofactors of the step fit into
+	 * a long together with the digits
+	 */
+	private static final int LEHMER_DIGIT_BITS = 62;
+
+	/**
+	 * modern euclids algorithm for greatest common denominator in iterative
+	 * version
 	 * 
 	 * @param a
 	 * @param b
-	 * @return greatest common denominator
+	 * @return greatest common divisor of a and b - non-negative
+	 * @throws ArithmeticException if the gcd is 2^63
 	 * @see <a href=
 	 *      "https://de.wikipedia.org/wiki/Euklidischer_Algorithmus#Iterative_Variante">wikipedia
 	 *      entry</a>
@@ -19,7 +49,328 @@ public class Euclid {
 			a = b;
 			b = h;
 		}
-		return a;
+		return abs(a);
+	}
+
+	/**
+	 * binary gcd algorithm (stein's algorithm), which replaces the divisions of
+	 * euclids algorithm by shifts and subtractions. faster than
+	 * {@link #gcd(long, long)} on processors with a slow 64 bit division, slower
+	 * on processors with a fast one.
+	 * 
+	 * @param a
+	 * @param b
+	 * @return greatest common divisor of a and b - non-negative
+	 * @throws ArithmeticException if the gcd is 2^63, i.e. a and b are
+	 *                             {@link Long#MIN_VALUE} or 0
+	 * @see <a href=
+	 *      "https://en.wikipedia.org/wiki/Binary_GCD_algorithm">wikipedia
+	 *      entry</a>
+	 */
+	public static long binaryGcd(long a, long b) {
+		if (a == 0)
+			return abs(b);
+		if (b == 0)
+			return abs(a);
+		// the shifts treat Long.MIN_VALUE as 2^63, every shifted value is positive
+		int shift = Long.numberOfTrailingZeros(a | b);
+		int zeros = Long.numberOfTrailingZeros(a);
+		a = Math.abs(a >> zeros);
+		b = Math.abs(b >> Long.numberOfTrailingZeros(b));
+		long difference;
+		// the trailing zeros of |b - a| are counted on b - a, so the count does not
+		// wait for min and abs and the loop has no data-dependent branch
+		do {
+			difference = b - a;
+			zeros = Long.numberOfTrailingZeros(difference);
+			a = Math.min(a, b);
+			b = Math.abs(difference) >> zeros;
+		} while (difference != 0);
+		if (shift == 63)
+			throw new ArithmeticException("gcd is 2^63");
+		return a << shift;
+	}
+
+	/**
+	 * @param value
+	 * @return |value|
+	 * @throws ArithmeticException if value is {@link Long#MIN_VALUE}
+	 */
+	private static long abs(long value) {
+		if (value == Long.MIN_VALUE)
+			throw new ArithmeticException("gcd is 2^63");
+		return Math.abs(value);
+	}
+
+	/**
+	 * extended euclids algorithm
+	 * 
+	 * @param a
+	 * @param b
+	 * @return {gcd(a, b), x, y} with a * x + b * y = gcd(a, b). |x| &lt;= |b| /
+	 *         gcd(a, b) and |y| &lt;= |a| / gcd(a, b) unless a or b is 0.
+	 * @throws ArithmeticException if a or b is {@link Long#MIN_VALUE}
+	 * @see <a href=
+	 *      "https://en.wikipedia.org/wiki/Extended_Euclidean_algorithm">wikipedia
+	 *      entry</a>
+	 */
+	public static long[] extendedGcd(long a, long b) {
+		long r0 = Math.absExact(a), r1 = Math.absExact(b);
+		long x0 = 1, x1 = 0, y0 = 0, y1 = 1;
+		long q, h;
+		while (r1 != 0) {
+			q = r0 / r1;
+			h = r0 - q * r1;
+			r0 = r1;
+			r1 = h;
+			h = x0 - q * x1;
+			x0 = x1;
+			x1 = h;
+			h = y0 - q * y1;
+			y0 = y1;
+			y1 = h;
+		}
+		return new long[] { r0, a < 0 ? -x0 : x0, b < 0 ? -y0 : y0 };
+	}
+
+	/**
+	 * @param value
+	 * @param modulus
+	 * @return x in [0, modulus) with value * x = 1 (mod modulus)
+	 * @throws IllegalArgumentException if modulus is not positive
+	 * @throws ArithmeticException      if value is not invertible, i.e.
+	 *                                  gcd(value, modulus) != 1
+	 */
+	public static long modInverse(long value, long modulus) {
+		if (modulus <= 0)
+			throw new IllegalArgumentException("modulus must be positive: " + modulus);
+		long r0 = modulus, r1 = Math.floorMod(value, modulus);
+		long x0 = 0, x1 = 1;
+		long q, h;
+		while (r1 != 0) {
+			q = r0 / r1;
+			h = r0 - q * r1;
+			r0 = r1;
+			r1 = h;
+			h = x0 - q * x1;
+			x0 = x1;
+			x1 = h;
+		}
+		if (r0 != 1)
+			throw new ArithmeticException(value + " is not invertible modulo " + modulus);
+		return x0 < 0 ? x0 + modulus : x0;
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return least common multiple of a and b - non-negative. lcm(a, 0) = 0.
+	 * @throws ArithmeticException if the lcm overflows a long
+	 */
+	public static long lcm(long a, long b) {
+		if (a == 0 || b == 0)
+			return 0;
+		return Math.multiplyExact(Math.absExact(a / gcd(a, b)), Math.absExact(b));
+	}
+
+	/**
+	 * result[i] = gcd(a[i], b[i])
+	 * 
+	 * @param a
+	 * @param b      array with the length of a
+	 * @param result array with the length of a - may be a or b
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null or the lengths do
+	 *                                  not match
+	 * @throws ArithmeticException      if a gcd is 2^63
+	 */
+	public static long[] gcd(@NotNull long[] a, @NotNull long[] b, @NotNull long[] result) {
+		return gcd(a, b, result, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * result[i] = gcd(a[i], b[i]). the pairs may be processed in parallel.
+	 * 
+	 * @param a
+	 * @param b           array with the length of a
+	 * @param result      array with the length of a - may be a or b
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null or the lengths do
+	 *                                  not match
+	 * @throws ArithmeticException      if a gcd is 2^63
+	 */
+	public static long[] gcd(@NotNull long[] a, @NotNull long[] b, @NotNull long[] result,
+			@NotNull Parallelism parallelism) {
+		Assurance.assureEquals(Assurance.assureNotNull(a).length, Assurance.assureNotNull(b).length);
+		Assurance.assureEquals(a.length, Assurance.assureNotNull(result).length);
+		// a gcd of 64 bit values takes roughly 64 steps
+		Assurance.assureNotNull(parallelism).execute(a.length, 1, (long) a.length << 6, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = gcd(a[i], b[i]);
+		});
+		return result;
+	}
+
+	/**
+	 * @param values
+	 * @return gcd of all values - 0 if values is empty
+	 * @throws IllegalArgumentException if values is null
+	 * @throws ArithmeticException      if the gcd is 2^63
+	 */
+	public static long gcd(@NotNull long[] values) {
+		long gcd = 0;
+		for (long value : Assurance.assureNotNull(values)) {
+			gcd = gcd(gcd, value);
+			if (gcd == 1)
+				return 1;
+		}
+		return gcd;
+	}
+
+	/**
+	 * lehmers gcd algorithm - every step approximates a and b by their leading
+	 * {@value #LEHMER_DIGIT_BITS} bits and simulates the quotients of euclids
+	 * algorithm on these digits, so the big values are only updated once per
+	 * step with small cofactors instead of once per quotient.
+	 * 
+	 * @param a
+	 * @param b
+	 * @return greatest common divisor of a and b - non-negative
+	 * @throws IllegalArgumentException if a or b is null
+	 * @see <a href=
+	 *      "https://en.wikipedia.org/wiki/Lehmer%27s_GCD_algorithm">wikipedia
+	 *      entry</a>
+	 */
+	public static BigInteger gcd(@NotNull BigInteger a, @NotNull BigInteger b) {
+		a = Assurance.assureNotNull(a).abs();
+		b = Assurance.assureNotNull(b).abs();
+		if (a.compareTo(b) < 0) {
+			BigInteger h = a;
+			a = b;
+			b = h;
+		}
+		int shift;
+		long x, y, p, q, r, s, quotient, h;
+		BigInteger c;
+		while (b.bitLength() > LEHMER_THRESHOLD) {
+			shift = a.bitLength() - LEHMER_DIGIT_BITS;
+			x = a.shiftRight(shift).longValue();
+			y = b.shiftRight(shift).longValue();
+			p = 1;
+			q = 0;
+			r = 0;
+			s = 1;
+			// (x + q) / (y + s) and (x + p) / (y + r) enclose the quotient of the
+			// values - the step is exact while both bounds agree
+			while (y + r != 0 && y + s != 0) {
+				quotient = (x + p) / (y + r);
+				if (quotient != (x + q) / (y + s))
+					break;
+				h = p - quotient * r;
+				p = r;
+				r = h;
+				h = q - quotient * s;
+				q = s;
+				s = h;
+				h = x - quotient * y;
+				x = y;
+				y = h;
+			}
+			if (q == 0) {
+				c = a.mod(b);
+				a = b;
+				b = c;
+			} else {
+				c = a.multiply(BigInteger.valueOf(p)).add(b.multiply(BigInteger.valueOf(q)));
+				b = a.multiply(BigInteger.valueOf(r)).add(b.multiply(BigInteger.valueOf(s)));
+				a = c;
+			}
+		}
+		if (b.signum() == 0)
+			return a;
+		return BigInteger.valueOf(gcd(a.mod(b).longValue(), b.longValue()));
+	}
+
+	/**
+	 * batch gcd of bernstein - computes gcd(moduli[i], product of all other moduli)
+	 * for every i with a product tree and a remainder tree in quasi-linear time
+	 * instead of comparing all pairs. a result greater than 1 reveals a common
+	 * factor of moduli[i] with another modulus, e.g. rsa keys which share a prime.
+	 * 
+	 * @param moduli positive values
+	 * @return gcd(moduli[i], product of all moduli[j] with j != i) for every i
+	 * @throws IllegalArgumentException if moduli is null or contains a value which
+	 *                                  is null or not positive
+	 * @see #batchGcd(BigInteger[], Parallelism)
+	 */
+	public static BigInteger[] batchGcd(@NotNull BigInteger[] moduli) {
+		return batchGcd(moduli, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * batch gcd of bernstein - see {@link #batchGcd(BigInteger[])}. the nodes of
+	 * every level of the trees are computed in parallel. the size of the product
+	 * of all moduli is limited by {@link BigInteger}, i.e. the moduli must not
+	 * have more than about 2^31 bits in total.
+	 * 
+	 * @param moduli      positive values
+	 * @param parallelism
+	 * @return gcd(moduli[i], product of all moduli[j] with j != i) for every i
+	 * @throws IllegalArgumentException if an argument is null or moduli contains a
+	 *                                  value which is null or not positive
+	 */
+	public static BigInteger[] batchGcd(@NotNull BigInteger[] moduli, @NotNull Parallelism parallelism) {
+		Assurance.assureNotNull(moduli);
+		Assurance.assureNotNull(parallelism);
+		for (BigInteger modulus : moduli) {
+			if (Assurance.assureNotNull(modulus).signum() <= 0)
+				throw new IllegalArgumentException("modulus must be positive: " + modulus);
+		}
+		BigInteger[] result = new BigInteger[moduli.length];
+		if (moduli.length == 0)
+			return result;
+		// product tree - levels[0] are the moduli and the last level is the product
+		int height = 1;
+		for (int count = moduli.length; count > 1; count = (count + 1) >> 1)
+			height++;
+		BigInteger[][] levels = new BigInteger[height][];
+		levels[0] = moduli.clone();
+		for (int level = 1; level < height; level++) {
+			BigInteger[] children = levels[level - 1];
+			BigInteger[] nodes = new BigInteger[(children.length + 1) >> 1];
+			parallelism.execute(nodes.length, 1, getWork(children), (from, to) -> {
+				for (int i = from; i < to; i++)
+					nodes[i] = 2 * i + 1 < children.length ? children[2 * i].multiply(children[2 * i + 1])
+							: children[2 * i];
+			});
+			levels[level] = nodes;
+		}
+		// remainder tree - after a level was processed levels[level][i] is the
+		// product modulo the square of the former node
+		for (int level = height - 2; level >= 0; level--) {
+			BigInteger[] parents = levels[level + 1];
+			BigInteger[] nodes = levels[level];
+			parallelism.execute(nodes.length, 1, getWork(nodes), (from, to) -> {
+				for (int i = from; i < to; i++)
+					nodes[i] = parents[i >> 1].mod(nodes[i].multiply(nodes[i]));
+			});
+		}
+		BigInteger[] remainders = levels[0];
+		parallelism.execute(moduli.length, 1, getWork(moduli), (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = gcd(remainders[i].divide(moduli[i]), moduli[i]);
+		});
+		return result;
+	}
+
+	/**
+	 * @param values
+	 * @return estimated work of a quadratic operation on every value
+	 */
+	private static long getWork(BigInteger[] values) {
+		long words = ((long) values[0].bitLength() >> 6) + 1;
+		return values.length * words * words;
 	}
 
 }
@@ -0,0 +1,51 @@
+package de.nuttercode.math.expression;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * {@link VectorExpression} whose value is a vector
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class LeafExpression extends VectorExpression {
+
+	private final DoubleVector vector;
+
+	LeafExpression(DoubleVector vector) {
+		super(vector.getDimension());
+		this.vector = vector;
+	}
+
+	DoubleVector getVector() {
+		return vector;
+	}
+
+	@Override
+	void evaluate(double[] destination, int destinationOffset, int from, int to, double[] scratch,
+			int scratchOffset) {
+		System.arraycopy(vector.getArray(), from, destination, destinationOffset, to - from);
+	}
+
+	@Override
+	int getScratchDepth() {
+		return 0;
+	}
+
+	@Override
+	long getWork() {
+		return getDimension();
+	}
+
+	@Override
+	VectorExpression materialize(Parallelism parallelism) {
+		return this;
+	}
+
+	@Override
+	boolean isProductOperand(DoubleVector vector) {
+		return false;
+	}
+
+}
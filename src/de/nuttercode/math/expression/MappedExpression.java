@@ -0,0 +1,62 @@
+package de.nuttercode.math.expression;
+
+import de.nuttercode.math.function.ActivationFunction;
+import de.nuttercode.math.function.DoubleFunction;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * {@link VectorExpression} whose value is a function applied on every
+ * component of the operand. the chunks are mapped by
+ * {@link ActivationFunction#applyInPlace(double[], int, int)}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class MappedExpression extends VectorExpression {
+
+	private final VectorExpression operand;
+
+	private final ActivationFunction function;
+
+	MappedExpression(VectorExpression operand, DoubleFunction function) {
+		super(operand.getDimension());
+		this.operand = operand;
+		this.function = function instanceof ActivationFunction ? (ActivationFunction) function : function::apply;
+	}
+
+	private MappedExpression(VectorExpression operand, ActivationFunction function) {
+		super(operand.getDimension());
+		this.operand = operand;
+		this.function = function;
+	}
+
+	@Override
+	void evaluate(double[] destination, int destinationOffset, int from, int to, double[] scratch,
+			int scratchOffset) {
+		operand.evaluate(destination, destinationOffset, from, to, scratch, scratchOffset);
+		function.applyInPlace(destination, destinationOffset, to - from);
+	}
+
+	@Override
+	int getScratchDepth() {
+		return operand.getScratchDepth();
+	}
+
+	@Override
+	long getWork() {
+		return operand.getWork() + getDimension();
+	}
+
+	@Override
+	VectorExpression materialize(Parallelism parallelism) {
+		VectorExpression materialized = operand.materialize(parallelism);
+		return materialized == operand ? this : new MappedExpression(materialized, function);
+	}
+
+	@Override
+	boolean isProductOperand(DoubleVector vector) {
+		return operand.isProductOperand(vector);
+	}
+
+}
@@ -0,0 +1,77 @@
+package de.nuttercode.math.expression;
+
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.OffHeapDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * {@link VectorExpression} whose value is the product of a matrix and a vector.
+ * the chunks of {@link FullDoubleMatrix full}, {@link OffHeapDoubleMatrix
+ * off-heap} and {@link CsrDoubleMatrix CSR} matrices are computed by
+ * {@link DoubleMatrix#multiplyRows(DoubleVector, int, int, double[], int)}.
+ * other matrices have no efficient access to a range of rows, so their product
+ * is computed by {@link DoubleMatrix#multiply(DoubleVector, DoubleVector, Parallelism)}
+ * into a temporary vector when the expression is materialized.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class ProductExpression extends VectorExpression {
+
+	private final DoubleMatrix matrix;
+
+	private final VectorExpression operand;
+
+	ProductExpression(DoubleMatrix matrix, VectorExpression operand) {
+		super(matrix.getRowCount());
+		Assurance.assureEquals(matrix.getColumnCount(), operand.getDimension());
+		this.matrix = matrix;
+		this.operand = operand;
+	}
+
+	@Override
+	void evaluate(double[] destination, int destinationOffset, int from, int to, double[] scratch,
+			int scratchOffset) {
+		matrix.multiplyRows(((LeafExpression) operand).getVector(), from, to, destination, destinationOffset);
+	}
+
+	@Override
+	int getScratchDepth() {
+		return 0;
+	}
+
+	@Override
+	long getWork() {
+		return (long) matrix.getRowCount() * matrix.getColumnCount();
+	}
+
+	/**
+	 * @return true if the rows of the matrix are computed chunk by chunk
+	 */
+	private boolean isFusable() {
+		return matrix instanceof FullDoubleMatrix || matrix instanceof OffHeapDoubleMatrix
+				|| matrix instanceof CsrDoubleMatrix;
+	}
+
+	@Override
+	VectorExpression materialize(Parallelism parallelism) {
+		if (!isFusable()) {
+			DoubleVector vector = operand instanceof LeafExpression ? ((LeafExpression) operand).getVector()
+					: operand.evaluate(parallelism);
+			return VectorExpression.of(matrix.multiply(vector, new DoubleVector(getDimension()), parallelism));
+		}
+		if (operand instanceof LeafExpression)
+			return this;
+		return new ProductExpression(matrix, VectorExpression.of(operand.evaluate(parallelism)));
+	}
+
+	@Override
+	boolean isProductOperand(DoubleVector vector) {
+		return operand instanceof LeafExpression && ((LeafExpression) operand).getVector() == vector;
+	}
+
+}
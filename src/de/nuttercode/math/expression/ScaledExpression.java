@@ -0,0 +1,53 @@
+package de.nuttercode.math.expression;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * {@link VectorExpression} whose value is scalar * operand
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class ScaledExpression extends VectorExpression {
+
+	private final VectorExpression operand;
+
+	private final double scalar;
+
+	ScaledExpression(VectorExpression operand, double scalar) {
+		super(operand.getDimension());
+		this.operand = operand;
+		this.scalar = scalar;
+	}
+
+	@Override
+	void evaluate(double[] destination, int destinationOffset, int from, int to, double[] scratch,
+			int scratchOffset) {
+		operand.evaluate(destination, destinationOffset, from, to, scratch, scratchOffset);
+		DoubleKernels.scale(scalar, destination, destinationOffset, to - from);
+	}
+
+	@Override
+	int getScratchDepth() {
+		return operand.getScratchDepth();
+	}
+
+	@Override
+	long getWork() {
+		return operand.getWork() + getDimension();
+	}
+
+	@Override
+	VectorExpression materialize(Parallelism parallelism) {
+		VectorExpression materialized = operand.materialize(parallelism);
+		return materialized == operand ? this : new ScaledExpression(materialized, scalar);
+	}
+
+	@Override
+	boolean isProductOperand(DoubleVector vector) {
+		return operand.isProductOperand(vector);
+	}
+
+}
@@ -0,0 +1,72 @@
+package de.nuttercode.math.expression;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * {@link VectorExpression} whose value is left + scalar * right. a plain vector
+ * on the right-hand side is added directly - any other right-hand side is
+ * computed into the scratch buffer first.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class SumExpression extends VectorExpression {
+
+	private final VectorExpression left;
+
+	private final VectorExpression right;
+
+	private final double scalar;
+
+	SumExpression(VectorExpression left, VectorExpression right, double scalar) {
+		super(left.getDimension());
+		Assurance.assureEquals(left.getDimension(), right.getDimension());
+		this.left = left;
+		this.right = right;
+		this.scalar = scalar;
+	}
+
+	@Override
+	void evaluate(double[] destination, int destinationOffset, int from, int to, double[] scratch,
+			int scratchOffset) {
+		int length = to - from;
+		if (right instanceof LeafExpression && ((LeafExpression) right).getVector().getArray() != destination) {
+			left.evaluate(destination, destinationOffset, from, to, scratch, scratchOffset);
+			DoubleKernels.axpy(scalar, ((LeafExpression) right).getVector().getArray(), from, destination,
+					destinationOffset, length);
+		} else {
+			// right is computed first, since it may read the destination
+			right.evaluate(scratch, scratchOffset, from, to, scratch, scratchOffset + CHUNK_SIZE);
+			left.evaluate(destination, destinationOffset, from, to, scratch, scratchOffset + CHUNK_SIZE);
+			DoubleKernels.axpy(scalar, scratch, scratchOffset, destination, destinationOffset, length);
+		}
+	}
+
+	@Override
+	int getScratchDepth() {
+		return 1 + Math.max(left.getScratchDepth(), right.getScratchDepth());
+	}
+
+	@Override
+	long getWork() {
+		return left.getWork() + right.getWork() + getDimension();
+	}
+
+	@Override
+	VectorExpression materialize(Parallelism parallelism) {
+		VectorExpression materializedLeft = left.materialize(parallelism);
+		VectorExpression materializedRight = right.materialize(parallelism);
+		if (materializedLeft == left && materializedRight == right)
+			return this;
+		return new SumExpression(materializedLeft, materializedRight, scalar);
+	}
+
+	@Override
+	boolean isProductOperand(DoubleVector vector) {
+		return left.isProductOperand(vector) || right.isProductOperand(vector);
+	}
+
+}
@@ -0,0 +1,274 @@
+package de.nuttercode.math.expression;
+
+import de.nuttercode.math.function.ActivationFunction;
+import de.nuttercode.math.function.DoubleFunction;
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * lazy expression whose value is a {@link DoubleVector}. an expression is built
+ * from vectors, products of matrices and vectors and element-wise operations,
+ * but nothing is computed until it is evaluated, e.g. a layer activation(W * x
+ * + b) of a neural network is evaluated by
+ * 
+ * <pre>
+ * VectorExpression.product(w, x).add(b).map(Functions.SIGMOID).evaluate(result);
+ * </pre>
+ * 
+ * the evaluation processes the components in chunks of {@value #CHUNK_SIZE}:
+ * the producing kernel, e.g.
+ * {@link DoubleMatrix#multiplyRows(DoubleVector, int, int, double[], int)},
+ * computes a chunk and all element-wise operations are applied to it while it
+ * is still in the cache. no intermediate vectors are allocated and every
+ * component of the result is written to memory once. only operands of products
+ * which are not plain vectors are evaluated into temporary vectors beforehand,
+ * since every row of a product needs the whole operand, as well as products of
+ * matrices without efficient access to a range of rows, e.g. a
+ * {@link de.nuttercode.math.matrix.SparseDoubleMatrix}. the values are
+ * identical to the values of the respective eager operations, e.g.
+ * {@link DoubleMatrix#multiply(DoubleVector)} and
+ * {@link ActivationFunction#applyInPlace(DoubleVector)}. instances are
+ * immutable and may be evaluated concurrently.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public abstract class VectorExpression {
+
+	/**
+	 * number of components which are computed together
+	 */
+	static final int CHUNK_SIZE = 256;
+
+	/**
+	 * dimension of the value
+	 */
+	private final int dimension;
+
+	VectorExpression(int dimension) {
+		this.dimension = dimension;
+	}
+
+	/**
+	 * @param vector
+	 * @return expression whose value is the vector at the time of the evaluation
+	 */
+	public static VectorExpression of(@NotNull DoubleVector vector) {
+		return new LeafExpression(Assurance.assureNotNull(vector));
+	}
+
+	/**
+	 * @param matrix
+	 * @param vector vector with dimension matrix.getColumnCount()
+	 * @return expression whose value is matrix * vector
+	 * @throws IllegalArgumentException if an argument is null or the dimensions do
+	 *                                  not match
+	 */
+	public static VectorExpression product(@NotNull DoubleMatrix matrix, @NotNull DoubleVector vector) {
+		return product(matrix, of(vector));
+	}
+
+	/**
+	 * @param matrix
+	 * @param vector expression with dimension matrix.getColumnCount()
+	 * @return expression whose value is matrix * vector
+	 * @throws IllegalArgumentException if an argument is null or the dimensions do
+	 *                                  not match
+	 */
+	public static VectorExpression product(@NotNull DoubleMatrix matrix, @NotNull VectorExpression vector) {
+		return new ProductExpression(Assurance.assureNotNull(matrix), Assurance.assureNotNull(vector));
+	}
+
+	/**
+	 * @param expression expression with the dimension of this expression
+	 * @return expression whose value is this + expression
+	 * @throws IllegalArgumentException if expression is null or the dimensions do
+	 *                                  not match
+	 */
+	public VectorExpression add(@NotNull VectorExpression expression) {
+		return add(1, expression);
+	}
+
+	/**
+	 * @param vector vector with the dimension of this expression
+	 * @return expression whose value is this + vector
+	 * @throws IllegalArgumentException if vector is null or the dimensions do not
+	 *                                  match
+	 */
+	public VectorExpression add(@NotNull DoubleVector vector) {
+		return add(1, of(vector));
+	}
+
+	/**
+	 * @param scalar
+	 * @param expression expression with the dimension of this expression
+	 * @return expression whose value is this + scalar * expression with a single
+	 *         rounding per component
+	 * @throws IllegalArgumentException if expression is null or the dimensions do
+	 *                                  not match
+	 */
+	public VectorExpression add(double scalar, @NotNull VectorExpression expression) {
+		return new SumExpression(this, Assurance.assureNotNull(expression), scalar);
+	}
+
+	/**
+	 * @param expression expression with the dimension of this expression
+	 * @return expression whose value is this - expression
+	 * @throws IllegalArgumentException if expression is null or the dimensions do
+	 *                                  not match
+	 */
+	public VectorExpression subtract(@NotNull VectorExpression expression) {
+		return add(-1, expression);
+	}
+
+	/**
+	 * @param vector vector with the dimension of this expression
+	 * @return expression whose value is this - vector
+	 * @throws IllegalArgumentException if vector is null or the dimensions do not
+	 *                                  match
+	 */
+	public VectorExpression subtract(@NotNull DoubleVector vector) {
+		return add(-1, of(vector));
+	}
+
+	/**
+	 * @param scalar
+	 * @return expression whose value is scalar * this
+	 */
+	public VectorExpression scale(double scalar) {
+		return new ScaledExpression(this, scalar);
+	}
+
+	/**
+	 * @param function function which is applied on every component - the bulk
+	 *                 application of an {@link ActivationFunction} is used
+	 * @return expression whose value is function applied on every component of
+	 *         this
+	 * @throws IllegalArgumentException if function is null
+	 */
+	public VectorExpression map(@NotNull DoubleFunction function) {
+		return new MappedExpression(this, Assurance.assureNotNull(function));
+	}
+
+	/**
+	 * @return dimension of the value
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * @return a new vector with the value of this expression
+	 */
+	public DoubleVector evaluate() {
+		return evaluate(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * @param parallelism
+	 * @return a new vector with the value of this expression
+	 */
+	public DoubleVector evaluate(@NotNull Parallelism parallelism) {
+		return evaluate(new DoubleVector(dimension), parallelism);
+	}
+
+	/**
+	 * stores the value of this expression in result
+	 * 
+	 * @param result vector with dimension {@link #getDimension()} - will be
+	 *               overwritten. may occur in this expression, but not as operand
+	 *               of a product.
+	 * @return result
+	 * @throws IllegalArgumentException if result is null, has the wrong dimension
+	 *                                  or is the operand of a product
+	 */
+	public DoubleVector evaluate(@NotNull DoubleVector result) {
+		return evaluate(result, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * stores the value of this expression in result. the chunks may be computed
+	 * in parallel - the result does not depend on parallelism.
+	 * 
+	 * @param result      vector with dimension {@link #getDimension()} - will be
+	 *                    overwritten. may occur in this expression, but not as
+	 *                    operand of a product.
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null, result has the
+	 *                                  wrong dimension or is the operand of a
+	 *                                  product
+	 */
+	public DoubleVector evaluate(@NotNull DoubleVector result, @NotNull Parallelism parallelism) {
+		Assurance.assureEquals(dimension, Assurance.assureNotNull(result).getDimension());
+		Assurance.assureNotNull(parallelism);
+		if (isProductOperand(result))
+			throw new IllegalArgumentException("result must not be the operand of a product");
+		VectorExpression expression = materialize(parallelism);
+		double[] destination = result.getArray();
+		int scratchLength = expression.getScratchDepth() * CHUNK_SIZE;
+		long work = expression.getWork();
+		if (parallelism.isParallel(work))
+			parallelism.execute(dimension, CHUNK_SIZE, work,
+					(from, to) -> expression.evaluateChunks(destination, from, to, new double[scratchLength]));
+		else
+			expression.evaluateChunks(destination, 0, dimension, new double[scratchLength]);
+		return result;
+	}
+
+	/**
+	 * computes the components [from, to) chunk by chunk
+	 */
+	private void evaluateChunks(double[] destination, int from, int to, double[] scratch) {
+		for (int chunk = from; chunk < to; chunk += CHUNK_SIZE)
+			evaluate(destination, chunk, chunk, Math.min(to, chunk + CHUNK_SIZE), scratch, 0);
+	}
+
+	/**
+	 * computes the components [from, to) of the value, which contain at most
+	 * {@value #CHUNK_SIZE} components, and stores them in destination starting at
+	 * destinationOffset. this expression has to be {@link #materialize(Parallelism)
+	 * materialized}. every vector which is read at the positions of the
+	 * destination has to be read before the destination is written.
+	 * 
+	 * @param destination
+	 * @param destinationOffset
+	 * @param from
+	 * @param to
+	 * @param scratch           buffer with at least scratchOffset +
+	 *                          {@link #getScratchDepth()} * {@value #CHUNK_SIZE}
+	 *                          values
+	 * @param scratchOffset     first value of scratch which may be used
+	 */
+	abstract void evaluate(double[] destination, int destinationOffset, int from, int to, double[] scratch,
+			int scratchOffset);
+
+	/**
+	 * @return number of chunks which {@link #evaluate(double[], int, int, int, double[], int)}
+	 *         needs in the scratch buffer
+	 */
+	abstract int getScratchDepth();
+
+	/**
+	 * @return estimated number of operations of an evaluation
+	 */
+	abstract long getWork();
+
+	/**
+	 * @param parallelism
+	 * @return equivalent expression whose products only have plain vectors as
+	 *         operands - the other operands are evaluated
+	 */
+	abstract VectorExpression materialize(Parallelism parallelism);
+
+	/**
+	 * @param vector
+	 * @return true if vector is the operand of a product which is not evaluated by
+	 *         {@link #materialize(Parallelism)}
+	 */
+	abstract boolean isProductOperand(DoubleVector vector);
+
+}
@@ -0,0 +1,131 @@
+package de.nuttercode.math.function;
+
+import java.util.Objects;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FloatMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.FullFloatMatrix;
+import de.nuttercode.math.matrix.OffHeapDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.FloatVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * {@link DoubleFunction} which can be applied element-wise and in place on
+ * whole arrays, vectors and matrices. by default every value is mapped by
+ * {@link #apply(double)} - implementations like {@link Functions#SIGMOID}
+ * override {@link #applyInPlace(double[], int, int)} with a vectorized kernel.
+ * single precision values are computed in double precision and rounded to
+ * float.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@FunctionalInterface
+public interface ActivationFunction extends DoubleFunction {
+
+	/**
+	 * values[offset + i] = apply(values[offset + i]) for i in [0, length)
+	 * 
+	 * @param values
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	default void applyInPlace(@NotNull double[] values, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, values.length);
+		for (int a = offset; a < offset + length; a++)
+			values[a] = apply(values[a]);
+	}
+
+	/**
+	 * applies this function on every value of the vector
+	 * 
+	 * @param vector
+	 * @return vector
+	 */
+	default DoubleVector applyInPlace(@NotNull DoubleVector vector) {
+		applyInPlace(Assurance.assureNotNull(vector).getArray(), 0, vector.getDimension());
+		return vector;
+	}
+
+	/**
+	 * applies this function on every value of the matrix - including the values
+	 * which are not stored explicitly by sparse matrices. {@link FullDoubleMatrix}
+	 * is processed as one array and {@link OffHeapDoubleMatrix} piecewise by
+	 * {@link OffHeapDoubleMatrix#applyInPlace(OffHeapDoubleMatrix.ArrayOperation)}.
+	 * 
+	 * @param matrix
+	 * @return matrix
+	 * @throws UnsupportedOperationException if the matrix is immutable
+	 */
+	default DoubleMatrix applyInPlace(@NotNull DoubleMatrix matrix) {
+		Assurance.assureNotNull(matrix);
+		int rowCount = matrix.getRowCount();
+		int columnCount = matrix.getColumnCount();
+		if (matrix instanceof FullDoubleMatrix) {
+			double[] values = ((FullDoubleMatrix) matrix).getArray();
+			applyInPlace(values, 0, values.length);
+		} else if (matrix instanceof OffHeapDoubleMatrix) {
+			((OffHeapDoubleMatrix) matrix).applyInPlace(this::applyInPlace);
+		} else {
+			for (int i = 0; i < rowCount; i++) {
+				for (int j = 0; j < columnCount; j++)
+					matrix.setValue(apply(matrix.getValue(i, j)), i, j);
+			}
+		}
+		return matrix;
+	}
+
+	/**
+	 * values[offset + i] = (float) apply(values[offset + i]) for i in [0, length)
+	 * 
+	 * @param values
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	default void applyInPlace(@NotNull float[] values, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, values.length);
+		for (int a = offset; a < offset + length; a++)
+			values[a] = (float) apply(values[a]);
+	}
+
+	/**
+	 * applies this function on every value of the vector
+	 * 
+	 * @param vector
+	 * @return vector
+	 */
+	default FloatVector applyInPlace(@NotNull FloatVector vector) {
+		applyInPlace(Assurance.assureNotNull(vector).getArray(), 0, vector.getDimension());
+		return vector;
+	}
+
+	/**
+	 * applies this function on every value of the matrix - including the values
+	 * which are not stored explicitly by sparse matrices. {@link FullFloatMatrix}
+	 * is processed as one array.
+	 * 
+	 * @param matrix
+	 * @return matrix
+	 */
+	default FloatMatrix applyInPlace(@NotNull FloatMatrix matrix) {
+		Assurance.assureNotNull(matrix);
+		if (matrix instanceof FullFloatMatrix) {
+			float[] values = ((FullFloatMatrix) matrix).getArray();
+			applyInPlace(values, 0, values.length);
+			return matrix;
+		}
+		int rowCount = matrix.getRowCount();
+		int columnCount = matrix.getColumnCount();
+		for (int i = 0; i < rowCount; i++) {
+			for (int j = 0; j < columnCount; j++)
+				matrix.setValue((float) apply(matrix.getValue(i, j)), i, j);
+		}
+		return matrix;
+	}
+
+}
@@ -0,0 +1,73 @@
+package de.nuttercode.math.function;
+
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.FloatKernels;
+
+/**
+ * activation functions of {@link Functions} whose bulk application runs on the
+ * kernels of {@link DoubleKernels} and {@link FloatKernels}. {@link #apply(double)}
+ * returns the same results as the bulk application.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+enum Activations implements ActivationFunction {
+
+	SIGMOID {
+
+		@Override
+		public double apply(double value) {
+			return DoubleKernels.sigmoid(value);
+		}
+
+		@Override
+		public void applyInPlace(double[] values, int offset, int length) {
+			DoubleKernels.sigmoid(values, offset, length);
+		}
+
+		@Override
+		public void applyInPlace(float[] values, int offset, int length) {
+			FloatKernels.sigmoid(values, offset, length);
+		}
+
+	},
+
+	TANH {
+
+		@Override
+		public double apply(double value) {
+			return DoubleKernels.tanh(value);
+		}
+
+		@Override
+		public void applyInPlace(double[] values, int offset, int length) {
+			DoubleKernels.tanh(values, offset, length);
+		}
+
+		@Override
+		public void applyInPlace(float[] values, int offset, int length) {
+			FloatKernels.tanh(values, offset, length);
+		}
+
+	},
+
+	RELU {
+
+		@Override
+		public double apply(double value) {
+			return Math.max(value, 0);
+		}
+
+		@Override
+		public void applyInPlace(double[] values, int offset, int length) {
+			DoubleKernels.relu(values, offset, length);
+		}
+
+		@Override
+		public void applyInPlace(float[] values, int offset, int length) {
+			FloatKernels.relu(values, offset, length);
+		}
+
+	};
+
+}
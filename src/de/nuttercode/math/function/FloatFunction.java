@@ -0,0 +1,20 @@
+package de.nuttercode.math.function;
+
+import java.io.Serializable;
+
+/**
+ * maps a float value to another float value
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@FunctionalInterface
+public interface FloatFunction extends Serializable {
+
+	/**
+	 * @param value
+	 * @return return value of this function
+	 */
+	float apply(float value);
+
+}
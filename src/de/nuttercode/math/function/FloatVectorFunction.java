@@ -0,0 +1,22 @@
+package de.nuttercode.math.function;
+
+import java.io.Serializable;
+
+import de.nuttercode.math.vector.FloatVector;
+
+/**
+ * maps a {@link FloatVector} value to another {@link FloatVector} value
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@FunctionalInterface
+public interface FloatVectorFunction extends Serializable {
+
+	/**
+	 * @param value
+	 * @return return value of this function
+	 */
+	FloatVector apply(FloatVector value);
+
+}
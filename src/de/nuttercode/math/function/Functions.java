@@ -1,7 +1,11 @@
 package de.nuttercode.math.function;
 
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
 import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.Reductions;
 import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
 
 /**
  * utility class contains serveral static functions
@@ -13,49 +17,72 @@ public class Functions {
 
 	/**
 	 * <a href="https://en.wikipedia.org/wiki/Sigmoid_function">sigmoid function</a>
+	 * 1 / (1 + e^-x). the bulk application is vectorized - see
+	 * {@link DoubleKernels#sigmoid(double[], int, int)}.
 	 */
-	public final static DoubleFunction SIGMOID = value -> 1 / 1 + Math.exp(value);
+	public final static ActivationFunction SIGMOID = Activations.SIGMOID;
+
+	/**
+	 * <a href="https://en.wikipedia.org/wiki/Hyperbolic_functions">hyperbolic
+	 * tangent</a>. the bulk application is vectorized - see
+	 * {@link DoubleKernels#tanh(double[], int, int)}.
+	 */
+	public final static ActivationFunction TANH = Activations.TANH;
 
 	/**
 	 * <a href="https://en.wikipedia.org/wiki/Rectifier_(neural_networks)">rectified
-	 * linear unit</a>
+	 * linear unit</a>. the bulk application is vectorized - see
+	 * {@link DoubleKernels#relu(double[], int, int)}.
 	 */
-	public final static DoubleFunction RELU = value -> Math.max(value, 0);
+	public final static ActivationFunction RELU = Activations.RELU;
 
 	/**
 	 * <a href="https://en.wikipedia.org/wiki/Softmax_function">soft max function
-	 * with base e and beta = 1</a>
+	 * with base e and beta = 1</a>. the value may be stored in the argument vector
+	 * itself. stable for any input range - see {@link SoftMax}.
+	 */
+	public final static InPlaceDoubleVectorFunction SOFT_MAX = (v, result) -> {
+		int dimension = Assurance.assureNotNull(v).getDimension();
+		Assurance.assureEquals(dimension, Assurance.assureNotNull(result).getDimension());
+		SoftMax.softMax(v.getArray(), 0, result.getArray(), 0, dimension);
+		return result;
+	};
+
+	/**
+	 * logarithm of {@link #SOFT_MAX}. the value may be stored in the argument
+	 * vector itself. stable for any input range - see {@link SoftMax}.
 	 */
-	public final static DoubleVectorFunction SOFT_MAX = v -> {
-		Assurance.assureNotNull(v);
-		int dimension = v.getDimension();
-		DoubleVector result = new DoubleVector(dimension);
-		double scalar = 0;
-		for (int a = 0; a < dimension; a++) {
-			result.setValue(Math.pow(Math.E, v.getValue(a)), a);
-			scalar += result.getValue(a);
-		}
-		Assurance.assurePositive(scalar);
-		for (int a = 0; a < dimension; a++) {
-			result.setValue(result.getValue(a) / scalar, a);
-		}
+	public final static InPlaceDoubleVectorFunction LOG_SOFT_MAX = (v, result) -> {
+		int dimension = Assurance.assureNotNull(v).getDimension();
+		Assurance.assureEquals(dimension, Assurance.assureNotNull(result).getDimension());
+		SoftMax.logSoftMax(v.getArray(), 0, result.getArray(), 0, dimension);
 		return result;
 	};
 
 	/**
 	 * <a href="https://en.wikipedia.org/wiki/Mean_squared_error">mean squared error
-	 * function</a>
+	 * function</a>. the squared differences are summed with compensation - see
+	 * {@link Reductions#meanSquaredError(double[], int, double[], int, int, Parallelism)}.
 	 */
-	public final static BiDoubleVectorToDoubleFunction MEAN_SQUARED_ERROR = (v, w) -> {
+	public final static BiDoubleVectorToDoubleFunction MEAN_SQUARED_ERROR = (v, w) -> meanSquaredError(v, w,
+			Parallelism.SEQUENTIAL);
+
+	/**
+	 * {@link #MEAN_SQUARED_ERROR} whose blocks may be reduced in parallel - the
+	 * result is identical for every parallelism
+	 * 
+	 * @param v
+	 * @param w
+	 * @param parallelism
+	 * @return mean of the squared differences of v and w
+	 * @throws IllegalArgumentException if an argument is null or the dimensions
+	 *                                  are different or not positive
+	 */
+	public static double meanSquaredError(@NotNull DoubleVector v, @NotNull DoubleVector w,
+			@NotNull Parallelism parallelism) {
 		int dimension = Assurance.assureNotNull(v).getDimension();
 		Assurance.assureEquals(dimension, Assurance.assureNotNull(w).getDimension());
-		double error = 0;
-		double currentDifference;
-		for (int a = 0; a < dimension; a++) {
-			currentDifference = v.getValue(a) - w.getValue(a);
-			error += currentDifference * currentDifference;
-		}
-		return error / dimension;
-	};
+		return Reductions.meanSquaredError(v.getArray(), 0, w.getArray(), 0, dimension, parallelism);
+	}
 
 }
@@ -0,0 +1,48 @@
+package de.nuttercode.math.function;
+
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * {@link DoubleVectorFunction} which writes its return value into a given
+ * {@link DoubleVector} instead of allocating a new one
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@FunctionalInterface
+public interface InPlaceDoubleVectorFunction extends DoubleVectorFunction {
+
+	/**
+	 * applies this function on value and stores the return value in result. value
+	 * and result may be the same vector.
+	 * 
+	 * @param value
+	 * @param result vector with the dimension of the return value - will be
+	 *               overwritten
+	 * @return result
+	 */
+	DoubleVector apply(@NotNull DoubleVector value, @NotNull DoubleVector result);
+
+	/**
+	 * applies this function on value and stores the return value in value
+	 * 
+	 * @param value
+	 * @return value
+	 */
+	default DoubleVector applyInPlace(@NotNull DoubleVector value) {
+		return apply(value, value);
+	}
+
+	/**
+	 * allocates the return value and invokes
+	 * {@link #apply(DoubleVector, DoubleVector)}. the return value has the
+	 * dimension of value.
+	 */
+	@Override
+	default DoubleVector apply(DoubleVector value) {
+		return apply(value, new DoubleVector(Assurance.assureNotNull(value).getDimension()));
+	}
+
+}
@@ -0,0 +1,292 @@
+package de.nuttercode.math.function;
+
+import java.util.Objects;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * numerically stable <a href="https://en.wikipedia.org/wiki/Softmax_function">
+ * soft max</a>, log soft max and
+ * <a href="https://en.wikipedia.org/wiki/LogSumExp">log-sum-exp</a> of array
+ * ranges and of every row of a matrix. the maximum m of the values is
+ * subtracted before the exponentiation, i.e. softMax(x)_i = e^(x_i - m) / sum
+ * of e^(x_j - m) and logSumExp(x) = m + log(sum of e^(x_j - m)), so no term
+ * overflows and the sum is at least 1. the soft max is NaN if a value is NaN or
+ * +infinity or if all values are -infinity, while the log-sum-exp is +infinity
+ * or -infinity in the latter cases. the exponentials and their sum are computed
+ * in one pass by
+ * {@link DoubleKernels#expSum(double[], int, double, double[], int, int)}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class SoftMax {
+
+	private SoftMax() {
+	}
+
+	/**
+	 * @param values
+	 * @param offset
+	 * @param length positive length
+	 * @return the shift for the exponentiation - the maximum of the range if it is
+	 *         finite and 0 otherwise
+	 */
+	private static double shift(double[] values, int offset, int length) {
+		double max = values[offset + DoubleKernels.maxIndex(values, offset, length)];
+		return Double.isInfinite(max) ? 0 : max;
+	}
+
+	/**
+	 * @param values
+	 * @param offset
+	 * @param length positive length
+	 * @return log(sum of e^values[offset + i] for i in [0, length))
+	 * @throws IndexOutOfBoundsException if the range is out of bounds or empty
+	 */
+	public static double logSumExp(@NotNull double[] values, int offset, int length) {
+		double shift = shift(values, offset, length);
+		return shift + Math.log(DoubleKernels.sumExp(values, offset, shift, length));
+	}
+
+	/**
+	 * stores the soft max of the source range in the destination range. the
+	 * ranges must either be disjoint or identical.
+	 * 
+	 * @param source
+	 * @param sourceOffset
+	 * @param destination
+	 * @param destinationOffset
+	 * @param length            positive length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds or empty
+	 */
+	public static void softMax(@NotNull double[] source, int sourceOffset, @NotNull double[] destination,
+			int destinationOffset, int length) {
+		double shift = shift(source, sourceOffset, length);
+		double sum = DoubleKernels.expSum(source, sourceOffset, shift, destination, destinationOffset, length);
+		for (int a = destinationOffset; a < destinationOffset + length; a++)
+			destination[a] /= sum;
+	}
+
+	/**
+	 * replaces the range by its soft max
+	 * 
+	 * @param values
+	 * @param offset
+	 * @param length positive length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds or empty
+	 */
+	public static void softMax(@NotNull double[] values, int offset, int length) {
+		softMax(values, offset, values, offset, length);
+	}
+
+	/**
+	 * stores the log soft max of the source range, i.e. source[sourceOffset + i]
+	 * - {@link #logSumExp(double[], int, int) logSumExp(source, sourceOffset,
+	 * length)}, in the destination range. the ranges must either be disjoint or
+	 * identical.
+	 * 
+	 * @param source
+	 * @param sourceOffset
+	 * @param destination
+	 * @param destinationOffset
+	 * @param length            positive length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds or empty
+	 */
+	public static void logSoftMax(@NotNull double[] source, int sourceOffset, @NotNull double[] destination,
+			int destinationOffset, int length) {
+		Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+		double logSumExp = logSumExp(source, sourceOffset, length);
+		for (int a = 0; a < length; a++)
+			destination[destinationOffset + a] = source[sourceOffset + a] - logSumExp;
+	}
+
+	/**
+	 * replaces the range by its log soft max
+	 * 
+	 * @param values
+	 * @param offset
+	 * @param length positive length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds or empty
+	 */
+	public static void logSoftMax(@NotNull double[] values, int offset, int length) {
+		logSoftMax(values, offset, values, offset, length);
+	}
+
+	/**
+	 * replaces every row of the matrix by its soft max
+	 * 
+	 * @param matrix
+	 * @return matrix
+	 */
+	public static DoubleMatrix softMaxRows(@NotNull DoubleMatrix matrix) {
+		return softMaxRows(matrix, matrix, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * stores the soft max of every row of the matrix in the same row of result.
+	 * the rows may be processed in parallel if both matrices are
+	 * {@link FullDoubleMatrix full matrices}.
+	 * 
+	 * @param matrix
+	 * @param result      matrix with the dimensions of matrix - will be
+	 *                    overwritten. may be matrix itself.
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null or the dimensions do
+	 *                                  not match
+	 */
+	public static DoubleMatrix softMaxRows(@NotNull DoubleMatrix matrix, @NotNull DoubleMatrix result,
+			@NotNull Parallelism parallelism) {
+		return applyRows(matrix, result, parallelism, false);
+	}
+
+	/**
+	 * replaces every row of the matrix by its log soft max
+	 * 
+	 * @param matrix
+	 * @return matrix
+	 */
+	public static DoubleMatrix logSoftMaxRows(@NotNull DoubleMatrix matrix) {
+		return logSoftMaxRows(matrix, matrix, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * stores the log soft max of every row of the matrix in the same row of
+	 * result. the rows may be processed in parallel if both matrices are
+	 * {@link FullDoubleMatrix full matrices}.
+	 * 
+	 * @param matrix
+	 * @param result      matrix with the dimensions of matrix - will be
+	 *                    overwritten. may be matrix itself.
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null or the dimensions do
+	 *                                  not match
+	 */
+	public static DoubleMatrix logSoftMaxRows(@NotNull DoubleMatrix matrix, @NotNull DoubleMatrix result,
+			@NotNull Parallelism parallelism) {
+		return applyRows(matrix, result, parallelism, true);
+	}
+
+	/**
+	 * @param matrix
+	 * @return vector of the {@link #logSumExp(double[], int, int) log-sum-exp} of
+	 *         every row of the matrix
+	 */
+	public static DoubleVector logSumExpRows(@NotNull DoubleMatrix matrix) {
+		return logSumExpRows(matrix, new DoubleVector(Assurance.assureNotNull(matrix).getRowCount()),
+				Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * stores the {@link #logSumExp(double[], int, int) log-sum-exp} of every row
+	 * of the matrix in result. the rows may be processed in parallel if the matrix
+	 * is a {@link FullDoubleMatrix full matrix}.
+	 * 
+	 * @param matrix
+	 * @param result      vector with dimension matrix.getRowCount() - will be
+	 *                    overwritten
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null or the dimensions do
+	 *                                  not match
+	 */
+	public static DoubleVector logSumExpRows(@NotNull DoubleMatrix matrix, @NotNull DoubleVector result,
+			@NotNull Parallelism parallelism) {
+		int rowCount = Assurance.assureNotNull(matrix).getRowCount();
+		int columnCount = matrix.getColumnCount();
+		Assurance.assureEquals(rowCount, Assurance.assureNotNull(result).getDimension());
+		Assurance.assureNotNull(parallelism);
+		double[] destination = result.getArray();
+		if (matrix instanceof FullDoubleMatrix) {
+			double[] values = ((FullDoubleMatrix) matrix).getArray();
+			long work = (long) rowCount * columnCount;
+			if (parallelism.isParallel(work))
+				parallelism.execute(rowCount, 1, work,
+						(from, to) -> logSumExpRows(values, columnCount, destination, from, to));
+			else
+				logSumExpRows(values, columnCount, destination, 0, rowCount);
+		} else {
+			double[] row = new double[columnCount];
+			for (int i = 0; i < rowCount; i++)
+				destination[i] = logSumExp(getRow(matrix, i, row), 0, columnCount);
+		}
+		return result;
+	}
+
+	/**
+	 * computes the rows [from, to) of
+	 * {@link #logSumExpRows(DoubleMatrix, DoubleVector, Parallelism)}
+	 */
+	private static void logSumExpRows(double[] values, int columnCount, double[] destination, int from, int to) {
+		for (int i = from; i < to; i++)
+			destination[i] = logSumExp(values, i * columnCount, columnCount);
+	}
+
+	/**
+	 * stores the (log) soft max of every row of matrix in result
+	 */
+	private static DoubleMatrix applyRows(DoubleMatrix matrix, DoubleMatrix result, Parallelism parallelism,
+			boolean logarithmic) {
+		int rowCount = Assurance.assureNotNull(matrix).getRowCount();
+		int columnCount = matrix.getColumnCount();
+		Assurance.assureEquals(rowCount, Assurance.assureNotNull(result).getRowCount());
+		Assurance.assureEquals(columnCount, result.getColumnCount());
+		Assurance.assureNotNull(parallelism);
+		if (matrix instanceof FullDoubleMatrix && result instanceof FullDoubleMatrix) {
+			double[] source = ((FullDoubleMatrix) matrix).getArray();
+			double[] destination = ((FullDoubleMatrix) result).getArray();
+			long work = (long) rowCount * columnCount;
+			if (parallelism.isParallel(work))
+				parallelism.execute(rowCount, 1, work,
+						(from, to) -> applyRows(source, destination, columnCount, from, to, logarithmic));
+			else
+				applyRows(source, destination, columnCount, 0, rowCount, logarithmic);
+		} else {
+			double[] row = new double[columnCount];
+			for (int i = 0; i < rowCount; i++) {
+				getRow(matrix, i, row);
+				if (logarithmic)
+					logSoftMax(row, 0, columnCount);
+				else
+					softMax(row, 0, columnCount);
+				for (int j = 0; j < columnCount; j++)
+					result.setValue(row[j], i, j);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * computes the rows [from, to) of
+	 * {@link #applyRows(DoubleMatrix, DoubleMatrix, Parallelism, boolean)}
+	 */
+	private static void applyRows(double[] source, double[] destination, int columnCount, int from, int to,
+			boolean logarithmic) {
+		for (int offset = from * columnCount; offset < to * columnCount; offset += columnCount) {
+			if (logarithmic)
+				logSoftMax(source, offset, destination, offset, columnCount);
+			else
+				softMax(source, offset, destination, offset, columnCount);
+		}
+	}
+
+	/**
+	 * copies the row of the matrix into destination
+	 * 
+	 * @return destination
+	 */
+	private static double[] getRow(DoubleMatrix matrix, int row, double[] destination) {
+		for (int j = 0; j < destination.length; j++)
+			destination[j] = matrix.getValue(row, j);
+		return destination;
+	}
+
+}
@@ -0,0 +1,572 @@
+package de.nuttercode.math.matrix;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * versioned binary format for {@link DoubleVector DoubleVectors} and
+ * {@link FullDoubleMatrix dense}, {@link SparseDoubleMatrix sparse},
+ * {@link CsrDoubleMatrix CSR} and {@link CscDoubleMatrix CSC} matrices. all
+ * numbers are little-endian and arrays are transferred in bulk through a direct
+ * buffer, so reading and writing run at the speed of the channel. every file
+ * starts with a header of {@value #HEADER_SIZE} bytes:
+ * 
+ * <pre>
+ * offset  type    content
+ * 0       int     magic number 0x464D434E ("NCMF")
+ * 4       short   version
+ * 6       short   type (vector, dense, sparse, CSR or CSC)
+ * 8       int     number of rows (dimension of a vector)
+ * 12      int     number of columns (1 for a vector)
+ * 16      long    number of stored values
+ * 24      double  default value of a sparse matrix (0 otherwise)
+ * </pre>
+ * 
+ * the header is followed by the payload:
+ * <ul>
+ * <li>vector: the values</li>
+ * <li>dense: the values in row-major order</li>
+ * <li>sparse: the rows, the columns and the values of all stored values</li>
+ * <li>CSR/CSC: the pointers, the indices, 0 or 4 bytes of padding and the
+ * values - see {@link CompressedDoubleMatrix}</li>
+ * </ul>
+ * the payload of a dense matrix is aligned to 8 bytes and has the layout of
+ * {@link OffHeapDoubleMatrix}, so it can be {@link #map(Path, boolean) mapped}
+ * without copying.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class BinaryFormat {
+
+	/**
+	 * magic number of the format
+	 */
+	private static final int MAGIC = 0x464D434E;
+
+	/**
+	 * current version of the format
+	 */
+	private static final short VERSION = 1;
+
+	/**
+	 * size of the header in bytes
+	 */
+	public static final int HEADER_SIZE = 32;
+
+	/**
+	 * size of the transfer buffer in bytes
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final short TYPE_VECTOR = 1;
+	private static final short TYPE_DENSE = 2;
+	private static final short TYPE_SPARSE = 3;
+	private static final short TYPE_CSR = 4;
+	private static final short TYPE_CSC = 5;
+
+	private BinaryFormat() {
+	}
+
+	/**
+	 * writes the vector to the channel
+	 * 
+	 * @param vector
+	 * @param channel
+	 * @throws IOException if the channel can not be written
+	 */
+	public static void write(@NotNull DoubleVector vector, @NotNull WritableByteChannel channel) throws IOException {
+		Assurance.assureNotNull(vector);
+		Assurance.assureNotNull(channel);
+		Transfer transfer = new Transfer();
+		transfer.writeHeader(channel, TYPE_VECTOR, vector.getDimension(), 1, vector.getDimension(), 0);
+		transfer.write(channel, vector.getArray(), 0, vector.getDimension());
+		transfer.flush(channel);
+	}
+
+	/**
+	 * writes the matrix to the channel. {@link SparseDoubleMatrix},
+	 * {@link CsrDoubleMatrix} and {@link CscDoubleMatrix} keep their format, every
+	 * other matrix is written as dense matrix.
+	 * 
+	 * @param matrix
+	 * @param channel
+	 * @throws IOException if the channel can not be written
+	 */
+	public static void write(@NotNull DoubleMatrix matrix, @NotNull WritableByteChannel channel) throws IOException {
+		Assurance.assureNotNull(matrix);
+		Assurance.assureNotNull(channel);
+		Transfer transfer = new Transfer();
+		if (matrix instanceof SparseDoubleMatrix)
+			writeSparse((SparseDoubleMatrix) matrix, channel, transfer);
+		else if (matrix instanceof CompressedDoubleMatrix)
+			writeCompressed((CompressedDoubleMatrix) matrix, channel, transfer);
+		else
+			writeDense(matrix, channel, transfer);
+		transfer.flush(channel);
+	}
+
+	/**
+	 * @param matrix
+	 * @param channel
+	 * @param transfer
+	 * @throws IOException
+	 */
+	private static void writeDense(DoubleMatrix matrix, WritableByteChannel channel, Transfer transfer)
+			throws IOException {
+		int rowCount = matrix.getRowCount();
+		int columnCount = matrix.getColumnCount();
+		transfer.writeHeader(channel, TYPE_DENSE, rowCount, columnCount, (long) rowCount * columnCount, 0);
+		if (matrix instanceof FullDoubleMatrix) {
+			transfer.write(channel, ((FullDoubleMatrix) matrix).values, 0, rowCount * columnCount);
+			return;
+		}
+		double[] row = new double[columnCount];
+		for (int i = 0; i < rowCount; i++) {
+			if (matrix instanceof OffHeapDoubleMatrix)
+				((OffHeapDoubleMatrix) matrix).getRow(i, row);
+			else
+				for (int j = 0; j < columnCount; j++)
+					row[j] = matrix.getValue(i, j);
+			transfer.write(channel, row, 0, columnCount);
+		}
+	}
+
+	/**
+	 * @param matrix
+	 * @param channel
+	 * @param transfer
+	 * @throws IOException
+	 */
+	private static void writeSparse(SparseDoubleMatrix matrix, WritableByteChannel channel, Transfer transfer)
+			throws IOException {
+		int valueCount = matrix.getValueCount();
+		int[] rows = new int[valueCount];
+		int[] columns = new int[valueCount];
+		double[] values = new double[valueCount];
+		int[] counter = { 0 };
+		matrix.forEach((i, j, value) -> {
+			rows[counter[0]] = i;
+			columns[counter[0]] = j;
+			values[counter[0]++] = value;
+		});
+		transfer.writeHeader(channel, TYPE_SPARSE, matrix.getRowCount(), matrix.getColumnCount(), valueCount,
+				matrix.getDefaultValue());
+		transfer.write(channel, rows, 0, valueCount);
+		transfer.write(channel, columns, 0, valueCount);
+		transfer.write(channel, values, 0, valueCount);
+	}
+
+	/**
+	 * @param matrix
+	 * @param channel
+	 * @param transfer
+	 * @throws IOException
+	 */
+	private static void writeCompressed(CompressedDoubleMatrix matrix, WritableByteChannel channel, Transfer transfer)
+			throws IOException {
+		int valueCount = matrix.values.length;
+		transfer.writeHeader(channel, matrix instanceof CsrDoubleMatrix ? TYPE_CSR : TYPE_CSC, matrix.getRowCount(),
+				matrix.getColumnCount(), valueCount, 0);
+		transfer.write(channel, matrix.pointers, 0, matrix.pointers.length);
+		transfer.write(channel, matrix.indices, 0, valueCount);
+		if (isPadded(matrix.majorCount, valueCount))
+			transfer.write(channel, new int[1], 0, 1);
+		transfer.write(channel, matrix.values, 0, valueCount);
+	}
+
+	/**
+	 * @param majorCount
+	 * @param valueCount
+	 * @return true if the pointers and indices of a compressed matrix are followed
+	 *         by 4 bytes of padding
+	 */
+	private static boolean isPadded(int majorCount, int valueCount) {
+		return ((majorCount + 1 + valueCount) & 1) != 0;
+	}
+
+	/**
+	 * writes the vector to the file at path. an existing file will be overwritten.
+	 * 
+	 * @param vector
+	 * @param path
+	 * @throws IOException if the file can not be written
+	 */
+	public static void write(@NotNull DoubleVector vector, @NotNull Path path) throws IOException {
+		try (FileChannel channel = openForWriting(path)) {
+			write(vector, channel);
+		}
+	}
+
+	/**
+	 * writes the matrix to the file at path. an existing file will be overwritten.
+	 * 
+	 * @param matrix
+	 * @param path
+	 * @throws IOException if the file can not be written
+	 * @see #write(DoubleMatrix, WritableByteChannel)
+	 */
+	public static void write(@NotNull DoubleMatrix matrix, @NotNull Path path) throws IOException {
+		try (FileChannel channel = openForWriting(path)) {
+			write(matrix, channel);
+		}
+	}
+
+	/**
+	 * @param path
+	 * @return channel which truncates or creates the file
+	 * @throws IOException
+	 */
+	private static FileChannel openForWriting(Path path) throws IOException {
+		return FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * reads a vector from the channel
+	 * 
+	 * @param channel
+	 * @return the vector
+	 * @throws IOException if the channel can not be read or does not contain a
+	 *                     vector
+	 */
+	public static DoubleVector readVector(@NotNull ReadableByteChannel channel) throws IOException {
+		Assurance.assureNotNull(channel);
+		Transfer transfer = new Transfer();
+		Header header = transfer.readHeader(channel);
+		if (header.type != TYPE_VECTOR)
+			throw new IOException("expected a vector but found type " + header.type);
+		if (header.rowCount < 0 || header.columnCount != 1 || header.valueCount != header.rowCount)
+			throw new IOException("corrupt header of a vector with dimension " + header.rowCount);
+		DoubleVector vector = new DoubleVector(header.rowCount);
+		transfer.read(channel, vector.getArray(), 0, header.rowCount);
+		return vector;
+	}
+
+	/**
+	 * reads a matrix from the channel. the matrix has the type it was written
+	 * with, i.e. a {@link FullDoubleMatrix}, {@link SparseDoubleMatrix},
+	 * {@link CsrDoubleMatrix} or {@link CscDoubleMatrix}.
+	 * 
+	 * @param channel
+	 * @return the matrix
+	 * @throws IOException if the channel can not be read or does not contain a
+	 *                     valid matrix
+	 */
+	public static DoubleMatrix readMatrix(@NotNull ReadableByteChannel channel) throws IOException {
+		Assurance.assureNotNull(channel);
+		Transfer transfer = new Transfer();
+		Header header = transfer.readHeader(channel);
+		if (header.rowCount <= 0 || header.columnCount <= 0 || header.valueCount < 0)
+			throw new IOException(
+					"corrupt header of a " + header.rowCount + "x" + header.columnCount + " matrix");
+		try {
+			switch (header.type) {
+			case TYPE_DENSE:
+				return readDense(header, channel, transfer);
+			case TYPE_SPARSE:
+				return readSparse(header, channel, transfer);
+			case TYPE_CSR:
+				return readCompressed(
+						new CsrDoubleMatrix(header.rowCount, header.columnCount, getValueCount(header)), channel,
+						transfer);
+			case TYPE_CSC:
+				return readCompressed(
+						new CscDoubleMatrix(header.rowCount, header.columnCount, getValueCount(header)), channel,
+						transfer);
+			default:
+				throw new IOException("expected a matrix but found type " + header.type);
+			}
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("corrupt matrix: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @param header
+	 * @param channel
+	 * @param transfer
+	 * @return dense matrix
+	 * @throws IOException
+	 */
+	private static FullDoubleMatrix readDense(Header header, ReadableByteChannel channel, Transfer transfer)
+			throws IOException {
+		if (header.valueCount != (long) header.rowCount * header.columnCount)
+			throw new IOException("corrupt header of a dense matrix");
+		if (header.valueCount > Integer.MAX_VALUE)
+			throw new IOException(header.rowCount + "x" + header.columnCount
+					+ " values do not fit into a FullDoubleMatrix - use map(Path, boolean) instead");
+		FullDoubleMatrix matrix = new FullDoubleMatrix(header.rowCount, header.columnCount);
+		transfer.read(channel, matrix.values, 0, matrix.values.length);
+		return matrix;
+	}
+
+	/**
+	 * @param header
+	 * @param channel
+	 * @param transfer
+	 * @return sparse matrix
+	 * @throws IOException
+	 */
+	private static SparseDoubleMatrix readSparse(Header header, ReadableByteChannel channel, Transfer transfer)
+			throws IOException {
+		int valueCount = getValueCount(header);
+		int[] rows = new int[valueCount];
+		int[] columns = new int[valueCount];
+		double[] values = new double[valueCount];
+		transfer.read(channel, rows, 0, valueCount);
+		transfer.read(channel, columns, 0, valueCount);
+		transfer.read(channel, values, 0, valueCount);
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(header.defaultValue, header.rowCount, header.columnCount,
+				valueCount);
+		for (int a = 0; a < valueCount; a++)
+			matrix.setValue(values[a], rows[a], columns[a]);
+		return matrix;
+	}
+
+	/**
+	 * fills the storage of the matrix from the channel
+	 * 
+	 * @param matrix
+	 * @param channel
+	 * @param transfer
+	 * @return matrix
+	 * @throws IOException
+	 */
+	private static CompressedDoubleMatrix readCompressed(CompressedDoubleMatrix matrix, ReadableByteChannel channel,
+			Transfer transfer) throws IOException {
+		int valueCount = matrix.values.length;
+		transfer.read(channel, matrix.pointers, 0, matrix.pointers.length);
+		transfer.read(channel, matrix.indices, 0, valueCount);
+		if (isPadded(matrix.majorCount, valueCount))
+			transfer.read(channel, new int[1], 0, 1);
+		transfer.read(channel, matrix.values, 0, valueCount);
+		matrix.assureStructure();
+		return matrix;
+	}
+
+	/**
+	 * @param header
+	 * @return number of stored values of a matrix which has to fit into an array
+	 * @throws IOException if the number does not fit into an array
+	 */
+	private static int getValueCount(Header header) throws IOException {
+		if (header.valueCount > Integer.MAX_VALUE || header.valueCount > (long) header.rowCount * header.columnCount)
+			throw new IOException("corrupt header with " + header.valueCount + " values");
+		return (int) header.valueCount;
+	}
+
+	/**
+	 * reads a vector from the file at path
+	 * 
+	 * @param path
+	 * @return the vector
+	 * @throws IOException if the file can not be read or does not contain a vector
+	 */
+	public static DoubleVector readVector(@NotNull Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.READ)) {
+			return readVector(channel);
+		}
+	}
+
+	/**
+	 * reads a matrix from the file at path
+	 * 
+	 * @param path
+	 * @return the matrix
+	 * @throws IOException if the file can not be read or does not contain a valid
+	 *                     matrix
+	 * @see #readMatrix(ReadableByteChannel)
+	 */
+	public static DoubleMatrix readMatrix(@NotNull Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.READ)) {
+			return readMatrix(channel);
+		}
+	}
+
+	/**
+	 * maps the dense matrix in the file at path without copying its values. the
+	 * values are paged in lazily, so this takes constant time and works for
+	 * matrices larger than the heap.
+	 * 
+	 * @param path     path of a file which contains a dense matrix
+	 * @param writable true if changes should be written back to the file
+	 * @return the mapped matrix
+	 * @throws IOException if the file can not be mapped or does not contain a
+	 *                     dense matrix
+	 */
+	public static OffHeapDoubleMatrix map(@NotNull Path path, boolean writable) throws IOException {
+		Assurance.assureNotNull(path);
+		try (FileChannel channel = writable
+				? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+				: FileChannel.open(path, StandardOpenOption.READ)) {
+			Header header = new Transfer().readHeader(channel);
+			if (header.type != TYPE_DENSE)
+				throw new IOException("expected a dense matrix but found type " + header.type);
+			if (header.rowCount <= 0 || header.columnCount <= 0
+					|| header.valueCount != (long) header.rowCount * header.columnCount
+					|| channel.size() < HEADER_SIZE + header.valueCount * Double.BYTES)
+				throw new IOException("corrupt dense matrix");
+			return new OffHeapDoubleMatrix(channel, HEADER_SIZE, header.rowCount, header.columnCount,
+					writable ? MapMode.READ_WRITE : MapMode.READ_ONLY);
+		}
+	}
+
+	/**
+	 * header of a file
+	 * 
+	 * @author Johannes B. Latzel
+	 *
+	 */
+	private static final class Header {
+
+		private final short type;
+		private final int rowCount;
+		private final int columnCount;
+		private final long valueCount;
+		private final double defaultValue;
+
+		private Header(short type, int rowCount, int columnCount, long valueCount, double defaultValue) {
+			this.type = type;
+			this.rowCount = rowCount;
+			this.columnCount = columnCount;
+			this.valueCount = valueCount;
+			this.defaultValue = defaultValue;
+		}
+
+	}
+
+	/**
+	 * little-endian transfer buffer. written data is collected in the buffer and
+	 * {@link #flush(WritableByteChannel) flushed} whenever it is full.
+	 * 
+	 * @author Johannes B. Latzel
+	 *
+	 */
+	private static final class Transfer {
+
+		private final ByteBuffer buffer;
+		private final IntBuffer ints;
+		private final DoubleBuffer doubles;
+
+		private Transfer() {
+			buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			ints = buffer.asIntBuffer();
+			doubles = buffer.asDoubleBuffer();
+		}
+
+		private void writeHeader(WritableByteChannel channel, short type, int rowCount, int columnCount,
+				long valueCount, double defaultValue) throws IOException {
+			buffer.putInt(MAGIC);
+			buffer.putShort(VERSION);
+			buffer.putShort(type);
+			buffer.putInt(rowCount);
+			buffer.putInt(columnCount);
+			buffer.putLong(valueCount);
+			buffer.putDouble(defaultValue);
+			flush(channel);
+		}
+
+		private Header readHeader(ReadableByteChannel channel) throws IOException {
+			buffer.clear().limit(HEADER_SIZE);
+			fill(channel);
+			if (buffer.getInt(0) != MAGIC)
+				throw new IOException("not a matrix file");
+			short version = buffer.getShort(4);
+			if (version <= 0 || version > VERSION)
+				throw new IOException("unsupported version " + version);
+			return new Header(buffer.getShort(6), buffer.getInt(8), buffer.getInt(12), buffer.getLong(16),
+					buffer.getDouble(24));
+		}
+
+		/**
+		 * writes the buffer [0, position) to the channel
+		 */
+		private void flush(WritableByteChannel channel) throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+
+		/**
+		 * reads the buffer [position, limit) from the channel
+		 */
+		private void fill(ReadableByteChannel channel) throws IOException {
+			while (buffer.hasRemaining())
+				if (channel.read(buffer) < 0)
+					throw new EOFException();
+		}
+
+		private void write(WritableByteChannel channel, double[] source, int offset, int length) throws IOException {
+			int count;
+			while (length > 0) {
+				if (buffer.remaining() < Double.BYTES || buffer.position() % Double.BYTES != 0)
+					flush(channel);
+				count = Math.min(length, buffer.remaining() / Double.BYTES);
+				doubles.clear().position(buffer.position() / Double.BYTES);
+				doubles.put(source, offset, count);
+				buffer.position(buffer.position() + count * Double.BYTES);
+				offset += count;
+				length -= count;
+			}
+		}
+
+		private void write(WritableByteChannel channel, int[] source, int offset, int length) throws IOException {
+			int count;
+			while (length > 0) {
+				if (buffer.remaining() < Integer.BYTES)
+					flush(channel);
+				count = Math.min(length, buffer.remaining() / Integer.BYTES);
+				ints.clear().position(buffer.position() / Integer.BYTES);
+				ints.put(source, offset, count);
+				buffer.position(buffer.position() + count * Integer.BYTES);
+				offset += count;
+				length -= count;
+			}
+		}
+
+		private void read(ReadableByteChannel channel, double[] destination, int offset, int length)
+				throws IOException {
+			int count;
+			while (length > 0) {
+				count = Math.min(length, BUFFER_SIZE / Double.BYTES);
+				buffer.clear().limit(count * Double.BYTES);
+				fill(channel);
+				doubles.clear();
+				doubles.get(destination, offset, count);
+				offset += count;
+				length -= count;
+			}
+		}
+
+		private void read(ReadableByteChannel channel, int[] destination, int offset, int length) throws IOException {
+			int count;
+			while (length > 0) {
+				count = Math.min(length, BUFFER_SIZE / Integer.BYTES);
+				buffer.clear().limit(count * Integer.BYTES);
+				fill(channel);
+				ints.clear();
+				ints.get(destination, offset, count);
+				offset += count;
+				length -= count;
+			}
+		}
+
+	}
+
+}
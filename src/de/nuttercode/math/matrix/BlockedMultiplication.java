@@ -0,0 +1,282 @@
+package de.nuttercode.math.matrix;
+
+import de.nuttercode.math.parallel.Parallelism;
+
+/**
+ * cache-blocked matrix-matrix multiplication for row-major arrays. the
+ * implementation follows the layered approach of
+ * <a href="https://www.cs.utexas.edu/~flame/pubs/GotoTOMS_final.pdf">Goto and
+ * van de Geijn</a>: panels of the right-hand side are packed once into
+ * contiguous slivers that stay in the L2/L3 cache, blocks of the left-hand side
+ * are packed into slivers that stay in the L1 cache and a
+ * {@value #MR}x{@value #NR} micro-kernel keeps its accumulators in registers.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class BlockedMultiplication {
+
+	/**
+	 * number of rows computed by the micro-kernel
+	 */
+	static final int MR = 4;
+
+	/**
+	 * number of columns computed by the micro-kernel
+	 */
+	static final int NR = 4;
+
+	/**
+	 * depth of a packed panel
+	 */
+	static final int KC = 256;
+
+	/**
+	 * number of rows of a packed block of the left-hand side
+	 */
+	static final int MC = 64;
+
+	/**
+	 * number of columns of a packed panel of the right-hand side
+	 */
+	static final int NC = 1024;
+
+	/**
+	 * minimal number of rows of a chunk which is computed in parallel, so that a
+	 * chunk fills several slivers of the micro-kernel
+	 */
+	static final int MINIMAL_ROW_COUNT = 4 * MR;
+
+	/**
+	 * packed block of the left-hand side of every thread - the blocks of the
+	 * left-hand side are packed by the thread which computes their rows
+	 */
+	private static final ThreadLocal<double[]> PACKED_A = ThreadLocal.withInitial(() -> new double[MC * KC]);
+
+	private BlockedMultiplication() {
+	}
+
+	/**
+	 * computes c += a * b. every value of c is accumulated in the same order
+	 * regardless of the parallelism.
+	 * 
+	 * @param a           row-major m x k array
+	 * @param b           row-major k x n array
+	 * @param c           row-major m x n array
+	 * @param m           number of rows of a and c
+	 * @param k           number of columns of a and rows of b
+	 * @param n           number of columns of b and c
+	 * @param parallelism splits the rows of a and c
+	 */
+	static void multiply(double[] a, double[] b, double[] c, int m, int k, int n, Parallelism parallelism) {
+		multiply(a, 0, k, b, 0, n, c, 0, n, m, k, n, parallelism);
+	}
+
+	/**
+	 * computes c += a * b, where a, b and c are row-major submatrices of larger
+	 * arrays, i.e. \(x_{i, j}\) is stored at xOffset + i * ldx + j. b and c may be
+	 * disjoint parts of the same array. every panel of b is packed once and shared
+	 * read-only by all chunks of rows which are computed in parallel. every value
+	 * of c is accumulated in the same order regardless of the parallelism.
+	 * 
+	 * @param a           array of the m x k submatrix a
+	 * @param aOffset     index of \(a_{0, 0}\)
+	 * @param lda         distance between two rows of a
+	 * @param b           array of the k x n submatrix b
+	 * @param bOffset     index of \(b_{0, 0}\)
+	 * @param ldb         distance between two rows of b
+	 * @param c           array of the m x n submatrix c
+	 * @param cOffset     index of \(c_{0, 0}\)
+	 * @param ldc         distance between two rows of c
+	 * @param m           number of rows of a and c
+	 * @param k           number of columns of a and rows of b
+	 * @param n           number of columns of b and c
+	 * @param parallelism splits the rows of a and c
+	 */
+	static void multiply(double[] a, int aOffset, int lda, double[] b, int bOffset, int ldb, double[] c, int cOffset,
+			int ldc, int m, int k, int n, Parallelism parallelism) {
+		multiply(1, a, aOffset, lda, b, bOffset, ldb, c, cOffset, ldc, m, k, n, parallelism);
+	}
+
+	/**
+	 * computes c -= a * b like
+	 * {@link #multiply(double[], int, int, double[], int, int, double[], int, int, int, int, int, Parallelism)}.
+	 * a is negated while it is packed, so the result is identical to c += (-a) *
+	 * b. a may be a part of the array of c which is disjoint from c.
+	 */
+	static void subtract(double[] a, int aOffset, int lda, double[] b, int bOffset, int ldb, double[] c, int cOffset,
+			int ldc, int m, int k, int n, Parallelism parallelism) {
+		multiply(-1, a, aOffset, lda, b, bOffset, ldb, c, cOffset, ldc, m, k, n, parallelism);
+	}
+
+	/**
+	 * computes c += (sign * a) * b
+	 * 
+	 * @param sign 1 or -1 - multiplies every value of a while it is packed
+	 */
+	private static void multiply(double sign, double[] a, int aOffset, int lda, double[] b, int bOffset, int ldb,
+			double[] c, int cOffset, int ldc, int m, int k, int n, Parallelism parallelism) {
+		if (m == 0 || k == 0 || n == 0)
+			return;
+		long work = (long) m * k * n;
+		double[] packedB = new double[Math.min(KC, k) * roundUp(Math.min(NC, n), NR)];
+		for (int jc = 0; jc < n; jc += NC) {
+			int nc = Math.min(NC, n - jc);
+			for (int pc = 0; pc < k; pc += KC) {
+				int kc = Math.min(KC, k - pc);
+				packB(b, bOffset, ldb, pc, kc, jc, nc, packedB);
+				int panelAOffset = aOffset + pc;
+				int panelCOffset = cOffset + jc;
+				parallelism.execute(m, MINIMAL_ROW_COUNT, work, (rowFrom, rowTo) -> multiplyPanel(sign, a,
+						panelAOffset, lda, packedB, kc, nc, c, panelCOffset, ldc, rowFrom, rowTo));
+			}
+		}
+	}
+
+	/**
+	 * computes the rows [rowFrom, rowTo) of c += (sign * a) * b for a packed kc x
+	 * nc panel of b
+	 * 
+	 * @param sign    multiplies every value of a while it is packed
+	 * @param a       array of the submatrix a with kc columns
+	 * @param aOffset index of \(a_{0, 0}\)
+	 * @param lda     distance between two rows of a
+	 * @param packedB packed panel of b
+	 * @param kc      number of columns of a and rows of the panel
+	 * @param nc      number of columns of the panel and c
+	 * @param c       array of the submatrix c with nc columns
+	 * @param cOffset index of \(c_{0, 0}\)
+	 * @param ldc     distance between two rows of c
+	 * @param rowFrom first row (inclusive)
+	 * @param rowTo   last row (exclusive)
+	 */
+	private static void multiplyPanel(double sign, double[] a, int aOffset, int lda, double[] packedB, int kc, int nc,
+			double[] c, int cOffset, int ldc, int rowFrom, int rowTo) {
+		double[] packedA = PACKED_A.get();
+		int mc;
+		for (int ic = rowFrom; ic < rowTo; ic += MC) {
+			mc = Math.min(MC, rowTo - ic);
+			packA(sign, a, aOffset, lda, ic, mc, kc, packedA);
+			for (int jr = 0; jr < nc; jr += NR) {
+				for (int ir = 0; ir < mc; ir += MR) {
+					kernel(packedA, ir * kc, packedB, jr * kc, kc, c, cOffset + (ic + ir) * ldc + jr, ldc,
+							Math.min(MR, mc - ir), Math.min(NR, nc - jr));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param value
+	 * @param multiple
+	 * @return the smallest multiple of multiple which is not smaller than value
+	 */
+	private static int roundUp(int value, int multiple) {
+		return (value + multiple - 1) / multiple * multiple;
+	}
+
+	/**
+	 * packs the kc x nc panel of b starting at (pc, jc) into slivers of
+	 * {@value #NR} columns. missing columns of the last sliver are padded with 0.
+	 */
+	private static void packB(double[] b, int bOffset, int ldb, int pc, int kc, int jc, int nc, double[] packedB) {
+		int nr, source, destination;
+		for (int jr = 0; jr < nc; jr += NR) {
+			nr = Math.min(NR, nc - jr);
+			for (int p = 0; p < kc; p++) {
+				source = bOffset + (pc + p) * ldb + jc + jr;
+				destination = jr * kc + p * NR;
+				for (int x = 0; x < nr; x++)
+					packedB[destination + x] = b[source + x];
+				for (int x = nr; x < NR; x++)
+					packedB[destination + x] = 0;
+			}
+		}
+	}
+
+	/**
+	 * packs sign times the mc x kc block of a starting at row ic into slivers of
+	 * {@value #MR} rows. missing rows of the last sliver are padded with 0.
+	 */
+	private static void packA(double sign, double[] a, int aOffset, int lda, int ic, int mc, int kc,
+			double[] packedA) {
+		int mr, destination;
+		for (int ir = 0; ir < mc; ir += MR) {
+			mr = Math.min(MR, mc - ir);
+			for (int p = 0; p < kc; p++) {
+				destination = ir * kc + p * MR;
+				for (int x = 0; x < mr; x++)
+					packedA[destination + x] = sign * a[aOffset + (ic + ir + x) * lda + p];
+				for (int x = mr; x < MR; x++)
+					packedA[destination + x] = 0;
+			}
+		}
+	}
+
+	/**
+	 * computes the {@value #MR}x{@value #NR} product of a packed sliver of a and a
+	 * packed sliver of b and adds the upper left mr x nr part of it to c
+	 */
+	private static void kernel(double[] packedA, int aOffset, double[] packedB, int bOffset, int kc, double[] c,
+			int cOffset, int ldc, int mr, int nr) {
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+		double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+		double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+		double a0, a1, a2, a3, b0, b1, b2, b3;
+		int ai = aOffset, bi = bOffset;
+		for (int p = 0; p < kc; p++, ai += MR, bi += NR) {
+			a0 = packedA[ai];
+			a1 = packedA[ai + 1];
+			a2 = packedA[ai + 2];
+			a3 = packedA[ai + 3];
+			b0 = packedB[bi];
+			b1 = packedB[bi + 1];
+			b2 = packedB[bi + 2];
+			b3 = packedB[bi + 3];
+			c00 += a0 * b0;
+			c01 += a0 * b1;
+			c02 += a0 * b2;
+			c03 += a0 * b3;
+			c10 += a1 * b0;
+			c11 += a1 * b1;
+			c12 += a1 * b2;
+			c13 += a1 * b3;
+			c20 += a2 * b0;
+			c21 += a2 * b1;
+			c22 += a2 * b2;
+			c23 += a2 * b3;
+			c30 += a3 * b0;
+			c31 += a3 * b1;
+			c32 += a3 * b2;
+			c33 += a3 * b3;
+		}
+		if (mr == MR && nr == NR) {
+			int r0 = cOffset, r1 = r0 + ldc, r2 = r1 + ldc, r3 = r2 + ldc;
+			c[r0] += c00;
+			c[r0 + 1] += c01;
+			c[r0 + 2] += c02;
+			c[r0 + 3] += c03;
+			c[r1] += c10;
+			c[r1 + 1] += c11;
+			c[r1 + 2] += c12;
+			c[r1 + 3] += c13;
+			c[r2] += c20;
+			c[r2 + 1] += c21;
+			c[r2 + 2] += c22;
+			c[r2 + 3] += c23;
+			c[r3] += c30;
+			c[r3 + 1] += c31;
+			c[r3 + 2] += c32;
+			c[r3 + 3] += c33;
+		} else {
+			double[] tile = { c00, c01, c02, c03, c10, c11, c12, c13, c20, c21, c22, c23, c30, c31, c32, c33 };
+			for (int r = 0; r < mr; r++) {
+				for (int s = 0; s < nr; s++) {
+					c[cOffset + r * ldc + s] += tile[r * NR + s];
+				}
+			}
+		}
+	}
+
+}
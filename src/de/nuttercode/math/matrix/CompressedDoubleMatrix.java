@@ -0,0 +1,414 @@
+package de.nuttercode.math.matrix;
+
+import java.util.Arrays;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * common storage of {@link CsrDoubleMatrix} and {@link CscDoubleMatrix}. the
+ * values are grouped by their major index (the row for CSR, the column for
+ * CSC): the values of major index m are stored in [pointers[m], pointers[m +
+ * 1]) of {@link #values} and their minor indices at the same positions of
+ * {@link #indices} in ascending order. every index which is not stored has the
+ * value 0. instances are immutable.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+abstract class CompressedDoubleMatrix implements DoubleMatrix {
+
+	/**
+	 * number of major indices
+	 */
+	final int majorCount;
+
+	/**
+	 * number of minor indices
+	 */
+	final int minorCount;
+
+	/**
+	 * start of every major index in {@link #indices} and {@link #values} -
+	 * pointers[majorCount] is the number of stored values
+	 */
+	final int[] pointers;
+
+	/**
+	 * minor index of every stored value
+	 */
+	final int[] indices;
+
+	/**
+	 * stored values
+	 */
+	final double[] values;
+
+	/**
+	 * allocates the storage for valueCount values. the storage has to be filled by
+	 * the subclass constructor.
+	 * 
+	 * @param majorCount
+	 * @param minorCount
+	 * @param valueCount
+	 */
+	CompressedDoubleMatrix(@Positive int majorCount, @Positive int minorCount, int valueCount) {
+		Assurance.assurePositive(majorCount);
+		Assurance.assurePositive(minorCount);
+		this.majorCount = majorCount;
+		this.minorCount = minorCount;
+		pointers = new int[majorCount + 1];
+		indices = new int[valueCount];
+		values = new double[valueCount];
+	}
+
+	/**
+	 * fills the storage with the triplets. the triplets have to be sorted
+	 * ascending by major index and then by minor index without duplicates.
+	 * 
+	 * @param majors major index of every triplet
+	 * @param minors minor index of every triplet
+	 * @param source value of every triplet
+	 * @throws IllegalArgumentException if the arrays have different lengths, an
+	 *                                  index is out of range or the triplets are
+	 *                                  not strictly sorted
+	 */
+	void fillSorted(int[] majors, int[] minors, double[] source) {
+		Assurance.assureEquals(values.length, Assurance.assureNotNull(majors).length);
+		Assurance.assureEquals(values.length, Assurance.assureNotNull(minors).length);
+		Assurance.assureEquals(values.length, Assurance.assureNotNull(source).length);
+		int previousMajor = 0;
+		int previousMinor = -1;
+		int major, minor;
+		for (int a = 0; a < values.length; a++) {
+			major = majors[a];
+			minor = minors[a];
+			Assurance.assureBoundaries(major, previousMajor, majorCount - 1);
+			Assurance.assureBoundaries(minor, major == previousMajor ? previousMinor + 1 : 0, minorCount - 1);
+			pointers[major + 1]++;
+			previousMajor = major;
+			previousMinor = minor;
+		}
+		for (int a = 0; a < majorCount; a++)
+			pointers[a + 1] += pointers[a];
+		System.arraycopy(minors, 0, indices, 0, values.length);
+		System.arraycopy(source, 0, values, 0, values.length);
+	}
+
+	/**
+	 * fills the storage with the triplets in arbitrary order by two stable
+	 * counting sorts - first by minor and then by major index. runs in O(count +
+	 * majorCount + minorCount). the triplets must not contain duplicates and their
+	 * indices have to be in range.
+	 * 
+	 * @param majors major index of every triplet
+	 * @param minors minor index of every triplet
+	 * @param source value of every triplet
+	 */
+	void fillUnsorted(int[] majors, int[] minors, double[] source) {
+		int count = values.length;
+		int[] minorPointers = new int[minorCount + 1];
+		for (int a = 0; a < count; a++)
+			minorPointers[minors[a] + 1]++;
+		for (int a = 0; a < minorCount; a++)
+			minorPointers[a + 1] += minorPointers[a];
+		int[] sortedMajors = new int[count];
+		int[] sortedMinors = new int[count];
+		double[] sortedValues = new double[count];
+		int position;
+		for (int a = 0; a < count; a++) {
+			position = minorPointers[minors[a]]++;
+			sortedMajors[position] = majors[a];
+			sortedMinors[position] = minors[a];
+			sortedValues[position] = source[a];
+		}
+		for (int a = 0; a < count; a++)
+			pointers[sortedMajors[a] + 1]++;
+		for (int a = 0; a < majorCount; a++)
+			pointers[a + 1] += pointers[a];
+		int[] next = new int[majorCount];
+		System.arraycopy(pointers, 0, next, 0, majorCount);
+		for (int a = 0; a < count; a++) {
+			position = next[sortedMajors[a]]++;
+			indices[position] = sortedMinors[a];
+			values[position] = sortedValues[a];
+		}
+	}
+
+	/**
+	 * fills the storage with a copy of the storage of the matrix
+	 * 
+	 * @param matrix compressed matrix with the same counts and number of values
+	 */
+	void fillCopy(CompressedDoubleMatrix matrix) {
+		System.arraycopy(matrix.pointers, 0, pointers, 0, pointers.length);
+		System.arraycopy(matrix.indices, 0, indices, 0, indices.length);
+		System.arraycopy(matrix.values, 0, values, 0, values.length);
+	}
+
+	/**
+	 * fills the storage with the transposed storage of the matrix, i.e. the major
+	 * indices of matrix become the minor indices of this matrix and vice versa.
+	 * runs in O(values + majorCount + minorCount).
+	 * 
+	 * @param matrix compressed matrix with majorCount == this.minorCount and
+	 *               minorCount == this.majorCount
+	 */
+	void fillTransposed(CompressedDoubleMatrix matrix) {
+		for (int a = 0; a < matrix.indices.length; a++)
+			pointers[matrix.indices[a] + 1]++;
+		for (int a = 0; a < majorCount; a++)
+			pointers[a + 1] += pointers[a];
+		int[] next = new int[majorCount];
+		System.arraycopy(pointers, 0, next, 0, majorCount);
+		int position;
+		for (int major = 0; major < matrix.majorCount; major++) {
+			for (int a = matrix.pointers[major]; a < matrix.pointers[major + 1]; a++) {
+				position = next[matrix.indices[a]]++;
+				indices[position] = major;
+				values[position] = matrix.values[a];
+			}
+		}
+	}
+
+	/**
+	 * assures that the storage was filled consistently, i.e. the pointers are
+	 * ascending from 0 to the number of values and the minor indices of every
+	 * major index are in range and strictly ascending. runs in O(values +
+	 * majorCount).
+	 * 
+	 * @throws IllegalArgumentException if the storage is inconsistent
+	 */
+	void assureStructure() {
+		Assurance.assureEquals(0, pointers[0]);
+		Assurance.assureEquals(values.length, pointers[majorCount]);
+		int end;
+		for (int major = 0; major < majorCount; major++) {
+			end = pointers[major + 1];
+			Assurance.assureBoundaries(end, pointers[major], values.length);
+			for (int a = pointers[major]; a < end; a++)
+				Assurance.assureBoundaries(indices[a], a == pointers[major] ? 0 : indices[a - 1] + 1, minorCount - 1);
+		}
+	}
+
+	/**
+	 * @param major
+	 * @param minor
+	 * @return the value at (major, minor)
+	 */
+	double getCompressedValue(int major, int minor) {
+		Assurance.assureBoundaries(major, 0, majorCount - 1);
+		Assurance.assureBoundaries(minor, 0, minorCount - 1);
+		int low = pointers[major];
+		int high = pointers[major + 1] - 1;
+		int middle;
+		while (low <= high) {
+			middle = (low + high) >>> 1;
+			if (indices[middle] < minor)
+				low = middle + 1;
+			else if (indices[middle] > minor)
+				high = middle - 1;
+			else
+				return values[middle];
+		}
+		return 0;
+	}
+
+	/**
+	 * result[m] = sum of value(m, n) * vector[n] over all stored (m, n). every
+	 * value is read exactly once and in storage order. the major indices may be
+	 * processed in parallel.
+	 * 
+	 * @param vector      vector with dimension minorCount
+	 * @param result      vector with dimension majorCount - will be overwritten
+	 * @param parallelism
+	 * @return result
+	 */
+	DoubleVector gather(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, minorCount, result, majorCount);
+		long work = values.length;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(majorCount, 1, work,
+					(from, to) -> gather(vector.getArray(), from, to, result.getArray(), from));
+		else
+			gather(vector.getArray(), 0, majorCount, result.getArray(), 0);
+		return result;
+	}
+
+	/**
+	 * computes the components [from, to) of the result of
+	 * {@link #gather(DoubleVector, DoubleVector, Parallelism)} and stores them in
+	 * destination starting at destinationOffset
+	 */
+	void gather(double[] vector, int from, int to, double[] destination, int destinationOffset) {
+		double value;
+		int end;
+		for (int major = from; major < to; major++) {
+			value = 0;
+			end = pointers[major + 1];
+			for (int a = pointers[major]; a < end; a++)
+				value += values[a] * vector[indices[a]];
+			destination[destinationOffset + major - from] = value;
+		}
+	}
+
+	/**
+	 * {@link #gather(DoubleVector, DoubleVector, Parallelism)} for every pair of
+	 * vectors[s] and results[s]. the stored values of a major index are read once
+	 * for all vectors.
+	 * 
+	 * @param vectors     vectors with dimension minorCount
+	 * @param results     vectors with dimension majorCount - will be overwritten
+	 * @param parallelism
+	 * @return results
+	 */
+	DoubleVector[] gather(DoubleVector[] vectors, DoubleVector[] results, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureBatchArguments(vectors, minorCount, results, majorCount);
+		long work = (long) values.length * vectors.length;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(majorCount, 1, work, (from, to) -> gather(vectors, results, from, to));
+		else
+			gather(vectors, results, 0, majorCount);
+		return results;
+	}
+
+	/**
+	 * computes the components [from, to) of the results of
+	 * {@link #gather(DoubleVector[], DoubleVector[], Parallelism)}
+	 */
+	private void gather(DoubleVector[] vectors, DoubleVector[] results, int from, int to) {
+		double value;
+		double[] vector;
+		int start, end;
+		for (int major = from; major < to; major++) {
+			start = pointers[major];
+			end = pointers[major + 1];
+			for (int s = 0; s < vectors.length; s++) {
+				vector = vectors[s].getArray();
+				value = 0;
+				for (int a = start; a < end; a++)
+					value += values[a] * vector[indices[a]];
+				results[s].getArray()[major] = value;
+			}
+		}
+	}
+
+	/**
+	 * result[n] = sum of value(m, n) * vector[m] over all stored (m, n). every
+	 * value is read exactly once and in storage order. different major indices
+	 * write to the same components of the result, so this always runs
+	 * sequentially.
+	 * 
+	 * @param vector vector with dimension majorCount
+	 * @param result vector with dimension minorCount - will be overwritten
+	 * @return result
+	 */
+	DoubleVector scatter(DoubleVector vector, DoubleVector result) {
+		DoubleMatrixAssurance.assureProductArguments(vector, majorCount, result, minorCount);
+		double[] x = vector.getArray();
+		double[] y = result.getArray();
+		Arrays.fill(y, 0);
+		double scalar;
+		int end;
+		for (int major = 0; major < majorCount; major++) {
+			scalar = x[major];
+			end = pointers[major + 1];
+			for (int a = pointers[major]; a < end; a++)
+				y[indices[a]] += values[a] * scalar;
+		}
+		return result;
+	}
+
+	/**
+	 * result[m] = sum of value(m, n) * vector[n] over all stored (m, n) whose minor
+	 * index n is stored in the sparse vector. the stored values of every major
+	 * index are merged with the stored indices of the vector. the major indices
+	 * may be processed in parallel.
+	 * 
+	 * @param vector      sparse vector with dimension minorCount
+	 * @param result      vector with dimension majorCount - will be overwritten
+	 * @param parallelism
+	 * @return result
+	 * @see SparseDoubleVector#scalarProduct(int[], double[], int, int)
+	 */
+	DoubleVector gather(SparseDoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, minorCount, result, majorCount);
+		double[] y = result.getArray();
+		Assurance.assureNotNull(parallelism).execute(majorCount, 1,
+				(long) values.length + (long) majorCount * vector.getValueCount(), (from, to) -> {
+					for (int major = from; major < to; major++)
+						y[major] = vector.scalarProduct(indices, values, pointers[major],
+								pointers[major + 1] - pointers[major]);
+				});
+		return result;
+	}
+
+	/**
+	 * result[n] = sum of value(m, n) * vector[m] over all stored (m, n) whose major
+	 * index m is stored in the sparse vector - only the stored values of these
+	 * major indices are read. different major indices write to the same
+	 * components of the result, so this always runs sequentially.
+	 * 
+	 * @param vector sparse vector with dimension majorCount
+	 * @param result vector with dimension minorCount - will be overwritten
+	 * @return result
+	 */
+	DoubleVector scatter(SparseDoubleVector vector, DoubleVector result) {
+		DoubleMatrixAssurance.assureProductArguments(vector, majorCount, result, minorCount);
+		int[] majors = vector.getIndexArray();
+		double[] x = vector.getValueArray();
+		int count = vector.getValueCount();
+		double[] y = result.getArray();
+		Arrays.fill(y, 0);
+		double scalar;
+		int end;
+		for (int k = 0; k < count; k++) {
+			scalar = x[k];
+			end = pointers[majors[k] + 1];
+			for (int a = pointers[majors[k]]; a < end; a++)
+				y[indices[a]] += values[a] * scalar;
+		}
+		return result;
+	}
+
+	/**
+	 * @return number of stored values
+	 */
+	public int getValueCount() {
+		return values.length;
+	}
+
+	/**
+	 * not supported - instances are immutable
+	 * 
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void setValue(double value, int i, int j) {
+		throw new UnsupportedOperationException("matrix is immutable");
+	}
+
+	/**
+	 * not supported - instances are immutable
+	 * 
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void reset() {
+		throw new UnsupportedOperationException("matrix is immutable");
+	}
+
+	/**
+	 * not supported - instances are immutable
+	 * 
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void swapRows(int row1, int row2) {
+		throw new UnsupportedOperationException("matrix is immutable");
+	}
+
+}
@@ -0,0 +1,425 @@
+package de.nuttercode.math.matrix;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * thread-safe sparse implementation of {@link DoubleMatrix} for the parallel
+ * assembly of large sparse systems. every index which is not mapped has the
+ * value 0. the rows are distributed over independent stripes - every stripe is
+ * a primitive open-addressing hash table guarded by its own lock - so threads
+ * which write to different stripes do not block each other. all values of a
+ * row are stored in the same stripe. {@link #addToValue(double, int, int)}
+ * accumulates atomically, i.e. concurrent additions to the same index are
+ * never lost. {@link #freeze()} creates an immutable {@link CsrDoubleMatrix}
+ * for the solve phase.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class ConcurrentSparseDoubleMatrix implements DoubleMatrix {
+
+	/**
+	 * number of stripes per available processor of the default constructor
+	 */
+	private static final int STRIPES_PER_PROCESSOR = 8;
+
+	/**
+	 * number of rows
+	 */
+	private final int rowCount;
+
+	/**
+	 * number of columns
+	 */
+	private final int columnCount;
+
+	/**
+	 * stripes[s] maps the packed indices of the rows of stripe s to their values
+	 */
+	private final LongDoubleHashMap[] stripes;
+
+	/**
+	 * locks[s] guards stripes[s]
+	 */
+	private final ReentrantLock[] locks;
+
+	/**
+	 * stripes.length - 1, stripes.length is always a power of two
+	 */
+	private final int mask;
+
+	/**
+	 * creates a matrix with {@value #STRIPES_PER_PROCESSOR} stripes per available
+	 * processor
+	 * 
+	 * @param rowCount    number of rows
+	 * @param columnCount number of columns
+	 */
+	public ConcurrentSparseDoubleMatrix(@Positive int rowCount, @Positive int columnCount) {
+		this(rowCount, columnCount, STRIPES_PER_PROCESSOR * Runtime.getRuntime().availableProcessors(), 0);
+	}
+
+	/**
+	 * creates a matrix with at least stripeCount stripes - the number of stripes is
+	 * rounded up to a power of two - which can hold expectedValueCount mapped
+	 * values without resizing its internal storage if the rows are evenly
+	 * distributed
+	 * 
+	 * @param rowCount           number of rows
+	 * @param columnCount        number of columns
+	 * @param stripeCount        minimal number of independently locked stripes
+	 * @param expectedValueCount expected number of mapped values
+	 */
+	public ConcurrentSparseDoubleMatrix(@Positive int rowCount, @Positive int columnCount, @Positive int stripeCount,
+			int expectedValueCount) {
+		Assurance.assurePositive(rowCount);
+		Assurance.assurePositive(columnCount);
+		Assurance.assureBoundaries(stripeCount, 1, 1 << 16);
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+		int count = Integer.highestOneBit(stripeCount);
+		if (count < stripeCount)
+			count <<= 1;
+		stripes = new LongDoubleHashMap[count];
+		locks = new ReentrantLock[count];
+		for (int s = 0; s < count; s++) {
+			stripes[s] = new LongDoubleHashMap(Math.max(0, expectedValueCount) / count);
+			locks[s] = new ReentrantLock();
+		}
+		mask = count - 1;
+	}
+
+	/**
+	 * assures that i and j are in the range of indices of this matrix
+	 * 
+	 * @param i row
+	 * @param j column
+	 */
+	private void assureIndices(int i, int j) {
+		Assurance.assureBoundaries(i, 0, rowCount - 1);
+		Assurance.assureBoundaries(j, 0, columnCount - 1);
+	}
+
+	/**
+	 * @param i row
+	 * @return stripe of the row - consecutive rows are spread over all stripes
+	 */
+	private int stripe(int i) {
+		int hash = i * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	/**
+	 * @return number of stripes
+	 */
+	public int getStripeCount() {
+		return stripes.length;
+	}
+
+	/**
+	 * adds delta to a_{i, j} atomically - an unmapped index is mapped to delta.
+	 * concurrent additions to the same index are never lost, but the order in
+	 * which they are applied is not defined.
+	 * 
+	 * @param delta
+	 * @param i     row index
+	 * @param j     column index
+	 * @return the new value of a_{i, j}
+	 */
+	public double addToValue(double delta, int i, int j) {
+		assureIndices(i, j);
+		int s = stripe(i);
+		locks[s].lock();
+		try {
+			return stripes[s].add(SparseDoubleMatrix.key(i, j), delta, 0);
+		} finally {
+			locks[s].unlock();
+		}
+	}
+
+	@Override
+	public void setValue(double value, int i, int j) {
+		assureIndices(i, j);
+		int s = stripe(i);
+		locks[s].lock();
+		try {
+			stripes[s].put(SparseDoubleMatrix.key(i, j), value);
+		} finally {
+			locks[s].unlock();
+		}
+	}
+
+	@Override
+	public double getValue(int i, int j) {
+		assureIndices(i, j);
+		int s = stripe(i);
+		locks[s].lock();
+		try {
+			return stripes[s].get(SparseDoubleMatrix.key(i, j), 0);
+		} finally {
+			locks[s].unlock();
+		}
+	}
+
+	/**
+	 * @param i some row
+	 * @param j some column
+	 * @return true if and only if the pair (i, j) is mapped to a value in this
+	 *         matrix
+	 */
+	public boolean hasValue(int i, int j) {
+		assureIndices(i, j);
+		int s = stripe(i);
+		locks[s].lock();
+		try {
+			return stripes[s].containsKey(SparseDoubleMatrix.key(i, j));
+		} finally {
+			locks[s].unlock();
+		}
+	}
+
+	/**
+	 * @return number of mapped values - the stripes are counted one after another,
+	 *         so concurrent insertions may or may not be counted
+	 */
+	public int getValueCount() {
+		int count = 0;
+		for (int s = 0; s < stripes.length; s++) {
+			locks[s].lock();
+			try {
+				count += stripes[s].size();
+			} finally {
+				locks[s].unlock();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * removes all mapped values
+	 */
+	@Override
+	public void reset() {
+		for (int s = 0; s < stripes.length; s++) {
+			locks[s].lock();
+			try {
+				stripes[s].clear();
+			} finally {
+				locks[s].unlock();
+			}
+		}
+	}
+
+	/**
+	 * iterates over every mapped value. the stripes are visited one after another
+	 * while the lock of the respective stripe is held, so the visitor must not
+	 * modify this matrix and concurrent modifications of other stripes may or may
+	 * not be visited.
+	 */
+	@Override
+	public void forEach(DoubleMatrixVisitor consumer) {
+		LongDoubleHashMap stripe;
+		int capacity;
+		long key;
+		for (int s = 0; s < stripes.length; s++) {
+			locks[s].lock();
+			try {
+				stripe = stripes[s];
+				capacity = stripe.getCapacity();
+				for (int slot = 0; slot < capacity; slot++) {
+					key = stripe.getKey(slot);
+					if (key != LongDoubleHashMap.EMPTY)
+						consumer.visit((int) (key >>> 32), (int) key, stripe.getValue(slot));
+				}
+			} finally {
+				locks[s].unlock();
+			}
+		}
+	}
+
+	@Override
+	public ConcurrentSparseDoubleMatrix transposeCopy() {
+		return transposeCopy(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * copies the transpose with as many stripes as this matrix in
+	 * O(getValueCount()). the values are collected like by
+	 * {@link #forEach(DoubleMatrixVisitor)}, so concurrent modifications may or
+	 * may not be copied. parallelism is ignored.
+	 * 
+	 * @see DoubleMatrix#transposeCopy(Parallelism)
+	 */
+	@Override
+	public ConcurrentSparseDoubleMatrix transposeCopy(Parallelism parallelism) {
+		Assurance.assureNotNull(parallelism);
+		ConcurrentSparseDoubleMatrix matrix = new ConcurrentSparseDoubleMatrix(columnCount, rowCount,
+				stripes.length, getValueCount());
+		forEach((i, j, value) -> matrix.setValue(value, j, i));
+		return matrix;
+	}
+
+	/**
+	 * multiplies this matrix with the given vector in one pass over the mapped
+	 * values. parallelism is ignored - products in the solve phase should use
+	 * {@link #freeze()}.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		Assurance.assureNotNull(parallelism);
+		double[] x = vector.getArray();
+		double[] y = result.getArray();
+		Arrays.fill(y, 0);
+		forEach((i, j, value) -> y[i] += value * x[j]);
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector in one pass
+	 * over the mapped values. parallelism is ignored - products in the solve phase
+	 * should use {@link #freeze()}.
+	 * 
+	 * @see DoubleMatrix#multiplyTransposed(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		Assurance.assureNotNull(parallelism);
+		double[] x = vector.getArray();
+		double[] y = result.getArray();
+		Arrays.fill(y, 0);
+		forEach((i, j, value) -> y[j] += value * x[i]);
+		return result;
+	}
+
+	/**
+	 * creates an immutable copy of this matrix in compressed sparse row format in
+	 * O(getValueCount() + getRowCount() + getColumnCount()). all stripes are
+	 * locked while the values are collected, so the copy is a consistent snapshot
+	 * even if other threads are still writing. this matrix is not changed.
+	 * 
+	 * @return the mapped values of this matrix in compressed sparse row format
+	 */
+	public CsrDoubleMatrix freeze() {
+		for (ReentrantLock lock : locks)
+			lock.lock();
+		try {
+			int count = 0;
+			for (LongDoubleHashMap stripe : stripes)
+				count += stripe.size();
+			int[] rows = new int[count];
+			int[] columns = new int[count];
+			double[] values = new double[count];
+			int position = 0;
+			int capacity;
+			long key;
+			for (LongDoubleHashMap stripe : stripes) {
+				capacity = stripe.getCapacity();
+				for (int slot = 0; slot < capacity; slot++) {
+					key = stripe.getKey(slot);
+					if (key == LongDoubleHashMap.EMPTY)
+						continue;
+					rows[position] = (int) (key >>> 32);
+					columns[position] = (int) key;
+					values[position++] = stripe.getValue(slot);
+				}
+			}
+			CsrDoubleMatrix matrix = new CsrDoubleMatrix(rowCount, columnCount, count);
+			matrix.fillUnsorted(rows, columns, values);
+			return matrix;
+		} finally {
+			for (int s = locks.length - 1; s >= 0; s--)
+				locks[s].unlock();
+		}
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	/**
+	 * swaps two rows atomically. a value which is mapped in only one of the rows
+	 * will only be mapped in the other row afterwards. runs in O(capacity of the
+	 * stripes of both rows).
+	 */
+	@Override
+	public void swapRows(int row1, int row2) {
+		assureIndices(row1, 0);
+		assureIndices(row2, 0);
+		if (row1 == row2)
+			return;
+		// the locks are always acquired in ascending order of the stripes
+		int first = Math.min(stripe(row1), stripe(row2));
+		int second = Math.max(stripe(row1), stripe(row2));
+		locks[first].lock();
+		locks[second].lock();
+		try {
+			LongDoubleHashMap stripe1 = stripes[stripe(row1)];
+			LongDoubleHashMap stripe2 = stripes[stripe(row2)];
+			long[] keys1 = getKeys(stripe1, row1);
+			long[] keys2 = getKeys(stripe2, row2);
+			double[] values1 = removeAll(stripe1, keys1);
+			double[] values2 = removeAll(stripe2, keys2);
+			for (int a = 0; a < keys1.length; a++)
+				stripe2.put(SparseDoubleMatrix.key(row2, (int) keys1[a]), values1[a]);
+			for (int a = 0; a < keys2.length; a++)
+				stripe1.put(SparseDoubleMatrix.key(row1, (int) keys2[a]), values2[a]);
+		} finally {
+			locks[second].unlock();
+			locks[first].unlock();
+		}
+	}
+
+	/**
+	 * @param stripe stripe of the row
+	 * @param row
+	 * @return keys of all mapped values of the row
+	 */
+	private static long[] getKeys(LongDoubleHashMap stripe, int row) {
+		long[] keys = new long[16];
+		int count = 0;
+		int capacity = stripe.getCapacity();
+		long key;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = stripe.getKey(slot);
+			if (key == LongDoubleHashMap.EMPTY || (int) (key >>> 32) != row)
+				continue;
+			if (count == keys.length)
+				keys = Arrays.copyOf(keys, count << 1);
+			keys[count++] = key;
+		}
+		return Arrays.copyOf(keys, count);
+	}
+
+	/**
+	 * removes the mappings of the keys
+	 * 
+	 * @param stripe
+	 * @param keys   mapped keys
+	 * @return the removed values
+	 */
+	private static double[] removeAll(LongDoubleHashMap stripe, long[] keys) {
+		double[] values = new double[keys.length];
+		for (int a = 0; a < keys.length; a++) {
+			values[a] = stripe.get(keys[a], 0);
+			stripe.remove(keys[a]);
+		}
+		return values;
+	}
+
+}
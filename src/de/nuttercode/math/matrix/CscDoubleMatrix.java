@@ -0,0 +1,169 @@
+package de.nuttercode.math.matrix;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * immutable implementation of {@link DoubleMatrix} in
+ * <a href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_column_(CSC_or_CCS)">compressed
+ * sparse column</a> format. every index which is not stored has the value 0.
+ * {@link #multiply(DoubleVector)} and {@link #multiplyTransposed(DoubleVector)}
+ * run in O(number of stored values) and access the storage sequentially.
+ * 
+ * @author Johannes B. Latzel
+ * @see CsrDoubleMatrix
+ * 
+ */
+public class CscDoubleMatrix extends CompressedDoubleMatrix {
+
+	/**
+	 * allocates the storage - the caller has to fill it
+	 * 
+	 * @param rowCount
+	 * @param columnCount
+	 * @param valueCount
+	 */
+	CscDoubleMatrix(@Positive int rowCount, @Positive int columnCount, int valueCount) {
+		super(columnCount, rowCount, valueCount);
+	}
+
+	/**
+	 * creates the matrix from the mapped values of the given matrix
+	 * 
+	 * @param matrix
+	 * @throws IllegalArgumentException if matrix is null or
+	 *                                  matrix.getDefaultValue() != 0
+	 */
+	public CscDoubleMatrix(@NotNull SparseDoubleMatrix matrix) {
+		this(Assurance.assureNotNull(matrix).getRowCount(), matrix.getColumnCount(), matrix.getValueCount());
+		if (matrix.getDefaultValue() != 0)
+			throw new IllegalArgumentException("default value is " + matrix.getDefaultValue() + " != 0");
+		int[] rows = new int[values.length];
+		int[] columns = new int[values.length];
+		double[] source = new double[values.length];
+		int[] counter = { 0 };
+		matrix.forEach((i, j, value) -> {
+			rows[counter[0]] = i;
+			columns[counter[0]] = j;
+			source[counter[0]++] = value;
+		});
+		fillUnsorted(columns, rows, source);
+	}
+
+	/**
+	 * creates the matrix from triplets (rows[a], columns[a], values[a]) which are
+	 * sorted ascending by column and then by row
+	 * 
+	 * @param rowCount    number of rows
+	 * @param columnCount number of columns
+	 * @param rows        row of every triplet
+	 * @param columns     column of every triplet
+	 * @param values      value of every triplet
+	 * @throws IllegalArgumentException if the arrays are null or have different
+	 *                                  lengths, an index is out of range or the
+	 *                                  triplets are not strictly sorted
+	 */
+	public CscDoubleMatrix(@Positive int rowCount, @Positive int columnCount, @NotNull int[] rows,
+			@NotNull int[] columns, @NotNull double[] values) {
+		this(rowCount, columnCount, Assurance.assureNotNull(values).length);
+		fillSorted(columns, rows, values);
+	}
+
+	/**
+	 * @return this matrix in {@link CsrDoubleMatrix compressed sparse row} format
+	 */
+	public CsrDoubleMatrix toCsr() {
+		CsrDoubleMatrix matrix = new CsrDoubleMatrix(minorCount, majorCount, values.length);
+		matrix.fillTransposed(this);
+		return matrix;
+	}
+
+	@Override
+	public CscDoubleMatrix transposeCopy() {
+		return transposeCopy(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * copies the transpose in compressed sparse column format by a counting sort
+	 * of the stored values in O(values + getRowCount() + getColumnCount()) - the
+	 * storage of the transpose is the storage of {@link #toCsr()}. the counting
+	 * sort is sequential, so parallelism is ignored.
+	 * 
+	 * @see DoubleMatrix#transposeCopy(Parallelism)
+	 */
+	@Override
+	public CscDoubleMatrix transposeCopy(Parallelism parallelism) {
+		Assurance.assureNotNull(parallelism);
+		CscDoubleMatrix matrix = new CscDoubleMatrix(majorCount, minorCount, values.length);
+		matrix.fillTransposed(this);
+		return matrix;
+	}
+
+	@Override
+	public double getValue(int i, int j) {
+		return getCompressedValue(j, i);
+	}
+
+	/**
+	 * iterates over every stored value column by column
+	 */
+	@Override
+	public void forEach(DoubleMatrixVisitor consumer) {
+		for (int j = 0; j < majorCount; j++) {
+			for (int a = pointers[j]; a < pointers[j + 1]; a++)
+				consumer.visit(indices[a], j, values[a]);
+		}
+	}
+
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		return gather(vector, result, parallelism);
+	}
+
+	/**
+	 * the stored values of different columns contribute to the same components
+	 * of the result, so this method ignores parallelism and behaves exactly like
+	 * {@link #multiply(DoubleVector, DoubleVector)}
+	 */
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		Assurance.assureNotNull(parallelism);
+		return scatter(vector, result);
+	}
+
+	/**
+	 * only the stored values of the columns of the stored indices of the vector are
+	 * read. they contribute to the same components of the result, so this method
+	 * ignores parallelism.
+	 */
+	@Override
+	public DoubleVector multiply(SparseDoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		Assurance.assureNotNull(parallelism);
+		return scatter(vector, result);
+	}
+
+	/**
+	 * the stored values of every column are merged with the stored indices of the
+	 * vector
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(SparseDoubleVector vector, DoubleVector result,
+			Parallelism parallelism) {
+		return gather(vector, result, parallelism);
+	}
+
+	@Override
+	public int getRowCount() {
+		return minorCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return majorCount;
+	}
+
+}
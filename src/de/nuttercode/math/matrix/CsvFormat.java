@@ -0,0 +1,143 @@
+package de.nuttercode.math.matrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import de.nuttercode.math.matrix.TextReader.LineParser;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * streaming reader and writer of dense matrices as comma-separated values -
+ * one row per line, without a header. empty lines are ignored and blanks
+ * around the values are allowed. <br>
+ * <br>
+ * the file is read by two passes of chunks which are parsed in parallel: the
+ * first counts the rows of every chunk, the second parses the values directly
+ * into the matrix. the memory in addition to the matrix does not depend on the
+ * size of the file. the rows are written in parallel and the values like
+ * {@link Double#toString(double)}, which is read back to the same double but is
+ * not always the shortest such representation before java 19.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class CsvFormat {
+
+	private static final int DELIMITER = ',';
+
+	private CsvFormat() {
+	}
+
+	/**
+	 * reads the matrix - the number of columns is the number of values in the
+	 * first row
+	 * 
+	 * @param path
+	 * @param parallelism
+	 * @return the matrix
+	 * @throws IOException if the file can not be read, contains no rows, rows of
+	 *                     different length, malformed values or more than
+	 *                     {@link Integer#MAX_VALUE} values
+	 */
+	public static FullDoubleMatrix readDense(@NotNull Path path, @NotNull Parallelism parallelism)
+			throws IOException {
+		Assurance.assureNotNull(parallelism);
+		try (FileChannel channel = FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.READ)) {
+			long size = channel.size();
+			TextReader reader = new TextReader(channel, 0);
+			while (reader.skipEmptyLine(-1))
+				if (reader.peek() < 0)
+					throw new IOException("the file contains no rows");
+			long start = reader.getPosition();
+			int columnCount = 0;
+			do {
+				reader.readDouble(DELIMITER);
+				columnCount++;
+			} while (reader.skipDelimiter(DELIMITER));
+			reader.assureLineEnd();
+			long[] counts = TextReader.countLines(channel, start, size, -1, parallelism);
+			long rowCount = counts[counts.length - 1];
+			if (rowCount * columnCount > Integer.MAX_VALUE)
+				throw new IOException(
+						rowCount + "x" + columnCount + " values do not fit into a FullDoubleMatrix");
+			FullDoubleMatrix matrix = new FullDoubleMatrix((int) rowCount, columnCount);
+			double[] values = matrix.values;
+			int finalColumnCount = columnCount;
+			TextReader.parse(channel, start, size, -1, parallelism, () -> new LineParser() {
+
+				private int offset;
+
+				@Override
+				public void startChunk(int chunk) {
+					offset = (int) counts[chunk] * finalColumnCount;
+				}
+
+				@Override
+				public void parse(TextReader reader) throws IOException {
+					if (offset >= values.length)
+						throw new IOException("the file changed while it was read");
+					int end = offset + finalColumnCount;
+					values[offset++] = reader.readDouble(DELIMITER);
+					while (offset < end) {
+						if (!reader.skipDelimiter(DELIMITER))
+							throw reader.unexpected();
+						values[offset++] = reader.readDouble(DELIMITER);
+					}
+					reader.assureLineEnd();
+				}
+
+			});
+			return matrix;
+		}
+	}
+
+	/**
+	 * writes the matrix row by row. the rows are formatted in parallel - the output
+	 * does not depend on parallelism.
+	 * 
+	 * @param matrix
+	 * @param channel
+	 * @param parallelism
+	 * @throws IOException if the channel can not be written
+	 */
+	public static void write(@NotNull DoubleMatrix matrix, @NotNull WritableByteChannel channel,
+			@NotNull Parallelism parallelism) throws IOException {
+		Assurance.assureNotNull(matrix);
+		Assurance.assureNotNull(channel);
+		Assurance.assureNotNull(parallelism);
+		TextWriter writer = new TextWriter(channel);
+		int columnCount = matrix.getColumnCount();
+		double[] values = matrix instanceof FullDoubleMatrix ? ((FullDoubleMatrix) matrix).values : null;
+		writer.write(matrix.getRowCount(), 24L * columnCount, parallelism, (i, builder) -> {
+			for (int j = 0; j < columnCount; j++) {
+				if (j > 0)
+					builder.append((char) DELIMITER);
+				builder.append(values != null ? values[i * columnCount + j] : matrix.getValue(i, j));
+			}
+			builder.append('\n');
+		});
+		writer.flush();
+	}
+
+	/**
+	 * writes the matrix to the file at path. an existing file will be overwritten.
+	 * 
+	 * @param matrix
+	 * @param path
+	 * @param parallelism
+	 * @throws IOException if the file can not be written
+	 * @see #write(DoubleMatrix, WritableByteChannel, Parallelism)
+	 */
+	public static void write(@NotNull DoubleMatrix matrix, @NotNull Path path, @NotNull Parallelism parallelism)
+			throws IOException {
+		try (FileChannel channel = TextWriter.openForWriting(path)) {
+			write(matrix, channel, parallelism);
+		}
+	}
+
+}
@@ -1,7 +1,9 @@
 package de.nuttercode.math.matrix;
 
 import de.nuttercode.math.matrix.DoubleMatrixVisitor;
+import de.nuttercode.math.parallel.Parallelism;
 import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
 import de.nuttercode.util.assurance.Assurance;
 
 /**
@@ -11,6 +13,10 @@ import de.nuttercode.util.assurance.Assurance;
  * 
  * @see FullDoubleMatrix
  * @see SparseDoubleMatrix
+ * @see CsrDoubleMatrix
+ * @see CscDoubleMatrix
+ * @see TransposedDoubleMatrix
+ * @see SubDoubleMatrix
  * @author Johannes B. Latzel
  *
  */
@@ -38,28 +44,598 @@ public interface DoubleMatrix extends Matrix {
 	 */
 	void forEach(DoubleMatrixVisitor consumer);
 
+	/**
+	 * @return view of the transpose of this matrix which shares the storage of
+	 *         this matrix - products with the view run at the speed of the
+	 *         transposed products of this matrix
+	 * @see TransposedDoubleMatrix
+	 */
+	default DoubleMatrix transpose() {
+		return new TransposedDoubleMatrix(this);
+	}
+
+	/**
+	 * @return copy of the transpose of this matrix which does not share the
+	 *         storage of this matrix
+	 * @see #transposeCopy(Parallelism)
+	 */
+	default DoubleMatrix transposeCopy() {
+		return transposeCopy(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * copies the transpose of this matrix. the default implementation reads every
+	 * value by {@link #getValue(int, int)} in cache-oblivious blocks, so the
+	 * writes into the {@link FullDoubleMatrix} do not miss the cache on every
+	 * value like a copy by {@link #forEach(DoubleMatrixVisitor)} does. the blocks
+	 * of rows may be copied in parallel. sparse implementations return a sparse
+	 * copy in O(number of stored values).
+	 * 
+	 * @param parallelism
+	 * @return copy of the transpose of this matrix which does not share the
+	 *         storage of this matrix
+	 * @throws IllegalArgumentException if parallelism is null
+	 */
+	default DoubleMatrix transposeCopy(Parallelism parallelism) {
+		int rows = getRowCount();
+		FullDoubleMatrix result = new FullDoubleMatrix(getColumnCount(), rows);
+		Assurance.assureNotNull(parallelism).execute(rows, Transposition.MINIMAL_ROW_COUNT,
+				(long) rows * getColumnCount(), (from, to) -> Transposition.transpose(this, result.values, from, to));
+		return result;
+	}
+
+	/**
+	 * @param rowOffset    first row of the view
+	 * @param columnOffset first column of the view
+	 * @param rowCount     number of rows of the view
+	 * @param columnCount  number of columns of the view
+	 * @return view of the block of rowCount rows and columnCount columns which
+	 *         starts at (rowOffset, columnOffset) - shares the storage of this
+	 *         matrix
+	 * @throws IllegalArgumentException if a count is not positive or the view
+	 *                                  exceeds this matrix
+	 * @see #subMatrix(int, int, int, int, int, int)
+	 */
+	default DoubleMatrix subMatrix(int rowOffset, int columnOffset, int rowCount, int columnCount) {
+		return subMatrix(rowOffset, columnOffset, rowCount, columnCount, 1, 1);
+	}
+
+	/**
+	 * @param rowOffset    first row of the view
+	 * @param columnOffset first column of the view
+	 * @param rowCount     number of rows of the view
+	 * @param columnCount  number of columns of the view
+	 * @param rowStride    distance of two consecutive rows of the view in this
+	 *                     matrix
+	 * @param columnStride distance of two consecutive columns of the view in this
+	 *                     matrix
+	 * @return view of the rows rowOffset + i * rowStride and the columns
+	 *         columnOffset + j * columnStride of this matrix - shares the storage
+	 *         of this matrix. a row or column is a view with one row or column.
+	 * @throws IllegalArgumentException if a count or stride is not positive or the
+	 *                                  view exceeds this matrix
+	 * @see SubDoubleMatrix
+	 */
+	default DoubleMatrix subMatrix(int rowOffset, int columnOffset, int rowCount, int columnCount, int rowStride,
+			int columnStride) {
+		return new SubDoubleMatrix(this, rowOffset, columnOffset, rowCount, columnCount, rowStride, columnStride);
+	}
+
 	/**
 	 * multiplies this matrix with the given vector
 	 * 
-	 * @param layerInput
+	 * @param vector
 	 * @return result of the multiplication
-	 * @throws IllegalArugmentException if vector is null or vector.getDimension()
+	 * @throws IllegalArgumentException if vector is null or vector.getDimension()
 	 *                                  != getColumnCount()
 	 */
 	default DoubleVector multiply(DoubleVector vector) {
-		int rows;
+		return multiply(vector, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with the given vector. the rows of the result may be
+	 * computed in parallel - the result is identical to
+	 * {@link #multiply(DoubleVector)}.
+	 * 
+	 * @param vector
+	 * @param parallelism
+	 * @return result of the multiplication
+	 * @throws IllegalArgumentException if vector or parallelism is null or
+	 *                                  vector.getDimension() != getColumnCount()
+	 */
+	default DoubleVector multiply(DoubleVector vector, Parallelism parallelism) {
+		return multiply(vector, new DoubleVector(getRowCount()), parallelism);
+	}
+
+	/**
+	 * multiplies this matrix with the given vector and stores the result in
+	 * result. does not allocate.
+	 * 
+	 * @param vector
+	 * @param result vector with dimension getRowCount() - will be overwritten
+	 * @return result
+	 * @throws IllegalArgumentException if vector or result is null, vector ==
+	 *                                  result, vector.getDimension() !=
+	 *                                  getColumnCount() or result.getDimension()
+	 *                                  != getRowCount()
+	 */
+	default DoubleVector multiply(DoubleVector vector, DoubleVector result) {
+		return multiply(vector, result, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with the given vector and stores the result in
+	 * result. the rows of the result may be computed in parallel - the result is
+	 * identical to {@link #multiply(DoubleVector)}.
+	 * 
+	 * @param vector
+	 * @param result      vector with dimension getRowCount() - will be
+	 *                    overwritten
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null, vector == result,
+	 *                                  vector.getDimension() != getColumnCount()
+	 *                                  or result.getDimension() != getRowCount()
+	 */
+	default DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		int rows = getRowCount();
+		int columns = getColumnCount();
+		DoubleMatrixAssurance.assureProductArguments(vector, columns, result, rows);
+		Assurance.assureNotNull(parallelism).execute(rows, 1, (long) rows * columns, (from, to) -> {
+			double value;
+			for (int i = from; i < to; i++) {
+				value = 0;
+				for (int j = 0; j < columns; j++) {
+					value += getValue(i, j) * vector.getValue(j);
+				}
+				result.setValue(value, i);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vector and stores them in
+	 * destination[destinationOffset, destinationOffset + to - from). intended for
+	 * callers which process a product in blocks of rows, e.g. to apply further
+	 * operations while the block is still in the cache. the default
+	 * implementation reads every value by {@link #getValue(int, int)}. the values
+	 * of the default implementation and of {@link FullDoubleMatrix},
+	 * {@link OffHeapDoubleMatrix} and {@link CsrDoubleMatrix} are identical to the
+	 * respective values of {@link #multiply(DoubleVector)} - other
+	 * implementations may add the products in a different order.
+	 * 
+	 * @param vector            vector with dimension getColumnCount()
+	 * @param from              first row (inclusive)
+	 * @param to                last row (exclusive)
+	 * @param destination       array which is not the array of vector
+	 * @param destinationOffset position of row from in destination
+	 * @throws IllegalArgumentException if an argument is null, destination is the
+	 *                                  array of vector, the dimension of vector
+	 *                                  does not match or a range is out of bounds
+	 */
+	default void multiplyRows(DoubleVector vector, int from, int to, double[] destination, int destinationOffset) {
+		DoubleMatrixAssurance.assureRowRangeArguments(this, vector, from, to, destination, destinationOffset);
 		int columns = getColumnCount();
-		Assurance.assureEquals(getColumnCount(), Assurance.assureNotNull(vector).getDimension());
-		rows = getRowCount();
-		DoubleVector result = new DoubleVector(rows);
 		double value;
-		for (int j = 0; j < rows; j++) {
+		for (int i = from; i < to; i++) {
 			value = 0;
-			for (int i = 0; i < columns; i++) {
-				value += getValue(j, i) * vector.getValue(i);
+			for (int j = 0; j < columns; j++) {
+				value += getValue(i, j) * vector.getValue(j);
 			}
-			result.setValue(value, j);
+			destination[destinationOffset + i - from] = value;
 		}
+	}
+
+	/**
+	 * multiplies this matrix with every given vector
+	 * 
+	 * @param vectors
+	 * @return results[s] = this * vectors[s]
+	 * @throws IllegalArgumentException if vectors or an element is null or
+	 *                                  vectors[s].getDimension() !=
+	 *                                  getColumnCount()
+	 */
+	default DoubleVector[] multiply(DoubleVector[] vectors) {
+		return multiply(vectors, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with every given vector. the rows of the results may
+	 * be computed in parallel - the results are identical to
+	 * {@link #multiply(DoubleVector)}.
+	 * 
+	 * @param vectors
+	 * @param parallelism
+	 * @return results[s] = this * vectors[s]
+	 * @throws IllegalArgumentException if vectors, an element or parallelism is
+	 *                                  null or vectors[s].getDimension() !=
+	 *                                  getColumnCount()
+	 */
+	default DoubleVector[] multiply(DoubleVector[] vectors, Parallelism parallelism) {
+		DoubleVector[] results = new DoubleVector[Assurance.assureNotNull(vectors).length];
+		for (int s = 0; s < results.length; s++)
+			results[s] = new DoubleVector(getRowCount());
+		return multiply(vectors, results, parallelism);
+	}
+
+	/**
+	 * multiplies this matrix with every given vector and stores the products in
+	 * results
+	 * 
+	 * @param vectors
+	 * @param results vectors with dimension getRowCount() - will be overwritten
+	 * @return results
+	 * @throws IllegalArgumentException if an array or an element is null, the
+	 *                                  arrays have different lengths, a result is
+	 *                                  one of the vectors or a dimension does not
+	 *                                  match
+	 */
+	default DoubleVector[] multiply(DoubleVector[] vectors, DoubleVector[] results) {
+		return multiply(vectors, results, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with every given vector and stores the products in
+	 * results. implementations process the whole batch in as few passes over this
+	 * matrix as possible. the results may be computed in parallel - they are
+	 * identical to {@link #multiply(DoubleVector)}.
+	 * 
+	 * @param vectors
+	 * @param results     vectors with dimension getRowCount() - will be
+	 *                    overwritten
+	 * @param parallelism
+	 * @return results
+	 * @throws IllegalArgumentException if an argument or an element is null, the
+	 *                                  arrays have different lengths, a result is
+	 *                                  one of the vectors or a dimension does not
+	 *                                  match
+	 */
+	default DoubleVector[] multiply(DoubleVector[] vectors, DoubleVector[] results, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureBatchArguments(vectors, getColumnCount(), results, getRowCount());
+		for (int s = 0; s < vectors.length; s++)
+			multiply(vectors[s], results[s], parallelism);
+		return results;
+	}
+
+	/**
+	 * multiplies this matrix with every row of batch
+	 * 
+	 * @param batch matrix with getColumnCount() columns - every row is one input
+	 *              vector
+	 * @return matrix with batch.getRowCount() rows and getRowCount() columns - row
+	 *         s is this * (row s of batch)
+	 * @throws IllegalArgumentException if batch is null or batch.getColumnCount()
+	 *                                  != getColumnCount()
+	 */
+	default DoubleMatrix multiplyBatch(DoubleMatrix batch) {
+		return multiplyBatch(batch, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with every row of batch. the results may be computed
+	 * in parallel - they are identical to {@link #multiplyBatch(DoubleMatrix)}.
+	 * 
+	 * @param batch       matrix with getColumnCount() columns - every row is one
+	 *                    input vector
+	 * @param parallelism
+	 * @return matrix with batch.getRowCount() rows and getRowCount() columns - row
+	 *         s is this * (row s of batch)
+	 * @throws IllegalArgumentException if batch or parallelism is null or
+	 *                                  batch.getColumnCount() != getColumnCount()
+	 */
+	default DoubleMatrix multiplyBatch(DoubleMatrix batch, Parallelism parallelism) {
+		return multiplyBatch(batch, new FullDoubleMatrix(Assurance.assureNotNull(batch).getRowCount(), getRowCount()),
+				parallelism);
+	}
+
+	/**
+	 * multiplies this matrix with every row of batch and stores the products in
+	 * the rows of result
+	 * 
+	 * @param batch  matrix with getColumnCount() columns - every row is one input
+	 *               vector
+	 * @param result matrix with batch.getRowCount() rows and getRowCount() columns
+	 *               - will be overwritten
+	 * @return result
+	 * @throws IllegalArgumentException if batch or result is null, result is this
+	 *                                  or batch or the dimensions do not match
+	 */
+	default DoubleMatrix multiplyBatch(DoubleMatrix batch, DoubleMatrix result) {
+		return multiplyBatch(batch, result, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with every row of batch and stores the products in
+	 * the rows of result. implementations process the whole batch in as few passes
+	 * over this matrix as possible. the results may be computed in parallel if
+	 * result is a {@link FullDoubleMatrix} - other matrices are filled
+	 * sequentially. they are identical to {@link #multiplyBatch(DoubleMatrix)}.
+	 * 
+	 * @param batch       matrix with getColumnCount() columns - every row is one
+	 *                    input vector
+	 * @param result      matrix with batch.getRowCount() rows and getRowCount()
+	 *                    columns - will be overwritten
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null, result shares its
+	 *                                  values with this or batch or the
+	 *                                  dimensions do not match
+	 */
+	default DoubleMatrix multiplyBatch(DoubleMatrix batch, DoubleMatrix result, Parallelism parallelism) {
+		int rows = getRowCount();
+		int columns = getColumnCount();
+		DoubleMatrixAssurance.assureBatchArguments(this, batch, result);
+		int batchSize = batch.getRowCount();
+		Assurance.assureNotNull(parallelism);
+		(result instanceof FullDoubleMatrix ? parallelism : Parallelism.SEQUENTIAL).execute(rows, 1,
+				(long) rows * columns * batchSize, (from, to) -> {
+			double value;
+			for (int s = 0; s < batchSize; s++) {
+				for (int i = from; i < to; i++) {
+					value = 0;
+					for (int j = 0; j < columns; j++) {
+						value += getValue(i, j) * batch.getValue(s, j);
+					}
+					result.setValue(value, s, i);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector
+	 * 
+	 * @param vector
+	 * @return result of the multiplication with dimension getColumnCount()
+	 * @throws IllegalArgumentException if vector is null or vector.getDimension()
+	 *                                  != getRowCount()
+	 */
+	default DoubleVector multiplyTransposed(DoubleVector vector) {
+		return multiplyTransposed(vector, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector. the
+	 * components of the result may be computed in parallel - the result is
+	 * identical to {@link #multiplyTransposed(DoubleVector)}.
+	 * 
+	 * @param vector
+	 * @param parallelism
+	 * @return result of the multiplication with dimension getColumnCount()
+	 * @throws IllegalArgumentException if vector or parallelism is null or
+	 *                                  vector.getDimension() != getRowCount()
+	 */
+	default DoubleVector multiplyTransposed(DoubleVector vector, Parallelism parallelism) {
+		return multiplyTransposed(vector, new DoubleVector(getColumnCount()), parallelism);
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector and stores the
+	 * result in result. does not allocate.
+	 * 
+	 * @param vector
+	 * @param result vector with dimension getColumnCount() - will be overwritten
+	 * @return result
+	 * @throws IllegalArgumentException if vector or result is null, vector ==
+	 *                                  result, vector.getDimension() !=
+	 *                                  getRowCount() or result.getDimension() !=
+	 *                                  getColumnCount()
+	 */
+	default DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result) {
+		return multiplyTransposed(vector, result, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector and stores the
+	 * result in result. the components of the result may be computed in parallel -
+	 * the result is identical to {@link #multiplyTransposed(DoubleVector)}.
+	 * 
+	 * @param vector
+	 * @param result      vector with dimension getColumnCount() - will be
+	 *                    overwritten
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null, vector == result,
+	 *                                  vector.getDimension() != getRowCount() or
+	 *                                  result.getDimension() != getColumnCount()
+	 */
+	default DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		int rows = getRowCount();
+		int columns = getColumnCount();
+		DoubleMatrixAssurance.assureProductArguments(vector, rows, result, columns);
+		Assurance.assureNotNull(parallelism).execute(columns, 1, (long) rows * columns, (from, to) -> {
+			double scalar;
+			for (int j = from; j < to; j++)
+				result.setValue(0, j);
+			for (int i = 0; i < rows; i++) {
+				scalar = vector.getValue(i);
+				for (int j = from; j < to; j++) {
+					result.setValue(result.getValue(j) + getValue(i, j) * scalar, j);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * multiplies this matrix with the given sparse vector - only the columns of the
+	 * stored indices of the vector are read
+	 * 
+	 * @param vector
+	 * @return result of the multiplication with dimension getRowCount()
+	 * @throws IllegalArgumentException if vector is null or vector.getDimension()
+	 *                                  != getColumnCount()
+	 */
+	default DoubleVector multiply(SparseDoubleVector vector) {
+		return multiply(vector, new DoubleVector(getRowCount()), Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with the given sparse vector and stores the result in
+	 * result - only the columns of the stored indices of the vector are read. the
+	 * rows of the result may be computed in parallel - the result does not depend
+	 * on parallelism.
+	 * 
+	 * @param vector
+	 * @param result      vector with dimension getRowCount() - will be
+	 *                    overwritten
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null,
+	 *                                  vector.getDimension() != getColumnCount()
+	 *                                  or result.getDimension() != getRowCount()
+	 */
+	default DoubleVector multiply(SparseDoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		int rows = getRowCount();
+		DoubleMatrixAssurance.assureProductArguments(vector, getColumnCount(), result, rows);
+		int[] indices = vector.getIndexArray();
+		double[] values = vector.getValueArray();
+		int count = vector.getValueCount();
+		Assurance.assureNotNull(parallelism).execute(rows, 1, (long) rows * count, (from, to) -> {
+			double value;
+			for (int i = from; i < to; i++) {
+				value = 0;
+				for (int k = 0; k < count; k++)
+					value += getValue(i, indices[k]) * values[k];
+				result.setValue(value, i);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given sparse vector - only
+	 * the rows of the stored indices of the vector are read
+	 * 
+	 * @param vector
+	 * @return result of the multiplication with dimension getColumnCount()
+	 * @throws IllegalArgumentException if vector is null or vector.getDimension()
+	 *                                  != getRowCount()
+	 */
+	default DoubleVector multiplyTransposed(SparseDoubleVector vector) {
+		return multiplyTransposed(vector, new DoubleVector(getColumnCount()), Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given sparse vector and
+	 * stores the result in result - only the rows of the stored indices of the
+	 * vector are read. the components of the result may be computed in parallel -
+	 * the result does not depend on parallelism.
+	 * 
+	 * @param vector
+	 * @param result      vector with dimension getColumnCount() - will be
+	 *                    overwritten
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null,
+	 *                                  vector.getDimension() != getRowCount() or
+	 *                                  result.getDimension() != getColumnCount()
+	 */
+	default DoubleVector multiplyTransposed(SparseDoubleVector vector, DoubleVector result,
+			Parallelism parallelism) {
+		int columns = getColumnCount();
+		DoubleMatrixAssurance.assureProductArguments(vector, getRowCount(), result, columns);
+		int[] indices = vector.getIndexArray();
+		double[] values = vector.getValueArray();
+		int count = vector.getValueCount();
+		Assurance.assureNotNull(parallelism).execute(columns, 1, (long) columns * count, (from, to) -> {
+			double value;
+			for (int j = from; j < to; j++) {
+				value = 0;
+				for (int k = 0; k < count; k++)
+					value += getValue(indices[k], j) * values[k];
+				result.setValue(value, j);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * multiplies this matrix with the given matrix
+	 * 
+	 * @param matrix right-hand side of the product
+	 * @return result of the multiplication with getRowCount() rows and
+	 *         matrix.getColumnCount() columns
+	 * @throws IllegalArgumentException if matrix is null or matrix.getRowCount()
+	 *                                  != getColumnCount()
+	 */
+	default DoubleMatrix multiply(DoubleMatrix matrix) {
+		return multiply(matrix, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with the given matrix. the rows of the result may be
+	 * computed in parallel - the result is identical to
+	 * {@link #multiply(DoubleMatrix)}.
+	 * 
+	 * @param matrix      right-hand side of the product
+	 * @param parallelism
+	 * @return result of the multiplication with getRowCount() rows and
+	 *         matrix.getColumnCount() columns
+	 * @throws IllegalArgumentException if matrix or parallelism is null or
+	 *                                  matrix.getRowCount() != getColumnCount()
+	 */
+	default DoubleMatrix multiply(DoubleMatrix matrix, Parallelism parallelism) {
+		return multiply(matrix,
+				new FullDoubleMatrix(getRowCount(), Assurance.assureNotNull(matrix).getColumnCount()),
+				parallelism);
+	}
+
+	/**
+	 * multiplies this matrix with the given matrix and stores the result in result
+	 * 
+	 * @param matrix right-hand side of the product
+	 * @param result matrix with getRowCount() rows and matrix.getColumnCount()
+	 *               columns - will be overwritten
+	 * @return result
+	 * @throws IllegalArgumentException if matrix or result is null, result is this
+	 *                                  or matrix or the dimensions do not match
+	 */
+	default DoubleMatrix multiply(DoubleMatrix matrix, DoubleMatrix result) {
+		return multiply(matrix, result, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with the given matrix and stores the result in result.
+	 * the rows of the result may be computed in parallel if result is a
+	 * {@link FullDoubleMatrix} - other matrices may not support concurrent calls
+	 * of {@link #setValue(double, int, int)} and are filled sequentially. the
+	 * result is identical to {@link #multiply(DoubleMatrix)}.
+	 * 
+	 * @param matrix      right-hand side of the product
+	 * @param result      matrix with getRowCount() rows and
+	 *                    matrix.getColumnCount() columns - will be overwritten
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null, result shares its
+	 *                                  values with this or matrix or the
+	 *                                  dimensions do not match
+	 */
+	default DoubleMatrix multiply(DoubleMatrix matrix, DoubleMatrix result, Parallelism parallelism) {
+		int rows = getRowCount();
+		int inner = getColumnCount();
+		Assurance.assureEquals(inner, Assurance.assureNotNull(matrix).getRowCount());
+		int columns = matrix.getColumnCount();
+		Assurance.assureEquals(rows, Assurance.assureNotNull(result).getRowCount());
+		Assurance.assureEquals(columns, result.getColumnCount());
+		DoubleMatrixAssurance.assureDistinctResult(result, this, matrix);
+		Assurance.assureNotNull(parallelism);
+		(result instanceof FullDoubleMatrix ? parallelism : Parallelism.SEQUENTIAL).execute(rows, 1,
+				(long) rows * inner * columns, (from, to) -> {
+			double value;
+			for (int i = from; i < to; i++) {
+				for (int j = 0; j < columns; j++) {
+					value = 0;
+					for (int k = 0; k < inner; k++) {
+						value += getValue(i, k) * matrix.getValue(k, j);
+					}
+					result.setValue(value, i, j);
+				}
+			}
+		});
 		return result;
 	}
 
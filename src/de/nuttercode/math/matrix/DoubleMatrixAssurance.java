@@ -0,0 +1,159 @@
+package de.nuttercode.math.matrix;
+
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * argument checks shared by the implementations of {@link DoubleMatrix}
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class DoubleMatrixAssurance {
+
+	private DoubleMatrixAssurance() {
+	}
+
+	/**
+	 * assures that vector and result are valid arguments of a matrix-vector
+	 * product
+	 * 
+	 * @param vector          argument vector
+	 * @param vectorDimension required dimension of vector
+	 * @param result          result vector
+	 * @param resultDimension required dimension of result
+	 * @throws IllegalArgumentException if vector or result is null, vector ==
+	 *                                  result or the dimensions do not match
+	 */
+	static void assureProductArguments(DoubleVector vector, int vectorDimension, DoubleVector result,
+			int resultDimension) {
+		Assurance.assureEquals(vectorDimension, Assurance.assureNotNull(vector).getDimension());
+		Assurance.assureEquals(resultDimension, Assurance.assureNotNull(result).getDimension());
+		if (vector == result)
+			throw new IllegalArgumentException("result must not be the argument vector");
+	}
+
+	/**
+	 * assures that vector and result are valid arguments of a product of a matrix
+	 * and a sparse vector
+	 * 
+	 * @param vector          argument vector
+	 * @param vectorDimension required dimension of vector
+	 * @param result          result vector
+	 * @param resultDimension required dimension of result
+	 * @throws IllegalArgumentException if vector or result is null or the
+	 *                                  dimensions do not match
+	 */
+	static void assureProductArguments(SparseDoubleVector vector, int vectorDimension, DoubleVector result,
+			int resultDimension) {
+		Assurance.assureEquals(vectorDimension, Assurance.assureNotNull(vector).getDimension());
+		Assurance.assureEquals(resultDimension, Assurance.assureNotNull(result).getDimension());
+	}
+
+	/**
+	 * assures that the arguments are valid arguments of
+	 * {@link DoubleMatrix#multiplyRows(DoubleVector, int, int, double[], int)}
+	 * 
+	 * @param matrix            the multiplied matrix
+	 * @param vector            argument vector
+	 * @param from              first row (inclusive)
+	 * @param to                last row (exclusive)
+	 * @param destination       result array
+	 * @param destinationOffset position of row from in destination
+	 * @throws IllegalArgumentException if vector or destination is null,
+	 *                                  destination is the array of vector, the
+	 *                                  dimension of vector does not match or a
+	 *                                  range is out of bounds
+	 */
+	static void assureRowRangeArguments(DoubleMatrix matrix, DoubleVector vector, int from, int to,
+			double[] destination, int destinationOffset) {
+		Assurance.assureEquals(matrix.getColumnCount(), Assurance.assureNotNull(vector).getDimension());
+		Assurance.assureBoundaries(from, 0, matrix.getRowCount());
+		Assurance.assureBoundaries(to, from, matrix.getRowCount());
+		Assurance.assureBoundaries(destinationOffset, 0, Assurance.assureNotNull(destination).length - (to - from));
+		if (destination == vector.getArray())
+			throw new IllegalArgumentException("destination must not be the array of the argument vector");
+	}
+
+	/**
+	 * assures that vectors and results are valid arguments of a batched
+	 * matrix-vector product
+	 * 
+	 * @param vectors         argument vectors
+	 * @param vectorDimension required dimension of every vector
+	 * @param results         result vectors
+	 * @param resultDimension required dimension of every result
+	 * @throws IllegalArgumentException if an array or an element is null, the
+	 *                                  arrays have different lengths, a result is
+	 *                                  one of the vectors or a dimension does not
+	 *                                  match
+	 */
+	static void assureBatchArguments(DoubleVector[] vectors, int vectorDimension, DoubleVector[] results,
+			int resultDimension) {
+		Assurance.assureEquals(Assurance.assureNotNull(vectors).length, Assurance.assureNotNull(results).length);
+		for (int s = 0; s < vectors.length; s++) {
+			Assurance.assureEquals(vectorDimension, Assurance.assureNotNull(vectors[s]).getDimension());
+			Assurance.assureEquals(resultDimension, Assurance.assureNotNull(results[s]).getDimension());
+		}
+		for (DoubleVector result : results) {
+			for (DoubleVector vector : vectors) {
+				if (vector == result)
+					throw new IllegalArgumentException("a result must not be an argument vector");
+			}
+		}
+	}
+
+	/**
+	 * assures that batch and result are valid arguments of
+	 * {@link DoubleMatrix#multiplyBatch(DoubleMatrix, DoubleMatrix, de.nuttercode.math.parallel.Parallelism)}
+	 * 
+	 * @param matrix the multiplied matrix
+	 * @param batch  input vectors as rows
+	 * @param result output vectors as rows
+	 * @throws IllegalArgumentException if batch or result is null, result shares
+	 *                                  its values with matrix or batch or the
+	 *                                  dimensions do not match
+	 */
+	static void assureBatchArguments(DoubleMatrix matrix, DoubleMatrix batch, DoubleMatrix result) {
+		Assurance.assureEquals(matrix.getColumnCount(), Assurance.assureNotNull(batch).getColumnCount());
+		Assurance.assureEquals(batch.getRowCount(), Assurance.assureNotNull(result).getRowCount());
+		Assurance.assureEquals(matrix.getRowCount(), result.getColumnCount());
+		assureDistinctResult(result, matrix, batch);
+	}
+
+	/**
+	 * assures that result does not share its values with an operand of a product.
+	 * {@link TransposedDoubleMatrix transposed} and {@link SubDoubleMatrix sub}
+	 * matrices are unwrapped to the matrices which hold their values, so a view of
+	 * an operand is not accepted as result and vice versa.
+	 * 
+	 * @param result result of the product
+	 * @param left   left-hand side of the product
+	 * @param right  right-hand side of the product
+	 * @throws IllegalArgumentException if result shares its values with left or
+	 *                                  right
+	 */
+	static void assureDistinctResult(DoubleMatrix result, DoubleMatrix left, DoubleMatrix right) {
+		DoubleMatrix storage = getStorage(result);
+		if (storage == getStorage(left) || storage == getStorage(right))
+			throw new IllegalArgumentException("result must not be an operand");
+	}
+
+	/**
+	 * @param matrix
+	 * @return the matrix which holds the values of matrix
+	 */
+	private static DoubleMatrix getStorage(DoubleMatrix matrix) {
+		DoubleMatrix storage = matrix;
+		while (true) {
+			if (storage instanceof TransposedDoubleMatrix)
+				storage = ((TransposedDoubleMatrix) storage).getOriginal();
+			else if (storage instanceof SubDoubleMatrix)
+				storage = ((SubDoubleMatrix) storage).getOriginal();
+			else
+				return storage;
+		}
+	}
+
+}
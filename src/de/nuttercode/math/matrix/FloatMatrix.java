@@ -0,0 +1,163 @@
+package de.nuttercode.math.matrix;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.Accumulation;
+import de.nuttercode.math.vector.FloatVector;
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * single precision counterpart of {@link DoubleMatrix}. the products sum in
+ * float unless an {@link Accumulation} is given - {@link Accumulation#DOUBLE}
+ * sums every component in double and rounds it to float once.
+ * 
+ * @see FullFloatMatrix
+ * @see SparseFloatMatrix
+ * @author Johannes B. Latzel
+ *
+ */
+public interface FloatMatrix extends Matrix {
+
+	/**
+	 * sets a_{i, j} = value
+	 * 
+	 * @param i     row index
+	 * @param j     column index
+	 * @param value
+	 */
+	void setValue(float value, int i, int j);
+
+	/**
+	 * @param i row index
+	 * @param j column index
+	 * @return a_{i, j}
+	 */
+	float getValue(int i, int j);
+
+	/**
+	 * invokes {@link FloatMatrixVisitor#visit(int, int, float)} for a subset of
+	 * \(I \times J\). the actual behavior depends on the implementation.
+	 */
+	void forEach(FloatMatrixVisitor consumer);
+
+	/**
+	 * multiplies this matrix with the given vector and sums in float
+	 * 
+	 * @param vector
+	 * @return result of the multiplication
+	 * @throws IllegalArgumentException if vector is null or vector.getDimension()
+	 *                                  != getColumnCount()
+	 */
+	default FloatVector multiply(FloatVector vector) {
+		return multiply(vector, Accumulation.FLOAT);
+	}
+
+	/**
+	 * multiplies this matrix with the given vector
+	 * 
+	 * @param vector
+	 * @param accumulation
+	 * @return result of the multiplication
+	 * @throws IllegalArgumentException if an argument is null or
+	 *                                  vector.getDimension() != getColumnCount()
+	 */
+	default FloatVector multiply(FloatVector vector, Accumulation accumulation) {
+		return multiply(vector, new FloatVector(getRowCount()), accumulation, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies this matrix with the given vector and stores the result in
+	 * result. the rows of the result may be computed in parallel - the result is
+	 * identical to {@link #multiply(FloatVector, Accumulation)}.
+	 * 
+	 * @param vector
+	 * @param result       vector with dimension getRowCount() - will be
+	 *                     overwritten
+	 * @param accumulation
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null, vector == result,
+	 *                                  vector.getDimension() != getColumnCount()
+	 *                                  or result.getDimension() != getRowCount()
+	 */
+	default FloatVector multiply(FloatVector vector, FloatVector result, Accumulation accumulation,
+			Parallelism parallelism) {
+		int rows = getRowCount();
+		int columns = getColumnCount();
+		FloatMatrixAssurance.assureProductArguments(vector, columns, result, rows);
+		boolean doubleAccumulation = Assurance.assureNotNull(accumulation) == Accumulation.DOUBLE;
+		Assurance.assureNotNull(parallelism).execute(rows, 1, (long) rows * columns, (from, to) -> {
+			float value;
+			double doubleValue;
+			for (int i = from; i < to; i++) {
+				if (doubleAccumulation) {
+					doubleValue = 0;
+					for (int j = 0; j < columns; j++)
+						doubleValue += (double) getValue(i, j) * vector.getValue(j);
+					result.setValue((float) doubleValue, i);
+				} else {
+					value = 0;
+					for (int j = 0; j < columns; j++)
+						value += getValue(i, j) * vector.getValue(j);
+					result.setValue(value, i);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector and sums in
+	 * float
+	 * 
+	 * @param vector
+	 * @return result of the multiplication
+	 * @throws IllegalArgumentException if vector is null or vector.getDimension()
+	 *                                  != getRowCount()
+	 */
+	default FloatVector multiplyTransposed(FloatVector vector) {
+		return multiplyTransposed(vector, new FloatVector(getColumnCount()), Accumulation.FLOAT,
+				Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector and stores the
+	 * result in result. the components may be computed in parallel - the result
+	 * does not depend on parallelism.
+	 * 
+	 * @param vector
+	 * @param result       vector with dimension getColumnCount() - will be
+	 *                     overwritten
+	 * @param accumulation
+	 * @param parallelism
+	 * @return result
+	 * @throws IllegalArgumentException if an argument is null, vector == result,
+	 *                                  vector.getDimension() != getRowCount() or
+	 *                                  result.getDimension() != getColumnCount()
+	 */
+	default FloatVector multiplyTransposed(FloatVector vector, FloatVector result, Accumulation accumulation,
+			Parallelism parallelism) {
+		int rows = getRowCount();
+		int columns = getColumnCount();
+		FloatMatrixAssurance.assureProductArguments(vector, rows, result, columns);
+		boolean doubleAccumulation = Assurance.assureNotNull(accumulation) == Accumulation.DOUBLE;
+		Assurance.assureNotNull(parallelism).execute(columns, 1, (long) rows * columns, (from, to) -> {
+			float value;
+			double doubleValue;
+			for (int j = from; j < to; j++) {
+				if (doubleAccumulation) {
+					doubleValue = 0;
+					for (int i = 0; i < rows; i++)
+						doubleValue += (double) getValue(i, j) * vector.getValue(i);
+					result.setValue((float) doubleValue, j);
+				} else {
+					value = 0;
+					for (int i = 0; i < rows; i++)
+						value += getValue(i, j) * vector.getValue(i);
+					result.setValue(value, j);
+				}
+			}
+		});
+		return result;
+	}
+
+}
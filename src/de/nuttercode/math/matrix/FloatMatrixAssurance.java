@@ -0,0 +1,36 @@
+package de.nuttercode.math.matrix;
+
+import de.nuttercode.math.vector.FloatVector;
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * argument checks shared by the implementations of {@link FloatMatrix}
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class FloatMatrixAssurance {
+
+	private FloatMatrixAssurance() {
+	}
+
+	/**
+	 * assures that vector and result are valid arguments of a matrix-vector
+	 * product
+	 * 
+	 * @param vector          argument vector
+	 * @param vectorDimension required dimension of vector
+	 * @param result          result vector
+	 * @param resultDimension required dimension of result
+	 * @throws IllegalArgumentException if vector or result is null, vector ==
+	 *                                  result or the dimensions do not match
+	 */
+	static void assureProductArguments(FloatVector vector, int vectorDimension, FloatVector result,
+			int resultDimension) {
+		Assurance.assureEquals(vectorDimension, Assurance.assureNotNull(vector).getDimension());
+		Assurance.assureEquals(resultDimension, Assurance.assureNotNull(result).getDimension());
+		if (vector == result)
+			throw new IllegalArgumentException("result must not be the argument vector");
+	}
+
+}
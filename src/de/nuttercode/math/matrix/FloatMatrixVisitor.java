@@ -0,0 +1,22 @@
+package de.nuttercode.math.matrix;
+
+/**
+ * used to visit entries of a {@link FloatMatrix}
+ * 
+ * @author Johannes B. Latzel
+ * @see #visit(int, int, float)
+ * 
+ */
+@FunctionalInterface
+public interface FloatMatrixVisitor {
+
+	/**
+	 * visits entries of {@link FloatMatrix}
+	 * 
+	 * @param i     row index
+	 * @param j     column index
+	 * @param value value of the matrix at (i, j)
+	 */
+	void visit(int i, int j, float value);
+
+}
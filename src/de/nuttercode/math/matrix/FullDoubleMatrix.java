@@ -1,27 +1,50 @@
 package de.nuttercode.math.matrix;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Random;
 
-import de.nuttercode.util.ArrayUtil;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.DoubleVectorView;
+import de.nuttercode.math.vector.SparseDoubleVector;
 import de.nuttercode.util.assurance.Assurance;
 import de.nuttercode.util.assurance.NotNull;
 import de.nuttercode.util.assurance.Positive;
 
 /**
- * implementation of {@link DoubleMatrix} with double arrays of fixed size.
+ * implementation of {@link DoubleMatrix} with a double array of fixed size. the
+ * values are stored contiguously in row-major order, i.e. \(a_{i, j}\) is
+ * stored at index i * {@link #getColumnCount()} + j.
  * 
  * @author Johannes B. Latzel
  *
  */
 public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 
-	private static final long serialVersionUID = 4791467477622750766L;
+	private static final long serialVersionUID = -2303527335436931371L;
 
 	/**
-	 * array representation of the matrix
+	 * number of values of a block of rows in a batched product - the block should
+	 * fit into the L2 cache
 	 */
-	private final double[][] values;
+	private static final int BATCH_BLOCK_VALUE_COUNT = 1 << 15;
+
+	/**
+	 * row-major array representation of the matrix
+	 */
+	final double[] values;
+
+	/**
+	 * number of rows
+	 */
+	private final int rowCount;
+
+	/**
+	 * number of columns
+	 */
+	private final int columnCount;
 
 	/**
 	 * creates a new matrix with rowCount rows and columnCount columns
@@ -32,7 +55,9 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 	public FullDoubleMatrix(@Positive int rowCount, @Positive int columnCount) {
 		Assurance.assurePositive(rowCount);
 		Assurance.assurePositive(columnCount);
-		values = new double[rowCount][columnCount];
+		values = new double[Math.multiplyExact(rowCount, columnCount)];
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
 	}
 
 	/**
@@ -51,13 +76,7 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 	 */
 	public FullDoubleMatrix(@NotNull FullDoubleMatrix matrix) {
 		this(Assurance.assureNotNull(matrix).getRowCount(), matrix.getColumnCount());
-		int rows = getRowCount();
-		int cols = getColumnCount();
-		for (int a = 0; a < rows; a++) {
-			for (int b = 0; b < cols; b++) {
-				values[a][b] = matrix.getValue(a, b);
-			}
-		}
+		System.arraycopy(matrix.values, 0, values, 0, values.length);
 	}
 
 	/**
@@ -69,7 +88,10 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 	 */
 	public FullDoubleMatrix(@NotNull double[][] array) {
 		this(Assurance.assureNotNull(array).length, Assurance.assureNotNull(array[0]).length);
-		ArrayUtil.copy(array, values);
+		for (int a = 0; a < rowCount; a++) {
+			Assurance.assureEquals(columnCount, Assurance.assureNotNull(array[a]).length);
+			System.arraycopy(array[a], 0, values, a * columnCount, columnCount);
+		}
 	}
 
 	/**
@@ -81,10 +103,9 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 	 * @param scalar      some scalar
 	 */
 	public void addRow(int source, int destination, double scalar) {
-		int cols = getColumnCount();
-		for (int a = 0; a < cols; a++) {
-			setValue(getValue(destination, a) + getValue(source, a) * scalar, destination, a);
-		}
+		assureRow(source);
+		assureRow(destination);
+		DoubleKernels.axpy(scalar, values, source * columnCount, values, destination * columnCount, columnCount);
 	}
 
 	/**
@@ -94,10 +115,8 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 	 * @param row
 	 */
 	public void scaleRow(double scalar, int row) {
-		int cols = getColumnCount();
-		for (int a = 0; a < cols; a++) {
-			setValue(getValue(row, a) * scalar, row, a);
-		}
+		assureRow(row);
+		DoubleKernels.scale(scalar, values, row * columnCount, columnCount);
 	}
 
 	/**
@@ -106,7 +125,37 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 	 * @param value
 	 */
 	public void setAllValuesTo(double value) {
-		forEach((i, j, v) -> setValue(value, i, j));
+		Arrays.fill(values, value);
+	}
+
+	/**
+	 * @return the underlying row-major array - changes to the array are changes to
+	 *         this matrix. intended for kernels which process whole matrices.
+	 */
+	public double[] getArray() {
+		return values;
+	}
+
+	/**
+	 * @param row
+	 * @return view of the row which shares the storage of this matrix
+	 * @throws ArrayIndexOutOfBoundsException if row is out of bounds
+	 */
+	public DoubleVectorView getRow(int row) {
+		assureRow(row);
+		return new DoubleVectorView(values, row * columnCount, 1, columnCount);
+	}
+
+	/**
+	 * @param column
+	 * @return view of the column which shares the storage of this matrix - the
+	 *         column has a stride of {@link #getColumnCount()}
+	 * @throws ArrayIndexOutOfBoundsException if column is out of bounds
+	 */
+	public DoubleVectorView getColumn(int column) {
+		if (column < 0 || column >= columnCount)
+			throw new ArrayIndexOutOfBoundsException("column " + column);
+		return new DoubleVectorView(values, column, columnCount, rowCount);
 	}
 
 	/**
@@ -126,13 +175,381 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 	 */
 	@Override
 	public void forEach(DoubleMatrixVisitor consumer) {
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values[i].length; j++) {
-				consumer.visit(i, j, getValue(i, j));
+		int index = 0;
+		for (int i = 0; i < rowCount; i++) {
+			for (int j = 0; j < columnCount; j++) {
+				consumer.visit(i, j, values[index++]);
 			}
 		}
 	}
 
+	/**
+	 * multiplies this matrix with the given vector. every row is processed as one
+	 * contiguous block of memory.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		long work = (long) rowCount * columnCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(rowCount, 1, work, (from, to) -> multiplyRows(vector, result, from, to));
+		else
+			multiplyRows(vector, result, 0, rowCount);
+		return result;
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vector
+	 * 
+	 * @param vector
+	 * @param result
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyRows(DoubleVector vector, DoubleVector result, int from, int to) {
+		multiplyRows(vector.getArray(), from, to, result.getArray(), from);
+	}
+
+	@Override
+	public void multiplyRows(DoubleVector vector, int from, int to, double[] destination, int destinationOffset) {
+		DoubleMatrixAssurance.assureRowRangeArguments(this, vector, from, to, destination, destinationOffset);
+		multiplyRows(vector.getArray(), from, to, destination, destinationOffset);
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vector and stores them in
+	 * destination starting at destinationOffset
+	 */
+	private void multiplyRows(double[] vector, int from, int to, double[] destination, int destinationOffset) {
+		int offset = from * columnCount;
+		for (int i = from; i < to; i++) {
+			destination[destinationOffset + i - from] = DoubleKernels.dot(vector, 0, values, offset, columnCount);
+			offset += columnCount;
+		}
+	}
+
+	/**
+	 * multiplies this matrix with every given vector. the rows are processed in
+	 * blocks which fit into the cache and every block is multiplied with all
+	 * vectors before the next block is loaded, so this matrix is read from memory
+	 * only once per batch.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector[], DoubleVector[], Parallelism)
+	 */
+	@Override
+	public DoubleVector[] multiply(DoubleVector[] vectors, DoubleVector[] results, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureBatchArguments(vectors, columnCount, results, rowCount);
+		long work = (long) rowCount * columnCount * vectors.length;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(rowCount, 1, work, (from, to) -> multiplyRows(vectors, results, from, to));
+		else
+			multiplyRows(vectors, results, 0, rowCount);
+		return results;
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vectors[s] for every s
+	 * 
+	 * @param vectors
+	 * @param results
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyRows(DoubleVector[] vectors, DoubleVector[] results, int from, int to) {
+		int blockSize = getBatchBlockSize();
+		int blockEnd, offset;
+		double[] vector, result;
+		for (int block = from; block < to; block += blockSize) {
+			blockEnd = Math.min(to, block + blockSize);
+			for (int s = 0; s < vectors.length; s++) {
+				vector = vectors[s].getArray();
+				result = results[s].getArray();
+				offset = block * columnCount;
+				for (int i = block; i < blockEnd; i++) {
+					result[i] = DoubleKernels.dot(vector, 0, values, offset, columnCount);
+					offset += columnCount;
+				}
+			}
+		}
+	}
+
+	/**
+	 * multiplies this matrix with every row of batch. if batch and result are
+	 * {@link FullDoubleMatrix FullDoubleMatrices} the rows of this matrix are
+	 * processed in blocks which fit into the cache and every block is multiplied
+	 * with all rows of batch before the next block is loaded, so this matrix is
+	 * read from memory only once per batch.
+	 * 
+	 * @see DoubleMatrix#multiplyBatch(DoubleMatrix, DoubleMatrix, Parallelism)
+	 */
+	@Override
+	public DoubleMatrix multiplyBatch(DoubleMatrix batch, DoubleMatrix result, Parallelism parallelism) {
+		if (!(batch instanceof FullDoubleMatrix) || !(result instanceof FullDoubleMatrix))
+			return DoubleMatrix.super.multiplyBatch(batch, result, parallelism);
+		DoubleMatrixAssurance.assureBatchArguments(this, batch, result);
+		FullDoubleMatrix input = (FullDoubleMatrix) batch;
+		FullDoubleMatrix output = (FullDoubleMatrix) result;
+		long work = (long) rowCount * columnCount * input.rowCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(rowCount, 1, work, (from, to) -> multiplyRows(input, output, from, to));
+		else
+			multiplyRows(input, output, 0, rowCount);
+		return result;
+	}
+
+	/**
+	 * computes the columns [from, to) of every row of result, i.e. the rows [from,
+	 * to) of this * (row s of batch) for every s
+	 * 
+	 * @param batch
+	 * @param result
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyRows(FullDoubleMatrix batch, FullDoubleMatrix result, int from, int to) {
+		int blockSize = getBatchBlockSize();
+		int blockEnd, offset, resultOffset;
+		for (int block = from; block < to; block += blockSize) {
+			blockEnd = Math.min(to, block + blockSize);
+			for (int s = 0; s < batch.rowCount; s++) {
+				offset = block * columnCount;
+				resultOffset = s * rowCount;
+				for (int i = block; i < blockEnd; i++) {
+					result.values[resultOffset + i] = DoubleKernels.dot(batch.values, s * columnCount, values, offset,
+							columnCount);
+					offset += columnCount;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return number of rows of a block of a batched product
+	 */
+	private int getBatchBlockSize() {
+		return Math.max(1, BATCH_BLOCK_VALUE_COUNT / columnCount);
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector. the rows are
+	 * read sequentially and accumulated into the result.
+	 * 
+	 * @see DoubleMatrix#multiplyTransposed(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		long work = (long) rowCount * columnCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(columnCount, 1, work,
+					(from, to) -> multiplyTransposedColumns(vector, result.getArray(), from, to));
+		else
+			multiplyTransposedColumns(vector, result.getArray(), 0, columnCount);
+		return result;
+	}
+
+	/**
+	 * computes the components [from, to) of transpose(this) * vector
+	 * 
+	 * @param vector
+	 * @param result
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyTransposedColumns(DoubleVector vector, double[] result, int from, int to) {
+		Arrays.fill(result, from, to, 0);
+		int offset = 0;
+		for (int i = 0; i < rowCount; i++) {
+			DoubleKernels.axpy(vector.getValue(i), values, offset + from, result, from, to - from);
+			offset += columnCount;
+		}
+	}
+
+	/**
+	 * multiplies this matrix with the given sparse vector. every row reads only the
+	 * values of the stored indices of the vector.
+	 * 
+	 * @see DoubleMatrix#multiply(SparseDoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(SparseDoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		int[] indices = vector.getIndexArray();
+		double[] x = vector.getValueArray();
+		int count = vector.getValueCount();
+		double[] y = result.getArray();
+		Assurance.assureNotNull(parallelism).execute(rowCount, 1, (long) rowCount * count, (from, to) -> {
+			double value;
+			int offset = from * columnCount;
+			for (int i = from; i < to; i++) {
+				value = 0;
+				for (int k = 0; k < count; k++)
+					value += values[offset + indices[k]] * x[k];
+				y[i] = value;
+				offset += columnCount;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given sparse vector. only
+	 * the rows of the stored indices of the vector are read - sequentially and
+	 * accumulated into the result.
+	 * 
+	 * @see DoubleMatrix#multiplyTransposed(SparseDoubleVector, DoubleVector,
+	 *      Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(SparseDoubleVector vector, DoubleVector result,
+			Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		int[] indices = vector.getIndexArray();
+		double[] x = vector.getValueArray();
+		int count = vector.getValueCount();
+		double[] y = result.getArray();
+		Assurance.assureNotNull(parallelism).execute(columnCount, 1, (long) columnCount * count, (from, to) -> {
+			Arrays.fill(y, from, to, 0);
+			for (int k = 0; k < count; k++)
+				DoubleKernels.axpy(x[k], values, indices[k] * columnCount + from, y, from, to - from);
+		});
+		return result;
+	}
+
+	/**
+	 * multiplies this matrix with the given matrix. if matrix and result are
+	 * {@link FullDoubleMatrix FullDoubleMatrices} the product will be computed by
+	 * a cache-blocked algorithm on packed panels. if matrix is the
+	 * {@link #transpose() transpose} of a {@link FullDoubleMatrix} every value of
+	 * the product is the scalar product of two rows and the transpose is not
+	 * copied.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleMatrix, DoubleMatrix, Parallelism)
+	 */
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix matrix, DoubleMatrix result, Parallelism parallelism) {
+		if (matrix instanceof TransposedDoubleMatrix && result instanceof FullDoubleMatrix
+				&& ((TransposedDoubleMatrix) matrix).getOriginal() instanceof FullDoubleMatrix)
+			return multiplyTransposed((FullDoubleMatrix) ((TransposedDoubleMatrix) matrix).getOriginal(),
+					(FullDoubleMatrix) result, parallelism);
+		if (!(matrix instanceof FullDoubleMatrix) || !(result instanceof FullDoubleMatrix))
+			return DoubleMatrix.super.multiply(matrix, result, parallelism);
+		FullDoubleMatrix other = (FullDoubleMatrix) matrix;
+		FullDoubleMatrix product = (FullDoubleMatrix) result;
+		Assurance.assureEquals(columnCount, other.rowCount);
+		Assurance.assureEquals(rowCount, product.rowCount);
+		Assurance.assureEquals(other.columnCount, product.columnCount);
+		DoubleMatrixAssurance.assureDistinctResult(product, this, other);
+		product.reset();
+		BlockedMultiplication.multiply(values, other.values, product.values, rowCount, columnCount, other.columnCount,
+				Assurance.assureNotNull(parallelism));
+		return result;
+	}
+
+	/**
+	 * computes this * transpose(matrix) - the value (i, j) of the product is the
+	 * scalar product of row i of this matrix and row j of matrix
+	 * 
+	 * @param matrix
+	 * @param product
+	 * @param parallelism
+	 * @return product
+	 */
+	private DoubleMatrix multiplyTransposed(FullDoubleMatrix matrix, FullDoubleMatrix product,
+			Parallelism parallelism) {
+		Assurance.assureEquals(columnCount, matrix.columnCount);
+		Assurance.assureEquals(rowCount, product.rowCount);
+		Assurance.assureEquals(matrix.rowCount, product.columnCount);
+		DoubleMatrixAssurance.assureDistinctResult(product, this, matrix);
+		int columns = matrix.rowCount;
+		Assurance.assureNotNull(parallelism).execute(rowCount, 1, (long) rowCount * columnCount * columns,
+				(from, to) -> {
+					for (int i = from; i < to; i++) {
+						for (int j = 0; j < columns; j++)
+							product.values[i * columns + j] = DoubleKernels.dot(values, i * columnCount,
+									matrix.values, j * columnCount, columnCount);
+					}
+				});
+		return product;
+	}
+
+	@Override
+	public FullDoubleMatrix transposeCopy() {
+		return transposeCopy(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * copies the transpose by halving the longer side of a block recursively
+	 * until it fits into the L1 cache, so neither the reads nor the writes miss
+	 * the cache on every value
+	 * 
+	 * @see DoubleMatrix#transposeCopy(Parallelism)
+	 */
+	@Override
+	public FullDoubleMatrix transposeCopy(Parallelism parallelism) {
+		FullDoubleMatrix result = new FullDoubleMatrix(columnCount, rowCount);
+		Assurance.assureNotNull(parallelism).execute(rowCount, Transposition.MINIMAL_ROW_COUNT,
+				(long) rowCount * columnCount,
+				(from, to) -> Transposition.transpose(values, rowCount, columnCount, result.values, from, to));
+		return result;
+	}
+
+	/**
+	 * transposes this square matrix in place
+	 * 
+	 * @throws IllegalArgumentException if this matrix is not square
+	 * @see #transposeInPlace(Parallelism)
+	 */
+	public void transposeInPlace() {
+		transposeInPlace(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * transposes this square matrix in place by swapping cache-oblivious blocks of
+	 * the upper and lower triangle, which may be swapped in parallel. views of this
+	 * matrix see the transposed values. the shape of a matrix never changes - use
+	 * {@link #transposeCopy(Parallelism)} for other matrices.
+	 * 
+	 * @param parallelism
+	 * @throws IllegalArgumentException if parallelism is null or this matrix is
+	 *                                  not square
+	 */
+	public void transposeInPlace(@NotNull Parallelism parallelism) {
+		Assurance.assureNotNull(parallelism);
+		Assurance.assureEquals(rowCount, columnCount);
+		parallelism.execute(rowCount, Transposition.MINIMAL_ROW_COUNT, (long) rowCount * columnCount,
+				(from, to) -> Transposition.transposeSquare(values, rowCount, from, to));
+	}
+
+	/**
+	 * transposes the row-major rowCount x columnCount array in place into a
+	 * row-major columnCount x rowCount array - for flat storage which is not owned
+	 * by a matrix, e.g. buffers which are exchanged with native code. square
+	 * arrays swap cache-oblivious blocks of the upper and lower triangle. other
+	 * arrays follow the cycles of the permutation k -&gt; k * rowCount mod
+	 * (rowCount * columnCount - 1) in O(rowCount * columnCount) and need one bit
+	 * per value in addition.
+	 * 
+	 * @param values      array with rowCount * columnCount values
+	 * @param rowCount
+	 * @param columnCount
+	 * @throws IllegalArgumentException if values is null, rowCount or columnCount
+	 *                                  is not positive or values.length !=
+	 *                                  rowCount * columnCount
+	 */
+	public static void transposeInPlace(@NotNull double[] values, @Positive int rowCount,
+			@Positive int columnCount) {
+		Assurance.assurePositive(rowCount);
+		Assurance.assurePositive(columnCount);
+		Assurance.assureEquals(Math.multiplyExact(rowCount, columnCount), Assurance.assureNotNull(values).length);
+		if (rowCount == columnCount)
+			Transposition.transposeSquare(values, rowCount, 0, rowCount);
+		else
+			Transposition.transposeRectangular(values, rowCount, columnCount);
+	}
+
 	@Override
 	public void reset() {
 		setAllValuesTo(0);
@@ -157,33 +574,55 @@ public class FullDoubleMatrix implements DoubleMatrix, Serializable {
 
 	@Override
 	public double getValue(int row, int column) {
-		return values[row][column];
+		return values[index(row, column)];
 	}
 
 	@Override
 	public void setValue(double value, int row, int column) {
-		values[row][column] = value;
+		values[index(row, column)] = value;
+	}
+
+	/**
+	 * @param row
+	 * @throws ArrayIndexOutOfBoundsException if row is out of bounds
+	 */
+	private void assureRow(int row) {
+		if (row < 0 || row >= rowCount)
+			throw new ArrayIndexOutOfBoundsException("row " + row);
+	}
+
+	/**
+	 * @param row
+	 * @param column
+	 * @return index of \(a_{row, column}\) in {@link #values}
+	 * @throws ArrayIndexOutOfBoundsException if row or column are out of bounds
+	 */
+	private int index(int row, int column) {
+		if (row < 0 || row >= rowCount || column < 0 || column >= columnCount)
+			throw new ArrayIndexOutOfBoundsException("(" + row + ", " + column + ")");
+		return row * columnCount + column;
 	}
 
 	@Override
 	public void swapRows(int row1, int row2) {
 		double temp;
-		int cols = getColumnCount();
-		for (int a = 0; a < cols; a++) {
-			temp = getValue(row1, a);
-			setValue(getValue(row2, a), row1, a);
-			setValue(temp, row2, a);
+		int offset1 = row1 * columnCount;
+		int offset2 = row2 * columnCount;
+		for (int a = 0; a < columnCount; a++) {
+			temp = values[offset1 + a];
+			values[offset1 + a] = values[offset2 + a];
+			values[offset2 + a] = temp;
 		}
 	}
 
 	@Override
 	public int getRowCount() {
-		return values.length;
+		return rowCount;
 	}
 
 	@Override
 	public int getColumnCount() {
-		return values[0].length;
+		return columnCount;
 	}
 
 }
\ No newline at end of file
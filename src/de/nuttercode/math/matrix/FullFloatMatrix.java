@@ -0,0 +1,344 @@
+package de.nuttercode.math.matrix;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.Accumulation;
+import de.nuttercode.math.vector.FloatKernels;
+import de.nuttercode.math.vector.FloatVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * implementation of {@link FloatMatrix} with a float array of fixed size - the
+ * single precision counterpart of {@link FullDoubleMatrix}. the values are
+ * stored contiguously in row-major order, i.e. \(a_{i, j}\) is stored at index
+ * i * {@link #getColumnCount()} + j. a product with a vector reads half of the
+ * memory of the same product of a {@link FullDoubleMatrix}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class FullFloatMatrix implements FloatMatrix, Serializable {
+
+	private static final long serialVersionUID = 5316826785373309467L;
+
+	/**
+	 * row-major array representation of the matrix
+	 */
+	final float[] values;
+
+	/**
+	 * number of rows
+	 */
+	private final int rowCount;
+
+	/**
+	 * number of columns
+	 */
+	private final int columnCount;
+
+	/**
+	 * creates a new matrix with rowCount rows and columnCount columns
+	 * 
+	 * @param rowCount
+	 * @param columnCount
+	 */
+	public FullFloatMatrix(@Positive int rowCount, @Positive int columnCount) {
+		Assurance.assurePositive(rowCount);
+		Assurance.assurePositive(columnCount);
+		values = new float[Math.multiplyExact(rowCount, columnCount)];
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+	}
+
+	/**
+	 * creates a new quadratic matrix with size rows and columns
+	 * 
+	 * @param size
+	 */
+	public FullFloatMatrix(@Positive int size) {
+		this(size, size);
+	}
+
+	/**
+	 * copy-constructor (deep)
+	 * 
+	 * @param matrix
+	 */
+	public FullFloatMatrix(@NotNull FullFloatMatrix matrix) {
+		this(Assurance.assureNotNull(matrix).getRowCount(), matrix.getColumnCount());
+		System.arraycopy(matrix.values, 0, values, 0, values.length);
+	}
+
+	/**
+	 * creates the matrix represented by the array. array.length will be the number
+	 * of rows and array[0].length the number of columns and \(a_{i, j} = \)
+	 * array[i][j].
+	 * 
+	 * @param array
+	 */
+	public FullFloatMatrix(@NotNull float[][] array) {
+		this(Assurance.assureNotNull(array).length, Assurance.assureNotNull(array[0]).length);
+		for (int a = 0; a < rowCount; a++) {
+			Assurance.assureEquals(columnCount, Assurance.assureNotNull(array[a]).length);
+			System.arraycopy(array[a], 0, values, a * columnCount, columnCount);
+		}
+	}
+
+	/**
+	 * converts the matrix to single precision - every value is rounded to the
+	 * nearest float
+	 * 
+	 * @param matrix
+	 */
+	public FullFloatMatrix(@NotNull FullDoubleMatrix matrix) {
+		this(Assurance.assureNotNull(matrix).getRowCount(), matrix.getColumnCount());
+		FloatKernels.toFloat(matrix.values, 0, values, 0, values.length);
+	}
+
+	/**
+	 * @return this matrix in double precision - the conversion is exact
+	 */
+	public FullDoubleMatrix toFullDoubleMatrix() {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(rowCount, columnCount);
+		FloatKernels.toDouble(values, 0, matrix.values, 0, values.length);
+		return matrix;
+	}
+
+	/**
+	 * adds the scalar-scaled row source to the row destination and saves the result
+	 * in the row destination
+	 * 
+	 * @param source      source row
+	 * @param destination destination row
+	 * @param scalar      some scalar
+	 */
+	public void addRow(int source, int destination, float scalar) {
+		assureRow(source);
+		assureRow(destination);
+		FloatKernels.axpy(scalar, values, source * columnCount, values, destination * columnCount, columnCount);
+	}
+
+	/**
+	 * scales the row by scalar
+	 * 
+	 * @param scalar
+	 * @param row
+	 */
+	public void scaleRow(float scalar, int row) {
+		assureRow(row);
+		FloatKernels.scale(scalar, values, row * columnCount, columnCount);
+	}
+
+	/**
+	 * sets all values of this matrix to the specified value
+	 * 
+	 * @param value
+	 */
+	public void setAllValuesTo(float value) {
+		Arrays.fill(values, value);
+	}
+
+	/**
+	 * @return the underlying row-major array - changes to the array are changes to
+	 *         this matrix. intended for kernels which process whole matrices.
+	 */
+	public float[] getArray() {
+		return values;
+	}
+
+	/**
+	 * sets this matrix components to random values of [-0.5, 0.5)
+	 * 
+	 * @param random
+	 */
+	public void randomize(@NotNull Random random) {
+		forEach((i, j, v) -> setValue(random.nextFloat() - 0.5f, i, j));
+	}
+
+	/**
+	 * invokes {@link FloatMatrixVisitor#visit(int, int, float)} for each entry in
+	 * this matrix.
+	 * 
+	 * @see FloatMatrix#forEach(FloatMatrixVisitor)
+	 */
+	@Override
+	public void forEach(FloatMatrixVisitor consumer) {
+		int index = 0;
+		for (int i = 0; i < rowCount; i++) {
+			for (int j = 0; j < columnCount; j++) {
+				consumer.visit(i, j, values[index++]);
+			}
+		}
+	}
+
+	/**
+	 * multiplies this matrix with the given vector. every row is processed as one
+	 * contiguous block of memory by
+	 * {@link FloatKernels#dot(float[], int, float[], int, int, Accumulation)}.
+	 * 
+	 * @see FloatMatrix#multiply(FloatVector, FloatVector, Accumulation,
+	 *      Parallelism)
+	 */
+	@Override
+	public FloatVector multiply(FloatVector vector, FloatVector result, Accumulation accumulation,
+			Parallelism parallelism) {
+		FloatMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		Assurance.assureNotNull(accumulation);
+		long work = (long) rowCount * columnCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(rowCount, 1, work,
+					(from, to) -> multiplyRows(vector.getArray(), result.getArray(), accumulation, from, to));
+		else
+			multiplyRows(vector.getArray(), result.getArray(), accumulation, 0, rowCount);
+		return result;
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vector
+	 * 
+	 * @param vector
+	 * @param result
+	 * @param accumulation
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyRows(float[] vector, float[] result, Accumulation accumulation, int from, int to) {
+		int offset = from * columnCount;
+		for (int i = from; i < to; i++) {
+			result[i] = FloatKernels.dot(vector, 0, values, offset, columnCount, accumulation);
+			offset += columnCount;
+		}
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector. the rows are
+	 * read sequentially and accumulated into the result - in a temporary double
+	 * array for {@link Accumulation#DOUBLE}.
+	 * 
+	 * @see FloatMatrix#multiplyTransposed(FloatVector, FloatVector, Accumulation,
+	 *      Parallelism)
+	 */
+	@Override
+	public FloatVector multiplyTransposed(FloatVector vector, FloatVector result, Accumulation accumulation,
+			Parallelism parallelism) {
+		FloatMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		Assurance.assureNotNull(accumulation);
+		long work = (long) rowCount * columnCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(columnCount, 1, work,
+					(from, to) -> multiplyTransposedColumns(vector, result.getArray(), accumulation, from, to));
+		else
+			multiplyTransposedColumns(vector, result.getArray(), accumulation, 0, columnCount);
+		return result;
+	}
+
+	/**
+	 * computes the components [from, to) of transpose(this) * vector
+	 * 
+	 * @param vector
+	 * @param result
+	 * @param accumulation
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyTransposedColumns(FloatVector vector, float[] result, Accumulation accumulation, int from,
+			int to) {
+		int offset = 0;
+		if (accumulation == Accumulation.FLOAT) {
+			Arrays.fill(result, from, to, 0);
+			for (int i = 0; i < rowCount; i++) {
+				FloatKernels.axpy(vector.getValue(i), values, offset + from, result, from, to - from);
+				offset += columnCount;
+			}
+			return;
+		}
+		double[] sums = new double[to - from];
+		double scalar;
+		for (int i = 0; i < rowCount; i++) {
+			scalar = vector.getValue(i);
+			for (int j = from; j < to; j++)
+				sums[j - from] = Math.fma(scalar, values[offset + j], sums[j - from]);
+			offset += columnCount;
+		}
+		FloatKernels.toFloat(sums, 0, result, from, to - from);
+	}
+
+	@Override
+	public void reset() {
+		setAllValuesTo(0);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int a = 0; a < rowCount; a++) {
+			if (a != 0)
+				builder.append('\n');
+			for (int b = 0; b < columnCount; b++) {
+				if (b != 0)
+					builder.append('\t');
+				builder.append(getValue(a, b));
+			}
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public float getValue(int row, int column) {
+		return values[index(row, column)];
+	}
+
+	@Override
+	public void setValue(float value, int row, int column) {
+		values[index(row, column)] = value;
+	}
+
+	/**
+	 * @param row
+	 * @throws ArrayIndexOutOfBoundsException if row is out of bounds
+	 */
+	private void assureRow(int row) {
+		if (row < 0 || row >= rowCount)
+			throw new ArrayIndexOutOfBoundsException("row " + row);
+	}
+
+	/**
+	 * @param row
+	 * @param column
+	 * @return index of \(a_{row, column}\) in {@link #values}
+	 * @throws ArrayIndexOutOfBoundsException if row or column are out of bounds
+	 */
+	private int index(int row, int column) {
+		if (row < 0 || row >= rowCount || column < 0 || column >= columnCount)
+			throw new ArrayIndexOutOfBoundsException("(" + row + ", " + column + ")");
+		return row * columnCount + column;
+	}
+
+	@Override
+	public void swapRows(int row1, int row2) {
+		float temp;
+		int offset1 = row1 * columnCount;
+		int offset2 = row2 * columnCount;
+		for (int a = 0; a < columnCount; a++) {
+			temp = values[offset1 + a];
+			values[offset1 + a] = values[offset2 + a];
+			values[offset2 + a] = temp;
+		}
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+}
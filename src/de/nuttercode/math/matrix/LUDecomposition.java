@@ -0,0 +1,419 @@
+package de.nuttercode.math.matrix;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.permutation.IntPermutation;
+import de.nuttercode.math.permutation.IntTransposition;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * <a href="https://en.wikipedia.org/wiki/LU_decomposition">LU decomposition</a>
+ * PA = LU of a square matrix A with partial pivoting, where P is a permutation
+ * matrix, L is lower triangular with unit diagonal and U is upper triangular.
+ * the factorization runs in O(n^3) once and is blocked: after a panel of
+ * {@value #BLOCK_SIZE} columns is factorized, the trailing submatrix is updated
+ * by a cache-blocked matrix-matrix product, which may run in parallel. every
+ * solve afterwards runs in O(n^2) per right-hand side, so instances should be
+ * kept and reused for the same matrix. instances are immutable.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class LUDecomposition {
+
+	/**
+	 * number of columns of a panel and number of rows of a block of a solve with
+	 * multiple right-hand sides
+	 */
+	static final int BLOCK_SIZE = 64;
+
+	/**
+	 * L (strictly below the diagonal) and U (on and above the diagonal) in
+	 * row-major order
+	 */
+	private final double[] lu;
+
+	/**
+	 * number of rows and columns
+	 */
+	private final int size;
+
+	/**
+	 * row j was swapped with row swaps[j] in step j of the factorization
+	 */
+	private final int[] swaps;
+
+	/**
+	 * sign of the permutation - 1 or -1
+	 */
+	private final int permutationSign;
+
+	/**
+	 * true if U has a 0 on its diagonal
+	 */
+	private final boolean singular;
+
+	/**
+	 * factorizes the matrix sequentially. the matrix will not be changed.
+	 * 
+	 * @param matrix square matrix
+	 * @throws IllegalArgumentException if matrix is null or not square
+	 */
+	public LUDecomposition(@NotNull DoubleMatrix matrix) {
+		this(matrix, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * factorizes the matrix. the updates of the trailing submatrices will be
+	 * executed according to the parallelism. the matrix will not be changed.
+	 * 
+	 * @param matrix      square matrix
+	 * @param parallelism
+	 * @throws IllegalArgumentException if matrix or parallelism is null or matrix
+	 *                                  is not square
+	 */
+	public LUDecomposition(@NotNull DoubleMatrix matrix, @NotNull Parallelism parallelism) {
+		Assurance.assureNotNull(matrix);
+		Assurance.assureNotNull(parallelism);
+		Assurance.assureEquals(matrix.getRowCount(), matrix.getColumnCount());
+		size = matrix.getRowCount();
+		lu = new double[Math.multiplyExact(size, size)];
+		if (matrix instanceof FullDoubleMatrix)
+			System.arraycopy(((FullDoubleMatrix) matrix).values, 0, lu, 0, lu.length);
+		else
+			// forEach may skip values, e.g. the default value of a SparseDoubleMatrix
+			for (int i = 0; i < size; i++)
+				for (int j = 0; j < size; j++)
+					lu[i * size + j] = matrix.getValue(i, j);
+		swaps = new int[size];
+		boolean zeroPivot = false;
+		int panelEnd;
+		for (int panel = 0; panel < size; panel += BLOCK_SIZE) {
+			panelEnd = Math.min(size, panel + BLOCK_SIZE);
+			zeroPivot |= factorizePanel(panel, panelEnd);
+			solveUpperPanel(panel, panelEnd);
+			updateTrailingMatrix(panel, panelEnd, parallelism);
+		}
+		int sign = 1;
+		for (int j = 0; j < size; j++) {
+			if (swaps[j] != j)
+				sign = -sign;
+		}
+		permutationSign = sign;
+		singular = zeroPivot;
+	}
+
+	/**
+	 * factorizes the columns [from, to) of the rows [from, size) without blocking
+	 * and swaps complete rows. the pivot of every column is the value with the
+	 * greatest absolute value on or below the diagonal.
+	 * 
+	 * @param from
+	 * @param to
+	 * @return true if a pivot is 0
+	 */
+	private boolean factorizePanel(int from, int to) {
+		boolean zeroPivot = false;
+		int pivotRow, rowOffset;
+		double pivot, factor;
+		for (int j = from; j < to; j++) {
+			pivotRow = j;
+			for (int i = j + 1; i < size; i++) {
+				if (Math.abs(lu[i * size + j]) > Math.abs(lu[pivotRow * size + j]))
+					pivotRow = i;
+			}
+			swaps[j] = pivotRow;
+			if (pivotRow != j)
+				swapRows(lu, size, j, pivotRow);
+			pivot = lu[j * size + j];
+			if (pivot == 0) {
+				// the column below the diagonal is 0 as well - nothing to eliminate
+				zeroPivot = true;
+				continue;
+			}
+			for (int i = j + 1; i < size; i++) {
+				rowOffset = i * size;
+				factor = lu[rowOffset + j] /= pivot;
+				if (factor != 0)
+					DoubleKernels.axpy(-factor, lu, j * size + j + 1, lu, rowOffset + j + 1, to - j - 1);
+			}
+		}
+		return zeroPivot;
+	}
+
+	/**
+	 * computes the rows [from, to) of U right of the panel [from, to) by forward
+	 * substitution with the unit lower triangular part of the panel
+	 * 
+	 * @param from
+	 * @param to
+	 */
+	private void solveUpperPanel(int from, int to) {
+		int length = size - to;
+		if (length == 0)
+			return;
+		double factor;
+		for (int i = from + 1; i < to; i++) {
+			for (int j = from; j < i; j++) {
+				factor = lu[i * size + j];
+				if (factor != 0)
+					DoubleKernels.axpy(-factor, lu, j * size + to, lu, i * size + to, length);
+			}
+		}
+	}
+
+	/**
+	 * subtracts the product of the columns [from, to) of L and the rows [from, to)
+	 * of U from the trailing submatrix which starts at (to, to)
+	 * 
+	 * @param from
+	 * @param to
+	 * @param parallelism
+	 */
+	private void updateTrailingMatrix(int from, int to, Parallelism parallelism) {
+		int rowCount = size - to;
+		int depth = to - from;
+		if (rowCount == 0)
+			return;
+		BlockedMultiplication.subtract(lu, to * size + from, size, lu, from * size + to, size, lu, to * size + to, size,
+				rowCount, depth, rowCount, parallelism);
+	}
+
+	/**
+	 * swaps the rows of a row-major array with columnCount columns
+	 * 
+	 * @param values
+	 * @param columnCount
+	 * @param row1
+	 * @param row2
+	 */
+	private static void swapRows(double[] values, int columnCount, int row1, int row2) {
+		double temp;
+		int offset1 = row1 * columnCount;
+		int offset2 = row2 * columnCount;
+		for (int a = 0; a < columnCount; a++) {
+			temp = values[offset1 + a];
+			values[offset1 + a] = values[offset2 + a];
+			values[offset2 + a] = temp;
+		}
+	}
+
+	/**
+	 * @throws ArithmeticException if the matrix is singular
+	 */
+	private void assureRegular() {
+		if (singular)
+			throw new ArithmeticException("matrix is singular");
+	}
+
+	/**
+	 * @return number of rows and columns of the factorized matrix
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return true if the factorized matrix is singular, i.e. U has a 0 on its
+	 *         diagonal
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * @return the determinant of the factorized matrix
+	 */
+	public double getDeterminant() {
+		double determinant = permutationSign;
+		for (int i = 0; i < size; i++)
+			determinant *= lu[i * size + i];
+		return determinant;
+	}
+
+	/**
+	 * @return permutation p with row i of PA = row p.apply(i) of A
+	 */
+	public IntPermutation getPermutation() {
+		IntPermutation permutation = new IntPermutation();
+		for (int j = size - 1; j >= 0; j--) {
+			if (swaps[j] != j)
+				permutation.chain(new IntTransposition(j, swaps[j]));
+		}
+		return permutation;
+	}
+
+	/**
+	 * @return L - lower triangular with unit diagonal
+	 */
+	public FullDoubleMatrix getL() {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(size);
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(lu, i * size, matrix.values, i * size, i);
+			matrix.values[i * size + i] = 1;
+		}
+		return matrix;
+	}
+
+	/**
+	 * @return U - upper triangular
+	 */
+	public FullDoubleMatrix getU() {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(size);
+		for (int i = 0; i < size; i++)
+			System.arraycopy(lu, i * size + i, matrix.values, i * size + i, size - i);
+		return matrix;
+	}
+
+	/**
+	 * solves Ax = vector
+	 * 
+	 * @param vector right-hand side
+	 * @return x
+	 * @throws IllegalArgumentException if vector is null or
+	 *                                  vector.getDimension() != getSize()
+	 * @throws ArithmeticException      if the matrix is singular
+	 */
+	public DoubleVector solve(@NotNull DoubleVector vector) {
+		return solve(vector, new DoubleVector(size));
+	}
+
+	/**
+	 * solves Ax = vector and stores x in result. result may be vector.
+	 * 
+	 * @param vector right-hand side
+	 * @param result x - will be overwritten
+	 * @return result
+	 * @throws IllegalArgumentException if vector or result is null or their
+	 *                                  dimensions are not getSize()
+	 * @throws ArithmeticException      if the matrix is singular
+	 */
+	public DoubleVector solve(@NotNull DoubleVector vector, @NotNull DoubleVector result) {
+		Assurance.assureEquals(size, Assurance.assureNotNull(vector).getDimension());
+		Assurance.assureEquals(size, Assurance.assureNotNull(result).getDimension());
+		assureRegular();
+		double[] x = result.getArray();
+		if (vector != result)
+			System.arraycopy(vector.getArray(), 0, x, 0, size);
+		double temp;
+		for (int j = 0; j < size; j++) {
+			temp = x[j];
+			x[j] = x[swaps[j]];
+			x[swaps[j]] = temp;
+		}
+		for (int i = 1; i < size; i++)
+			x[i] -= DoubleKernels.dot(lu, i * size, x, 0, i);
+		for (int i = size - 1; i >= 0; i--)
+			x[i] = (x[i] - DoubleKernels.dot(lu, i * size + i + 1, x, i + 1, size - i - 1)) / lu[i * size + i];
+		return result;
+	}
+
+	/**
+	 * solves AX = matrix, i.e. Ax = b for every column b of the matrix
+	 * 
+	 * @param matrix right-hand sides with getSize() rows
+	 * @return X
+	 * @throws IllegalArgumentException if matrix is null or
+	 *                                  matrix.getRowCount() != getSize()
+	 * @throws ArithmeticException      if the matrix is singular
+	 * @see #solve(FullDoubleMatrix, FullDoubleMatrix)
+	 */
+	public FullDoubleMatrix solve(@NotNull FullDoubleMatrix matrix) {
+		return solve(matrix, new FullDoubleMatrix(size, Assurance.assureNotNull(matrix).getColumnCount()));
+	}
+
+	/**
+	 * solves AX = matrix, i.e. Ax = b for every column b of the matrix, and stores
+	 * X in result. result may be matrix. the triangular solves are blocked, so most
+	 * of the work is done by cache-blocked matrix-matrix products and all
+	 * right-hand sides share every read of L and U.
+	 * 
+	 * @param matrix right-hand sides with getSize() rows
+	 * @param result X - will be overwritten
+	 * @return result
+	 * @throws IllegalArgumentException if matrix or result is null or their
+	 *                                  dimensions do not match
+	 * @throws ArithmeticException      if the matrix is singular
+	 */
+	public FullDoubleMatrix solve(@NotNull FullDoubleMatrix matrix, @NotNull FullDoubleMatrix result) {
+		Assurance.assureEquals(size, Assurance.assureNotNull(matrix).getRowCount());
+		Assurance.assureEquals(size, Assurance.assureNotNull(result).getRowCount());
+		Assurance.assureEquals(matrix.getColumnCount(), result.getColumnCount());
+		assureRegular();
+		int columnCount = matrix.getColumnCount();
+		double[] x = result.values;
+		if (matrix != result)
+			System.arraycopy(matrix.values, 0, x, 0, x.length);
+		for (int j = 0; j < size; j++) {
+			if (swaps[j] != j)
+				swapRows(x, columnCount, j, swaps[j]);
+		}
+		solveLower(x, columnCount);
+		solveUpper(x, columnCount);
+		return result;
+	}
+
+	/**
+	 * overwrites x with the solution of LY = x
+	 * 
+	 * @param x           row-major array with size rows
+	 * @param columnCount number of columns of x
+	 */
+	private void solveLower(double[] x, int columnCount) {
+		int blockEnd;
+		double factor;
+		for (int block = 0; block < size; block += BLOCK_SIZE) {
+			blockEnd = Math.min(size, block + BLOCK_SIZE);
+			if (block > 0)
+				BlockedMultiplication.subtract(lu, block * size, size, x, 0, columnCount, x, block * columnCount,
+						columnCount, blockEnd - block, block, columnCount, Parallelism.SEQUENTIAL);
+			for (int i = block + 1; i < blockEnd; i++) {
+				for (int j = block; j < i; j++) {
+					factor = lu[i * size + j];
+					if (factor != 0)
+						DoubleKernels.axpy(-factor, x, j * columnCount, x, i * columnCount, columnCount);
+				}
+			}
+		}
+	}
+
+	/**
+	 * overwrites x with the solution of UY = x
+	 * 
+	 * @param x           row-major array with size rows
+	 * @param columnCount number of columns of x
+	 */
+	private void solveUpper(double[] x, int columnCount) {
+		int blockEnd;
+		double factor;
+		for (int block = (size - 1) / BLOCK_SIZE * BLOCK_SIZE; block >= 0; block -= BLOCK_SIZE) {
+			blockEnd = Math.min(size, block + BLOCK_SIZE);
+			if (blockEnd < size)
+				BlockedMultiplication.subtract(lu, block * size + blockEnd, size, x, blockEnd * columnCount,
+						columnCount, x, block * columnCount, columnCount, blockEnd - block, size - blockEnd,
+						columnCount, Parallelism.SEQUENTIAL);
+			for (int i = blockEnd - 1; i >= block; i--) {
+				for (int j = i + 1; j < blockEnd; j++) {
+					factor = lu[i * size + j];
+					if (factor != 0)
+						DoubleKernels.axpy(-factor, x, j * columnCount, x, i * columnCount, columnCount);
+				}
+				DoubleKernels.scale(1 / lu[i * size + i], x, i * columnCount, columnCount);
+			}
+		}
+	}
+
+	/**
+	 * @return the inverse of the factorized matrix
+	 * @throws ArithmeticException if the matrix is singular
+	 */
+	public FullDoubleMatrix getInverse() {
+		FullDoubleMatrix identity = new FullDoubleMatrix(size);
+		for (int i = 0; i < size; i++)
+			identity.values[i * size + i] = 1;
+		return solve(identity, identity);
+	}
+
+}
@@ -0,0 +1,234 @@
+package de.nuttercode.math.matrix;
+
+import java.util.Arrays;
+
+/**
+ * open-addressing hash map from long keys to float values. keys and values are
+ * stored in two primitive arrays and collisions are resolved by linear probing,
+ * so neither lookups nor insertions allocate. removed entries are closed by
+ * backward shifting instead of leaving tombstones. the key {@link #EMPTY} is
+ * reserved. the single precision counterpart of {@link LongDoubleHashMap}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class LongFloatHashMap {
+
+	/**
+	 * marks an unused slot
+	 */
+	static final long EMPTY = -1L;
+
+	/**
+	 * maximum ratio of used slots before the table grows
+	 */
+	private static final double LOAD_FACTOR = 0.7;
+
+	/**
+	 * minimal number of slots
+	 */
+	private static final int MINIMAL_CAPACITY = 16;
+
+	private long[] keys;
+	private float[] values;
+
+	/**
+	 * number of used slots
+	 */
+	private int size;
+
+	/**
+	 * number of used slots which triggers a resize
+	 */
+	private int threshold;
+
+	/**
+	 * keys.length - 1, keys.length is always a power of two
+	 */
+	private int mask;
+
+	/**
+	 * creates an empty map with room for expectedSize entries before the first
+	 * resize
+	 * 
+	 * @param expectedSize
+	 */
+	LongFloatHashMap(int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * @param expectedSize
+	 * @return the smallest power of two which can hold expectedSize entries
+	 */
+	private static int capacityFor(int expectedSize) {
+		long capacity = MINIMAL_CAPACITY;
+		while (capacity * LOAD_FACTOR < expectedSize)
+			capacity <<= 1;
+		if (capacity > 1 << 30)
+			throw new IllegalStateException("can not hold " + expectedSize + " entries");
+		return (int) capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		Arrays.fill(keys, EMPTY);
+		values = new float[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * @param key
+	 * @return home slot of the key
+	 */
+	private int slot(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	/**
+	 * @param key
+	 * @return the slot which contains the key or -1 if the key is not mapped
+	 */
+	private int find(long key) {
+		int slot = slot(key);
+		long current;
+		while ((current = keys[slot]) != EMPTY) {
+			if (current == key)
+				return slot;
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param key
+	 * @return true if and only if the key is mapped
+	 */
+	boolean containsKey(long key) {
+		return find(key) != -1;
+	}
+
+	/**
+	 * @param key
+	 * @param defaultValue
+	 * @return the value mapped to the key or defaultValue if the key is not mapped
+	 */
+	float get(long key, float defaultValue) {
+		int slot = find(key);
+		return slot == -1 ? defaultValue : values[slot];
+	}
+
+	/**
+	 * maps the key to the value
+	 * 
+	 * @param key   any key except {@link #EMPTY}
+	 * @param value
+	 */
+	void put(long key, float value) {
+		int slot = slot(key);
+		long current;
+		while ((current = keys[slot]) != EMPTY) {
+			if (current == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size > threshold)
+			resize(keys.length << 1);
+	}
+
+	/**
+	 * removes the mapping of the key
+	 * 
+	 * @param key
+	 * @return true if and only if the key was mapped
+	 */
+	boolean remove(long key) {
+		int slot = find(key);
+		if (slot == -1)
+			return false;
+		int next = slot;
+		int home;
+		long current;
+		// shift back every entry of the probe sequence which would become unreachable
+		while (true) {
+			next = (next + 1) & mask;
+			current = keys[next];
+			if (current == EMPTY)
+				break;
+			home = slot(current);
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = current;
+				values[slot] = values[next];
+				slot = next;
+			}
+		}
+		keys[slot] = EMPTY;
+		size--;
+		return true;
+	}
+
+	private void resize(int capacity) {
+		if (capacity > 1 << 30)
+			throw new IllegalStateException("can not grow beyond " + keys.length + " slots");
+		long[] oldKeys = keys;
+		float[] oldValues = values;
+		allocate(capacity);
+		int slot;
+		for (int a = 0; a < oldKeys.length; a++) {
+			if (oldKeys[a] == EMPTY)
+				continue;
+			slot = slot(oldKeys[a]);
+			while (keys[slot] != EMPTY)
+				slot = (slot + 1) & mask;
+			keys[slot] = oldKeys[a];
+			values[slot] = oldValues[a];
+		}
+	}
+
+	/**
+	 * removes all mappings. the capacity stays the same.
+	 */
+	void clear() {
+		Arrays.fill(keys, EMPTY);
+		size = 0;
+	}
+
+	/**
+	 * @return number of mapped keys
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return number of slots. use {@link #getKey(int)} and {@link #getValue(int)}
+	 *         to iterate over all slots.
+	 */
+	int getCapacity() {
+		return keys.length;
+	}
+
+	/**
+	 * @param slot
+	 * @return key stored in the slot or {@link #EMPTY}
+	 */
+	long getKey(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * @param slot
+	 * @return value stored in the slot. only meaningful if the slot is not
+	 *         {@link #EMPTY}.
+	 */
+	float getValue(int slot) {
+		return values[slot];
+	}
+
+}
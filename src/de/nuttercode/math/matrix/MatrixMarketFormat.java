@@ -0,0 +1,621 @@
+package de.nuttercode.math.matrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.nuttercode.math.matrix.TextReader.LineParser;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * streaming reader and writer of the
+ * <a href="https://math.nist.gov/MatrixMarket/formats.html">matrix market
+ * exchange format</a> for real matrices. the coordinate format (fields real,
+ * integer and pattern) is read into a {@link SparseDoubleMatrix}, a
+ * {@link CsrDoubleMatrix} or a {@link FullDoubleMatrix}, the array format into
+ * a {@link FullDoubleMatrix}. symmetric and skew-symmetric matrices are
+ * expanded. <br>
+ * <br>
+ * the file is split into chunks of 1 MiB which are parsed in parallel by
+ * positional reads - every thread holds a buffer of 64 KiB and a batch of
+ * parsed entries, so the memory in addition to the matrix does not depend on
+ * the size of the file. numbers are parsed without allocation. the entries are
+ * stored into the matrix directly: a {@link SparseDoubleMatrix} is filled
+ * batch by batch, a {@link CsrDoubleMatrix} is built by two lock-free passes -
+ * the first counts the entries of every row by atomic increments, the second
+ * claims the position of every entry by an atomic increment of the next free
+ * position of its row - and needs one int per row in addition. the array format needs one pass to
+ * count the values of every chunk. duplicate entries are rejected by the sparse
+ * readers. <br>
+ * <br>
+ * matrices are written in parallel as well: {@link SparseDoubleMatrix},
+ * {@link CsrDoubleMatrix} and {@link CscDoubleMatrix} in coordinate format,
+ * every other matrix in array format. the values are written like
+ * {@link Double#toString(double)}, which is read back to the same double but is
+ * not always the shortest such representation before java 19.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class MatrixMarketFormat {
+
+	/**
+	 * number of entries which are parsed before they are stored into the matrix
+	 */
+	private static final int BATCH_SIZE = 1 << 12;
+
+	private static final String BANNER = "%%MatrixMarket";
+
+	private MatrixMarketFormat() {
+	}
+
+	/**
+	 * reads the coordinate format into a sparse matrix with default value 0
+	 * 
+	 * @param path
+	 * @param parallelism
+	 * @return the matrix
+	 * @throws IOException if the file can not be read or does not contain a real
+	 *                     matrix in coordinate format
+	 */
+	public static SparseDoubleMatrix readSparse(@NotNull Path path, @NotNull Parallelism parallelism)
+			throws IOException {
+		Assurance.assureNotNull(parallelism);
+		try (FileChannel channel = FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.READ)) {
+			Header header = readHeader(channel);
+			header.assureCoordinate();
+			SparseDoubleMatrix matrix = new SparseDoubleMatrix(0, header.rowCount, header.columnCount,
+					(int) Math.min(Integer.MAX_VALUE, header.getEntryCount()));
+			long entries = parseCoordinates(channel, header, parallelism, (rows, columns, values, count) -> {
+				synchronized (matrix) {
+					for (int a = 0; a < count; a++)
+						matrix.setValue(values[a], rows[a], columns[a]);
+				}
+			});
+			if (matrix.getValueCount() != entries)
+				throw new IOException("the file contains duplicate entries");
+			return matrix;
+		}
+	}
+
+	/**
+	 * reads the coordinate format into a CSR matrix by two passes over the file
+	 * 
+	 * @param path
+	 * @param parallelism
+	 * @return the matrix
+	 * @throws IOException if the file can not be read, does not contain a real
+	 *                     matrix in coordinate format or changes between the
+	 *                     passes
+	 */
+	public static CsrDoubleMatrix readCsr(@NotNull Path path, @NotNull Parallelism parallelism) throws IOException {
+		Assurance.assureNotNull(parallelism);
+		try (FileChannel channel = FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.READ)) {
+			Header header = readHeader(channel);
+			header.assureCoordinate();
+			AtomicIntegerArray counts = new AtomicIntegerArray(header.rowCount + 1);
+			long entries = parseCoordinates(channel, header, parallelism, (rows, columns, values, count) -> {
+				for (int a = 0; a < count; a++)
+					counts.incrementAndGet(rows[a] + 1);
+			});
+			if (entries > Integer.MAX_VALUE)
+				throw new IOException(entries + " entries do not fit into a CsrDoubleMatrix");
+			CsrDoubleMatrix matrix = new CsrDoubleMatrix(header.rowCount, header.columnCount, (int) entries);
+			for (int i = 0; i < header.rowCount; i++)
+				matrix.pointers[i + 1] = matrix.pointers[i] + counts.get(i + 1);
+			// the counts are reused as the next free position of every row
+			AtomicIntegerArray next = counts;
+			for (int i = 0; i < header.rowCount; i++)
+				next.set(i, matrix.pointers[i]);
+			parseCoordinates(channel, header, parallelism, (rows, columns, values, count) -> {
+				int position;
+				for (int a = 0; a < count; a++) {
+					position = next.getAndIncrement(rows[a]);
+					if (position >= matrix.pointers[rows[a] + 1])
+						throw new IllegalStateException();
+					matrix.indices[position] = columns[a];
+					matrix.values[position] = values[a];
+				}
+			});
+			parallelism.execute(header.rowCount, 1, entries, (from, to) -> {
+				for (int i = from; i < to; i++)
+					sort(matrix.indices, matrix.values, matrix.pointers[i], matrix.pointers[i + 1]);
+			});
+			try {
+				matrix.assureStructure();
+			} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+				throw new IOException("the file contains duplicate entries", e);
+			}
+			return matrix;
+		} catch (IllegalStateException e) {
+			throw new IOException("the file changed while it was read", e);
+		}
+	}
+
+	/**
+	 * reads the coordinate or array format into a dense matrix. entries which are
+	 * not contained in the coordinate format are 0 and of duplicate entries one is
+	 * kept.
+	 * 
+	 * @param path
+	 * @param parallelism
+	 * @return the matrix
+	 * @throws IOException if the file can not be read, does not contain a real
+	 *                     matrix or the matrix has more than
+	 *                     {@link Integer#MAX_VALUE} values
+	 */
+	public static FullDoubleMatrix readDense(@NotNull Path path, @NotNull Parallelism parallelism)
+			throws IOException {
+		Assurance.assureNotNull(parallelism);
+		try (FileChannel channel = FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.READ)) {
+			Header header = readHeader(channel);
+			if ((long) header.rowCount * header.columnCount > Integer.MAX_VALUE)
+				throw new IOException(header.rowCount + "x" + header.columnCount
+						+ " values do not fit into a FullDoubleMatrix");
+			FullDoubleMatrix matrix = new FullDoubleMatrix(header.rowCount, header.columnCount);
+			double[] array = matrix.values;
+			int columnCount = header.columnCount;
+			if (header.coordinate)
+				parseCoordinates(channel, header, parallelism, (rows, columns, values, count) -> {
+					for (int a = 0; a < count; a++)
+						array[rows[a] * columnCount + columns[a]] = values[a];
+				});
+			else
+				parseArray(channel, header, matrix, parallelism);
+			return matrix;
+		}
+	}
+
+	/**
+	 * writes the matrix - {@link SparseDoubleMatrix} with default value 0,
+	 * {@link CsrDoubleMatrix} and {@link CscDoubleMatrix} in coordinate format,
+	 * every other matrix in array format. the rows (columns of the array format)
+	 * are formatted in parallel - the output does not depend on parallelism. the
+	 * entries of a {@link SparseDoubleMatrix} are formatted sequentially in hash
+	 * order.
+	 * 
+	 * @param matrix
+	 * @param channel
+	 * @param parallelism
+	 * @throws IOException if the channel can not be written
+	 */
+	public static void write(@NotNull DoubleMatrix matrix, @NotNull WritableByteChannel channel,
+			@NotNull Parallelism parallelism) throws IOException {
+		Assurance.assureNotNull(matrix);
+		Assurance.assureNotNull(channel);
+		Assurance.assureNotNull(parallelism);
+		TextWriter writer = new TextWriter(channel);
+		int rowCount = matrix.getRowCount();
+		int columnCount = matrix.getColumnCount();
+		if (matrix instanceof CompressedDoubleMatrix) {
+			CompressedDoubleMatrix compressed = (CompressedDoubleMatrix) matrix;
+			boolean csr = matrix instanceof CsrDoubleMatrix;
+			int valueCount = compressed.values.length;
+			writer.write(BANNER + " matrix coordinate real general\n" + rowCount + " " + columnCount + " "
+					+ valueCount + "\n");
+			writer.write(compressed.majorCount, 32L * valueCount / compressed.majorCount + 1, parallelism,
+					(major, builder) -> {
+						for (int a = compressed.pointers[major]; a < compressed.pointers[major + 1]; a++) {
+							if (csr)
+								builder.append(major + 1).append(' ').append(compressed.indices[a] + 1);
+							else
+								builder.append(compressed.indices[a] + 1).append(' ').append(major + 1);
+							builder.append(' ').append(compressed.values[a]).append('\n');
+						}
+					});
+		} else if (matrix instanceof SparseDoubleMatrix && ((SparseDoubleMatrix) matrix).getDefaultValue() == 0) {
+			writer.write(BANNER + " matrix coordinate real general\n" + rowCount + " " + columnCount + " "
+					+ ((SparseDoubleMatrix) matrix).getValueCount() + "\n");
+			StringBuilder builder = new StringBuilder();
+			IOException[] exception = { null };
+			matrix.forEach((i, j, value) -> {
+				builder.append(i + 1).append(' ').append(j + 1).append(' ').append(value).append('\n');
+				if (builder.length() >= TextWriter.BLOCK_LENGTH && exception[0] == null) {
+					try {
+						writer.write(builder);
+					} catch (IOException e) {
+						exception[0] = e;
+					}
+					builder.setLength(0);
+				}
+			});
+			if (exception[0] != null)
+				throw exception[0];
+			writer.write(builder);
+		} else {
+			writer.write(BANNER + " matrix array real general\n" + rowCount + " " + columnCount + "\n");
+			double[] values = matrix instanceof FullDoubleMatrix ? ((FullDoubleMatrix) matrix).values : null;
+			writer.write(columnCount, 24L * rowCount, parallelism, (j, builder) -> {
+				for (int i = 0; i < rowCount; i++)
+					builder.append(values != null ? values[i * columnCount + j] : matrix.getValue(i, j)).append('\n');
+			});
+		}
+		writer.flush();
+	}
+
+	/**
+	 * writes the matrix to the file at path. an existing file will be overwritten.
+	 * 
+	 * @param matrix
+	 * @param path
+	 * @param parallelism
+	 * @throws IOException if the file can not be written
+	 * @see #write(DoubleMatrix, WritableByteChannel, Parallelism)
+	 */
+	public static void write(@NotNull DoubleMatrix matrix, @NotNull Path path, @NotNull Parallelism parallelism)
+			throws IOException {
+		try (FileChannel channel = TextWriter.openForWriting(path)) {
+			write(matrix, channel, parallelism);
+		}
+	}
+
+	/**
+	 * sorts the pairs (indices[a], values[a]) for a in [from, to) ascending by
+	 * index. rows are usually short or almost sorted, so sorted ranges are
+	 * detected first, short ranges are sorted by insertion and long ranges by heap
+	 * sort.
+	 */
+	private static void sort(int[] indices, double[] values, int from, int to) {
+		int a = from + 1;
+		while (a < to && indices[a - 1] <= indices[a])
+			a++;
+		if (a >= to)
+			return;
+		if (to - from <= 32) {
+			for (; a < to; a++) {
+				int index = indices[a];
+				double value = values[a];
+				int b = a - 1;
+				for (; b >= from && indices[b] > index; b--) {
+					indices[b + 1] = indices[b];
+					values[b + 1] = values[b];
+				}
+				indices[b + 1] = index;
+				values[b + 1] = value;
+			}
+			return;
+		}
+		int length = to - from;
+		for (int root = length / 2 - 1; root >= 0; root--)
+			siftDown(indices, values, from, root, length);
+		for (int end = length - 1; end > 0; end--) {
+			swap(indices, values, from, from + end);
+			siftDown(indices, values, from, 0, end);
+		}
+	}
+
+	private static void siftDown(int[] indices, double[] values, int offset, int root, int length) {
+		int child;
+		while ((child = 2 * root + 1) < length) {
+			if (child + 1 < length && indices[offset + child + 1] > indices[offset + child])
+				child++;
+			if (indices[offset + root] >= indices[offset + child])
+				return;
+			swap(indices, values, offset + root, offset + child);
+			root = child;
+		}
+	}
+
+	private static void swap(int[] indices, double[] values, int a, int b) {
+		int index = indices[a];
+		indices[a] = indices[b];
+		indices[b] = index;
+		double value = values[a];
+		values[a] = values[b];
+		values[b] = value;
+	}
+
+	/**
+	 * @param channel
+	 * @return the header of the file
+	 * @throws IOException if the file does not start with a valid header of a real
+	 *                     matrix
+	 */
+	private static Header readHeader(FileChannel channel) throws IOException {
+		TextReader reader = new TextReader(channel, 0);
+		String banner = reader.readLine();
+		if (banner == null || !banner.startsWith(BANNER))
+			throw new IOException("not a matrix market file");
+		String[] tokens = banner.trim().toLowerCase(Locale.ROOT).split("\\s+");
+		if (tokens.length != 5 || !tokens[1].equals("matrix"))
+			throw new IOException("unsupported banner '" + banner + "'");
+		boolean coordinate;
+		switch (tokens[2]) {
+		case "coordinate":
+			coordinate = true;
+			break;
+		case "array":
+			coordinate = false;
+			break;
+		default:
+			throw new IOException("unsupported format " + tokens[2]);
+		}
+		boolean pattern;
+		switch (tokens[3]) {
+		case "real":
+		case "double":
+		case "integer":
+			pattern = false;
+			break;
+		case "pattern":
+			pattern = true;
+			break;
+		default:
+			throw new IOException("unsupported field " + tokens[3]);
+		}
+		if (pattern && !coordinate)
+			throw new IOException("the array format does not support the field pattern");
+		int symmetry;
+		switch (tokens[4]) {
+		case "general":
+			symmetry = Header.GENERAL;
+			break;
+		case "symmetric":
+			symmetry = Header.SYMMETRIC;
+			break;
+		case "skew-symmetric":
+			symmetry = Header.SKEW_SYMMETRIC;
+			break;
+		default:
+			throw new IOException("unsupported symmetry " + tokens[4]);
+		}
+		while (reader.skipEmptyLine('%'))
+			if (reader.peek() < 0)
+				throw new IOException("missing size line");
+		int rowCount = reader.readInt();
+		int columnCount = reader.readInt();
+		long lineCount = coordinate ? reader.readInt() : 0;
+		reader.assureLineEnd();
+		reader.skipLine();
+		if (rowCount <= 0 || columnCount <= 0 || lineCount < 0)
+			throw new IOException("corrupt size line of a " + rowCount + "x" + columnCount + " matrix");
+		if (symmetry != Header.GENERAL && rowCount != columnCount)
+			throw new IOException("a " + rowCount + "x" + columnCount + " matrix can not be " + tokens[4]);
+		if (!coordinate) {
+			if (symmetry == Header.GENERAL)
+				lineCount = (long) rowCount * columnCount;
+			else if (symmetry == Header.SYMMETRIC)
+				lineCount = (long) rowCount * (rowCount + 1) / 2;
+			else
+				lineCount = (long) rowCount * (rowCount - 1) / 2;
+		}
+		return new Header(coordinate, pattern, symmetry, rowCount, columnCount, lineCount, reader.getPosition(),
+				channel.size());
+	}
+
+	/**
+	 * stores a batch of entries
+	 * 
+	 * @author Johannes B. Latzel
+	 * 
+	 */
+	@FunctionalInterface
+	private interface EntryStore {
+
+		/**
+		 * @param rows    row of every entry
+		 * @param columns column of every entry
+		 * @param values  value of every entry
+		 * @param count   number of entries
+		 */
+		void store(int[] rows, int[] columns, double[] values, int count);
+
+	}
+
+	/**
+	 * parses the entries of the coordinate format in parallel and passes them in
+	 * batches to store - mirrored entries of symmetric matrices included
+	 * 
+	 * @param channel
+	 * @param header
+	 * @param parallelism
+	 * @param store       called concurrently
+	 * @return number of stored entries
+	 * @throws IOException if an entry is malformed or the number of entries does
+	 *                     not match the header
+	 */
+	private static long parseCoordinates(FileChannel channel, Header header, Parallelism parallelism,
+			EntryStore store) throws IOException {
+		AtomicLong lineCount = new AtomicLong();
+		AtomicLong entryCount = new AtomicLong();
+		TextReader.parse(channel, header.dataStart, header.size, '%', parallelism, () -> new LineParser() {
+
+			private final int[] rows = new int[BATCH_SIZE];
+			private final int[] columns = new int[BATCH_SIZE];
+			private final double[] values = new double[BATCH_SIZE];
+			private int count;
+			private long lines;
+			private long entries;
+
+			@Override
+			public void parse(TextReader reader) throws IOException {
+				long position = reader.getPosition();
+				int i = reader.readInt() - 1;
+				int j = reader.readInt() - 1;
+				double value = header.pattern ? 1 : reader.readDouble(-1);
+				reader.assureLineEnd();
+				if (i < 0 || i >= header.rowCount || j < 0 || j >= header.columnCount)
+					throw new IOException("index (" + (i + 1) + ", " + (j + 1) + ") out of range at byte " + position);
+				if (header.symmetry == Header.SKEW_SYMMETRIC && i == j)
+					throw new IOException("diagonal entry of a skew-symmetric matrix at byte " + position);
+				lines++;
+				add(i, j, value);
+				if (header.symmetry != Header.GENERAL && i != j)
+					add(j, i, header.symmetry == Header.SKEW_SYMMETRIC ? -value : value);
+			}
+
+			private void add(int i, int j, double value) {
+				if (count == BATCH_SIZE)
+					flush();
+				rows[count] = i;
+				columns[count] = j;
+				values[count++] = value;
+			}
+
+			private void flush() {
+				store.store(rows, columns, values, count);
+				entries += count;
+				count = 0;
+			}
+
+			@Override
+			public void finish() {
+				flush();
+				lineCount.addAndGet(lines);
+				entryCount.addAndGet(entries);
+			}
+
+		});
+		if (lineCount.get() != header.lineCount)
+			throw new IOException("expected " + header.lineCount + " entries but found " + lineCount.get());
+		return entryCount.get();
+	}
+
+	/**
+	 * parses the values of the array format in parallel into the matrix - the
+	 * values are stored column by column, symmetric matrices store only the lower
+	 * triangle
+	 * 
+	 * @param channel
+	 * @param header
+	 * @param matrix
+	 * @param parallelism
+	 * @throws IOException if a value is malformed or the number of values does
+	 *                     not match the header
+	 */
+	private static void parseArray(FileChannel channel, Header header, FullDoubleMatrix matrix,
+			Parallelism parallelism) throws IOException {
+		long[] counts = TextReader.countLines(channel, header.dataStart, header.size, '%', parallelism);
+		if (counts[counts.length - 1] != header.lineCount)
+			throw new IOException(
+					"expected " + header.lineCount + " values but found " + counts[counts.length - 1]);
+		int rowCount = header.rowCount;
+		int columnCount = header.columnCount;
+		double[] array = matrix.values;
+		TextReader.parse(channel, header.dataStart, header.size, '%', parallelism, () -> new LineParser() {
+
+			/**
+			 * index of the next value in the file
+			 */
+			private long index = -1;
+			private int i;
+			private int j;
+
+			@Override
+			public void startChunk(int chunk) {
+				if (index == counts[chunk])
+					return;
+				index = counts[chunk];
+				long remaining = index;
+				j = 0;
+				while (j < columnCount && remaining >= rowCount - firstRow(j)) {
+					remaining -= rowCount - firstRow(j);
+					j++;
+				}
+				i = firstRow(j) + (int) remaining;
+				skipFullColumns();
+			}
+
+			/**
+			 * @return row of the first stored value of the column
+			 */
+			private int firstRow(int column) {
+				return header.symmetry == Header.GENERAL ? 0
+						: header.symmetry == Header.SYMMETRIC ? column : column + 1;
+			}
+
+			/**
+			 * moves (i, j) to the next column which stores a value
+			 */
+			private void skipFullColumns() {
+				while (i >= rowCount && j < columnCount)
+					i = firstRow(++j);
+			}
+
+			@Override
+			public void parse(TextReader reader) throws IOException {
+				double value = reader.readDouble(-1);
+				reader.assureLineEnd();
+				if (j >= columnCount)
+					throw new IOException("the file changed while it was read");
+				array[i * columnCount + j] = value;
+				if (header.symmetry != Header.GENERAL)
+					array[j * columnCount + i] = header.symmetry == Header.SYMMETRIC ? value : -value;
+				index++;
+				i++;
+				skipFullColumns();
+			}
+
+		});
+	}
+
+	/**
+	 * banner and size line of a file
+	 * 
+	 * @author Johannes B. Latzel
+	 * 
+	 */
+	private static final class Header {
+
+		private static final int GENERAL = 0;
+		private static final int SYMMETRIC = 1;
+		private static final int SKEW_SYMMETRIC = 2;
+
+		private final boolean coordinate;
+		private final boolean pattern;
+		private final int symmetry;
+		private final int rowCount;
+		private final int columnCount;
+
+		/**
+		 * number of entries (coordinate) or values (array) in the file
+		 */
+		private final long lineCount;
+
+		/**
+		 * position of the first line after the size line
+		 */
+		private final long dataStart;
+
+		/**
+		 * size of the file
+		 */
+		private final long size;
+
+		private Header(boolean coordinate, boolean pattern, int symmetry, int rowCount, int columnCount,
+				long lineCount, long dataStart, long size) {
+			this.coordinate = coordinate;
+			this.pattern = pattern;
+			this.symmetry = symmetry;
+			this.rowCount = rowCount;
+			this.columnCount = columnCount;
+			this.lineCount = lineCount;
+			this.dataStart = dataStart;
+			this.size = size;
+		}
+
+		/**
+		 * @throws IOException if the file is not in coordinate format
+		 */
+		private void assureCoordinate() throws IOException {
+			if (!coordinate)
+				throw new IOException("expected the coordinate format but found the array format");
+		}
+
+		/**
+		 * @return upper bound of the number of entries of the matrix
+		 */
+		private long getEntryCount() {
+			return symmetry == GENERAL ? lineCount : 2 * lineCount;
+		}
+
+	}
+
+}
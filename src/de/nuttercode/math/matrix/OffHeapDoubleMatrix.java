@@ -0,0 +1,620 @@
+package de.nuttercode.math.matrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * implementation of {@link DoubleMatrix} whose values are stored outside of the
+ * java heap - either in direct memory or in a memory-mapped file. the values
+ * are stored contiguously in row-major order as little-endian doubles, i.e.
+ * \(a_{i, j}\) is stored at byte (i * {@link #getColumnCount()} + j) * 8. the
+ * storage is split into chunks of whole rows with at most 2^27 values (or one
+ * row if a row is longer), so the matrix may be larger than 2 GiB while every
+ * row can be read from one buffer. a row may hold at most 2^28 - 1 values. a
+ * mapped file is paged in lazily by the operating system, so mapping takes
+ * constant time and the values never put pressure on the garbage collector.
+ * products copy the rows into a buffer of the current thread, which is
+ * allocated once and holds at most 2^16 values, and give the same results as
+ * {@link FullDoubleMatrix} for the same values. longer rows are multiplied
+ * directly in the storage.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class OffHeapDoubleMatrix implements DoubleMatrix {
+
+	/**
+	 * maximal number of values per chunk if a row is not longer
+	 */
+	private static final int CHUNK_VALUE_COUNT = 1 << 27;
+
+	/**
+	 * maximal number of columns - a row must fit into one buffer
+	 */
+	private static final int MAXIMAL_COLUMN_COUNT = Integer.MAX_VALUE / Double.BYTES;
+
+	/**
+	 * number of partial sums of {@link #dot(double[], DoubleBuffer, int)} - the
+	 * same as in {@link DoubleKernels#dot(double[], int, double[], int, int)}
+	 */
+	private static final int PARTIAL_SUM_COUNT = 16;
+
+	/**
+	 * maximal length of the buffer in {@link #ROW_BUFFER}
+	 */
+	private static final int MAXIMAL_ROW_BUFFER_LENGTH = 1 << 16;
+
+	/**
+	 * rows or parts of rows which are multiplied by the kernels of
+	 * {@link DoubleKernels} - one buffer per thread, so the products do not
+	 * allocate once the buffer is long enough
+	 */
+	private static final ThreadLocal<double[]> ROW_BUFFER = ThreadLocal.withInitial(() -> new double[0]);
+
+	/**
+	 * chunks of the storage - chunk c holds chunkRowCount rows starting at row c *
+	 * chunkRowCount
+	 */
+	private final DoubleBuffer[] chunks;
+
+	/**
+	 * underlying buffers of {@link #chunks}
+	 */
+	private final ByteBuffer[] buffers;
+
+	/**
+	 * number of rows
+	 */
+	private final int rowCount;
+
+	/**
+	 * number of columns
+	 */
+	private final int columnCount;
+
+	/**
+	 * number of rows per chunk
+	 */
+	private final int chunkRowCount;
+
+	/**
+	 * creates a new matrix with rowCount rows and columnCount columns in direct
+	 * memory. all values are 0.
+	 * 
+	 * @param rowCount
+	 * @param columnCount
+	 * @throws IllegalArgumentException if columnCount is greater than 2^28 - 1
+	 */
+	public OffHeapDoubleMatrix(@Positive int rowCount, @Positive int columnCount) {
+		this(allocate(rowCount, columnCount), rowCount, columnCount);
+	}
+
+	/**
+	 * maps the region of the channel which starts at position and holds rowCount *
+	 * columnCount values. the mapping stays valid after the channel is closed. if
+	 * the mode is {@link MapMode#READ_WRITE} the file will be extended if it is too
+	 * short and changes will be written back to the file - see {@link #force()}.
+	 * 
+	 * @param channel     channel of the file
+	 * @param position    position of \(a_{0, 0}\) in the file
+	 * @param rowCount    number of rows
+	 * @param columnCount number of columns
+	 * @param mode        {@link MapMode#READ_ONLY} or {@link MapMode#READ_WRITE}
+	 * @throws IOException              if the file can not be mapped
+	 * @throws IllegalArgumentException if position is negative, columnCount is
+	 *                                  greater than 2^28 - 1 or the file is too
+	 *                                  short for a read-only mapping
+	 */
+	public OffHeapDoubleMatrix(@NotNull FileChannel channel, long position, @Positive int rowCount,
+			@Positive int columnCount, @NotNull MapMode mode) throws IOException {
+		this(map(channel, position, rowCount, columnCount, mode), rowCount, columnCount);
+	}
+
+	/**
+	 * @param buffers     chunks of the storage
+	 * @param rowCount
+	 * @param columnCount
+	 */
+	private OffHeapDoubleMatrix(ByteBuffer[] buffers, int rowCount, int columnCount) {
+		this.buffers = buffers;
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+		chunkRowCount = getChunkRowCount(columnCount);
+		chunks = new DoubleBuffer[buffers.length];
+		for (int a = 0; a < buffers.length; a++)
+			chunks[a] = buffers[a].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+	}
+
+	/**
+	 * maps the file at path with rowCount rows and columnCount columns starting at
+	 * the first byte of the file. the file will be created if it does not exist and
+	 * writable is true.
+	 * 
+	 * @param path        path of the file
+	 * @param rowCount    number of rows
+	 * @param columnCount number of columns
+	 * @param writable    true if changes should be written back to the file
+	 * @return the mapped matrix
+	 * @throws IOException if the file can not be opened or mapped
+	 */
+	public static OffHeapDoubleMatrix map(@NotNull Path path, @Positive int rowCount, @Positive int columnCount,
+			boolean writable) throws IOException {
+		Assurance.assureNotNull(path);
+		if (!writable)
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				return new OffHeapDoubleMatrix(channel, 0, rowCount, columnCount, MapMode.READ_ONLY);
+			}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE)) {
+			return new OffHeapDoubleMatrix(channel, 0, rowCount, columnCount, MapMode.READ_WRITE);
+		}
+	}
+
+	/**
+	 * @param rowCount
+	 * @param columnCount
+	 * @return direct buffers for rowCount * columnCount values
+	 */
+	private static ByteBuffer[] allocate(int rowCount, int columnCount) {
+		Assurance.assurePositive(rowCount);
+		int chunkRowCount = getChunkRowCount(columnCount);
+		ByteBuffer[] buffers = new ByteBuffer[getChunkCount(rowCount, chunkRowCount)];
+		for (int a = 0; a < buffers.length; a++)
+			buffers[a] = ByteBuffer
+					.allocateDirect(getChunkValueCount(rowCount, columnCount, chunkRowCount, a) * Double.BYTES);
+		return buffers;
+	}
+
+	/**
+	 * @param channel
+	 * @param position
+	 * @param rowCount
+	 * @param columnCount
+	 * @param mode
+	 * @return mapped buffers for rowCount * columnCount values
+	 * @throws IOException if the channel can not be mapped
+	 */
+	private static ByteBuffer[] map(FileChannel channel, long position, int rowCount, int columnCount, MapMode mode)
+			throws IOException {
+		Assurance.assureNotNull(channel);
+		Assurance.assureNotNull(mode);
+		Assurance.assurePositive(rowCount);
+		int chunkRowCount = getChunkRowCount(columnCount);
+		if (position < 0)
+			throw new IllegalArgumentException("position " + position + " is negative");
+		long valueCount = (long) rowCount * columnCount;
+		if (mode != MapMode.READ_WRITE && channel.size() - position < valueCount * Double.BYTES)
+			throw new IllegalArgumentException("the file is too short for " + rowCount + "x" + columnCount + " values");
+		ByteBuffer[] buffers = new ByteBuffer[getChunkCount(rowCount, chunkRowCount)];
+		for (int a = 0; a < buffers.length; a++)
+			buffers[a] = channel.map(mode, position + (long) a * chunkRowCount * columnCount * Double.BYTES,
+					(long) getChunkValueCount(rowCount, columnCount, chunkRowCount, a) * Double.BYTES);
+		return buffers;
+	}
+
+	/**
+	 * @param columnCount
+	 * @return number of rows per chunk
+	 * @throws IllegalArgumentException if columnCount is not positive or greater
+	 *                                  than {@link #MAXIMAL_COLUMN_COUNT}
+	 */
+	private static int getChunkRowCount(int columnCount) {
+		Assurance.assureBoundaries(columnCount, 1, MAXIMAL_COLUMN_COUNT);
+		return Math.max(1, CHUNK_VALUE_COUNT / columnCount);
+	}
+
+	/**
+	 * @param rowCount
+	 * @param chunkRowCount
+	 * @return number of chunks which hold rowCount rows
+	 */
+	private static int getChunkCount(int rowCount, int chunkRowCount) {
+		return (int) (((long) rowCount + chunkRowCount - 1) / chunkRowCount);
+	}
+
+	/**
+	 * @param rowCount
+	 * @param columnCount
+	 * @param chunkRowCount
+	 * @param chunk
+	 * @return number of values in the chunk
+	 */
+	private static int getChunkValueCount(int rowCount, int columnCount, int chunkRowCount, int chunk) {
+		return Math.min(chunkRowCount, rowCount - chunk * chunkRowCount) * columnCount;
+	}
+
+	/**
+	 * writes all changes back to the file if this matrix is mapped from a file in
+	 * {@link MapMode#READ_WRITE read-write mode}. does nothing otherwise.
+	 */
+	public void force() {
+		for (ByteBuffer buffer : buffers)
+			if (buffer instanceof MappedByteBuffer && !buffer.isReadOnly())
+				((MappedByteBuffer) buffer).force();
+	}
+
+	/**
+	 * copies the row into destination
+	 * 
+	 * @param row
+	 * @param destination array of length {@link #getColumnCount()}
+	 * @return destination
+	 */
+	public double[] getRow(int row, @NotNull double[] destination) {
+		assureRow(row);
+		Assurance.assureEquals(columnCount, Assurance.assureNotNull(destination).length);
+		getChunk(row).get(getPosition(row), destination, 0, columnCount);
+		return destination;
+	}
+
+	/**
+	 * copies source into the row
+	 * 
+	 * @param row
+	 * @param source array of length {@link #getColumnCount()}
+	 */
+	public void setRow(int row, @NotNull double[] source) {
+		assureRow(row);
+		Assurance.assureEquals(columnCount, Assurance.assureNotNull(source).length);
+		getChunk(row).put(getPosition(row), source, 0, columnCount);
+	}
+
+	/**
+	 * @param length at most {@link #MAXIMAL_ROW_BUFFER_LENGTH}
+	 * @return buffer of the current thread with at least length values
+	 */
+	private static double[] getRowBuffer(int length) {
+		double[] buffer = ROW_BUFFER.get();
+		if (buffer.length < length) {
+			buffer = new double[length];
+			ROW_BUFFER.set(buffer);
+		}
+		return buffer;
+	}
+
+	/**
+	 * @param row
+	 * @return chunk which holds the row
+	 */
+	private DoubleBuffer getChunk(int row) {
+		return chunks[row / chunkRowCount];
+	}
+
+	/**
+	 * @param row
+	 * @return position of \(a_{row, 0}\) in {@link #getChunk(int)}
+	 */
+	private int getPosition(int row) {
+		return (row % chunkRowCount) * columnCount;
+	}
+
+	/**
+	 * invokes {@link DoubleMatrixVisitor#visit(int, int, double)} for each entry in
+	 * this matrix.
+	 * 
+	 * @see DoubleMatrix#forEach(DoubleMatrixVisitor)
+	 */
+	@Override
+	public void forEach(DoubleMatrixVisitor consumer) {
+		DoubleBuffer chunk;
+		int position;
+		for (int i = 0; i < rowCount; i++) {
+			chunk = getChunk(i);
+			position = getPosition(i);
+			for (int j = 0; j < columnCount; j++) {
+				consumer.visit(i, j, chunk.get(position + j));
+			}
+		}
+	}
+
+	/**
+	 * multiplies this matrix with the given vector. every row is copied into the
+	 * buffer of the thread and multiplied with the vector.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		long work = (long) rowCount * columnCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(rowCount, 1, work, (from, to) -> multiplyRows(vector, result, from, to));
+		else
+			multiplyRows(vector, result, 0, rowCount);
+		return result;
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vector
+	 * 
+	 * @param vector
+	 * @param result
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyRows(DoubleVector vector, DoubleVector result, int from, int to) {
+		multiplyRows(vector.getArray(), from, to, result.getArray(), from);
+	}
+
+	@Override
+	public void multiplyRows(DoubleVector vector, int from, int to, double[] destination, int destinationOffset) {
+		DoubleMatrixAssurance.assureRowRangeArguments(this, vector, from, to, destination, destinationOffset);
+		multiplyRows(vector.getArray(), from, to, destination, destinationOffset);
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vector and stores them in
+	 * destination starting at destinationOffset
+	 */
+	private void multiplyRows(double[] vector, int from, int to, double[] destination, int destinationOffset) {
+		if (columnCount > MAXIMAL_ROW_BUFFER_LENGTH) {
+			for (int i = from; i < to; i++)
+				destination[destinationOffset + i - from] = dot(vector, getChunk(i), getPosition(i));
+			return;
+		}
+		double[] row = getRowBuffer(columnCount);
+		for (int i = from; i < to; i++) {
+			getChunk(i).get(getPosition(i), row, 0, columnCount);
+			destination[destinationOffset + i - from] = DoubleKernels.dot(vector, 0, row, 0, columnCount);
+		}
+	}
+
+	/**
+	 * computes the scalar product of vector and the row which starts at position
+	 * in chunk without copying the row - used for rows which are longer than
+	 * {@link #MAXIMAL_ROW_BUFFER_LENGTH}. the products are summed in the same
+	 * order as {@link DoubleKernels#dot(double[], int, double[], int, int)}, so
+	 * the result does not differ from the product of a {@link FullDoubleMatrix}.
+	 * 
+	 * @param vector   array of length {@link #getColumnCount()}
+	 * @param chunk
+	 * @param position position of the first value of the row in chunk
+	 * @return scalar product
+	 */
+	private double dot(double[] vector, DoubleBuffer chunk, int position) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0, s4 = 0, s5 = 0, s6 = 0, s7 = 0;
+		double s8 = 0, s9 = 0, s10 = 0, s11 = 0, s12 = 0, s13 = 0, s14 = 0, s15 = 0;
+		int j = 0, p = position;
+		int end = columnCount - columnCount % PARTIAL_SUM_COUNT;
+		for (; j < end; j += PARTIAL_SUM_COUNT, p += PARTIAL_SUM_COUNT) {
+			s0 = Math.fma(vector[j], chunk.get(p), s0);
+			s1 = Math.fma(vector[j + 1], chunk.get(p + 1), s1);
+			s2 = Math.fma(vector[j + 2], chunk.get(p + 2), s2);
+			s3 = Math.fma(vector[j + 3], chunk.get(p + 3), s3);
+			s4 = Math.fma(vector[j + 4], chunk.get(p + 4), s4);
+			s5 = Math.fma(vector[j + 5], chunk.get(p + 5), s5);
+			s6 = Math.fma(vector[j + 6], chunk.get(p + 6), s6);
+			s7 = Math.fma(vector[j + 7], chunk.get(p + 7), s7);
+			s8 = Math.fma(vector[j + 8], chunk.get(p + 8), s8);
+			s9 = Math.fma(vector[j + 9], chunk.get(p + 9), s9);
+			s10 = Math.fma(vector[j + 10], chunk.get(p + 10), s10);
+			s11 = Math.fma(vector[j + 11], chunk.get(p + 11), s11);
+			s12 = Math.fma(vector[j + 12], chunk.get(p + 12), s12);
+			s13 = Math.fma(vector[j + 13], chunk.get(p + 13), s13);
+			s14 = Math.fma(vector[j + 14], chunk.get(p + 14), s14);
+			s15 = Math.fma(vector[j + 15], chunk.get(p + 15), s15);
+		}
+		double t0 = (s0 + s4) + (s8 + s12);
+		double t1 = (s1 + s5) + (s9 + s13);
+		double t2 = (s2 + s6) + (s10 + s14);
+		double t3 = (s3 + s7) + (s11 + s15);
+		double sum = (t0 + t1) + (t2 + t3);
+		for (; j < columnCount; j++, p++)
+			sum = Math.fma(vector[j], chunk.get(p), sum);
+		return sum;
+	}
+
+	/**
+	 * multiplies this matrix with every given vector. every row is read only once
+	 * per batch and multiplied with all vectors.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector[], DoubleVector[], Parallelism)
+	 */
+	@Override
+	public DoubleVector[] multiply(DoubleVector[] vectors, DoubleVector[] results, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureBatchArguments(vectors, columnCount, results, rowCount);
+		long work = (long) rowCount * columnCount * vectors.length;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(rowCount, 1, work, (from, to) -> multiplyRows(vectors, results, from, to));
+		else
+			multiplyRows(vectors, results, 0, rowCount);
+		return results;
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vectors[s] for every s
+	 * 
+	 * @param vectors
+	 * @param results
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyRows(DoubleVector[] vectors, DoubleVector[] results, int from, int to) {
+		if (columnCount > MAXIMAL_ROW_BUFFER_LENGTH) {
+			DoubleBuffer chunk;
+			int position;
+			for (int i = from; i < to; i++) {
+				chunk = getChunk(i);
+				position = getPosition(i);
+				for (int s = 0; s < vectors.length; s++)
+					results[s].getArray()[i] = dot(vectors[s].getArray(), chunk, position);
+			}
+			return;
+		}
+		double[] row = getRowBuffer(columnCount);
+		for (int i = from; i < to; i++) {
+			getChunk(i).get(getPosition(i), row, 0, columnCount);
+			for (int s = 0; s < vectors.length; s++)
+				results[s].getArray()[i] = DoubleKernels.dot(vectors[s].getArray(), 0, row, 0, columnCount);
+		}
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector. the rows are
+	 * copied sequentially into the buffer of the thread and accumulated into the
+	 * result.
+	 * 
+	 * @see DoubleMatrix#multiplyTransposed(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		long work = (long) rowCount * columnCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(columnCount, 1, work,
+					(from, to) -> multiplyTransposedColumns(vector, result.getArray(), from, to));
+		else
+			multiplyTransposedColumns(vector, result.getArray(), 0, columnCount);
+		return result;
+	}
+
+	/**
+	 * computes the components [from, to) of transpose(this) * vector
+	 * 
+	 * @param vector
+	 * @param result
+	 * @param from
+	 * @param to
+	 */
+	private void multiplyTransposedColumns(DoubleVector vector, double[] result, int from, int to) {
+		Arrays.fill(result, from, to, 0);
+		double[] row = getRowBuffer(Math.min(to - from, MAXIMAL_ROW_BUFFER_LENGTH));
+		int length;
+		for (int j = from; j < to; j += row.length) {
+			length = Math.min(row.length, to - j);
+			for (int i = 0; i < rowCount; i++) {
+				getChunk(i).get(getPosition(i) + j, row, 0, length);
+				DoubleKernels.axpy(vector.getValue(i), row, 0, result, j, length);
+			}
+		}
+	}
+
+	/**
+	 * applies the operation on all values of this matrix in row-major order. the
+	 * values are copied piecewise into a buffer of the current thread, passed to
+	 * the operation and copied back, so no array is allocated. the operation must
+	 * not access this matrix.
+	 * 
+	 * @param operation maps every value of the range in place
+	 */
+	public void applyInPlace(@NotNull ArrayOperation operation) {
+		Assurance.assureNotNull(operation);
+		double[] buffer = getRowBuffer(Math.min(MAXIMAL_ROW_BUFFER_LENGTH, chunks[0].capacity()));
+		int capacity, length;
+		for (DoubleBuffer chunk : chunks) {
+			capacity = chunk.capacity();
+			for (int position = 0; position < capacity; position += length) {
+				length = Math.min(buffer.length, capacity - position);
+				chunk.get(position, buffer, 0, length);
+				operation.apply(buffer, 0, length);
+				chunk.put(position, buffer, 0, length);
+			}
+		}
+	}
+
+	@Override
+	public void reset() {
+		int capacity;
+		for (DoubleBuffer chunk : chunks) {
+			capacity = chunk.capacity();
+			for (int position = 0; position < capacity; position++)
+				chunk.put(position, 0);
+		}
+	}
+
+	@Override
+	public double getValue(int row, int column) {
+		assureIndex(row, column);
+		return getChunk(row).get(getPosition(row) + column);
+	}
+
+	@Override
+	public void setValue(double value, int row, int column) {
+		assureIndex(row, column);
+		getChunk(row).put(getPosition(row) + column, value);
+	}
+
+	/**
+	 * @param row
+	 * @throws ArrayIndexOutOfBoundsException if row is out of bounds
+	 */
+	private void assureRow(int row) {
+		if (row < 0 || row >= rowCount)
+			throw new ArrayIndexOutOfBoundsException("row " + row);
+	}
+
+	/**
+	 * @param row
+	 * @param column
+	 * @throws ArrayIndexOutOfBoundsException if row or column are out of bounds
+	 */
+	private void assureIndex(int row, int column) {
+		if (row < 0 || row >= rowCount || column < 0 || column >= columnCount)
+			throw new ArrayIndexOutOfBoundsException("(" + row + ", " + column + ")");
+	}
+
+	@Override
+	public void swapRows(int row1, int row2) {
+		assureRow(row1);
+		assureRow(row2);
+		if (row1 == row2)
+			return;
+		DoubleBuffer chunk1 = getChunk(row1);
+		DoubleBuffer chunk2 = getChunk(row2);
+		int position1 = getPosition(row1);
+		int position2 = getPosition(row2);
+		double temp;
+		for (int j = 0; j < columnCount; j++) {
+			temp = chunk1.get(position1 + j);
+			chunk1.put(position1 + j, chunk2.get(position2 + j));
+			chunk2.put(position2 + j, temp);
+		}
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+
+	/**
+	 * operation on a range of an array
+	 * 
+	 * @author Johannes B. Latzel
+	 * 
+	 */
+	@FunctionalInterface
+	public interface ArrayOperation {
+
+		/**
+		 * maps values[offset + i] for i in [0, length) in place
+		 * 
+		 * @param values
+		 * @param offset
+		 * @param length
+		 */
+		void apply(double[] values, int offset, int length);
+
+	}
+
+}
@@ -1,18 +1,21 @@
 package de.nuttercode.math.matrix;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import de.nuttercode.math.matrix.DoubleMatrixVisitor;
-import de.nuttercode.util.IntPair;
-import de.nuttercode.util.Pair;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
 import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
 import de.nuttercode.util.assurance.Positive;
 
 /**
  * implementation of {@link DoubleMatrix}. every index not already mapped by
  * {@link #setValue(double, int, int)} will be considered to have
- * {@link #defaultValue} as its value.
+ * {@link #defaultValue} as its value. the mapped values are stored in a
+ * primitive open-addressing hash table keyed by (i &lt;&lt; 32 | j), so neither
+ * {@link #setValue(double, int, int)} nor {@link #getValue(int, int)} allocate.
  * 
  * @author Johannes B. Latzel
  *
@@ -25,9 +28,9 @@ public class SparseDoubleMatrix implements DoubleMatrix {
 	private final double defaultValue;
 
 	/**
-	 * maps indices to their corresponding values
+	 * maps packed indices to their corresponding values
 	 */
-	private final Map<IntPair, Double> values;
+	private final LongDoubleHashMap values;
 
 	/**
 	 * number of rows
@@ -40,8 +43,8 @@ public class SparseDoubleMatrix implements DoubleMatrix {
 	private final int columnCount;
 
 	/**
-	 * exactly as if {@link #SparseRealMatrix(double) new SparseRealMatrix(0)} was
-	 * called
+	 * exactly as if {@link #SparseDoubleMatrix(double, int, int) new
+	 * SparseDoubleMatrix(0, rowCount, columnCount)} was called
 	 * 
 	 * @param rowCount    number of rows
 	 * @param columnCount number of columns
@@ -58,14 +61,45 @@ public class SparseDoubleMatrix implements DoubleMatrix {
 	 * @param columnCount  number of columns
 	 */
 	public SparseDoubleMatrix(double defaultValue, @Positive int rowCount, @Positive int columnCount) {
+		this(defaultValue, rowCount, columnCount, 0);
+	}
+
+	/**
+	 * creates a new {@link SparseDoubleMatrix} with default value defaultValue
+	 * which can hold expectedValueCount mapped values without resizing its
+	 * internal storage
+	 * 
+	 * @param defaultValue       default value
+	 * @param rowCount           number of rows
+	 * @param columnCount        number of columns
+	 * @param expectedValueCount expected number of mapped values
+	 */
+	public SparseDoubleMatrix(double defaultValue, @Positive int rowCount, @Positive int columnCount,
+			int expectedValueCount) {
 		Assurance.assurePositive(rowCount);
 		Assurance.assurePositive(columnCount);
 		this.defaultValue = defaultValue;
-		values = new HashMap<>();
+		values = new LongDoubleHashMap(expectedValueCount);
 		this.rowCount = rowCount;
 		this.columnCount = columnCount;
 	}
 
+	/**
+	 * copy-constructor (deep) - copies the mapped values in O(getValueCount())
+	 * 
+	 * @param matrix
+	 */
+	public SparseDoubleMatrix(@NotNull SparseDoubleMatrix matrix) {
+		this(Assurance.assureNotNull(matrix).defaultValue, matrix.rowCount, matrix.columnCount, matrix.values.size());
+		int capacity = matrix.values.getCapacity();
+		long key;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = matrix.values.getKey(slot);
+			if (key != LongDoubleHashMap.EMPTY)
+				values.put(key, matrix.values.getValue(slot));
+		}
+	}
+
 	/**
 	 * assures that i and j are in the range of indices of this matrix
 	 * 
@@ -77,6 +111,15 @@ public class SparseDoubleMatrix implements DoubleMatrix {
 		Assurance.assureBoundaries(j, 0, columnCount - 1);
 	}
 
+	/**
+	 * @param i row
+	 * @param j column
+	 * @return key of (i, j) in {@link #values}
+	 */
+	static long key(int i, int j) {
+		return ((long) i << 32) | (j & 0xFFFFFFFFL);
+	}
+
 	/**
 	 * @param i some row
 	 * @param j some column
@@ -84,22 +127,47 @@ public class SparseDoubleMatrix implements DoubleMatrix {
 	 *         matrix
 	 */
 	public boolean hasValue(int i, int j) {
-		return values.containsKey(Pair.of(i, j));
+		return values.containsKey(key(i, j));
+	}
+
+	/**
+	 * @return number of mapped values
+	 */
+	public int getValueCount() {
+		return values.size();
+	}
+
+	/**
+	 * @return the value of every index which is not mapped
+	 */
+	public double getDefaultValue() {
+		return defaultValue;
 	}
 
 	@Override
 	public void setValue(double value, int i, int j) {
 		assureIndices(i, j);
-		values.put(Pair.of(i, j), value);
+		values.put(key(i, j), value);
+	}
+
+	/**
+	 * adds delta to a_{i, j} - an unmapped index is mapped to
+	 * {@link #getDefaultValue()} + delta. the index is looked up only once.
+	 * 
+	 * @param delta
+	 * @param i     row index
+	 * @param j     column index
+	 * @return the new value of a_{i, j}
+	 */
+	public double addToValue(double delta, int i, int j) {
+		assureIndices(i, j);
+		return values.add(key(i, j), delta, defaultValue);
 	}
 
 	@Override
 	public double getValue(int i, int j) {
 		assureIndices(i, j);
-		IntPair interval = Pair.of(i, j);
-		if (values.containsKey(interval))
-			return defaultValue;
-		return values.get(interval);
+		return values.get(key(i, j), defaultValue);
 	}
 
 	@Override
@@ -108,12 +176,242 @@ public class SparseDoubleMatrix implements DoubleMatrix {
 	}
 
 	/**
-	 * iterates over every mapped mapped value
+	 * iterates over every mapped value
 	 */
 	@Override
 	public void forEach(DoubleMatrixVisitor consumer) {
-		for (IntPair pair : values.keySet())
-			consumer.visit(pair.getI(), pair.getJ(), values.get(pair));
+		int capacity = values.getCapacity();
+		long key;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key != LongDoubleHashMap.EMPTY)
+				consumer.visit((int) (key >>> 32), (int) key, values.getValue(slot));
+		}
+	}
+
+	@Override
+	public SparseDoubleMatrix transposeCopy() {
+		return transposeCopy(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * copies the transpose with the same default value in O(getValueCount()). the
+	 * values are stored in hash order, so parallelism is ignored.
+	 * 
+	 * @see DoubleMatrix#transposeCopy(Parallelism)
+	 */
+	@Override
+	public SparseDoubleMatrix transposeCopy(Parallelism parallelism) {
+		Assurance.assureNotNull(parallelism);
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(defaultValue, columnCount, rowCount, values.size());
+		int capacity = values.getCapacity();
+		long key;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key != LongDoubleHashMap.EMPTY)
+				matrix.values.put(key((int) key, (int) (key >>> 32)), values.getValue(slot));
+		}
+		return matrix;
+	}
+
+	/**
+	 * multiplies this matrix with the given vector in O(getRowCount() +
+	 * getColumnCount() + getValueCount()). the values are stored in hash order and
+	 * can not be split by rows, so parallelism is ignored. use
+	 * {@link CsrDoubleMatrix} for parallel products.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		Assurance.assureNotNull(parallelism);
+		double[] x = vector.getArray();
+		double[] y = result.getArray();
+		Arrays.fill(y, getBase(x, 0, columnCount));
+		int capacity = values.getCapacity();
+		long key;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key != LongDoubleHashMap.EMPTY)
+				y[(int) (key >>> 32)] += (values.getValue(slot) - defaultValue) * x[(int) key];
+		}
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector in
+	 * O(getRowCount() + getColumnCount() + getValueCount()). the values are stored
+	 * in hash order and can not be split by columns, so parallelism is ignored.
+	 * use {@link CscDoubleMatrix} for parallel products.
+	 * 
+	 * @see DoubleMatrix#multiplyTransposed(DoubleVector, DoubleVector,
+	 *      Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		Assurance.assureNotNull(parallelism);
+		double[] x = vector.getArray();
+		double[] y = result.getArray();
+		Arrays.fill(y, getBase(x, 0, rowCount));
+		int capacity = values.getCapacity();
+		long key;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key != LongDoubleHashMap.EMPTY)
+				y[(int) key] += (values.getValue(slot) - defaultValue) * x[(int) (key >>> 32)];
+		}
+		return result;
+	}
+
+	/**
+	 * multiplies this matrix with the given sparse vector. either every row looks
+	 * up the columns of the stored indices of the vector or every mapped value
+	 * looks up its column in the vector - whichever touches fewer values.
+	 * parallelism is ignored - see
+	 * {@link #multiply(DoubleVector, DoubleVector, Parallelism)}.
+	 * 
+	 * @see DoubleMatrix#multiply(SparseDoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(SparseDoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		Assurance.assureNotNull(parallelism);
+		multiply(vector, result.getArray(), rowCount, false);
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given sparse vector - see
+	 * {@link #multiply(SparseDoubleVector, DoubleVector, Parallelism)}
+	 * 
+	 * @see DoubleMatrix#multiplyTransposed(SparseDoubleVector, DoubleVector,
+	 *      Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(SparseDoubleVector vector, DoubleVector result,
+			Parallelism parallelism) {
+		DoubleMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		Assurance.assureNotNull(parallelism);
+		multiply(vector, result.getArray(), columnCount, true);
+		return result;
+	}
+
+	/**
+	 * computes y = this * vector or y = transpose(this) * vector
+	 * 
+	 * @param vector
+	 * @param y          array of the result
+	 * @param count      number of components of the result
+	 * @param transposed
+	 */
+	private void multiply(SparseDoubleVector vector, double[] y, int count, boolean transposed) {
+		int[] indices = vector.getIndexArray();
+		double[] x = vector.getValueArray();
+		int valueCount = vector.getValueCount();
+		Arrays.fill(y, getBase(x, 0, valueCount));
+		if ((long) count * valueCount <= values.size()) {
+			for (int a = 0; a < count; a++) {
+				for (int k = 0; k < valueCount; k++)
+					y[a] += (values.get(transposed ? key(indices[k], a) : key(a, indices[k]), defaultValue)
+							- defaultValue) * x[k];
+			}
+		} else {
+			int capacity = values.getCapacity();
+			long key;
+			double scalar;
+			for (int slot = 0; slot < capacity; slot++) {
+				key = values.getKey(slot);
+				if (key == LongDoubleHashMap.EMPTY)
+					continue;
+				scalar = vector.getValue(transposed ? (int) (key >>> 32) : (int) key);
+				if (scalar != 0)
+					y[transposed ? (int) key : (int) (key >>> 32)] += (values.getValue(slot) - defaultValue) * scalar;
+			}
+		}
+	}
+
+	/**
+	 * multiplies this matrix with every given vector in one pass over the mapped
+	 * values. parallelism is ignored - see
+	 * {@link #multiply(DoubleVector, DoubleVector, Parallelism)}.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector[], DoubleVector[], Parallelism)
+	 */
+	@Override
+	public DoubleVector[] multiply(DoubleVector[] vectors, DoubleVector[] results, Parallelism parallelism) {
+		DoubleMatrixAssurance.assureBatchArguments(vectors, columnCount, results, rowCount);
+		Assurance.assureNotNull(parallelism);
+		for (int s = 0; s < vectors.length; s++)
+			Arrays.fill(results[s].getArray(), getBase(vectors[s].getArray(), 0, columnCount));
+		int capacity = values.getCapacity();
+		long key;
+		int i, j;
+		double value;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key == LongDoubleHashMap.EMPTY)
+				continue;
+			i = (int) (key >>> 32);
+			j = (int) key;
+			value = values.getValue(slot) - defaultValue;
+			for (int s = 0; s < vectors.length; s++)
+				results[s].getArray()[i] += value * vectors[s].getArray()[j];
+		}
+		return results;
+	}
+
+	/**
+	 * multiplies this matrix with every row of batch. if batch and result are
+	 * {@link FullDoubleMatrix FullDoubleMatrices} the whole batch is processed in
+	 * one pass over the mapped values. parallelism is ignored - see
+	 * {@link #multiply(DoubleVector, DoubleVector, Parallelism)}.
+	 * 
+	 * @see DoubleMatrix#multiplyBatch(DoubleMatrix, DoubleMatrix, Parallelism)
+	 */
+	@Override
+	public DoubleMatrix multiplyBatch(DoubleMatrix batch, DoubleMatrix result, Parallelism parallelism) {
+		if (!(batch instanceof FullDoubleMatrix) || !(result instanceof FullDoubleMatrix))
+			return DoubleMatrix.super.multiplyBatch(batch, result, parallelism);
+		DoubleMatrixAssurance.assureBatchArguments(this, batch, result);
+		Assurance.assureNotNull(parallelism);
+		double[] x = ((FullDoubleMatrix) batch).values;
+		double[] y = ((FullDoubleMatrix) result).values;
+		int batchSize = batch.getRowCount();
+		for (int s = 0; s < batchSize; s++)
+			Arrays.fill(y, s * rowCount, (s + 1) * rowCount, getBase(x, s * columnCount, columnCount));
+		int capacity = values.getCapacity();
+		long key;
+		int i, j;
+		double value;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key == LongDoubleHashMap.EMPTY)
+				continue;
+			i = (int) (key >>> 32);
+			j = (int) key;
+			value = values.getValue(slot) - defaultValue;
+			for (int s = 0; s < batchSize; s++)
+				y[s * rowCount + i] += value * x[s * columnCount + j];
+		}
+		return result;
+	}
+
+	/**
+	 * @param vector
+	 * @param offset
+	 * @param length
+	 * @return the contribution of the unmapped values to every component of a
+	 *         product with the range of vector
+	 */
+	private double getBase(double[] vector, int offset, int length) {
+		if (defaultValue == 0)
+			return 0;
+		double base = 0;
+		for (int a = offset; a < offset + length; a++)
+			base += vector[a];
+		return base * defaultValue;
 	}
 
 	@Override
@@ -126,17 +424,69 @@ public class SparseDoubleMatrix implements DoubleMatrix {
 		return columnCount;
 	}
 
+	/**
+	 * swaps two rows. a value which is mapped in only one of the rows will only be
+	 * mapped in the other row afterwards. runs in O(min(getColumnCount(),
+	 * capacity of the internal storage)).
+	 */
 	@Override
 	public void swapRows(int row1, int row2) {
-		double temp;
-		int cols = getColumnCount();
-		for (int a = 0; a < cols; a++) {
-			if (hasValue(row1, a)) {
-				temp = getValue(row1, a);
-				setValue(getValue(row2, a), row1, a);
-				setValue(temp, row2, a);
+		assureIndices(row1, 0);
+		assureIndices(row2, 0);
+		if (row1 == row2)
+			return;
+		if (values.getCapacity() >= columnCount) {
+			for (int a = 0; a < columnCount; a++)
+				swapValues(row1, row2, a);
+			return;
+		}
+		// collect every column mapped in row1 or row2 first, since swapping
+		// modifies the table
+		int[] columns = new int[16];
+		int columnCounter = 0;
+		int capacity = values.getCapacity();
+		long key;
+		int row, column;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key == LongDoubleHashMap.EMPTY)
+				continue;
+			row = (int) (key >>> 32);
+			column = (int) key;
+			if (row == row1 || (row == row2 && !values.containsKey(key(row1, column)))) {
+				if (columnCounter == columns.length)
+					columns = Arrays.copyOf(columns, columnCounter << 1);
+				columns[columnCounter++] = column;
 			}
 		}
+		for (int a = 0; a < columnCounter; a++)
+			swapValues(row1, row2, columns[a]);
+	}
+
+	/**
+	 * swaps the mappings of (row1, column) and (row2, column)
+	 * 
+	 * @param row1
+	 * @param row2
+	 * @param column
+	 */
+	private void swapValues(int row1, int row2, int column) {
+		long key1 = key(row1, column);
+		long key2 = key(row2, column);
+		boolean has1 = values.containsKey(key1);
+		boolean has2 = values.containsKey(key2);
+		if (!has1 && !has2)
+			return;
+		double value1 = values.get(key1, defaultValue);
+		double value2 = values.get(key2, defaultValue);
+		if (has2)
+			values.put(key1, value2);
+		else
+			values.remove(key1);
+		if (has1)
+			values.put(key2, value1);
+		else
+			values.remove(key2);
 	}
 
 }
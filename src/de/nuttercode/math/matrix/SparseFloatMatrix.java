@@ -0,0 +1,346 @@
+package de.nuttercode.math.matrix;
+
+import java.util.Arrays;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.Accumulation;
+import de.nuttercode.math.vector.FloatVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * implementation of {@link FloatMatrix} - the single precision counterpart of
+ * {@link SparseDoubleMatrix}. every index not already mapped by
+ * {@link #setValue(float, int, int)} will be considered to have
+ * {@link #defaultValue} as its value. the mapped values are stored in a
+ * primitive open-addressing hash table keyed by (i &lt;&lt; 32 | j).
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class SparseFloatMatrix implements FloatMatrix {
+
+	/**
+	 * default value used for unknown indices
+	 */
+	private final float defaultValue;
+
+	/**
+	 * maps packed indices to their corresponding values
+	 */
+	private final LongFloatHashMap values;
+
+	/**
+	 * number of rows
+	 */
+	private final int rowCount;
+
+	/**
+	 * number of columns
+	 */
+	private final int columnCount;
+
+	/**
+	 * exactly as if {@link #SparseFloatMatrix(float, int, int) new
+	 * SparseFloatMatrix(0, rowCount, columnCount)} was called
+	 * 
+	 * @param rowCount    number of rows
+	 * @param columnCount number of columns
+	 */
+	public SparseFloatMatrix(int rowCount, int columnCount) {
+		this(0, rowCount, columnCount);
+	}
+
+	/**
+	 * creates a new {@link SparseFloatMatrix} with default value defaultValue
+	 * 
+	 * @param defaultValue default value
+	 * @param rowCount     number of rows
+	 * @param columnCount  number of columns
+	 */
+	public SparseFloatMatrix(float defaultValue, @Positive int rowCount, @Positive int columnCount) {
+		this(defaultValue, rowCount, columnCount, 0);
+	}
+
+	/**
+	 * creates a new {@link SparseFloatMatrix} with default value defaultValue
+	 * which can hold expectedValueCount mapped values without resizing its
+	 * internal storage
+	 * 
+	 * @param defaultValue       default value
+	 * @param rowCount           number of rows
+	 * @param columnCount        number of columns
+	 * @param expectedValueCount expected number of mapped values
+	 */
+	public SparseFloatMatrix(float defaultValue, @Positive int rowCount, @Positive int columnCount,
+			int expectedValueCount) {
+		Assurance.assurePositive(rowCount);
+		Assurance.assurePositive(columnCount);
+		this.defaultValue = defaultValue;
+		values = new LongFloatHashMap(expectedValueCount);
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+	}
+
+	/**
+	 * converts the matrix to single precision - the default value and every mapped
+	 * value are rounded to the nearest float
+	 * 
+	 * @param matrix
+	 */
+	public SparseFloatMatrix(@NotNull SparseDoubleMatrix matrix) {
+		this((float) Assurance.assureNotNull(matrix).getDefaultValue(), matrix.getRowCount(),
+				matrix.getColumnCount(), matrix.getValueCount());
+		matrix.forEach((i, j, value) -> setValue((float) value, i, j));
+	}
+
+	/**
+	 * @return this matrix in double precision - the conversion is exact
+	 */
+	public SparseDoubleMatrix toSparseDoubleMatrix() {
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(defaultValue, rowCount, columnCount, values.size());
+		forEach((i, j, value) -> matrix.setValue(value, i, j));
+		return matrix;
+	}
+
+	/**
+	 * assures that i and j are in the range of indices of this matrix
+	 * 
+	 * @param i row
+	 * @param j column
+	 */
+	private void assureIndices(int i, int j) {
+		Assurance.assureBoundaries(i, 0, rowCount - 1);
+		Assurance.assureBoundaries(j, 0, columnCount - 1);
+	}
+
+	/**
+	 * @param i row
+	 * @param j column
+	 * @return key of (i, j) in {@link #values}
+	 */
+	private static long key(int i, int j) {
+		return ((long) i << 32) | (j & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @param i some row
+	 * @param j some column
+	 * @return true if and only if the pair (i, j) is mapped to a value in this
+	 *         matrix
+	 */
+	public boolean hasValue(int i, int j) {
+		return values.containsKey(key(i, j));
+	}
+
+	/**
+	 * @return number of mapped values
+	 */
+	public int getValueCount() {
+		return values.size();
+	}
+
+	/**
+	 * @return the value of every index which is not mapped
+	 */
+	public float getDefaultValue() {
+		return defaultValue;
+	}
+
+	@Override
+	public void setValue(float value, int i, int j) {
+		assureIndices(i, j);
+		values.put(key(i, j), value);
+	}
+
+	@Override
+	public float getValue(int i, int j) {
+		assureIndices(i, j);
+		return values.get(key(i, j), defaultValue);
+	}
+
+	@Override
+	public void reset() {
+		values.clear();
+	}
+
+	/**
+	 * iterates over every mapped value
+	 */
+	@Override
+	public void forEach(FloatMatrixVisitor consumer) {
+		int capacity = values.getCapacity();
+		long key;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key != LongFloatHashMap.EMPTY)
+				consumer.visit((int) (key >>> 32), (int) key, values.getValue(slot));
+		}
+	}
+
+	/**
+	 * multiplies this matrix with the given vector in O(getRowCount() +
+	 * getColumnCount() + getValueCount()). the values are stored in hash order and
+	 * can not be split by rows, so parallelism is ignored.
+	 * 
+	 * @see FloatMatrix#multiply(FloatVector, FloatVector, Accumulation,
+	 *      Parallelism)
+	 */
+	@Override
+	public FloatVector multiply(FloatVector vector, FloatVector result, Accumulation accumulation,
+			Parallelism parallelism) {
+		FloatMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		Assurance.assureNotNull(accumulation);
+		Assurance.assureNotNull(parallelism);
+		accumulate(vector.getArray(), result.getArray(), accumulation, false);
+		return result;
+	}
+
+	/**
+	 * multiplies the transpose of this matrix with the given vector in
+	 * O(getRowCount() + getColumnCount() + getValueCount()). the values are stored
+	 * in hash order and can not be split by columns, so parallelism is ignored.
+	 * 
+	 * @see FloatMatrix#multiplyTransposed(FloatVector, FloatVector, Accumulation,
+	 *      Parallelism)
+	 */
+	@Override
+	public FloatVector multiplyTransposed(FloatVector vector, FloatVector result, Accumulation accumulation,
+			Parallelism parallelism) {
+		FloatMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		Assurance.assureNotNull(accumulation);
+		Assurance.assureNotNull(parallelism);
+		accumulate(vector.getArray(), result.getArray(), accumulation, true);
+		return result;
+	}
+
+	/**
+	 * computes y = this * x or y = transpose(this) * x in one pass over the mapped
+	 * values. {@link Accumulation#DOUBLE} sums in a temporary double array.
+	 * 
+	 * @param x
+	 * @param y
+	 * @param accumulation
+	 * @param transposed
+	 */
+	private void accumulate(float[] x, float[] y, Accumulation accumulation, boolean transposed) {
+		int capacity = values.getCapacity();
+		long key;
+		int i, j;
+		if (accumulation == Accumulation.FLOAT) {
+			Arrays.fill(y, (float) getBase(x));
+			for (int slot = 0; slot < capacity; slot++) {
+				key = values.getKey(slot);
+				if (key == LongFloatHashMap.EMPTY)
+					continue;
+				i = transposed ? (int) key : (int) (key >>> 32);
+				j = transposed ? (int) (key >>> 32) : (int) key;
+				y[i] += (values.getValue(slot) - defaultValue) * x[j];
+			}
+			return;
+		}
+		double[] sums = new double[y.length];
+		Arrays.fill(sums, getBase(x));
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key == LongFloatHashMap.EMPTY)
+				continue;
+			i = transposed ? (int) key : (int) (key >>> 32);
+			j = transposed ? (int) (key >>> 32) : (int) key;
+			sums[i] += ((double) values.getValue(slot) - defaultValue) * x[j];
+		}
+		for (int a = 0; a < y.length; a++)
+			y[a] = (float) sums[a];
+	}
+
+	/**
+	 * @param vector
+	 * @return the contribution of the unmapped values to every component of a
+	 *         product with vector - summed in double
+	 */
+	private double getBase(float[] vector) {
+		if (defaultValue == 0)
+			return 0;
+		double base = 0;
+		for (int a = 0; a < vector.length; a++)
+			base += vector[a];
+		return base * defaultValue;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	/**
+	 * swaps two rows. a value which is mapped in only one of the rows will only be
+	 * mapped in the other row afterwards. runs in O(min(getColumnCount(),
+	 * capacity of the internal storage)).
+	 */
+	@Override
+	public void swapRows(int row1, int row2) {
+		assureIndices(row1, 0);
+		assureIndices(row2, 0);
+		if (row1 == row2)
+			return;
+		if (values.getCapacity() >= columnCount) {
+			for (int a = 0; a < columnCount; a++)
+				swapValues(row1, row2, a);
+			return;
+		}
+		// collect every column mapped in row1 or row2 first, since swapping
+		// modifies the table
+		int[] columns = new int[16];
+		int columnCounter = 0;
+		int capacity = values.getCapacity();
+		long key;
+		int row, column;
+		for (int slot = 0; slot < capacity; slot++) {
+			key = values.getKey(slot);
+			if (key == LongFloatHashMap.EMPTY)
+				continue;
+			row = (int) (key >>> 32);
+			column = (int) key;
+			if (row == row1 || (row == row2 && !values.containsKey(key(row1, column)))) {
+				if (columnCounter == columns.length)
+					columns = Arrays.copyOf(columns, columnCounter << 1);
+				columns[columnCounter++] = column;
+			}
+		}
+		for (int a = 0; a < columnCounter; a++)
+			swapValues(row1, row2, columns[a]);
+	}
+
+	/**
+	 * swaps the mappings of (row1, column) and (row2, column)
+	 * 
+	 * @param row1
+	 * @param row2
+	 * @param column
+	 */
+	private void swapValues(int row1, int row2, int column) {
+		long key1 = key(row1, column);
+		long key2 = key(row2, column);
+		boolean has1 = values.containsKey(key1);
+		boolean has2 = values.containsKey(key2);
+		if (!has1 && !has2)
+			return;
+		float value1 = values.get(key1, defaultValue);
+		float value2 = values.get(key2, defaultValue);
+		if (has2)
+			values.put(key1, value2);
+		else
+			values.remove(key1);
+		if (has1)
+			values.put(key2, value1);
+		else
+			values.remove(key2);
+	}
+
+}
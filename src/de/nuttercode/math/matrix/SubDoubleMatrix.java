@@ -0,0 +1,299 @@
+package de.nuttercode.math.matrix;
+
+import java.util.Arrays;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * view of a strided block of a {@link DoubleMatrix} which shares the storage of
+ * the matrix - \(a_{i, j}\) of this view is \(a_{rowOffset + i * rowStride,
+ * columnOffset + j * columnStride}\) of the matrix and changes to either are
+ * visible in both. if the matrix is a {@link FullDoubleMatrix} the products
+ * with vectors read the values directly from its array - with the kernels of
+ * {@link DoubleKernels} if the column stride is 1.
+ * 
+ * @see DoubleMatrix#subMatrix(int, int, int, int, int, int)
+ * @author Johannes B. Latzel
+ *
+ */
+public class SubDoubleMatrix implements DoubleMatrix {
+
+	/**
+	 * the matrix which stores the values
+	 */
+	private final DoubleMatrix original;
+
+	/**
+	 * row of the original matrix which is row 0 of this view
+	 */
+	private final int rowOffset;
+
+	/**
+	 * column of the original matrix which is column 0 of this view
+	 */
+	private final int columnOffset;
+
+	/**
+	 * number of rows
+	 */
+	private final int rowCount;
+
+	/**
+	 * number of columns
+	 */
+	private final int columnCount;
+
+	/**
+	 * distance of two consecutive rows of this view in the original matrix
+	 */
+	private final int rowStride;
+
+	/**
+	 * distance of two consecutive columns of this view in the original matrix
+	 */
+	private final int columnStride;
+
+	/**
+	 * view of the rows rowOffset + i * rowStride for i in [0, rowCount) and the
+	 * columns columnOffset + j * columnStride for j in [0, columnCount) of the
+	 * matrix
+	 * 
+	 * @param matrix       the matrix which stores the values
+	 * @param rowOffset    first row of the view in matrix
+	 * @param columnOffset first column of the view in matrix
+	 * @param rowCount     number of rows of the view
+	 * @param columnCount  number of columns of the view
+	 * @param rowStride    distance of two consecutive rows of the view in matrix
+	 * @param columnStride distance of two consecutive columns of the view in
+	 *                     matrix
+	 * @throws IllegalArgumentException if matrix is null, a count or stride is not
+	 *                                  positive or the view exceeds the matrix
+	 */
+	public SubDoubleMatrix(@NotNull DoubleMatrix matrix, int rowOffset, int columnOffset, @Positive int rowCount,
+			@Positive int columnCount, @Positive int rowStride, @Positive int columnStride) {
+		Assurance.assureNotNull(matrix);
+		Assurance.assurePositive(rowCount);
+		Assurance.assurePositive(columnCount);
+		Assurance.assurePositive(rowStride);
+		Assurance.assurePositive(columnStride);
+		assureRange(rowOffset, rowCount, rowStride, matrix.getRowCount());
+		assureRange(columnOffset, columnCount, columnStride, matrix.getColumnCount());
+		original = matrix;
+		this.rowOffset = rowOffset;
+		this.columnOffset = columnOffset;
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+		this.rowStride = rowStride;
+		this.columnStride = columnStride;
+	}
+
+	/**
+	 * @param offset first position
+	 * @param count  positive number of positions
+	 * @param stride positive distance of two consecutive positions
+	 * @param length number of available positions
+	 * @throws IllegalArgumentException if a position is not in [0, length)
+	 */
+	private static void assureRange(int offset, int count, int stride, int length) {
+		Assurance.assureBoundaries(offset, 0, length - 1);
+		if (offset + (count - 1L) * stride >= length)
+			throw new IllegalArgumentException("the view exceeds the matrix");
+	}
+
+	/**
+	 * @return the matrix which stores the values
+	 */
+	public DoubleMatrix getOriginal() {
+		return original;
+	}
+
+	/**
+	 * @return a view of the original matrix - views of views do not nest
+	 * @see DoubleMatrix#subMatrix(int, int, int, int, int, int)
+	 */
+	@Override
+	public DoubleMatrix subMatrix(int rowOffset, int columnOffset, int rowCount, int columnCount, int rowStride,
+			int columnStride) {
+		Assurance.assurePositive(rowCount);
+		Assurance.assurePositive(columnCount);
+		Assurance.assurePositive(rowStride);
+		Assurance.assurePositive(columnStride);
+		assureRange(rowOffset, rowCount, rowStride, this.rowCount);
+		assureRange(columnOffset, columnCount, columnStride, this.columnCount);
+		return new SubDoubleMatrix(original, this.rowOffset + rowOffset * this.rowStride,
+				this.columnOffset + columnOffset * this.columnStride, rowCount, columnCount,
+				Math.multiplyExact(rowStride, this.rowStride), Math.multiplyExact(columnStride, this.columnStride));
+	}
+
+	/**
+	 * @param i row index
+	 * @return row of the original matrix
+	 * @throws ArrayIndexOutOfBoundsException if i is out of bounds
+	 */
+	private int row(int i) {
+		if (i < 0 || i >= rowCount)
+			throw new ArrayIndexOutOfBoundsException("row " + i);
+		return rowOffset + i * rowStride;
+	}
+
+	/**
+	 * @param j column index
+	 * @return column of the original matrix
+	 * @throws ArrayIndexOutOfBoundsException if j is out of bounds
+	 */
+	private int column(int j) {
+		if (j < 0 || j >= columnCount)
+			throw new ArrayIndexOutOfBoundsException("column " + j);
+		return columnOffset + j * columnStride;
+	}
+
+	@Override
+	public void setValue(double value, int i, int j) {
+		original.setValue(value, row(i), column(j));
+	}
+
+	@Override
+	public double getValue(int i, int j) {
+		return original.getValue(row(i), column(j));
+	}
+
+	/**
+	 * invokes the visitor for every entry of this view in row-major order
+	 * 
+	 * @see DoubleMatrix#forEach(DoubleMatrixVisitor)
+	 */
+	@Override
+	public void forEach(DoubleMatrixVisitor consumer) {
+		for (int i = 0; i < rowCount; i++) {
+			for (int j = 0; j < columnCount; j++)
+				consumer.visit(i, j, getValue(i, j));
+		}
+	}
+
+	/**
+	 * multiplies this view with the given vector. if the original matrix is a
+	 * {@link FullDoubleMatrix} every row is read directly from its array.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		if (!(original instanceof FullDoubleMatrix))
+			return DoubleMatrix.super.multiply(vector, result, parallelism);
+		DoubleMatrixAssurance.assureProductArguments(vector, columnCount, result, rowCount);
+		long work = (long) rowCount * columnCount;
+		if (Assurance.assureNotNull(parallelism).isParallel(work))
+			parallelism.execute(rowCount, 1, work,
+					(from, to) -> multiplyRows(vector.getArray(), from, to, result.getArray(), from));
+		else
+			multiplyRows(vector.getArray(), 0, rowCount, result.getArray(), 0);
+		return result;
+	}
+
+	@Override
+	public void multiplyRows(DoubleVector vector, int from, int to, double[] destination, int destinationOffset) {
+		if (!(original instanceof FullDoubleMatrix)) {
+			DoubleMatrix.super.multiplyRows(vector, from, to, destination, destinationOffset);
+			return;
+		}
+		DoubleMatrixAssurance.assureRowRangeArguments(this, vector, from, to, destination, destinationOffset);
+		multiplyRows(vector.getArray(), from, to, destination, destinationOffset);
+	}
+
+	/**
+	 * computes the rows [from, to) of this * vector and stores them in
+	 * destination starting at destinationOffset - the original matrix must be a
+	 * {@link FullDoubleMatrix}
+	 */
+	private void multiplyRows(double[] vector, int from, int to, double[] destination, int destinationOffset) {
+		FullDoubleMatrix full = (FullDoubleMatrix) original;
+		double[] values = full.values;
+		int originalColumnCount = full.getColumnCount();
+		int offset;
+		double value;
+		for (int i = from; i < to; i++) {
+			offset = (rowOffset + i * rowStride) * originalColumnCount + columnOffset;
+			if (columnStride == 1)
+				value = DoubleKernels.dot(vector, 0, values, offset, columnCount);
+			else {
+				value = 0;
+				for (int j = 0; j < columnCount; j++, offset += columnStride)
+					value += values[offset] * vector[j];
+			}
+			destination[destinationOffset + i - from] = value;
+		}
+	}
+
+	/**
+	 * multiplies the transpose of this view with the given vector. if the original
+	 * matrix is a {@link FullDoubleMatrix} with a column stride of 1 the rows are
+	 * read directly from its array and accumulated into the result.
+	 * 
+	 * @see DoubleMatrix#multiplyTransposed(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		if (!(original instanceof FullDoubleMatrix) || columnStride != 1)
+			return DoubleMatrix.super.multiplyTransposed(vector, result, parallelism);
+		DoubleMatrixAssurance.assureProductArguments(vector, rowCount, result, columnCount);
+		FullDoubleMatrix full = (FullDoubleMatrix) original;
+		double[] values = full.values;
+		int originalColumnCount = full.getColumnCount();
+		double[] x = vector.getArray();
+		double[] y = result.getArray();
+		Assurance.assureNotNull(parallelism).execute(columnCount, 1, (long) rowCount * columnCount, (from, to) -> {
+			Arrays.fill(y, from, to, 0);
+			int offset = rowOffset * originalColumnCount + columnOffset + from;
+			for (int i = 0; i < rowCount; i++) {
+				DoubleKernels.axpy(x[i], values, offset, y, from, to - from);
+				offset += rowStride * originalColumnCount;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * sets every value of this view to 0
+	 * 
+	 * @see Matrix#reset()
+	 */
+	@Override
+	public void reset() {
+		for (int i = 0; i < rowCount; i++) {
+			for (int j = 0; j < columnCount; j++)
+				setValue(0, i, j);
+		}
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	/**
+	 * swaps the values of two rows of this view - the other values of the
+	 * respective rows of the original matrix are unchanged
+	 * 
+	 * @see Matrix#swapRows(int, int)
+	 */
+	@Override
+	public void swapRows(int row1, int row2) {
+		double temp;
+		for (int j = 0; j < columnCount; j++) {
+			temp = getValue(row1, j);
+			setValue(getValue(row2, j), row1, j);
+			setValue(temp, row2, j);
+		}
+	}
+
+}
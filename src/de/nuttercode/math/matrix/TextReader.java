@@ -0,0 +1,536 @@
+package de.nuttercode.math.matrix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import de.nuttercode.math.parallel.Parallelism;
+
+/**
+ * reader of ascii text at arbitrary positions of a file. every reader has its
+ * own buffer of {@value #BUFFER_SIZE} bytes and reads by positional reads, so
+ * many readers may read the same channel concurrently. numbers are parsed
+ * directly from the buffer without allocation - only doubles with more than 18
+ * significant digits or exponents beyond the range of exactly representable
+ * powers of ten fall back to {@link Double#parseDouble(String)}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class TextReader {
+
+	/**
+	 * size of the buffer of a reader in bytes
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * number of bytes of a chunk of {@link #parse(FileChannel, long, long, int, Parallelism, Supplier)}
+	 */
+	static final int CHUNK_SIZE = 1 << 20;
+
+	/**
+	 * maximal length of a number in bytes
+	 */
+	private static final int MAX_TOKEN_LENGTH = 1 << 10;
+
+	/**
+	 * powers of ten which are exactly representable as double
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final byte[] bytes;
+	private final byte[] token;
+
+	/**
+	 * position of bytes[0] in the file
+	 */
+	private long offset;
+
+	/**
+	 * index of the next byte in {@link #bytes}
+	 */
+	private int position;
+
+	/**
+	 * number of valid bytes in {@link #bytes}
+	 */
+	private int limit;
+
+	/**
+	 * @param channel
+	 * @param position position of the first byte to read
+	 */
+	TextReader(FileChannel channel, long position) {
+		this.channel = channel;
+		bytes = new byte[BUFFER_SIZE];
+		buffer = ByteBuffer.wrap(bytes);
+		token = new byte[MAX_TOKEN_LENGTH];
+		seek(position);
+	}
+
+	/**
+	 * @param position position of the next byte to read
+	 */
+	void seek(long position) {
+		offset = position;
+		this.position = 0;
+		limit = 0;
+	}
+
+	/**
+	 * @return position of the next byte in the file
+	 */
+	long getPosition() {
+		return offset + position;
+	}
+
+	/**
+	 * reads the bytes after the current buffer
+	 * 
+	 * @return false if the end of the file was reached
+	 * @throws IOException
+	 */
+	private boolean fill() throws IOException {
+		offset += limit;
+		position = 0;
+		limit = 0;
+		buffer.clear();
+		int count = 0;
+		while (buffer.hasRemaining() && count >= 0)
+			count = channel.read(buffer, offset + buffer.position());
+		limit = buffer.position();
+		return limit > 0;
+	}
+
+	/**
+	 * @return the next byte without consuming it or -1 at the end of the file
+	 * @throws IOException
+	 */
+	int peek() throws IOException {
+		if (position == limit && !fill())
+			return -1;
+		return bytes[position] & 0xFF;
+	}
+
+	/**
+	 * @return the next byte or -1 at the end of the file
+	 * @throws IOException
+	 */
+	int read() throws IOException {
+		int c = peek();
+		if (c >= 0)
+			position++;
+		return c;
+	}
+
+	/**
+	 * consumes everything up to and including the next line feed
+	 * 
+	 * @throws IOException
+	 */
+	void skipLine() throws IOException {
+		int index;
+		while (true) {
+			if (position == limit && !fill())
+				return;
+			for (index = position; index < limit; index++) {
+				if (bytes[index] == '\n') {
+					position = index + 1;
+					return;
+				}
+			}
+			position = limit;
+		}
+	}
+
+	/**
+	 * consumes spaces and tabs
+	 * 
+	 * @throws IOException
+	 */
+	void skipBlanks() throws IOException {
+		int c;
+		while ((c = peek()) == ' ' || c == '\t')
+			position++;
+	}
+
+	/**
+	 * moves to the first line which starts at or after position - a line starts
+	 * at start or after a line feed
+	 * 
+	 * @param position
+	 * @param start    position of the first line
+	 * @throws IOException
+	 */
+	void seekLine(long position, long start) throws IOException {
+		if (position <= start) {
+			seek(start);
+			return;
+		}
+		seek(position - 1);
+		skipLine();
+	}
+
+	/**
+	 * consumes the line if it contains only blanks or starts with comment after
+	 * blanks
+	 * 
+	 * @param comment comment character or -1
+	 * @return true if the line was consumed
+	 * @throws IOException
+	 */
+	boolean skipEmptyLine(int comment) throws IOException {
+		skipBlanks();
+		int c = peek();
+		if (c == '\r' || c == '\n' || c == comment) {
+			skipLine();
+			return true;
+		}
+		return c < 0;
+	}
+
+	/**
+	 * consumes blanks and assures that the line ends - the line end itself is not
+	 * consumed
+	 * 
+	 * @throws IOException if the line contains something else
+	 */
+	void assureLineEnd() throws IOException {
+		skipBlanks();
+		int c = peek();
+		if (c >= 0 && c != '\r' && c != '\n')
+			throw unexpected();
+	}
+
+	/**
+	 * consumes blanks and the delimiter if it follows
+	 * 
+	 * @param delimiter
+	 * @return true if the delimiter was consumed
+	 * @throws IOException
+	 */
+	boolean skipDelimiter(int delimiter) throws IOException {
+		skipBlanks();
+		if (peek() != delimiter)
+			return false;
+		position++;
+		return true;
+	}
+
+	/**
+	 * @return exception which describes the byte at the current position
+	 * @throws IOException
+	 */
+	IOException unexpected() throws IOException {
+		int c = peek();
+		String found = c < 0 ? "end of file"
+				: c == '\r' || c == '\n' ? "end of line" : "character '" + (char) c + "'";
+		return new IOException("unexpected " + found + " at byte " + getPosition());
+	}
+
+	/**
+	 * consumes blanks and a decimal integer
+	 * 
+	 * @return the integer
+	 * @throws IOException if there is no integer or it does not fit into an int
+	 */
+	int readInt() throws IOException {
+		skipBlanks();
+		boolean negative = false;
+		int c = peek();
+		if (c == '-' || c == '+') {
+			negative = c == '-';
+			position++;
+			c = peek();
+		}
+		if (c < '0' || c > '9')
+			throw unexpected();
+		long value = 0;
+		while (c >= '0' && c <= '9') {
+			value = value * 10 + (c - '0');
+			if (value > Integer.MAX_VALUE + 1L)
+				throw new IOException("integer out of range at byte " + getPosition());
+			position++;
+			c = peek();
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE)
+			throw new IOException("integer out of range at byte " + getPosition());
+		return (int) value;
+	}
+
+	/**
+	 * consumes blanks and a decimal floating point number, which ends before a
+	 * blank, a line end, the delimiter or the end of the file
+	 * 
+	 * @param delimiter delimiter of the values or -1
+	 * @return the number
+	 * @throws IOException if there is no number
+	 */
+	double readDouble(int delimiter) throws IOException {
+		skipBlanks();
+		int length = 0;
+		int c;
+		while ((c = peek()) >= 0 && c != ' ' && c != '\t' && c != '\r' && c != '\n' && c != delimiter) {
+			if (length == MAX_TOKEN_LENGTH)
+				throw new IOException("number longer than " + MAX_TOKEN_LENGTH + " bytes at byte " + getPosition());
+			token[length++] = (byte) c;
+			position++;
+		}
+		if (length == 0)
+			throw unexpected();
+		double value = parseDouble(token, length);
+		if (Double.isNaN(value) && !isNaN(token, length))
+			throw new IOException("malformed number '" + new String(token, 0, length, StandardCharsets.ISO_8859_1)
+					+ "' before byte " + getPosition());
+		return value;
+	}
+
+	/**
+	 * @param token
+	 * @param length
+	 * @return true if token is a spelling of NaN which {@link #parseDouble(byte[], int)} accepts
+	 */
+	private static boolean isNaN(byte[] token, int length) {
+		int a = length > 0 && (token[0] == '-' || token[0] == '+') ? 1 : 0;
+		return length - a == 3 && (token[a] | 0x20) == 'n' && (token[a + 1] | 0x20) == 'a'
+				&& (token[a + 2] | 0x20) == 'n';
+	}
+
+	/**
+	 * parses a decimal floating point number. numbers with at most 18 significant
+	 * digits whose mantissa is below 2^53 and whose exponent is in [-22, 22] are
+	 * computed exactly by one multiplication or division, which is correctly
+	 * rounded. every other number is parsed by {@link Double#parseDouble(String)}.
+	 * nan, inf and infinity are accepted in any case.
+	 * 
+	 * @param token
+	 * @param length
+	 * @return the number or NaN if token is malformed
+	 */
+	static double parseDouble(byte[] token, int length) {
+		int a = 0;
+		boolean negative = false;
+		if (token[0] == '-' || token[0] == '+') {
+			negative = token[0] == '-';
+			a++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean any = false;
+		int c;
+		for (; a < length && (c = token[a] - '0') >= 0 && c <= 9; a++) {
+			any = true;
+			if (mantissa != 0 || c != 0) {
+				mantissa = mantissa * 10 + c;
+				digits++;
+			}
+		}
+		if (a < length && token[a] == '.') {
+			for (a++; a < length && (c = token[a] - '0') >= 0 && c <= 9; a++) {
+				any = true;
+				if (mantissa != 0 || c != 0) {
+					mantissa = mantissa * 10 + c;
+					digits++;
+				}
+				exponent--;
+				if (digits > 18)
+					return parseSlow(token, length, negative);
+			}
+		}
+		if (digits > 18 || !any)
+			return parseSlow(token, length, negative);
+		if (a < length && (token[a] == 'e' || token[a] == 'E')) {
+			a++;
+			boolean negativeExponent = false;
+			if (a < length && (token[a] == '-' || token[a] == '+'))
+				negativeExponent = token[a++] == '-';
+			if (a == length)
+				return Double.NaN;
+			int value = 0;
+			for (; a < length && (c = token[a] - '0') >= 0 && c <= 9; a++)
+				value = Math.min(value * 10 + c, 100_000);
+			exponent += negativeExponent ? -value : value;
+		}
+		if (a != length)
+			return parseSlow(token, length, negative);
+		double value;
+		if (mantissa == 0)
+			value = 0;
+		else if (mantissa < 1L << 53 && exponent >= -22 && exponent <= 22)
+			value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+		else
+			return parseSlow(token, length, negative);
+		return negative ? -value : value;
+	}
+
+	/**
+	 * @return the number parsed by {@link Double#parseDouble(String)} or NaN if
+	 *         token is malformed
+	 */
+	private static double parseSlow(byte[] token, int length, boolean negative) {
+		String text = new String(token, 0, length, StandardCharsets.ISO_8859_1);
+		String unsigned = text.substring(text.startsWith("-") || text.startsWith("+") ? 1 : 0);
+		if (unsigned.equalsIgnoreCase("inf") || unsigned.equalsIgnoreCase("infinity"))
+			return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		if (unsigned.equalsIgnoreCase("nan"))
+			return Double.NaN;
+		if (!unsigned.isEmpty() && Character.isLetter(unsigned.charAt(unsigned.length() - 1)))
+			return Double.NaN;
+		try {
+			return Double.parseDouble(text);
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * parses the lines of a region of a file
+	 * 
+	 * @author Johannes B. Latzel
+	 * 
+	 */
+	interface LineParser {
+
+		/**
+		 * called before the first line of a chunk
+		 * 
+		 * @param chunk index of the chunk
+		 */
+		default void startChunk(int chunk) {
+		}
+
+		/**
+		 * parses the content of a line which is neither empty nor a comment - the rest
+		 * of the line is skipped afterwards
+		 * 
+		 * @param reader positioned at the first character of the line which is not
+		 *               blank
+		 * @throws IOException if the line is malformed
+		 */
+		void parse(TextReader reader) throws IOException;
+
+		/**
+		 * called after the last line of the parser
+		 * 
+		 * @throws IOException
+		 */
+		default void finish() throws IOException {
+		}
+
+	}
+
+	/**
+	 * @param start
+	 * @param end
+	 * @return number of chunks of [start, end)
+	 */
+	static int getChunkCount(long start, long end) {
+		return (int) Math.max(1, (end - start + CHUNK_SIZE - 1) / CHUNK_SIZE);
+	}
+
+	/**
+	 * parses every line of [start, end) of the file which is neither empty nor a
+	 * comment. the region is split into chunks of {@value #CHUNK_SIZE} bytes - a
+	 * line belongs to the chunk in which it starts. consecutive chunks are parsed
+	 * in ascending order by the same parser and reader, the ranges of chunks may be
+	 * parsed in parallel.
+	 * 
+	 * @param channel
+	 * @param start       position of the first line
+	 * @param end         size of the file
+	 * @param comment     first character of a comment line or -1
+	 * @param parallelism
+	 * @param parsers     creates the parser of one range of chunks
+	 * @throws IOException if the file can not be read or a parser fails
+	 */
+	static void parse(FileChannel channel, long start, long end, int comment, Parallelism parallelism,
+			Supplier<LineParser> parsers) throws IOException {
+		try {
+			parallelism.execute(getChunkCount(start, end), 1, end - start, (from, to) -> {
+				try {
+					TextReader reader = new TextReader(channel, start);
+					reader.seekLine(start + (long) from * CHUNK_SIZE, start);
+					LineParser parser = parsers.get();
+					long chunkEnd;
+					for (int chunk = from; chunk < to; chunk++) {
+						chunkEnd = Math.min(end, start + (chunk + 1L) * CHUNK_SIZE);
+						parser.startChunk(chunk);
+						while (reader.getPosition() < chunkEnd && reader.peek() >= 0) {
+							if (!reader.skipEmptyLine(comment)) {
+								parser.parse(reader);
+								reader.skipLine();
+							}
+						}
+					}
+					parser.finish();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * @param channel
+	 * @param start       position of the first line
+	 * @param end         size of the file
+	 * @param comment     first character of a comment line or -1
+	 * @param parallelism
+	 * @return number of lines which are neither empty nor comments before every
+	 *         chunk of {@link #parse(FileChannel, long, long, int, Parallelism, Supplier)}
+	 *         - the last element is the total number
+	 * @throws IOException if the file can not be read
+	 */
+	static long[] countLines(FileChannel channel, long start, long end, int comment, Parallelism parallelism)
+			throws IOException {
+		long[] counts = new long[getChunkCount(start, end) + 1];
+		parse(channel, start, end, comment, parallelism, () -> new LineParser() {
+
+			private int chunk;
+
+			@Override
+			public void startChunk(int chunk) {
+				this.chunk = chunk;
+			}
+
+			@Override
+			public void parse(TextReader reader) {
+				counts[chunk + 1]++;
+			}
+
+		});
+		for (int chunk = 1; chunk < counts.length; chunk++)
+			counts[chunk] += counts[chunk - 1];
+		return counts;
+	}
+
+	/**
+	 * reads the lines at the beginning of a file - intended for headers
+	 * 
+	 * @return the line without line end or null at the end of the file
+	 * @throws IOException
+	 */
+	String readLine() throws IOException {
+		StringBuilder builder = new StringBuilder();
+		int c;
+		while ((c = read()) >= 0 && c != '\n')
+			builder.append((char) c);
+		if (c < 0 && builder.length() == 0)
+			return null;
+		int length = builder.length();
+		return length > 0 && builder.charAt(length - 1) == '\r' ? builder.substring(0, length - 1)
+				: builder.toString();
+	}
+
+}
@@ -0,0 +1,148 @@
+package de.nuttercode.math.matrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * writer of ascii text to a channel. records, e.g. the rows of a matrix, are
+ * formatted in blocks of about {@value #BLOCK_LENGTH} characters. the blocks of
+ * a batch are formatted in parallel and written in ascending order, so the
+ * output does not depend on the parallelism and at most one batch is held in
+ * memory. doubles are formatted by {@link StringBuilder#append(double)}, which
+ * does not allocate and whose output is parsed back to the same double - it is
+ * not always the shortest such output before java 19, e.g. 1.0E23 is written
+ * as 9.999999999999999E22.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class TextWriter {
+
+	/**
+	 * number of characters of a block
+	 */
+	static final int BLOCK_LENGTH = 1 << 20;
+
+	/**
+	 * size of the buffer in bytes
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final byte[] bytes;
+
+	/**
+	 * @param channel
+	 */
+	TextWriter(WritableByteChannel channel) {
+		this.channel = channel;
+		bytes = new byte[BUFFER_SIZE];
+		buffer = ByteBuffer.wrap(bytes);
+	}
+
+	/**
+	 * @param path
+	 * @return channel which truncates or creates the file
+	 * @throws IOException
+	 */
+	static FileChannel openForWriting(Path path) throws IOException {
+		return FileChannel.open(Assurance.assureNotNull(path), StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * formats one record
+	 * 
+	 * @author Johannes B. Latzel
+	 * 
+	 */
+	@FunctionalInterface
+	interface RecordFormatter {
+
+		/**
+		 * appends the record to the builder
+		 * 
+		 * @param record
+		 * @param builder
+		 */
+		void format(int record, StringBuilder builder);
+
+	}
+
+	/**
+	 * writes the text
+	 * 
+	 * @param text ascii text
+	 * @throws IOException
+	 */
+	void write(CharSequence text) throws IOException {
+		int length = text.length();
+		int count;
+		int position;
+		for (int a = 0; a < length; a += count) {
+			if (!buffer.hasRemaining())
+				flush();
+			position = buffer.position();
+			count = Math.min(length - a, buffer.remaining());
+			for (int b = 0; b < count; b++)
+				bytes[position + b] = (byte) text.charAt(a + b);
+			buffer.position(position + count);
+		}
+	}
+
+	/**
+	 * writes the records [0, count) in ascending order
+	 * 
+	 * @param count        number of records
+	 * @param recordLength estimated number of characters of a record
+	 * @param parallelism
+	 * @param formatter
+	 * @throws IOException
+	 */
+	void write(int count, long recordLength, Parallelism parallelism, RecordFormatter formatter)
+			throws IOException {
+		int blockSize = (int) Math.max(1, Math.min(count, BLOCK_LENGTH / Math.max(1, recordLength)));
+		long work = (long) count * recordLength;
+		StringBuilder[] builders = new StringBuilder[parallelism.isParallel(work) ? parallelism.getParallelism()
+				: 1];
+		for (int a = 0; a < builders.length; a++)
+			builders[a] = new StringBuilder();
+		int blockCount;
+		for (int batch = 0; batch < count; batch += builders.length * blockSize) {
+			int start = batch;
+			blockCount = (int) Math.min(builders.length, (count - (long) start + blockSize - 1) / blockSize);
+			parallelism.execute(blockCount, 1, (long) blockCount * blockSize * recordLength, (from, to) -> {
+				int end;
+				for (int block = from; block < to; block++) {
+					builders[block].setLength(0);
+					end = (int) Math.min(count, start + (block + 1L) * blockSize);
+					for (int record = start + block * blockSize; record < end; record++)
+						formatter.format(record, builders[block]);
+				}
+			});
+			for (int block = 0; block < blockCount; block++)
+				write(builders[block]);
+		}
+	}
+
+	/**
+	 * writes the buffered bytes to the channel
+	 * 
+	 * @throws IOException
+	 */
+	void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+}
@@ -0,0 +1,219 @@
+package de.nuttercode.math.matrix;
+
+import java.util.Arrays;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * view of the transpose of a {@link DoubleMatrix} which shares the storage of
+ * the matrix - \(a_{i, j}\) of this view is \(a_{j, i}\) of the matrix and
+ * changes to either are visible in both. products with vectors are delegated to
+ * the transposed products of the matrix, so a product with this view runs at the
+ * speed of the respective kernel of the matrix instead of copying it.
+ * 
+ * @see DoubleMatrix#transpose()
+ * @author Johannes B. Latzel
+ *
+ */
+public class TransposedDoubleMatrix implements DoubleMatrix {
+
+	/**
+	 * the transposed matrix
+	 */
+	private final DoubleMatrix original;
+
+	/**
+	 * @param matrix the transposed matrix
+	 * @throws IllegalArgumentException if matrix is null
+	 */
+	public TransposedDoubleMatrix(@NotNull DoubleMatrix matrix) {
+		original = Assurance.assureNotNull(matrix);
+	}
+
+	/**
+	 * @return the transposed matrix
+	 */
+	public DoubleMatrix getOriginal() {
+		return original;
+	}
+
+	/**
+	 * @return the transposed matrix - transposing twice does not create a view
+	 */
+	@Override
+	public DoubleMatrix transpose() {
+		return original;
+	}
+
+	/**
+	 * @return copy of the transposed matrix in its own format - full, sparse and
+	 *         compressed matrices are copied directly, every other matrix is
+	 *         transposed twice
+	 * @see DoubleMatrix#transposeCopy(Parallelism)
+	 */
+	@Override
+	public DoubleMatrix transposeCopy(Parallelism parallelism) {
+		Assurance.assureNotNull(parallelism);
+		if (original instanceof FullDoubleMatrix)
+			return new FullDoubleMatrix((FullDoubleMatrix) original);
+		if (original instanceof SparseDoubleMatrix)
+			return new SparseDoubleMatrix((SparseDoubleMatrix) original);
+		if (original instanceof CsrDoubleMatrix) {
+			CsrDoubleMatrix csr = (CsrDoubleMatrix) original;
+			CsrDoubleMatrix matrix = new CsrDoubleMatrix(csr.getRowCount(), csr.getColumnCount(), csr.values.length);
+			matrix.fillCopy(csr);
+			return matrix;
+		}
+		if (original instanceof CscDoubleMatrix) {
+			CscDoubleMatrix csc = (CscDoubleMatrix) original;
+			CscDoubleMatrix matrix = new CscDoubleMatrix(csc.getRowCount(), csc.getColumnCount(), csc.values.length);
+			matrix.fillCopy(csc);
+			return matrix;
+		}
+		return original.transposeCopy(parallelism).transposeCopy(parallelism);
+	}
+
+	/**
+	 * @return transpose of the respective view of the transposed matrix, so the
+	 *         products of the view keep the kernels of the transposed matrix
+	 * @see DoubleMatrix#subMatrix(int, int, int, int, int, int)
+	 */
+	@Override
+	public DoubleMatrix subMatrix(int rowOffset, int columnOffset, int rowCount, int columnCount, int rowStride,
+			int columnStride) {
+		return original.subMatrix(columnOffset, rowOffset, columnCount, rowCount, columnStride, rowStride)
+				.transpose();
+	}
+
+	@Override
+	public void setValue(double value, int i, int j) {
+		original.setValue(value, j, i);
+	}
+
+	@Override
+	public double getValue(int i, int j) {
+		return original.getValue(j, i);
+	}
+
+	/**
+	 * invokes the visitor for the entries which are visited by the transposed
+	 * matrix with swapped indices
+	 * 
+	 * @see DoubleMatrix#forEach(DoubleMatrixVisitor)
+	 */
+	@Override
+	public void forEach(DoubleMatrixVisitor consumer) {
+		original.forEach((i, j, value) -> consumer.visit(j, i, value));
+	}
+
+	/**
+	 * @see DoubleMatrix#multiplyTransposed(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		return original.multiplyTransposed(vector, result, parallelism);
+	}
+
+	/**
+	 * @see DoubleMatrix#multiply(DoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		return original.multiply(vector, result, parallelism);
+	}
+
+	/**
+	 * @see DoubleMatrix#multiplyTransposed(SparseDoubleVector, DoubleVector,
+	 *      Parallelism)
+	 */
+	@Override
+	public DoubleVector multiply(SparseDoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		return original.multiplyTransposed(vector, result, parallelism);
+	}
+
+	/**
+	 * @see DoubleMatrix#multiply(SparseDoubleVector, DoubleVector, Parallelism)
+	 */
+	@Override
+	public DoubleVector multiplyTransposed(SparseDoubleVector vector, DoubleVector result,
+			Parallelism parallelism) {
+		return original.multiply(vector, result, parallelism);
+	}
+
+	/**
+	 * multiplies this matrix with the given matrix. if the transposed matrix,
+	 * matrix and result are {@link FullDoubleMatrix FullDoubleMatrices} the rows
+	 * of the transposed matrix and of matrix are read sequentially and row k of
+	 * matrix is accumulated into every row i of the result scaled by \(a_{k,
+	 * i}\) of the transposed matrix.
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleMatrix, DoubleMatrix, Parallelism)
+	 */
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix matrix, DoubleMatrix result, Parallelism parallelism) {
+		if (!(original instanceof FullDoubleMatrix) || !(matrix instanceof FullDoubleMatrix)
+				|| !(result instanceof FullDoubleMatrix))
+			return DoubleMatrix.super.multiply(matrix, result, parallelism);
+		FullDoubleMatrix transposed = (FullDoubleMatrix) original;
+		FullDoubleMatrix other = (FullDoubleMatrix) matrix;
+		FullDoubleMatrix product = (FullDoubleMatrix) result;
+		int rows = transposed.getColumnCount();
+		int inner = transposed.getRowCount();
+		int columns = other.getColumnCount();
+		Assurance.assureEquals(inner, other.getRowCount());
+		Assurance.assureEquals(rows, product.getRowCount());
+		Assurance.assureEquals(columns, product.getColumnCount());
+		DoubleMatrixAssurance.assureDistinctResult(product, transposed, other);
+		Assurance.assureNotNull(parallelism).execute(rows, 1, (long) rows * inner * columns, (from, to) -> {
+			Arrays.fill(product.values, from * columns, to * columns, 0);
+			for (int k = 0; k < inner; k++) {
+				for (int i = from; i < to; i++)
+					DoubleKernels.axpy(transposed.values[k * rows + i], other.values, k * columns, product.values,
+							i * columns, columns);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * resets the transposed matrix
+	 * 
+	 * @see Matrix#reset()
+	 */
+	@Override
+	public void reset() {
+		original.reset();
+	}
+
+	@Override
+	public int getRowCount() {
+		return original.getColumnCount();
+	}
+
+	@Override
+	public int getColumnCount() {
+		return original.getRowCount();
+	}
+
+	/**
+	 * swaps the respective columns of the transposed matrix
+	 * 
+	 * @see Matrix#swapRows(int, int)
+	 */
+	@Override
+	public void swapRows(int row1, int row2) {
+		int columns = getColumnCount();
+		double temp;
+		for (int j = 0; j < columns; j++) {
+			temp = original.getValue(j, row1);
+			original.setValue(original.getValue(j, row2), j, row1);
+			original.setValue(temp, j, row2);
+		}
+	}
+
+}
@@ -0,0 +1,213 @@
+package de.nuttercode.math.matrix;
+
+/**
+ * cache-oblivious transposition of row-major arrays. the out-of-place and the
+ * square in-place transposition halve the longer side of a block recursively
+ * until it holds at most {@value #LEAF_VALUE_COUNT} values, so the rows which
+ * are read and written by a leaf stay in the cache on every level of the
+ * hierarchy without tuning a block size per machine (see Frigo, Leiserson,
+ * Prokop and Ramachandran, cache-oblivious algorithms). rectangular arrays are
+ * transposed in place by following the cycles of the permutation k -&gt; k *
+ * rowCount mod (rowCount * columnCount - 1), which needs one bit per value to
+ * mark the visited indices.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class Transposition {
+
+	/**
+	 * maximal number of values of a leaf block - a leaf of the source and of the
+	 * destination fit into the L1 cache together
+	 */
+	static final int LEAF_VALUE_COUNT = 1 << 10;
+
+	/**
+	 * minimal number of rows worth a separate task
+	 */
+	static final int MINIMAL_ROW_COUNT = 32;
+
+	private Transposition() {
+	}
+
+	/**
+	 * stores the transpose of the rows [rowFrom, rowTo) of source into the
+	 * respective columns of destination. disjoint row ranges may be transposed in
+	 * parallel.
+	 * 
+	 * @param source      row-major rowCount x columnCount array
+	 * @param rowCount    number of rows of source
+	 * @param columnCount number of columns of source
+	 * @param destination row-major columnCount x rowCount array
+	 * @param rowFrom     first row (inclusive)
+	 * @param rowTo       last row (exclusive)
+	 */
+	static void transpose(double[] source, int rowCount, int columnCount, double[] destination, int rowFrom,
+			int rowTo) {
+		if (rowFrom < rowTo)
+			transpose(source, rowCount, columnCount, destination, rowFrom, rowTo, 0, columnCount);
+	}
+
+	private static void transpose(double[] source, int rowCount, int columnCount, double[] destination, int rowFrom,
+			int rowTo, int columnFrom, int columnTo) {
+		int rows = rowTo - rowFrom;
+		int columns = columnTo - columnFrom;
+		if (rows * columns <= LEAF_VALUE_COUNT) {
+			int offset;
+			for (int i = rowFrom; i < rowTo; i++) {
+				offset = i * columnCount;
+				for (int j = columnFrom; j < columnTo; j++)
+					destination[j * rowCount + i] = source[offset + j];
+			}
+		} else if (rows >= columns) {
+			int middle = rowFrom + rows / 2;
+			transpose(source, rowCount, columnCount, destination, rowFrom, middle, columnFrom, columnTo);
+			transpose(source, rowCount, columnCount, destination, middle, rowTo, columnFrom, columnTo);
+		} else {
+			int middle = columnFrom + columns / 2;
+			transpose(source, rowCount, columnCount, destination, rowFrom, rowTo, columnFrom, middle);
+			transpose(source, rowCount, columnCount, destination, rowFrom, rowTo, middle, columnTo);
+		}
+	}
+
+	/**
+	 * stores the transpose of the rows [rowFrom, rowTo) of matrix into the
+	 * respective columns of destination - the values are read by
+	 * {@link DoubleMatrix#getValue(int, int)} in the same blocks as
+	 * {@link #transpose(double[], int, int, double[], int, int)} reads arrays
+	 * 
+	 * @param matrix      source
+	 * @param destination row-major getColumnCount() x getRowCount() array
+	 * @param rowFrom     first row (inclusive)
+	 * @param rowTo       last row (exclusive)
+	 */
+	static void transpose(DoubleMatrix matrix, double[] destination, int rowFrom, int rowTo) {
+		if (rowFrom < rowTo)
+			transpose(matrix, destination, rowFrom, rowTo, 0, matrix.getColumnCount());
+	}
+
+	private static void transpose(DoubleMatrix matrix, double[] destination, int rowFrom, int rowTo, int columnFrom,
+			int columnTo) {
+		int rows = rowTo - rowFrom;
+		int columns = columnTo - columnFrom;
+		if (rows * columns <= LEAF_VALUE_COUNT) {
+			int rowCount = matrix.getRowCount();
+			for (int i = rowFrom; i < rowTo; i++) {
+				for (int j = columnFrom; j < columnTo; j++)
+					destination[j * rowCount + i] = matrix.getValue(i, j);
+			}
+		} else if (rows >= columns) {
+			int middle = rowFrom + rows / 2;
+			transpose(matrix, destination, rowFrom, middle, columnFrom, columnTo);
+			transpose(matrix, destination, middle, rowTo, columnFrom, columnTo);
+		} else {
+			int middle = columnFrom + columns / 2;
+			transpose(matrix, destination, rowFrom, rowTo, columnFrom, middle);
+			transpose(matrix, destination, rowFrom, rowTo, middle, columnTo);
+		}
+	}
+
+	/**
+	 * transposes the square array in place for the rows [rowFrom, rowTo), i.e.
+	 * swaps (i, j) and (j, i) for every i in [rowFrom, rowTo) and j &lt; i.
+	 * disjoint row ranges touch disjoint values and may be transposed in parallel.
+	 * 
+	 * @param values  row-major size x size array
+	 * @param size    number of rows and columns
+	 * @param rowFrom first row (inclusive)
+	 * @param rowTo   last row (exclusive)
+	 */
+	static void transposeSquare(double[] values, int size, int rowFrom, int rowTo) {
+		if (rowFrom >= rowTo)
+			return;
+		swapBlocks(values, size, rowFrom, rowTo, 0, rowFrom);
+		transposeDiagonal(values, size, rowFrom, rowTo);
+	}
+
+	/**
+	 * transposes the diagonal block [from, to) x [from, to) in place
+	 */
+	private static void transposeDiagonal(double[] values, int size, int from, int to) {
+		int length = to - from;
+		if (length * length <= LEAF_VALUE_COUNT) {
+			double value;
+			for (int i = from + 1; i < to; i++) {
+				for (int j = from; j < i; j++) {
+					value = values[i * size + j];
+					values[i * size + j] = values[j * size + i];
+					values[j * size + i] = value;
+				}
+			}
+			return;
+		}
+		int middle = from + length / 2;
+		transposeDiagonal(values, size, from, middle);
+		transposeDiagonal(values, size, middle, to);
+		swapBlocks(values, size, middle, to, from, middle);
+	}
+
+	/**
+	 * swaps the block [rowFrom, rowTo) x [columnFrom, columnTo) with the transpose
+	 * of the block [columnFrom, columnTo) x [rowFrom, rowTo) - the blocks must not
+	 * overlap
+	 */
+	private static void swapBlocks(double[] values, int size, int rowFrom, int rowTo, int columnFrom,
+			int columnTo) {
+		int rows = rowTo - rowFrom;
+		int columns = columnTo - columnFrom;
+		if (rows * columns <= LEAF_VALUE_COUNT) {
+			double value;
+			for (int i = rowFrom; i < rowTo; i++) {
+				for (int j = columnFrom; j < columnTo; j++) {
+					value = values[i * size + j];
+					values[i * size + j] = values[j * size + i];
+					values[j * size + i] = value;
+				}
+			}
+		} else if (rows >= columns) {
+			int middle = rowFrom + rows / 2;
+			swapBlocks(values, size, rowFrom, middle, columnFrom, columnTo);
+			swapBlocks(values, size, middle, rowTo, columnFrom, columnTo);
+		} else {
+			int middle = columnFrom + columns / 2;
+			swapBlocks(values, size, rowFrom, rowTo, columnFrom, middle);
+			swapBlocks(values, size, rowFrom, rowTo, middle, columnTo);
+		}
+	}
+
+	/**
+	 * transposes the rectangular array in place by following the cycles of the
+	 * permutation. the value at index k = i * columnCount + j moves to j *
+	 * rowCount + i = k * rowCount mod (rowCount * columnCount - 1). runs in
+	 * O(rowCount * columnCount) and needs rowCount * columnCount / 8 bytes in
+	 * addition.
+	 * 
+	 * @param values      row-major rowCount x columnCount array - a row-major
+	 *                    columnCount x rowCount array afterwards
+	 * @param rowCount    number of rows
+	 * @param columnCount number of columns
+	 */
+	static void transposeRectangular(double[] values, int rowCount, int columnCount) {
+		if (rowCount == 1 || columnCount == 1)
+			return;
+		long modulus = (long) rowCount * columnCount - 1;
+		long[] visited = new long[(int) ((modulus + 64) >>> 6)];
+		int next;
+		double value;
+		double carried;
+		for (int start = 1; start < modulus; start++) {
+			if ((visited[start >>> 6] & (1L << start)) != 0)
+				continue;
+			carried = values[start];
+			next = start;
+			do {
+				next = (int) (next * (long) rowCount % modulus);
+				value = values[next];
+				values[next] = carried;
+				carried = value;
+				visited[next >>> 6] |= 1L << next;
+			} while (next != start);
+		}
+	}
+
+}
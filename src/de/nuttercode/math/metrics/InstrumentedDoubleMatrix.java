@@ -0,0 +1,349 @@
+package de.nuttercode.math.metrics;
+
+import de.nuttercode.math.matrix.ConcurrentSparseDoubleMatrix;
+import de.nuttercode.math.matrix.CscDoubleMatrix;
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.DoubleMatrixVisitor;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.matrix.TransposedDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * view of a {@link DoubleMatrix} whose products and lookups are recorded by
+ * {@link Metrics} - every operation is delegated to the matrix, so the kernels
+ * of the matrix are used. instrumented operands and results of
+ * {@link #multiply(DoubleMatrix, DoubleMatrix, Parallelism)} are unwrapped, so
+ * the special cases of the matrix still apply. the floating point operations
+ * and bytes are estimated from the number of stored values and the storage
+ * format of the matrix.
+ * 
+ * @see Metrics#instrument(DoubleMatrix)
+ * @author Johannes B. Latzel
+ *
+ */
+public class InstrumentedDoubleMatrix implements DoubleMatrix {
+
+	/**
+	 * the matrix which stores the values
+	 */
+	private final DoubleMatrix original;
+
+	private final Metrics metrics;
+
+	/**
+	 * simple name of the class of {@link #original} - the subject of the events
+	 */
+	private final String subject;
+
+	/**
+	 * @param matrix  the matrix which stores the values
+	 * @param metrics
+	 * @throws IllegalArgumentException if an argument is null
+	 */
+	public InstrumentedDoubleMatrix(@NotNull DoubleMatrix matrix, @NotNull Metrics metrics) {
+		original = Assurance.assureNotNull(matrix);
+		this.metrics = Assurance.assureNotNull(metrics);
+		subject = matrix.getClass().getSimpleName();
+	}
+
+	/**
+	 * @return the matrix which stores the values
+	 */
+	public DoubleMatrix getOriginal() {
+		return original;
+	}
+
+	/**
+	 * @return the metrics which record the operations
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @param matrix
+	 * @return the original matrix if matrix is instrumented, matrix otherwise
+	 */
+	private static DoubleMatrix unwrap(DoubleMatrix matrix) {
+		return matrix instanceof InstrumentedDoubleMatrix ? ((InstrumentedDoubleMatrix) matrix).original : matrix;
+	}
+
+	/**
+	 * @param matrix
+	 * @return number of values which are stored by the matrix - getRowCount() *
+	 *         getColumnCount() unless the matrix is sparse
+	 */
+	static long getValueCount(DoubleMatrix matrix) {
+		matrix = unwrap(matrix);
+		if (matrix instanceof TransposedDoubleMatrix)
+			return getValueCount(((TransposedDoubleMatrix) matrix).getOriginal());
+		if (matrix instanceof SparseDoubleMatrix)
+			return ((SparseDoubleMatrix) matrix).getValueCount();
+		if (matrix instanceof ConcurrentSparseDoubleMatrix)
+			return ((ConcurrentSparseDoubleMatrix) matrix).getValueCount();
+		if (matrix instanceof CsrDoubleMatrix)
+			return ((CsrDoubleMatrix) matrix).getValueCount();
+		if (matrix instanceof CscDoubleMatrix)
+			return ((CscDoubleMatrix) matrix).getValueCount();
+		return (long) matrix.getRowCount() * matrix.getColumnCount();
+	}
+
+	/**
+	 * @param matrix
+	 * @param valueCount {@link #getValueCount(DoubleMatrix)}
+	 * @return number of bytes which are read by one pass over the stored values,
+	 *         including keys or indices
+	 */
+	static long getValueBytes(DoubleMatrix matrix, long valueCount) {
+		matrix = unwrap(matrix);
+		if (matrix instanceof TransposedDoubleMatrix)
+			return getValueBytes(((TransposedDoubleMatrix) matrix).getOriginal(), valueCount);
+		if (matrix instanceof SparseDoubleMatrix || matrix instanceof ConcurrentSparseDoubleMatrix)
+			return valueCount * (Long.BYTES + Double.BYTES);
+		if (matrix instanceof CsrDoubleMatrix)
+			return valueCount * (Integer.BYTES + Double.BYTES) + (matrix.getRowCount() + 1L) * Integer.BYTES;
+		if (matrix instanceof CscDoubleMatrix)
+			return valueCount * (Integer.BYTES + Double.BYTES) + (matrix.getColumnCount() + 1L) * Integer.BYTES;
+		return valueCount * Double.BYTES;
+	}
+
+	/**
+	 * records a product of the matrix with count vectors which read vectorLength
+	 * and write resultLength components each
+	 */
+	private void endProduct(OperationEvent event, Operation operation, int count, int vectorLength,
+			int resultLength) {
+		int rows = getRowCount();
+		int columns = getColumnCount();
+		long valueCount = getValueCount(original);
+		metrics.end(event, operation, subject, rows, columns, valueCount,
+				2 * valueCount * count,
+				getValueBytes(original, valueCount) + (long) count * (vectorLength + resultLength) * Double.BYTES);
+	}
+
+	/**
+	 * records a product of the matrix with a sparse vector which reads the
+	 * fraction valueCount / dimension of the stored values
+	 */
+	private void endSparseProduct(OperationEvent event, Operation operation, SparseDoubleVector vector,
+			int resultLength) {
+		int rows = getRowCount();
+		int columns = getColumnCount();
+		long valueCount = getValueCount(original);
+		double fraction = (double) vector.getValueCount() / vector.getDimension();
+		metrics.end(event, operation, subject, rows, columns, valueCount,
+				(long) (2 * valueCount * fraction),
+				(long) (getValueBytes(original, valueCount) * fraction)
+						+ (long) vector.getValueCount() * (Integer.BYTES + Double.BYTES)
+						+ (long) resultLength * Double.BYTES);
+	}
+
+	/**
+	 * @return instrumented transpose of the matrix
+	 * @see DoubleMatrix#transpose()
+	 */
+	@Override
+	public DoubleMatrix transpose() {
+		return new InstrumentedDoubleMatrix(original.transpose(), metrics);
+	}
+
+	/**
+	 * @return copy of the transpose of the matrix - the copy is not instrumented
+	 * @see DoubleMatrix#transposeCopy(Parallelism)
+	 */
+	@Override
+	public DoubleMatrix transposeCopy(Parallelism parallelism) {
+		return original.transposeCopy(parallelism);
+	}
+
+	/**
+	 * @return instrumented view of the matrix
+	 * @see DoubleMatrix#subMatrix(int, int, int, int, int, int)
+	 */
+	@Override
+	public DoubleMatrix subMatrix(int rowOffset, int columnOffset, int rowCount, int columnCount, int rowStride,
+			int columnStride) {
+		return new InstrumentedDoubleMatrix(
+				original.subMatrix(rowOffset, columnOffset, rowCount, columnCount, rowStride, columnStride), metrics);
+	}
+
+	@Override
+	public void setValue(double value, int i, int j) {
+		original.setValue(value, i, j);
+	}
+
+	/**
+	 * counts the lookup as {@link Operation#LOOKUP}
+	 * 
+	 * @see DoubleMatrix#getValue(int, int)
+	 */
+	@Override
+	public double getValue(int i, int j) {
+		metrics.count(Operation.LOOKUP, Double.BYTES);
+		return original.getValue(i, j);
+	}
+
+	@Override
+	public void forEach(DoubleMatrixVisitor consumer) {
+		original.forEach(consumer);
+	}
+
+	@Override
+	public DoubleVector multiply(DoubleVector vector, Parallelism parallelism) {
+		metrics.recordAllocations(Operation.MATRIX_VECTOR, 1);
+		return multiply(vector, new DoubleVector(getRowCount()), parallelism);
+	}
+
+	@Override
+	public DoubleVector multiply(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		if (!metrics.isEnabled())
+			return original.multiply(vector, result, parallelism);
+		OperationEvent event = metrics.begin();
+		original.multiply(vector, result, parallelism);
+		endProduct(event, Operation.MATRIX_VECTOR, 1, getColumnCount(), getRowCount());
+		return result;
+	}
+
+	@Override
+	public void multiplyRows(DoubleVector vector, int from, int to, double[] destination, int destinationOffset) {
+		original.multiplyRows(vector, from, to, destination, destinationOffset);
+	}
+
+	@Override
+	public DoubleVector[] multiply(DoubleVector[] vectors, Parallelism parallelism) {
+		metrics.recordAllocations(Operation.MATRIX_BATCH, Assurance.assureNotNull(vectors).length);
+		return DoubleMatrix.super.multiply(vectors, parallelism);
+	}
+
+	@Override
+	public DoubleVector[] multiply(DoubleVector[] vectors, DoubleVector[] results, Parallelism parallelism) {
+		if (!metrics.isEnabled())
+			return original.multiply(vectors, results, parallelism);
+		OperationEvent event = metrics.begin();
+		original.multiply(vectors, results, parallelism);
+		endProduct(event, Operation.MATRIX_BATCH, vectors.length, getColumnCount(), getRowCount());
+		return results;
+	}
+
+	@Override
+	public DoubleMatrix multiplyBatch(DoubleMatrix batch, Parallelism parallelism) {
+		metrics.recordAllocations(Operation.MATRIX_BATCH, 1);
+		return multiplyBatch(batch, new FullDoubleMatrix(Assurance.assureNotNull(batch).getRowCount(), getRowCount()),
+				parallelism);
+	}
+
+	@Override
+	public DoubleMatrix multiplyBatch(DoubleMatrix batch, DoubleMatrix result, Parallelism parallelism) {
+		if (!metrics.isEnabled())
+			return original.multiplyBatch(unwrap(batch), unwrap(result), parallelism);
+		OperationEvent event = metrics.begin();
+		original.multiplyBatch(unwrap(batch), unwrap(result), parallelism);
+		endProduct(event, Operation.MATRIX_BATCH, batch.getRowCount(), getColumnCount(), getRowCount());
+		return result;
+	}
+
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, Parallelism parallelism) {
+		metrics.recordAllocations(Operation.TRANSPOSED_MATRIX_VECTOR, 1);
+		return multiplyTransposed(vector, new DoubleVector(getColumnCount()), parallelism);
+	}
+
+	@Override
+	public DoubleVector multiplyTransposed(DoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		if (!metrics.isEnabled())
+			return original.multiplyTransposed(vector, result, parallelism);
+		OperationEvent event = metrics.begin();
+		original.multiplyTransposed(vector, result, parallelism);
+		endProduct(event, Operation.TRANSPOSED_MATRIX_VECTOR, 1, getRowCount(), getColumnCount());
+		return result;
+	}
+
+	@Override
+	public DoubleVector multiply(SparseDoubleVector vector) {
+		metrics.recordAllocations(Operation.MATRIX_SPARSE_VECTOR, 1);
+		return multiply(vector, new DoubleVector(getRowCount()), Parallelism.SEQUENTIAL);
+	}
+
+	@Override
+	public DoubleVector multiply(SparseDoubleVector vector, DoubleVector result, Parallelism parallelism) {
+		if (!metrics.isEnabled())
+			return original.multiply(vector, result, parallelism);
+		OperationEvent event = metrics.begin();
+		original.multiply(vector, result, parallelism);
+		endSparseProduct(event, Operation.MATRIX_SPARSE_VECTOR, vector, getRowCount());
+		return result;
+	}
+
+	@Override
+	public DoubleVector multiplyTransposed(SparseDoubleVector vector) {
+		metrics.recordAllocations(Operation.TRANSPOSED_MATRIX_SPARSE_VECTOR, 1);
+		return multiplyTransposed(vector, new DoubleVector(getColumnCount()), Parallelism.SEQUENTIAL);
+	}
+
+	@Override
+	public DoubleVector multiplyTransposed(SparseDoubleVector vector, DoubleVector result,
+			Parallelism parallelism) {
+		if (!metrics.isEnabled())
+			return original.multiplyTransposed(vector, result, parallelism);
+		OperationEvent event = metrics.begin();
+		original.multiplyTransposed(vector, result, parallelism);
+		endSparseProduct(event, Operation.TRANSPOSED_MATRIX_SPARSE_VECTOR, vector, getColumnCount());
+		return result;
+	}
+
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix matrix, Parallelism parallelism) {
+		metrics.recordAllocations(Operation.MATRIX_MATRIX, 1);
+		return multiply(matrix,
+				new FullDoubleMatrix(getRowCount(), Assurance.assureNotNull(matrix).getColumnCount()),
+				parallelism);
+	}
+
+	/**
+	 * the floating point operations are estimated as 2 * (stored values of this
+	 * matrix) * matrix.getColumnCount()
+	 * 
+	 * @see DoubleMatrix#multiply(DoubleMatrix, DoubleMatrix, Parallelism)
+	 */
+	@Override
+	public DoubleMatrix multiply(DoubleMatrix matrix, DoubleMatrix result, Parallelism parallelism) {
+		if (!metrics.isEnabled())
+			return original.multiply(unwrap(matrix), unwrap(result), parallelism);
+		OperationEvent event = metrics.begin();
+		original.multiply(unwrap(matrix), unwrap(result), parallelism);
+		long valueCount = getValueCount(original);
+		long otherValueCount = getValueCount(matrix);
+		metrics.end(event, Operation.MATRIX_MATRIX, subject, getRowCount(),
+				getColumnCount(), valueCount, 2 * valueCount * matrix.getColumnCount(),
+				getValueBytes(original, valueCount) + getValueBytes(matrix, otherValueCount)
+						+ (long) result.getRowCount() * result.getColumnCount() * Double.BYTES);
+		return result;
+	}
+
+	@Override
+	public void reset() {
+		original.reset();
+	}
+
+	@Override
+	public int getRowCount() {
+		return original.getRowCount();
+	}
+
+	@Override
+	public int getColumnCount() {
+		return original.getColumnCount();
+	}
+
+	@Override
+	public void swapRows(int row1, int row2) {
+		original.swapRows(row1, row2);
+	}
+
+}
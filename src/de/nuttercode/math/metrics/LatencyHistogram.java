@@ -0,0 +1,104 @@
+package de.nuttercode.math.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * histogram of latencies in nanoseconds with logarithmic buckets - bucket 0
+ * counts the latencies 0 and bucket b > 0 counts the latencies in [2^(b - 1),
+ * 2^b). recording is lock-free and does not allocate, so it may be called
+ * concurrently from every thread. the quantiles are accurate up to a factor of
+ * 2.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class LatencyHistogram {
+
+	/**
+	 * number of buckets - enough for every non-negative long
+	 */
+	public static final int BUCKET_COUNT = 64;
+
+	private final LongAdder[] buckets;
+
+	public LatencyHistogram() {
+		buckets = new LongAdder[BUCKET_COUNT];
+		for (int b = 0; b < BUCKET_COUNT; b++)
+			buckets[b] = new LongAdder();
+	}
+
+	/**
+	 * @param nanos latency - negative latencies (e.g. of a non-monotonic clock)
+	 *              are counted as 0
+	 * @return bucket of the latency
+	 */
+	static int bucket(long nanos) {
+		return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+	}
+
+	/**
+	 * counts the latency in its bucket
+	 * 
+	 * @param nanos latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		buckets[bucket(nanos)].increment();
+	}
+
+	/**
+	 * @param bucket index in [0, {@link #BUCKET_COUNT})
+	 * @return number of latencies in the bucket
+	 * @throws IllegalArgumentException if bucket is out of bounds
+	 */
+	public long getCount(int bucket) {
+		Assurance.assureBoundaries(bucket, 0, BUCKET_COUNT - 1);
+		return buckets[bucket].sum();
+	}
+
+	/**
+	 * @return number of recorded latencies
+	 */
+	public long getCount() {
+		long count = 0;
+		for (LongAdder bucket : buckets)
+			count += bucket.sum();
+		return count;
+	}
+
+	/**
+	 * @param quantile in [0, 1], e.g. 0.99 for the 99th percentile
+	 * @return upper bound in nanoseconds of the bucket which contains the
+	 *         quantile, 0 if nothing has been recorded
+	 * @throws IllegalArgumentException if quantile is not in [0, 1]
+	 */
+	public long getQuantile(double quantile) {
+		if (!(quantile >= 0 && quantile <= 1))
+			throw new IllegalArgumentException("quantile " + quantile + " is not in [0, 1]");
+		long[] counts = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int b = 0; b < BUCKET_COUNT; b++) {
+			counts[b] = buckets[b].sum();
+			count += counts[b];
+		}
+		if (count == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(quantile * count));
+		int b = 0;
+		long seen = counts[0];
+		while (seen < rank)
+			seen += counts[++b];
+		return b == 0 ? 0 : b == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << b) - 1;
+	}
+
+	/**
+	 * sets every bucket to 0 - latencies which are recorded concurrently may be
+	 * lost
+	 */
+	public void reset() {
+		for (LongAdder bucket : buckets)
+			bucket.reset();
+	}
+
+}
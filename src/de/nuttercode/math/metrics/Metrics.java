@@ -0,0 +1,286 @@
+package de.nuttercode.math.metrics;
+
+import de.nuttercode.math.function.BiDoubleVectorToDoubleFunction;
+import de.nuttercode.math.function.DoubleVectorFunction;
+import de.nuttercode.math.function.InPlaceDoubleVectorFunction;
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * per-operation call counts, floating point operations, bytes touched,
+ * allocations and latency histograms of one layer of an application, e.g. a
+ * solver or a network. matrices are instrumented by wrapping them with
+ * {@link #instrument(DoubleMatrix)} and functions by wrapping them with
+ * {@link #instrument(String, DoubleVectorFunction)},
+ * {@link #instrumentInPlace(String, InPlaceDoubleVectorFunction)} or
+ * {@link #instrumentLoss(String, BiDoubleVectorToDoubleFunction)} - everything
+ * which is not wrapped is not affected at all. every recorded operation except
+ * {@link Operation#LOOKUP} is emitted as flight recorder event
+ * {@value OperationEvent#NAME} as well, which contains the density of the
+ * matrix, so matrices which are stored sparse but have become dense stand out.
+ * <br>
+ * <br>
+ * a disabled instance records nothing - an instrumented operation then costs
+ * one read of a volatile field in addition to the operation itself, so
+ * instrumented matrices may stay in place in production and be enabled on
+ * demand by {@link #setEnabled(boolean)}. new instances are enabled if the
+ * system property {@value #ENABLED_PROPERTY} is true. an enabled instance
+ * measures the latency by {@link System#nanoTime()} and updates lock-free
+ * counters, which is negligible for products of all but tiny matrices.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class Metrics {
+
+	/**
+	 * name of the system property which enables new instances if set to true
+	 */
+	public static final String ENABLED_PROPERTY = "de.nuttercode.math.metrics";
+
+	private final String name;
+	private final OperationStatistics[] statistics;
+	private volatile boolean enabled;
+
+	/**
+	 * enabled if the system property {@value #ENABLED_PROPERTY} is true
+	 * 
+	 * @param name name of the layer - part of every event
+	 * @throws IllegalArgumentException if name is null
+	 */
+	public Metrics(@NotNull String name) {
+		this(name, Boolean.getBoolean(ENABLED_PROPERTY));
+	}
+
+	/**
+	 * @param name    name of the layer - part of every event
+	 * @param enabled true if operations are recorded
+	 * @throws IllegalArgumentException if name is null
+	 */
+	public Metrics(@NotNull String name, boolean enabled) {
+		this.name = Assurance.assureNotNull(name);
+		Operation[] operations = Operation.values();
+		statistics = new OperationStatistics[operations.length];
+		for (Operation operation : operations)
+			statistics[operation.ordinal()] = new OperationStatistics(operation);
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return name of the layer
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return true if operations are recorded
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * enables or disables the recording - operations which are running are
+	 * recorded according to the state at their beginning
+	 * 
+	 * @param enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @param operation
+	 * @return statistics of the operation
+	 * @throws IllegalArgumentException if operation is null
+	 */
+	public OperationStatistics getStatistics(@NotNull Operation operation) {
+		return statistics[Assurance.assureNotNull(operation).ordinal()];
+	}
+
+	/**
+	 * resets the statistics of every operation
+	 */
+	public void reset() {
+		for (OperationStatistics operationStatistics : statistics)
+			operationStatistics.reset();
+	}
+
+	/**
+	 * @param matrix
+	 * @return view of matrix whose operations are recorded by this instance
+	 * @throws IllegalArgumentException if matrix is null
+	 */
+	public InstrumentedDoubleMatrix instrument(@NotNull DoubleMatrix matrix) {
+		return new InstrumentedDoubleMatrix(matrix, this);
+	}
+
+	/**
+	 * @param name     name of the function - part of every event
+	 * @param function
+	 * @return function whose evaluations are recorded by this instance as
+	 *         {@link Operation#FUNCTION}
+	 * @throws IllegalArgumentException if an argument is null
+	 */
+	public DoubleVectorFunction instrument(@NotNull String name, @NotNull DoubleVectorFunction function) {
+		Assurance.assureNotNull(name);
+		Assurance.assureNotNull(function);
+		return value -> {
+			if (!enabled)
+				return function.apply(value);
+			OperationEvent event = begin();
+			DoubleVector result = function.apply(value);
+			endFunction(event, name, value, result);
+			return result;
+		};
+	}
+
+	/**
+	 * @param name     name of the function - part of every event
+	 * @param function
+	 * @return function whose evaluations are recorded by this instance as
+	 *         {@link Operation#FUNCTION} - {@link InPlaceDoubleVectorFunction#apply(DoubleVector)}
+	 *         counts as allocation
+	 * @throws IllegalArgumentException if an argument is null
+	 */
+	public InPlaceDoubleVectorFunction instrumentInPlace(@NotNull String name,
+			@NotNull InPlaceDoubleVectorFunction function) {
+		Assurance.assureNotNull(name);
+		Assurance.assureNotNull(function);
+		return new InPlaceDoubleVectorFunction() {
+
+			private static final long serialVersionUID = -6003786235186254532L;
+
+			@Override
+			public DoubleVector apply(DoubleVector value, DoubleVector result) {
+				if (!enabled)
+					return function.apply(value, result);
+				OperationEvent event = begin();
+				function.apply(value, result);
+				endFunction(event, name, value, result);
+				return result;
+			}
+
+			@Override
+			public DoubleVector apply(DoubleVector value) {
+				recordAllocations(Operation.FUNCTION, 1);
+				return InPlaceDoubleVectorFunction.super.apply(value);
+			}
+
+		};
+	}
+
+	/**
+	 * @param name     name of the function - part of every event
+	 * @param function
+	 * @return function whose evaluations are recorded by this instance as
+	 *         {@link Operation#FUNCTION}
+	 * @throws IllegalArgumentException if an argument is null
+	 */
+	public BiDoubleVectorToDoubleFunction instrumentLoss(@NotNull String name,
+			@NotNull BiDoubleVectorToDoubleFunction function) {
+		Assurance.assureNotNull(name);
+		Assurance.assureNotNull(function);
+		return (v, w) -> {
+			if (!enabled)
+				return function.apply(v, w);
+			OperationEvent event = begin();
+			double result = function.apply(v, w);
+			int dimension = v.getDimension();
+			end(event, Operation.FUNCTION, name, dimension, 1, dimension, 0,
+					(long) (dimension + w.getDimension()) * Double.BYTES);
+			return result;
+		};
+	}
+
+	/**
+	 * starts the measurement of an operation - only called if enabled
+	 * 
+	 * @return event which is passed to
+	 *         {@link #end(OperationEvent, Operation, String, int, int, long, long, long)}
+	 */
+	OperationEvent begin() {
+		OperationEvent event = new OperationEvent();
+		event.begin();
+		event.start = System.nanoTime();
+		return event;
+	}
+
+	/**
+	 * records an operation which was started by {@link #begin()} and emits its
+	 * event if the flight recorder records it
+	 * 
+	 * @param event      the event of {@link #begin()}
+	 * @param operation
+	 * @param subject    class of the matrix or name of the function
+	 * @param rows       rows of the matrix or dimension of the argument
+	 * @param columns    columns of the matrix or 1
+	 * @param valueCount values which are stored by the matrix
+	 * @param flops      floating point operations
+	 * @param bytes      bytes read or written
+	 */
+	void end(OperationEvent event, Operation operation, String subject, int rows, int columns, long valueCount,
+			long flops, long bytes) {
+		long nanos = System.nanoTime() - event.start;
+		event.end();
+		statistics[operation.ordinal()].record(nanos, flops, bytes);
+		if (event.shouldCommit()) {
+			event.layer = name;
+			event.operation = operation.name();
+			event.subject = subject;
+			event.rows = rows;
+			event.columns = columns;
+			event.valueCount = valueCount;
+			event.density = (double) valueCount / ((double) rows * columns);
+			event.flops = flops;
+			event.bytes = bytes;
+			event.commit();
+		}
+	}
+
+	/**
+	 * records the evaluation of a function of one vector
+	 */
+	private void endFunction(OperationEvent event, String name, DoubleVector value, DoubleVector result) {
+		int dimension = value.getDimension();
+		end(event, Operation.FUNCTION, name, dimension, 1, dimension, 0,
+				(long) (dimension + result.getDimension()) * Double.BYTES);
+	}
+
+	/**
+	 * records an operation without measuring its latency and without event -
+	 * checks whether this instance is enabled
+	 * 
+	 * @param operation
+	 * @param bytes     bytes read or written
+	 */
+	void count(Operation operation, long bytes) {
+		if (enabled)
+			statistics[operation.ordinal()].record(-1, 0, bytes);
+	}
+
+	/**
+	 * records allocated results - checks whether this instance is enabled
+	 * 
+	 * @param operation
+	 * @param count     number of allocated results
+	 */
+	void recordAllocations(Operation operation, long count) {
+		if (enabled)
+			statistics[operation.ordinal()].recordAllocations(count);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(name);
+		for (OperationStatistics operationStatistics : statistics) {
+			if (operationStatistics.getCalls() != 0 || operationStatistics.getAllocations() != 0)
+				builder.append(System.lineSeparator()).append(operationStatistics);
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,58 @@
+package de.nuttercode.math.metrics;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+
+/**
+ * kind of an operation which is recorded by {@link Metrics}
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public enum Operation {
+
+	/**
+	 * product of a matrix and a {@link DoubleVector}
+	 */
+	MATRIX_VECTOR,
+
+	/**
+	 * product of the transpose of a matrix and a {@link DoubleVector}
+	 */
+	TRANSPOSED_MATRIX_VECTOR,
+
+	/**
+	 * product of a matrix and a {@link SparseDoubleVector}
+	 */
+	MATRIX_SPARSE_VECTOR,
+
+	/**
+	 * product of the transpose of a matrix and a {@link SparseDoubleVector}
+	 */
+	TRANSPOSED_MATRIX_SPARSE_VECTOR,
+
+	/**
+	 * product of a matrix and a batch of vectors - either an array of
+	 * {@link DoubleVector}s or the rows of a {@link DoubleMatrix}
+	 */
+	MATRIX_BATCH,
+
+	/**
+	 * product of two matrices
+	 */
+	MATRIX_MATRIX,
+
+	/**
+	 * read of a single value of a matrix. lookups are only counted - their latency
+	 * is not measured and no event is emitted, since both would cost more than
+	 * the lookup itself.
+	 */
+	LOOKUP,
+
+	/**
+	 * evaluation of a function of {@link DoubleVector}s
+	 */
+	FUNCTION
+
+}
@@ -0,0 +1,69 @@
+package de.nuttercode.math.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+
+/**
+ * flight recorder event of an operation which is recorded by {@link Metrics}.
+ * the event is enabled by default and has no threshold - a recording may filter
+ * it by e.g. -XX:StartFlightRecording:settings=profile or a threshold on
+ * {@value #NAME}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@Name(OperationEvent.NAME)
+@Label("Math Operation")
+@Category({ "Nuttercode Math" })
+@Description("matrix product or function evaluation of an instrumented layer")
+final class OperationEvent extends Event {
+
+	/**
+	 * name of the event type
+	 */
+	static final String NAME = "de.nuttercode.math.Operation";
+
+	@Label("Layer")
+	@Description("name of the metrics which recorded the operation")
+	String layer;
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Subject")
+	@Description("class of the matrix or name of the function")
+	String subject;
+
+	@Label("Rows")
+	int rows;
+
+	@Label("Columns")
+	int columns;
+
+	@Label("Stored Values")
+	@Description("number of values which the matrix stores - rows * columns for dense matrices")
+	long valueCount;
+
+	@Label("Density")
+	@Description("stored values / (rows * columns)")
+	@Percentage
+	double density;
+
+	@Label("Floating Point Operations")
+	long flops;
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+
+	/**
+	 * {@link System#nanoTime()} at the beginning - not part of the event
+	 */
+	transient long start;
+
+}
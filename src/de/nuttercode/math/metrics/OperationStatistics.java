@@ -0,0 +1,129 @@
+package de.nuttercode.math.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * aggregated measurements of one {@link Operation}. the counters are lock-free
+ * and may be updated concurrently from every thread - a snapshot which is read
+ * while operations are recorded may mix values of different operations.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class OperationStatistics {
+
+	private final Operation operation;
+	private final LongAdder calls;
+	private final LongAdder nanos;
+	private final LongAdder flops;
+	private final LongAdder bytes;
+	private final LongAdder allocations;
+	private final LatencyHistogram latency;
+
+	OperationStatistics(Operation operation) {
+		this.operation = operation;
+		calls = new LongAdder();
+		nanos = new LongAdder();
+		flops = new LongAdder();
+		bytes = new LongAdder();
+		allocations = new LongAdder();
+		latency = new LatencyHistogram();
+	}
+
+	/**
+	 * records one call
+	 * 
+	 * @param nanos latency of the call or -1 if it was not measured
+	 * @param flops floating point operations of the call
+	 * @param bytes bytes read or written by the call
+	 */
+	void record(long nanos, long flops, long bytes) {
+		calls.increment();
+		if (nanos >= 0) {
+			this.nanos.add(nanos);
+			latency.record(nanos);
+		}
+		this.flops.add(flops);
+		this.bytes.add(bytes);
+	}
+
+	/**
+	 * @param count number of allocated results
+	 */
+	void recordAllocations(long count) {
+		allocations.add(count);
+	}
+
+	/**
+	 * @return the operation
+	 */
+	public Operation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * @return number of calls
+	 */
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	/**
+	 * @return sum of the measured latencies in nanoseconds
+	 */
+	public long getNanos() {
+		return nanos.sum();
+	}
+
+	/**
+	 * @return estimated number of floating point operations - a multiply-add
+	 *         counts as 2
+	 */
+	public long getFlops() {
+		return flops.sum();
+	}
+
+	/**
+	 * @return estimated number of bytes which were read or written - the stored
+	 *         values, indices and the vectors
+	 */
+	public long getBytes() {
+		return bytes.sum();
+	}
+
+	/**
+	 * @return number of results which were allocated by the operation instead of
+	 *         being passed in by the caller
+	 */
+	public long getAllocations() {
+		return allocations.sum();
+	}
+
+	/**
+	 * @return histogram of the measured latencies
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	/**
+	 * sets every counter to 0 - calls which are recorded concurrently may be lost
+	 * partially
+	 */
+	public void reset() {
+		calls.reset();
+		nanos.reset();
+		flops.reset();
+		bytes.reset();
+		allocations.reset();
+		latency.reset();
+	}
+
+	@Override
+	public String toString() {
+		return operation + " [calls=" + getCalls() + ", nanos=" + getNanos() + ", flops=" + getFlops() + ", bytes="
+				+ getBytes() + ", allocations=" + getAllocations() + ", p50=" + latency.getQuantile(0.5) + ", p99="
+				+ latency.getQuantile(0.99) + "]";
+	}
+
+}
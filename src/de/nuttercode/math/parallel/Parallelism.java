@@ -0,0 +1,164 @@
+package de.nuttercode.math.parallel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * describes how an operation may be split across threads. operations which
+ * accept a {@link Parallelism} split their index range into disjoint chunks if
+ * their estimated work reaches {@link #getThreshold()} and run the chunks on
+ * {@link #getExecutor()}. every operation in this library computes each result
+ * component in the same order regardless of the chunking, so results are
+ * identical to the sequential execution.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class Parallelism {
+
+	/**
+	 * default minimal work (roughly the number of multiply-add operations) of a
+	 * parallel execution
+	 */
+	public static final long DEFAULT_THRESHOLD = 1 << 16;
+
+	/**
+	 * runs everything in the calling thread
+	 */
+	public static final Parallelism SEQUENTIAL = new Parallelism(Runnable::run, 1, Long.MAX_VALUE);
+
+	/**
+	 * number of chunks per thread - more chunks than threads balance uneven work
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final Executor executor;
+	private final int parallelism;
+	private final long threshold;
+
+	/**
+	 * uses {@link ForkJoinPool#commonPool()} with {@link #DEFAULT_THRESHOLD}
+	 */
+	public Parallelism() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * uses the pool and its parallelism with {@link #DEFAULT_THRESHOLD}
+	 * 
+	 * @param pool
+	 */
+	public Parallelism(@NotNull ForkJoinPool pool) {
+		this(pool, Assurance.assureNotNull(pool).getParallelism(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * @param executor    executes the chunks
+	 * @param parallelism number of threads which may work on one operation
+	 * @param threshold   minimal work of an operation which will be executed in
+	 *                    parallel
+	 */
+	public Parallelism(@NotNull Executor executor, @Positive int parallelism, @Positive long threshold) {
+		Assurance.assureNotNull(executor);
+		Assurance.assurePositive(parallelism);
+		if (threshold <= 0)
+			throw new IllegalArgumentException("threshold " + threshold + " is not positive");
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return the executor which executes the chunks
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @return number of threads which may work on one operation
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @return minimal work of an operation which will be executed in parallel
+	 */
+	public long getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * @param work estimated work of an operation
+	 * @return true if and only if an operation with this work will be split
+	 */
+	public boolean isParallel(long work) {
+		return parallelism > 1 && work >= threshold;
+	}
+
+	/**
+	 * runs the task on [0, count). if {@link #isParallel(long) isParallel(work)}
+	 * the range is split into disjoint chunks of at least minimalChunkSize indices
+	 * which are run on {@link #getExecutor()} - the calling thread runs one chunk
+	 * itself and waits for the others. exceptions thrown by a chunk are rethrown
+	 * after all chunks finished.
+	 * 
+	 * @param count            number of indices
+	 * @param minimalChunkSize minimal number of indices of a chunk
+	 * @param work             estimated work of the whole range
+	 * @param task             processes a chunk
+	 */
+	public void execute(int count, @Positive int minimalChunkSize, long work, @NotNull RangeTask task) {
+		Assurance.assureNotNull(task);
+		Assurance.assurePositive(minimalChunkSize);
+		int chunkCount = (int) Math.min((long) parallelism * CHUNKS_PER_THREAD, count / minimalChunkSize);
+		if (chunkCount <= 1 || !isParallel(work)) {
+			task.run(0, count);
+			return;
+		}
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[chunkCount - 1];
+		for (int a = 0; a < chunkCount - 1; a++) {
+			int from = chunkStart(a, chunkCount, count);
+			int to = chunkStart(a + 1, chunkCount, count);
+			futures[a] = CompletableFuture.runAsync(() -> task.run(from, to), executor);
+		}
+		Throwable throwable = null;
+		try {
+			task.run(chunkStart(chunkCount - 1, chunkCount, count), count);
+		} catch (RuntimeException | Error e) {
+			throwable = e;
+		}
+		for (CompletableFuture<?> future : futures) {
+			try {
+				future.join();
+			} catch (CompletionException e) {
+				if (throwable == null)
+					throwable = e.getCause();
+			}
+		}
+		if (throwable instanceof RuntimeException)
+			throw (RuntimeException) throwable;
+		if (throwable instanceof Error)
+			throw (Error) throwable;
+		if (throwable != null)
+			throw new CompletionException(throwable);
+	}
+
+	/**
+	 * @param chunk
+	 * @param chunkCount
+	 * @param count
+	 * @return first index of the chunk
+	 */
+	private static int chunkStart(int chunk, int chunkCount, int count) {
+		return (int) ((long) count * chunk / chunkCount);
+	}
+
+}
@@ -0,0 +1,21 @@
+package de.nuttercode.math.parallel;
+
+/**
+ * processes a range of indices
+ * 
+ * @author Johannes B. Latzel
+ * @see Parallelism#execute(int, int, long, RangeTask)
+ *
+ */
+@FunctionalInterface
+public interface RangeTask {
+
+	/**
+	 * processes the indices [from, to)
+	 * 
+	 * @param from first index (inclusive)
+	 * @param to   last index (exclusive)
+	 */
+	void run(int from, int to);
+
+}
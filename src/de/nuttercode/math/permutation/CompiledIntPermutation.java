@@ -0,0 +1,317 @@
+package de.nuttercode.math.permutation;
+
+import java.util.Arrays;
+
+import de.nuttercode.math.matrix.Matrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * permutation of {0, ..., size - 1} backed by a lookup table, so
+ * {@link #apply(int)} runs in O(1) and {@link #compose(CompiledIntPermutation)}
+ * and {@link #getInverse()} run in O(size). the cycles are computed once on
+ * creation, so permuting vectors, arrays and matrix rows in place does not
+ * allocate. create instances from a table or from an {@link IntPermutation}
+ * via {@link IntPermutation#compile(int)}. instances are immutable.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class CompiledIntPermutation {
+
+	/**
+	 * table[value] is the result of {@link #apply(int)}
+	 */
+	private final int[] table;
+
+	/**
+	 * elements of all cycles with a length greater than 1 - every cycle is stored
+	 * in the order v, apply(v), apply(apply(v)), ...
+	 */
+	private final int[] cycleElements;
+
+	/**
+	 * the cycle c is stored in [cycleStarts[c], cycleStarts[c + 1]) of
+	 * {@link #cycleElements}
+	 */
+	private final int[] cycleStarts;
+
+	/**
+	 * 1 if the permutation is even and -1 if it is odd
+	 */
+	private final int sign;
+
+	/**
+	 * creates the permutation which maps value to table[value]
+	 * 
+	 * @param table lookup table - will be copied
+	 * @throws IllegalArgumentException if table is null or not a permutation of
+	 *                                  {0, ..., table.length - 1}
+	 */
+	public CompiledIntPermutation(@NotNull int[] table) {
+		this(Arrays.copyOf(Assurance.assureNotNull(table), table.length), true);
+	}
+
+	/**
+	 * @param table  lookup table - will not be copied
+	 * @param verify true if table has to be checked
+	 */
+	CompiledIntPermutation(int[] table, boolean verify) {
+		this.table = table;
+		if (verify) {
+			boolean[] hit = new boolean[table.length];
+			for (int value : table) {
+				Assurance.assureBoundaries(value, 0, table.length - 1);
+				if (hit[value])
+					throw new IllegalArgumentException("value " + value + " is hit twice");
+				hit[value] = true;
+			}
+		}
+		boolean[] visited = new boolean[table.length];
+		int[] elements = new int[table.length];
+		int[] starts = new int[table.length / 2 + 1];
+		int elementCount = 0;
+		int cycleCount = 0;
+		int transpositionCount = 0;
+		int start, value;
+		for (int a = 0; a < table.length; a++) {
+			if (visited[a] || table[a] == a)
+				continue;
+			start = elementCount;
+			value = a;
+			do {
+				visited[value] = true;
+				elements[elementCount++] = value;
+				value = table[value];
+			} while (value != a);
+			starts[cycleCount++] = start;
+			transpositionCount += elementCount - start - 1;
+		}
+		starts[cycleCount] = elementCount;
+		cycleElements = Arrays.copyOf(elements, elementCount);
+		cycleStarts = Arrays.copyOf(starts, cycleCount + 1);
+		sign = (transpositionCount & 1) == 0 ? 1 : -1;
+	}
+
+	/**
+	 * @param size
+	 * @return the identity on {0, ..., size - 1}
+	 */
+	public static CompiledIntPermutation identity(int size) {
+		int[] table = new int[size];
+		for (int a = 0; a < size; a++)
+			table[a] = a;
+		return new CompiledIntPermutation(table, false);
+	}
+
+	/**
+	 * @param value
+	 * @return the image of value
+	 * @throws ArrayIndexOutOfBoundsException if value is not in {0, ..., getSize()
+	 *                                        - 1}
+	 */
+	public int apply(int value) {
+		return table[value];
+	}
+
+	/**
+	 * @return number of permuted values
+	 */
+	public int getSize() {
+		return table.length;
+	}
+
+	/**
+	 * @return a copy of the lookup table
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(table, table.length);
+	}
+
+	/**
+	 * @param permutation
+	 * @return this after permutation, i.e. the permutation which maps v to
+	 *         apply(permutation.apply(v))
+	 * @throws IllegalArgumentException if permutation is null or has a different
+	 *                                  size
+	 */
+	public CompiledIntPermutation compose(@NotNull CompiledIntPermutation permutation) {
+		Assurance.assureEquals(table.length, Assurance.assureNotNull(permutation).table.length);
+		int[] result = new int[table.length];
+		for (int a = 0; a < table.length; a++)
+			result[a] = table[permutation.table[a]];
+		return new CompiledIntPermutation(result, false);
+	}
+
+	/**
+	 * @return the inverse of this permutation
+	 */
+	public CompiledIntPermutation getInverse() {
+		int[] result = new int[table.length];
+		for (int a = 0; a < table.length; a++)
+			result[table[a]] = a;
+		return new CompiledIntPermutation(result, false);
+	}
+
+	/**
+	 * @return 1 if this permutation is even and -1 if it is odd
+	 */
+	public int getSign() {
+		return sign;
+	}
+
+	/**
+	 * @return true if this permutation is a product of an even number of
+	 *         transpositions
+	 */
+	public boolean isEven() {
+		return sign == 1;
+	}
+
+	/**
+	 * @return number of cycles with a length greater than 1
+	 */
+	public int getCycleCount() {
+		return cycleStarts.length - 1;
+	}
+
+	/**
+	 * @return all cycles with a length greater than 1 - every cycle is given in
+	 *         the order v, apply(v), apply(apply(v)), ...
+	 */
+	public int[][] getCycles() {
+		int[][] cycles = new int[getCycleCount()][];
+		for (int c = 0; c < cycles.length; c++)
+			cycles[c] = Arrays.copyOfRange(cycleElements, cycleStarts[c], cycleStarts[c + 1]);
+		return cycles;
+	}
+
+	/**
+	 * @return this permutation as chain of transpositions
+	 */
+	public IntPermutation toIntPermutation() {
+		IntPermutation permutation = new IntPermutation();
+		int start;
+		for (int c = 0; c < getCycleCount(); c++) {
+			start = cycleStarts[c];
+			for (int a = start + 1; a < cycleStarts[c + 1]; a++)
+				permutation.chain(new IntTransposition(cycleElements[start], cycleElements[a]));
+		}
+		return permutation;
+	}
+
+	/**
+	 * permutes the array in place, such that array[v] becomes the old
+	 * array[apply(v)] for every v
+	 * 
+	 * @param array array of length {@link #getSize()}
+	 * @throws IllegalArgumentException if array is null or has the wrong length
+	 */
+	public void permute(@NotNull int[] array) {
+		Assurance.assureEquals(table.length, Assurance.assureNotNull(array).length);
+		int end, first;
+		for (int c = 0; c < getCycleCount(); c++) {
+			end = cycleStarts[c + 1] - 1;
+			first = array[cycleElements[cycleStarts[c]]];
+			for (int a = cycleStarts[c]; a < end; a++)
+				array[cycleElements[a]] = array[cycleElements[a + 1]];
+			array[cycleElements[end]] = first;
+		}
+	}
+
+	/**
+	 * permutes the array in place, such that array[v] becomes the old
+	 * array[apply(v)] for every v
+	 * 
+	 * @param array array of length {@link #getSize()}
+	 * @throws IllegalArgumentException if array is null or has the wrong length
+	 */
+	public void permute(@NotNull double[] array) {
+		Assurance.assureEquals(table.length, Assurance.assureNotNull(array).length);
+		int end;
+		double first;
+		for (int c = 0; c < getCycleCount(); c++) {
+			end = cycleStarts[c + 1] - 1;
+			first = array[cycleElements[cycleStarts[c]]];
+			for (int a = cycleStarts[c]; a < end; a++)
+				array[cycleElements[a]] = array[cycleElements[a + 1]];
+			array[cycleElements[end]] = first;
+		}
+	}
+
+	/**
+	 * permutes the vector in place, such that value v becomes the old value
+	 * apply(v) for every v
+	 * 
+	 * @param vector vector with dimension {@link #getSize()}
+	 * @throws IllegalArgumentException if vector is null or has the wrong dimension
+	 */
+	public void permute(@NotNull DoubleVector vector) {
+		permute(Assurance.assureNotNull(vector).getArray());
+	}
+
+	/**
+	 * stores the permuted vector in result, such that value v of result is value
+	 * apply(v) of vector for every v
+	 * 
+	 * @param vector vector with dimension {@link #getSize()}
+	 * @param result vector with dimension {@link #getSize()} - will be overwritten
+	 * @return result
+	 * @throws IllegalArgumentException if vector or result is null, result is
+	 *                                  vector or they have the wrong dimension
+	 */
+	public DoubleVector permute(@NotNull DoubleVector vector, @NotNull DoubleVector result) {
+		Assurance.assureEquals(table.length, Assurance.assureNotNull(vector).getDimension());
+		Assurance.assureEquals(table.length, Assurance.assureNotNull(result).getDimension());
+		if (vector == result)
+			throw new IllegalArgumentException("result must not be the argument vector");
+		double[] source = vector.getArray();
+		double[] destination = result.getArray();
+		for (int a = 0; a < table.length; a++)
+			destination[a] = source[table[a]];
+		return result;
+	}
+
+	/**
+	 * permutes the rows of the matrix in place by {@link Matrix#swapRows(int, int)
+	 * swapping} them along the cycles, such that row v becomes the old row
+	 * apply(v) for every v. needs getSize() - number of cycles swaps.
+	 * 
+	 * @param matrix matrix with {@link #getSize()} rows
+	 * @throws IllegalArgumentException if matrix is null or has the wrong number of
+	 *                                  rows
+	 */
+	public void permuteRows(@NotNull Matrix matrix) {
+		Assurance.assureEquals(table.length, Assurance.assureNotNull(matrix).getRowCount());
+		int end;
+		for (int c = 0; c < getCycleCount(); c++) {
+			end = cycleStarts[c + 1] - 1;
+			for (int a = cycleStarts[c]; a < end; a++)
+				matrix.swapRows(cycleElements[a], cycleElements[a + 1]);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(table);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CompiledIntPermutation other = (CompiledIntPermutation) obj;
+		return Arrays.equals(table, other.table);
+	}
+
+	@Override
+	public String toString() {
+		return "CompiledIntPermutation " + Arrays.toString(table);
+	}
+
+}
@@ -11,7 +11,9 @@ import de.nuttercode.util.assurance.NotNull;
  * {@link IntTransposition}s. see
  * <a href="https://en.wikipedia.org/wiki/Permutation">Permutation</a> for more
  * details. use {@link #chain(IntTransposition)} chains the new permutation to
- * this function.
+ * this function. {@link #apply(int)} runs in O(number of transpositions), so
+ * this class is meant as builder - use {@link #compile(int)} for repeated
+ * application.
  * 
  * @author Johannes B. Latzel
  *
@@ -47,6 +49,40 @@ public class IntPermutation {
 		transpositionList.add(transposition);
 	}
 
+	/**
+	 * compiles the chained transpositions into a lookup table. runs in O(size +
+	 * number of transpositions).
+	 * 
+	 * @param size number of permuted values
+	 * @return this permutation on {0, ..., size - 1} with O(1)
+	 *         {@link CompiledIntPermutation#apply(int) apply}
+	 * @throws IllegalArgumentException if a transposition is not within {0, ...,
+	 *                                  size - 1}
+	 */
+	public CompiledIntPermutation compile(int size) {
+		int[] table = new int[size];
+		int[] inverse = new int[size];
+		for (int a = 0; a < size; a++) {
+			table[a] = a;
+			inverse[a] = a;
+		}
+		int i, j, temp;
+		for (IntTransposition transposition : transpositionList) {
+			i = transposition.getI();
+			j = transposition.getJ();
+			Assurance.assureBoundaries(i, 0, size - 1);
+			Assurance.assureBoundaries(j, 0, size - 1);
+			// the transposition is applied to the results: the values which map to i
+			// and j swap their images
+			table[inverse[i]] = j;
+			table[inverse[j]] = i;
+			temp = inverse[i];
+			inverse[i] = inverse[j];
+			inverse[j] = temp;
+		}
+		return new CompiledIntPermutation(table, false);
+	}
+
 	/**
 	 * @return the inverse of this function
 	 */
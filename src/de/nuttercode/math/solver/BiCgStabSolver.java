@@ -0,0 +1,99 @@
+package de.nuttercode.math.solver;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * right-preconditioned
+ * <a href="https://en.wikipedia.org/wiki/Biconjugate_gradient_stabilized_method">biconjugate
+ * gradient stabilized method</a> (BiCGSTAB) for general, especially
+ * non-symmetric systems. needs two matrix-vector products and two applications
+ * of the preconditioner per iteration and a constant amount of memory.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class BiCgStabSolver extends IterativeSolver {
+
+	private final DoubleVector residual;
+	private final DoubleVector shadowResidual;
+	private final DoubleVector direction;
+	private final DoubleVector preconditionedDirection;
+	private final DoubleVector product;
+	private final DoubleVector preconditionedResidual;
+	private final DoubleVector residualProduct;
+
+	/**
+	 * solver without preconditioner
+	 * 
+	 * @param matrix square matrix
+	 * @throws IllegalArgumentException if matrix is null or not square
+	 */
+	public BiCgStabSolver(@NotNull DoubleMatrix matrix) {
+		this(matrix, Preconditioner.IDENTITY);
+	}
+
+	/**
+	 * @param matrix         square matrix
+	 * @param preconditioner preconditioner of the matrix
+	 * @throws IllegalArgumentException if matrix or preconditioner is null or
+	 *                                  matrix is not square
+	 */
+	public BiCgStabSolver(@NotNull DoubleMatrix matrix, @NotNull Preconditioner preconditioner) {
+		super(matrix, preconditioner);
+		residual = new DoubleVector(dimension);
+		shadowResidual = new DoubleVector(dimension);
+		direction = new DoubleVector(dimension);
+		preconditionedDirection = new DoubleVector(dimension);
+		product = new DoubleVector(dimension);
+		preconditionedResidual = new DoubleVector(dimension);
+		residualProduct = new DoubleVector(dimension);
+	}
+
+	@Override
+	double iterate(DoubleVector vector, DoubleVector solution, double threshold) {
+		computeResidual(vector, solution, residual);
+		double residualNorm = norm(residual);
+		if (residualNorm <= threshold)
+			return residualNorm;
+		copy(residual, shadowResidual);
+		copy(residual, direction);
+		double rho = dot(shadowResidual, residual);
+		double alpha, omega, rhoNext, denominator;
+		while (nextIteration()) {
+			preconditioner.apply(direction, preconditionedDirection);
+			multiply(preconditionedDirection, product);
+			denominator = dot(shadowResidual, product);
+			if (denominator == 0)
+				throw new ArithmeticException("breakdown - the shadow residual is orthogonal to A * direction");
+			alpha = rho / denominator;
+			// the residual becomes s = r - alpha * v
+			axpy(alpha, preconditionedDirection, solution);
+			axpy(-alpha, product, residual);
+			residualNorm = norm(residual);
+			if (residualNorm <= threshold)
+				break;
+			preconditioner.apply(residual, preconditionedResidual);
+			multiply(preconditionedResidual, residualProduct);
+			denominator = dot(residualProduct, residualProduct);
+			omega = denominator == 0 ? 0 : dot(residualProduct, residual) / denominator;
+			axpy(omega, preconditionedResidual, solution);
+			axpy(-omega, residualProduct, residual);
+			residualNorm = norm(residual);
+			if (residualNorm <= threshold)
+				break;
+			if (omega == 0)
+				throw new ArithmeticException("breakdown - the stabilization step vanished");
+			rhoNext = dot(shadowResidual, residual);
+			if (rhoNext == 0)
+				throw new ArithmeticException("breakdown - the shadow residual is orthogonal to the residual");
+			// direction = residual + beta * (direction - omega * product)
+			axpy(-omega, product, direction);
+			scaleAndAdd(rhoNext / rho * (alpha / omega), direction, residual);
+			rho = rhoNext;
+		}
+		return residualNorm;
+	}
+
+}
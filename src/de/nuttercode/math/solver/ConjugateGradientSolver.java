@@ -0,0 +1,78 @@
+package de.nuttercode.math.solver;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * preconditioned
+ * <a href="https://en.wikipedia.org/wiki/Conjugate_gradient_method">conjugate
+ * gradient method</a> for symmetric positive definite systems. the
+ * preconditioner has to be symmetric positive definite as well. needs one
+ * matrix-vector product and one application of the preconditioner per
+ * iteration.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class ConjugateGradientSolver extends IterativeSolver {
+
+	private final DoubleVector residual;
+	private final DoubleVector preconditioned;
+	private final DoubleVector direction;
+	private final DoubleVector product;
+
+	/**
+	 * solver without preconditioner
+	 * 
+	 * @param matrix symmetric positive definite matrix
+	 * @throws IllegalArgumentException if matrix is null or not square
+	 */
+	public ConjugateGradientSolver(@NotNull DoubleMatrix matrix) {
+		this(matrix, Preconditioner.IDENTITY);
+	}
+
+	/**
+	 * @param matrix         symmetric positive definite matrix
+	 * @param preconditioner symmetric positive definite preconditioner
+	 * @throws IllegalArgumentException if matrix or preconditioner is null or
+	 *                                  matrix is not square
+	 */
+	public ConjugateGradientSolver(@NotNull DoubleMatrix matrix, @NotNull Preconditioner preconditioner) {
+		super(matrix, preconditioner);
+		residual = new DoubleVector(dimension);
+		preconditioned = new DoubleVector(dimension);
+		direction = new DoubleVector(dimension);
+		product = new DoubleVector(dimension);
+	}
+
+	@Override
+	double iterate(DoubleVector vector, DoubleVector solution, double threshold) {
+		computeResidual(vector, solution, residual);
+		double residualNorm = norm(residual);
+		if (residualNorm <= threshold)
+			return residualNorm;
+		preconditioner.apply(residual, preconditioned);
+		copy(preconditioned, direction);
+		double rho = dot(residual, preconditioned);
+		double alpha, rhoNext, curvature;
+		while (nextIteration()) {
+			multiply(direction, product);
+			curvature = dot(direction, product);
+			if (curvature <= 0)
+				throw new ArithmeticException("matrix is not positive definite");
+			alpha = rho / curvature;
+			axpy(alpha, direction, solution);
+			axpy(-alpha, product, residual);
+			residualNorm = norm(residual);
+			if (residualNorm <= threshold)
+				break;
+			preconditioner.apply(residual, preconditioned);
+			rhoNext = dot(residual, preconditioned);
+			scaleAndAdd(rhoNext / rho, direction, preconditioned);
+			rho = rhoNext;
+		}
+		return residualNorm;
+	}
+
+}
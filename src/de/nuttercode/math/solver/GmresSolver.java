@@ -0,0 +1,184 @@
+package de.nuttercode.math.solver;
+
+import java.util.Arrays;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * right-preconditioned restarted
+ * <a href="https://en.wikipedia.org/wiki/Generalized_minimal_residual_method">generalized
+ * minimal residual method</a> GMRES(m) for general systems. every cycle builds
+ * an orthonormal basis of up to m Krylov vectors by modified Gram-Schmidt and
+ * minimizes the residual over it by Givens rotations; afterwards the method
+ * restarts from the improved solution. needs one matrix-vector product and one
+ * application of the preconditioner per iteration and memory for m + 1 vectors.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class GmresSolver extends IterativeSolver {
+
+	/**
+	 * default number of iterations between two restarts
+	 */
+	public static final int DEFAULT_RESTART = 30;
+
+	/**
+	 * number of iterations between two restarts
+	 */
+	private final int restart;
+
+	/**
+	 * orthonormal basis of the Krylov space
+	 */
+	private final DoubleVector[] basis;
+
+	/**
+	 * upper Hessenberg matrix in row-major order with restart columns - upper
+	 * triangular after the rotations
+	 */
+	private final double[] hessenberg;
+
+	private final double[] cosines;
+	private final double[] sines;
+
+	/**
+	 * rotated right-hand side of the least squares problem
+	 */
+	private final double[] rotated;
+
+	private final DoubleVector preconditioned;
+	private final DoubleVector product;
+
+	/**
+	 * solver without preconditioner which restarts every {@value #DEFAULT_RESTART}
+	 * iterations
+	 * 
+	 * @param matrix square matrix
+	 * @throws IllegalArgumentException if matrix is null or not square
+	 */
+	public GmresSolver(@NotNull DoubleMatrix matrix) {
+		this(matrix, Preconditioner.IDENTITY, DEFAULT_RESTART);
+	}
+
+	/**
+	 * @param matrix         square matrix
+	 * @param preconditioner preconditioner of the matrix
+	 * @param restart        number of iterations between two restarts
+	 * @throws IllegalArgumentException if matrix or preconditioner is null, matrix
+	 *                                  is not square or restart is not positive
+	 */
+	public GmresSolver(@NotNull DoubleMatrix matrix, @NotNull Preconditioner preconditioner, @Positive int restart) {
+		super(matrix, preconditioner);
+		Assurance.assurePositive(restart);
+		this.restart = restart;
+		basis = new DoubleVector[restart + 1];
+		for (int a = 0; a <= restart; a++)
+			basis[a] = new DoubleVector(dimension);
+		hessenberg = new double[(restart + 1) * restart];
+		cosines = new double[restart];
+		sines = new double[restart];
+		rotated = new double[restart + 1];
+		preconditioned = new DoubleVector(dimension);
+		product = new DoubleVector(dimension);
+	}
+
+	/**
+	 * @return number of iterations between two restarts
+	 */
+	public int getRestart() {
+		return restart;
+	}
+
+	@Override
+	double iterate(DoubleVector vector, DoubleVector solution, double threshold) {
+		double residualNorm, norm;
+		int k;
+		while (true) {
+			computeResidual(vector, solution, basis[0]);
+			residualNorm = norm(basis[0]);
+			if (residualNorm <= threshold || isExhausted())
+				return residualNorm;
+			basis[0].scale(1 / residualNorm);
+			Arrays.fill(rotated, 0);
+			rotated[0] = residualNorm;
+			k = 0;
+			norm = 1;
+			while (k < restart && norm != 0 && residualNorm > threshold && nextIteration()) {
+				preconditioner.apply(basis[k], preconditioned);
+				multiply(preconditioned, product);
+				for (int i = 0; i <= k; i++) {
+					hessenberg[i * restart + k] = dot(product, basis[i]);
+					axpy(-hessenberg[i * restart + k], basis[i], product);
+				}
+				norm = norm(product);
+				hessenberg[(k + 1) * restart + k] = norm;
+				if (norm != 0) {
+					copy(product, basis[k + 1]);
+					basis[k + 1].scale(1 / norm);
+				}
+				rotate(k);
+				residualNorm = Math.abs(rotated[k + 1]);
+				k++;
+			}
+			update(solution, k);
+			if (residualNorm <= threshold && norm != 0)
+				return residualNorm;
+		}
+	}
+
+	/**
+	 * applies the previous rotations to the column k of the Hessenberg matrix and
+	 * eliminates its subdiagonal value by a new rotation
+	 * 
+	 * @param k
+	 */
+	private void rotate(int k) {
+		double upper, lower;
+		for (int i = 0; i < k; i++) {
+			upper = hessenberg[i * restart + k];
+			lower = hessenberg[(i + 1) * restart + k];
+			hessenberg[i * restart + k] = cosines[i] * upper + sines[i] * lower;
+			hessenberg[(i + 1) * restart + k] = -sines[i] * upper + cosines[i] * lower;
+		}
+		upper = hessenberg[k * restart + k];
+		lower = hessenberg[(k + 1) * restart + k];
+		double radius = Math.hypot(upper, lower);
+		if (radius == 0)
+			throw new ArithmeticException("breakdown - the Krylov space is degenerated");
+		cosines[k] = upper / radius;
+		sines[k] = lower / radius;
+		hessenberg[k * restart + k] = radius;
+		hessenberg[(k + 1) * restart + k] = 0;
+		rotated[k + 1] = -sines[k] * rotated[k];
+		rotated[k] = cosines[k] * rotated[k];
+	}
+
+	/**
+	 * solves the k x k least squares problem and adds the preconditioned
+	 * combination of the first k basis vectors to the solution. the coefficients
+	 * overwrite {@link #rotated}.
+	 * 
+	 * @param solution
+	 * @param k
+	 */
+	private void update(DoubleVector solution, int k) {
+		double value;
+		for (int i = k - 1; i >= 0; i--) {
+			value = rotated[i];
+			for (int j = i + 1; j < k; j++)
+				value -= hessenberg[i * restart + j] * rotated[j];
+			rotated[i] = value / hessenberg[i * restart + i];
+		}
+		Arrays.fill(product.getArray(), 0);
+		for (int i = 0; i < k; i++)
+			axpy(rotated[i], basis[i], product);
+		preconditioner.apply(product, preconditioned);
+		axpy(1, preconditioned, solution);
+	}
+
+}
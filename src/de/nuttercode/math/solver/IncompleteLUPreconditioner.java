@@ -0,0 +1,164 @@
+package de.nuttercode.math.solver;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * <a href="https://en.wikipedia.org/wiki/Incomplete_LU_factorization">incomplete
+ * LU factorization</a> ILU(0): M = LU, where L and U have the sparsity pattern
+ * of the system matrix. the pattern consists of the diagonal and every value
+ * != 0 which is visited by {@link DoubleMatrix#forEach}. the factors are stored
+ * in compressed sparse row format, so applying M costs O(number of stored
+ * values).
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class IncompleteLUPreconditioner implements Preconditioner {
+
+	/**
+	 * number of rows and columns
+	 */
+	private final int size;
+
+	/**
+	 * start of every row in {@link #indices} and {@link #values}
+	 */
+	private final int[] pointers;
+
+	/**
+	 * column of every stored value - ascending within each row
+	 */
+	private final int[] indices;
+
+	/**
+	 * position of the diagonal value of every row
+	 */
+	private final int[] diagonal;
+
+	/**
+	 * L (left of the diagonal, without its unit diagonal) and U (on and right of
+	 * the diagonal)
+	 */
+	private final double[] values;
+
+	/**
+	 * factorizes the matrix incompletely
+	 * 
+	 * @param matrix square matrix
+	 * @throws IllegalArgumentException if matrix is null or not square
+	 * @throws ArithmeticException      if a pivot is 0
+	 */
+	public IncompleteLUPreconditioner(@NotNull DoubleMatrix matrix) {
+		Assurance.assureEquals(Assurance.assureNotNull(matrix).getRowCount(), matrix.getColumnCount());
+		size = matrix.getRowCount();
+		pointers = new int[size + 1];
+		double[] diagonalValues = new double[size];
+		int[] columnPointers = new int[size + 1];
+		int[] count = { 0 };
+		matrix.forEach((i, j, value) -> {
+			if (i == j)
+				diagonalValues[i] = value;
+			else if (value != 0) {
+				pointers[i + 1]++;
+				columnPointers[j + 1]++;
+				count[0]++;
+			}
+		});
+		for (int i = 0; i < size; i++) {
+			pointers[i + 1]++;
+			columnPointers[i + 1]++;
+		}
+		int valueCount = count[0] + size;
+		int[] columnRows = new int[valueCount];
+		int[] columnIndices = new int[valueCount];
+		double[] columnValues = new double[valueCount];
+		for (int i = 0; i < size; i++) {
+			pointers[i + 1] += pointers[i];
+			columnPointers[i + 1] += columnPointers[i];
+		}
+		// bucket the values by column first, so every row is sorted after the
+		// stable distribution by row
+		int[] next = new int[size];
+		System.arraycopy(columnPointers, 0, next, 0, size);
+		matrix.forEach((i, j, value) -> {
+			if (i != j && value != 0) {
+				columnRows[next[j]] = i;
+				columnValues[next[j]++] = value;
+			}
+		});
+		for (int i = 0; i < size; i++) {
+			columnRows[next[i]] = i;
+			columnValues[next[i]++] = diagonalValues[i];
+		}
+		for (int j = 0; j < size; j++) {
+			for (int a = columnPointers[j]; a < columnPointers[j + 1]; a++)
+				columnIndices[a] = j;
+		}
+		indices = new int[valueCount];
+		values = new double[valueCount];
+		diagonal = new int[size];
+		System.arraycopy(pointers, 0, next, 0, size);
+		int position;
+		for (int a = 0; a < valueCount; a++) {
+			position = next[columnRows[a]]++;
+			indices[position] = columnIndices[a];
+			values[position] = columnValues[a];
+			if (columnIndices[a] == columnRows[a])
+				diagonal[columnRows[a]] = position;
+		}
+		factorize();
+	}
+
+	/**
+	 * computes the incomplete factorization in place row by row
+	 */
+	private void factorize() {
+		int[] positions = new int[size];
+		for (int j = 0; j < size; j++)
+			positions[j] = -1;
+		int k, position;
+		double factor;
+		for (int i = 0; i < size; i++) {
+			for (int a = pointers[i]; a < pointers[i + 1]; a++)
+				positions[indices[a]] = a;
+			for (int a = pointers[i]; a < diagonal[i]; a++) {
+				k = indices[a];
+				factor = values[a] /= values[diagonal[k]];
+				for (int b = diagonal[k] + 1; b < pointers[k + 1]; b++) {
+					position = positions[indices[b]];
+					if (position != -1)
+						values[position] -= factor * values[b];
+				}
+			}
+			if (values[diagonal[i]] == 0)
+				throw new ArithmeticException("pivot " + i + " is 0");
+			for (int a = pointers[i]; a < pointers[i + 1]; a++)
+				positions[indices[a]] = -1;
+		}
+	}
+
+	@Override
+	public void apply(DoubleVector vector, DoubleVector result) {
+		Assurance.assureEquals(size, vector.getDimension());
+		Assurance.assureEquals(size, result.getDimension());
+		double[] source = vector.getArray();
+		double[] x = result.getArray();
+		double value;
+		for (int i = 0; i < size; i++) {
+			value = source[i];
+			for (int a = pointers[i]; a < diagonal[i]; a++)
+				value -= values[a] * x[indices[a]];
+			x[i] = value;
+		}
+		for (int i = size - 1; i >= 0; i--) {
+			value = x[i];
+			for (int a = diagonal[i] + 1; a < pointers[i + 1]; a++)
+				value -= values[a] * x[indices[a]];
+			x[i] = value / values[diagonal[i]];
+		}
+	}
+
+}
@@ -0,0 +1,287 @@
+package de.nuttercode.math.solver;
+
+import java.util.Arrays;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleKernels;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+import de.nuttercode.util.assurance.Positive;
+
+/**
+ * iterative solver of Ax = b for a fixed square matrix A which only needs the
+ * matrix-vector product of A, so it works for every {@link DoubleMatrix} and
+ * especially for large sparse matrices. all workspaces are allocated on
+ * creation and reused by every solve, so {@link #solve(DoubleVector, DoubleVector)}
+ * does not allocate. a solve stops if the relative residual ||b - Ax|| / ||b||
+ * is not greater than {@link #getTolerance()} or after
+ * {@link #getMaximalIterationCount()} iterations. instances are not thread-safe.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public abstract class IterativeSolver {
+
+	/**
+	 * default relative tolerance of the residual
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-10;
+
+	/**
+	 * default maximal number of iterations
+	 */
+	public static final int DEFAULT_MAXIMAL_ITERATION_COUNT = 1000;
+
+	/**
+	 * system matrix
+	 */
+	final DoubleMatrix matrix;
+
+	/**
+	 * preconditioner of the system matrix
+	 */
+	final Preconditioner preconditioner;
+
+	/**
+	 * dimension of the system
+	 */
+	final int dimension;
+
+	private double tolerance;
+	private int maximalIterationCount;
+	private Parallelism parallelism;
+	private int iterationCount;
+	private double residualNorm;
+
+	/**
+	 * @param matrix         square system matrix
+	 * @param preconditioner preconditioner of the matrix
+	 * @throws IllegalArgumentException if matrix or preconditioner is null or
+	 *                                  matrix is not square
+	 */
+	IterativeSolver(@NotNull DoubleMatrix matrix, @NotNull Preconditioner preconditioner) {
+		Assurance.assureEquals(Assurance.assureNotNull(matrix).getRowCount(), matrix.getColumnCount());
+		this.matrix = matrix;
+		this.preconditioner = Assurance.assureNotNull(preconditioner);
+		dimension = matrix.getRowCount();
+		tolerance = DEFAULT_TOLERANCE;
+		maximalIterationCount = DEFAULT_MAXIMAL_ITERATION_COUNT;
+		parallelism = Parallelism.SEQUENTIAL;
+	}
+
+	/**
+	 * @param tolerance positive relative tolerance of the residual
+	 */
+	public void setTolerance(double tolerance) {
+		if (!(tolerance > 0))
+			throw new IllegalArgumentException("tolerance " + tolerance + " is not positive");
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * @return relative tolerance of the residual
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * @param maximalIterationCount maximal number of iterations of a solve
+	 */
+	public void setMaximalIterationCount(@Positive int maximalIterationCount) {
+		Assurance.assurePositive(maximalIterationCount);
+		this.maximalIterationCount = maximalIterationCount;
+	}
+
+	/**
+	 * @return maximal number of iterations of a solve
+	 */
+	public int getMaximalIterationCount() {
+		return maximalIterationCount;
+	}
+
+	/**
+	 * @param parallelism parallelism of the matrix-vector products
+	 */
+	public void setParallelism(@NotNull Parallelism parallelism) {
+		this.parallelism = Assurance.assureNotNull(parallelism);
+	}
+
+	/**
+	 * @return parallelism of the matrix-vector products
+	 */
+	public Parallelism getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @return number of iterations of the last solve
+	 */
+	public int getIterationCount() {
+		return iterationCount;
+	}
+
+	/**
+	 * @return relative residual ||b - Ax|| / ||b|| at the end of the last solve as
+	 *         tracked by the iteration
+	 */
+	public double getResidualNorm() {
+		return residualNorm;
+	}
+
+	/**
+	 * solves Ax = vector starting from 0
+	 * 
+	 * @param vector right-hand side b
+	 * @return x
+	 * @throws IllegalArgumentException if vector is null or has the wrong
+	 *                                  dimension
+	 * @see #solve(DoubleVector, DoubleVector)
+	 */
+	public DoubleVector solve(@NotNull DoubleVector vector) {
+		DoubleVector solution = new DoubleVector(dimension);
+		solve(vector, solution);
+		return solution;
+	}
+
+	/**
+	 * solves Ax = vector. solution is the initial guess (warm start), e.g. the
+	 * solution of a previous similar system, and will be overwritten by the
+	 * approximated solution.
+	 * 
+	 * @param vector   right-hand side b
+	 * @param solution initial guess of x - will be overwritten by x
+	 * @return true if the tolerance was reached
+	 * @throws IllegalArgumentException if vector or solution is null, solution is
+	 *                                  vector or they have the wrong dimension
+	 * @throws ArithmeticException      if the method breaks down
+	 */
+	public boolean solve(@NotNull DoubleVector vector, @NotNull DoubleVector solution) {
+		Assurance.assureEquals(dimension, Assurance.assureNotNull(vector).getDimension());
+		Assurance.assureEquals(dimension, Assurance.assureNotNull(solution).getDimension());
+		if (vector == solution)
+			throw new IllegalArgumentException("solution must not be the right-hand side");
+		iterationCount = 0;
+		double vectorNorm = norm(vector);
+		if (vectorNorm == 0) {
+			Arrays.fill(solution.getArray(), 0);
+			residualNorm = 0;
+			return true;
+		}
+		double norm = iterate(vector, solution, tolerance * vectorNorm);
+		residualNorm = norm / vectorNorm;
+		return norm <= tolerance * vectorNorm;
+	}
+
+	/**
+	 * runs the method until the residual is not greater than threshold or
+	 * {@link #getMaximalIterationCount()} iterations were executed - every
+	 * iteration has to be counted by {@link #nextIteration()}
+	 * 
+	 * @param vector    right-hand side
+	 * @param solution  initial guess and result
+	 * @param threshold absolute tolerance of the residual norm
+	 * @return norm of the final residual
+	 */
+	abstract double iterate(DoubleVector vector, DoubleVector solution, double threshold);
+
+	/**
+	 * counts an iteration
+	 * 
+	 * @return true if another iteration may be executed
+	 */
+	boolean nextIteration() {
+		if (iterationCount >= maximalIterationCount)
+			return false;
+		iterationCount++;
+		return true;
+	}
+
+	/**
+	 * @return true if all {@link #getMaximalIterationCount()} iterations were
+	 *         executed
+	 */
+	boolean isExhausted() {
+		return iterationCount >= maximalIterationCount;
+	}
+
+	/**
+	 * result = A * vector
+	 * 
+	 * @param vector
+	 * @param result
+	 */
+	void multiply(DoubleVector vector, DoubleVector result) {
+		matrix.multiply(vector, result, parallelism);
+	}
+
+	/**
+	 * residual = vector - A * solution
+	 * 
+	 * @param vector
+	 * @param solution
+	 * @param residual
+	 */
+	void computeResidual(DoubleVector vector, DoubleVector solution, DoubleVector residual) {
+		multiply(solution, residual);
+		double[] b = vector.getArray();
+		double[] r = residual.getArray();
+		for (int i = 0; i < dimension; i++)
+			r[i] = b[i] - r[i];
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return scalar product of a and b
+	 */
+	static double dot(DoubleVector a, DoubleVector b) {
+		return DoubleKernels.dot(a.getArray(), 0, b.getArray(), 0, a.getDimension());
+	}
+
+	/**
+	 * @param vector
+	 * @return euclidean norm of vector
+	 */
+	static double norm(DoubleVector vector) {
+		return Math.sqrt(dot(vector, vector));
+	}
+
+	/**
+	 * y += alpha * x
+	 * 
+	 * @param alpha
+	 * @param x
+	 * @param y
+	 */
+	static void axpy(double alpha, DoubleVector x, DoubleVector y) {
+		DoubleKernels.axpy(alpha, x.getArray(), 0, y.getArray(), 0, x.getDimension());
+	}
+
+	/**
+	 * y = beta * y + x
+	 * 
+	 * @param beta
+	 * @param y
+	 * @param x
+	 */
+	static void scaleAndAdd(double beta, DoubleVector y, DoubleVector x) {
+		double[] target = y.getArray();
+		double[] source = x.getArray();
+		for (int i = 0; i < target.length; i++)
+			target[i] = Math.fma(beta, target[i], source[i]);
+	}
+
+	/**
+	 * copies source into destination
+	 * 
+	 * @param source
+	 * @param destination
+	 */
+	static void copy(DoubleVector source, DoubleVector destination) {
+		System.arraycopy(source.getArray(), 0, destination.getArray(), 0, source.getDimension());
+	}
+
+}
@@ -0,0 +1,50 @@
+package de.nuttercode.math.solver;
+
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * <a href="https://en.wikipedia.org/wiki/Preconditioner#Jacobi_(or_diagonal)_preconditioner">Jacobi
+ * preconditioner</a>: M is the diagonal of the system matrix. cheap to set up
+ * and to apply and effective for diagonally dominant systems.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class JacobiPreconditioner implements Preconditioner {
+
+	/**
+	 * reciprocal of every diagonal value
+	 */
+	private final double[] inverseDiagonal;
+
+	/**
+	 * @param matrix square matrix
+	 * @throws IllegalArgumentException if matrix is null or not square
+	 * @throws ArithmeticException      if a diagonal value is 0
+	 */
+	public JacobiPreconditioner(@NotNull DoubleMatrix matrix) {
+		Assurance.assureEquals(Assurance.assureNotNull(matrix).getRowCount(), matrix.getColumnCount());
+		inverseDiagonal = new double[matrix.getRowCount()];
+		double value;
+		for (int i = 0; i < inverseDiagonal.length; i++) {
+			value = matrix.getValue(i, i);
+			if (value == 0)
+				throw new ArithmeticException("diagonal value " + i + " is 0");
+			inverseDiagonal[i] = 1 / value;
+		}
+	}
+
+	@Override
+	public void apply(DoubleVector vector, DoubleVector result) {
+		Assurance.assureEquals(inverseDiagonal.length, vector.getDimension());
+		Assurance.assureEquals(inverseDiagonal.length, result.getDimension());
+		double[] source = vector.getArray();
+		double[] destination = result.getArray();
+		for (int i = 0; i < inverseDiagonal.length; i++)
+			destination[i] = source[i] * inverseDiagonal[i];
+	}
+
+}
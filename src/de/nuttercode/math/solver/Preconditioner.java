@@ -0,0 +1,31 @@
+package de.nuttercode.math.solver;
+
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * preconditioner M of an {@link IterativeSolver}: an approximation of the
+ * system matrix whose inverse can be applied cheaply. a good preconditioner
+ * reduces the number of iterations by orders of magnitude.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+@FunctionalInterface
+public interface Preconditioner {
+
+	/**
+	 * the identity, i.e. no preconditioning
+	 */
+	public static final Preconditioner IDENTITY = (vector, result) -> System.arraycopy(vector.getArray(), 0,
+			result.getArray(), 0, vector.getDimension());
+
+	/**
+	 * solves Mz = vector and stores z in result. implementations must not
+	 * allocate.
+	 * 
+	 * @param vector right-hand side
+	 * @param result z - will be overwritten, never the same instance as vector
+	 */
+	void apply(DoubleVector vector, DoubleVector result);
+
+}
@@ -0,0 +1,26 @@
+package de.nuttercode.math.vector;
+
+/**
+ * precision in which the products of a float reduction, e.g. a scalar product
+ * or a matrix-vector product, are summed
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public enum Accumulation {
+
+	/**
+	 * the products are summed in float. the fastest option - the rounding error
+	 * grows with the number of summands.
+	 */
+	FLOAT,
+
+	/**
+	 * the products are summed in double and the sum is rounded to float once.
+	 * products of two floats are exact in double, so the sum has the accuracy of
+	 * the same reduction on doubles. the values are read as floats, so the
+	 * memory traffic is the same as with {@link #FLOAT}.
+	 */
+	DOUBLE
+
+}
@@ -0,0 +1,41 @@
+package de.nuttercode.math.vector;
+
+/**
+ * implementation of the reductions and the activation kernels of
+ * {@link DoubleKernels}. the arguments are already checked by
+ * {@link DoubleKernels}. every implementation has to return bit-identical
+ * results - see {@link DoubleKernels} for the order of operations and
+ * {@link Exponentials} for the exponential functions.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+interface DoubleKernelBackend {
+
+	/**
+	 * number of partial sums of {@link #dot(double[], int, double[], int, int)}
+	 */
+	int DOT_PARTIAL_SUMS = 16;
+
+	/**
+	 * number of partial sums of
+	 * {@link #expSum(double[], int, double, double[], int, int)} and
+	 * {@link #sumExp(double[], int, double, int)}
+	 */
+	int EXP_PARTIAL_SUMS = 4;
+
+	double dot(double[] a, int aOffset, double[] b, int bOffset, int length);
+
+	void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+	int maxIndex(double[] x, int offset, int length);
+
+	void sigmoid(double[] x, int offset, int length);
+
+	void tanh(double[] x, int offset, int length);
+
+	double expSum(double[] x, int xOffset, double shift, double[] y, int yOffset, int length);
+
+	double sumExp(double[] x, int offset, double shift, int length);
+
+}
@@ -0,0 +1,247 @@
+package de.nuttercode.math.vector;
+
+import java.util.Objects;
+
+/**
+ * kernels on ranges of double arrays. the element-wise kernels are plain loops
+ * which are vectorized by the JIT compiler. the reductions can not be
+ * vectorized by the JIT compiler without changing their result, so if the
+ * module jdk.incubator.vector is present (e.g. by --add-modules
+ * jdk.incubator.vector) and the hardware supports 256 bit vectors, they use the
+ * <a href="https://openjdk.org/jeps/338">vector api</a> with fused
+ * multiply-add. otherwise a plain java implementation is used. both
+ * implementations return bit-identical results: products are always accumulated
+ * by fused multiply-add and {@link #dot(double[], int, double[], int, int)}
+ * always adds its terms in the same order. the exponential kernels
+ * {@link #sigmoid(double[], int, int)}, {@link #tanh(double[], int, int)},
+ * {@link #expSum(double[], int, double, double[], int, int)} and
+ * {@link #sumExp(double[], int, double, int)} are vectorized as well. they use
+ * the polynomial approximation of {@link Exponentials} (error about 1 ulp)
+ * instead of {@link Math#exp(double)}, whose results depend on the hardware, so
+ * their results are identical on every platform as well. the system property
+ * {@value #SCALAR_PROPERTY} forces the plain java implementation.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class DoubleKernels {
+
+	/**
+	 * name of the system property which forces the plain java implementation if
+	 * set to true
+	 */
+	public static final String SCALAR_PROPERTY = "de.nuttercode.math.vector.scalar";
+
+	private static final DoubleKernelBackend BACKEND = loadBackend();
+
+	private DoubleKernels() {
+	}
+
+	private static DoubleKernelBackend loadBackend() {
+		if (Boolean.getBoolean(SCALAR_PROPERTY) || !ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+			return new ScalarDoubleKernelBackend();
+		try {
+			if (VectorApiDoubleKernelBackend.isSupported())
+				return new VectorApiDoubleKernelBackend();
+		} catch (LinkageError e) {
+			// the module is present but not readable by this module
+		}
+		return new ScalarDoubleKernelBackend();
+	}
+
+	/**
+	 * @return true if and only if the kernels use the vector api
+	 */
+	public static boolean isVectorized() {
+		return BACKEND instanceof VectorApiDoubleKernelBackend;
+	}
+
+	/**
+	 * the products are accumulated into 16 partial sums s[k] over the elements
+	 * with index % 16 == k of the largest prefix whose length is a multiple of 16.
+	 * the partial sums are added pairwise and the remaining products are added one
+	 * by one.
+	 * 
+	 * @param a
+	 * @param aOffset
+	 * @param b
+	 * @param bOffset
+	 * @param length
+	 * @return sum of a[aOffset + i] * b[bOffset + i] for i in [0, length)
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+		Objects.checkFromIndexSize(aOffset, length, a.length);
+		Objects.checkFromIndexSize(bOffset, length, b.length);
+		return BACKEND.dot(a, aOffset, b, bOffset, length);
+	}
+
+	/**
+	 * y[yOffset + i] = alpha * x[xOffset + i] + y[yOffset + i] for i in [0,
+	 * length) with a single rounding per element. the ranges must either be
+	 * disjoint or identical.
+	 * 
+	 * @param alpha
+	 * @param x
+	 * @param xOffset
+	 * @param y
+	 * @param yOffset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+		Objects.checkFromIndexSize(xOffset, length, x.length);
+		Objects.checkFromIndexSize(yOffset, length, y.length);
+		BACKEND.axpy(alpha, x, xOffset, y, yOffset, length);
+	}
+
+	/**
+	 * y[yOffset + i] += x[xOffset + i] for i in [0, length). the ranges must
+	 * either be disjoint or identical.
+	 * 
+	 * @param x
+	 * @param xOffset
+	 * @param y
+	 * @param yOffset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static void add(double[] x, int xOffset, double[] y, int yOffset, int length) {
+		Objects.checkFromIndexSize(xOffset, length, x.length);
+		Objects.checkFromIndexSize(yOffset, length, y.length);
+		for (int a = 0; a < length; a++)
+			y[yOffset + a] += x[xOffset + a];
+	}
+
+	/**
+	 * x[offset + i] *= alpha for i in [0, length)
+	 * 
+	 * @param alpha
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void scale(double alpha, double[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		for (int a = offset; a < offset + length; a++)
+			x[a] *= alpha;
+	}
+
+	/**
+	 * @param x
+	 * @param offset
+	 * @param length positive length
+	 * @return index of the first highest value in the range relative to offset
+	 * @throws IndexOutOfBoundsException if the range is out of bounds or empty
+	 */
+	public static int maxIndex(double[] x, int offset, int length) {
+		if (length <= 0)
+			throw new IndexOutOfBoundsException("empty range");
+		Objects.checkFromIndexSize(offset, length, x.length);
+		return BACKEND.maxIndex(x, offset, length);
+	}
+
+	/**
+	 * x[offset + i] = max(x[offset + i], 0) for i in [0, length). NaN stays NaN.
+	 * 
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void relu(double[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		for (int a = offset; a < offset + length; a++)
+			x[a] = Math.max(x[a], 0);
+	}
+
+	/**
+	 * @param value
+	 * @return 1 / (1 + e^-value) - identical to the result of
+	 *         {@link #sigmoid(double[], int, int)}
+	 */
+	public static double sigmoid(double value) {
+		return ScalarDoubleKernelBackend.sigmoid(value);
+	}
+
+	/**
+	 * x[offset + i] = 1 / (1 + e^-x[offset + i]) for i in [0, length). with e =
+	 * e^-|x| the value is computed as 1 / (1 + e) for x &ge; 0 and as e / (1 + e)
+	 * otherwise, so the exponential never overflows and small results keep their
+	 * relative precision.
+	 * 
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void sigmoid(double[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		BACKEND.sigmoid(x, offset, length);
+	}
+
+	/**
+	 * @param value
+	 * @return tanh(value) - identical to the result of
+	 *         {@link #tanh(double[], int, int)}
+	 */
+	public static double tanh(double value) {
+		return ScalarDoubleKernelBackend.tanh(value);
+	}
+
+	/**
+	 * x[offset + i] = tanh(x[offset + i]) for i in [0, length). with t =
+	 * expm1(-2|x|) the value is computed as -t / (t + 2) with the sign of x, which
+	 * neither overflows for large |x| nor cancels for small |x|.
+	 * 
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void tanh(double[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		BACKEND.tanh(x, offset, length);
+	}
+
+	/**
+	 * y[yOffset + i] = e^(x[xOffset + i] - shift) for i in [0, length). the ranges
+	 * must either be disjoint or identical. the values are accumulated into 4
+	 * partial sums s[k] over the elements with index % 4 == k of the largest
+	 * prefix whose length is a multiple of 4. the partial sums are added pairwise
+	 * and the remaining values are added one by one.
+	 * 
+	 * @param x
+	 * @param xOffset
+	 * @param shift   value subtracted before the exponentiation - usually the
+	 *                maximum of the range, so no term overflows
+	 * @param y
+	 * @param yOffset
+	 * @param length
+	 * @return sum of the computed y[yOffset + i]
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static double expSum(double[] x, int xOffset, double shift, double[] y, int yOffset, int length) {
+		Objects.checkFromIndexSize(xOffset, length, x.length);
+		Objects.checkFromIndexSize(yOffset, length, y.length);
+		return BACKEND.expSum(x, xOffset, shift, y, yOffset, length);
+	}
+
+	/**
+	 * @param x
+	 * @param offset
+	 * @param shift  value subtracted before the exponentiation - usually the
+	 *               maximum of the range, so no term overflows
+	 * @param length
+	 * @return sum of e^(x[offset + i] - shift) for i in [0, length) - added in
+	 *         the order of
+	 *         {@link #expSum(double[], int, double, double[], int, int)}
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static double sumExp(double[] x, int offset, double shift, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		return BACKEND.sumExp(x, offset, shift, length);
+	}
+
+}
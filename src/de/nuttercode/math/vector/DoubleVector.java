@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Random;
 
+import de.nuttercode.math.parallel.Parallelism;
 import de.nuttercode.util.ArrayUtil;
 import de.nuttercode.util.assurance.Assurance;
 import de.nuttercode.util.assurance.NotNull;
@@ -81,6 +82,14 @@ public class DoubleVector implements Vector, Serializable {
 		return values[index];
 	}
 
+	/**
+	 * @return the underlying array - changes to the array are changes to this
+	 *         vector. intended for kernels which process whole vectors.
+	 */
+	public double[] getArray() {
+		return values;
+	}
+
 	/**
 	 * @return the dimension of this vector
 	 */
@@ -114,8 +123,7 @@ public class DoubleVector implements Vector, Serializable {
 	 * @param scalar
 	 */
 	public void scale(double scalar) {
-		for (int i = 0; i < values.length; i++)
-			scaleValue(scalar, i);
+		DoubleKernels.scale(scalar, values, 0, values.length);
 	}
 
 	/**
@@ -127,9 +135,35 @@ public class DoubleVector implements Vector, Serializable {
 	 */
 	public void add(@NotNull DoubleVector vector) {
 		assureSameDimension(vector);
-		for (int i = 0; i < values.length; i++) {
-			setValue(getValue(i) + vector.getValue(i), i);
-		}
+		DoubleKernels.add(vector.values, 0, values, 0, values.length);
+	}
+
+	/**
+	 * adds the scalar-scaled values of the vector to this vector's values
+	 * 
+	 * @param vector
+	 * @param scalar some scalar
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 * @see DoubleKernels#axpy(double, double[], int, double[], int, int)
+	 */
+	public void add(@NotNull DoubleVector vector, double scalar) {
+		assureSameDimension(vector);
+		DoubleKernels.axpy(scalar, vector.values, 0, values, 0, values.length);
+	}
+
+	/**
+	 * adds the scalar-scaled values of the sparse vector to this vector's values
+	 * in O(vector.getValueCount())
+	 * 
+	 * @param vector
+	 * @param scalar some scalar
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 * @see SparseDoubleVector#addTo(DoubleVector, double)
+	 */
+	public void add(@NotNull SparseDoubleVector vector, double scalar) {
+		Assurance.assureNotNull(vector).addTo(this, scalar);
 	}
 
 	/**
@@ -140,11 +174,109 @@ public class DoubleVector implements Vector, Serializable {
 	 */
 	public double scalarProduct(@NotNull DoubleVector vector) {
 		assureSameDimension(vector);
-		double value = 0;
-		for (int i = 0; i < values.length; i++) {
-			value += getValue(i) * vector.getValue(i);
-		}
-		return value;
+		return DoubleKernels.dot(values, 0, vector.values, 0, values.length);
+	}
+
+	/**
+	 * @param vector
+	 * @param parallelism
+	 * @return compensated scalar product of two vectors - identical for every
+	 *         parallelism
+	 * @throws IllegalArgumentException if vector or parallelism is null or if
+	 *                                  vector.getDimension() != getDimension()
+	 * @see Reductions#dot(double[], int, double[], int, int, Parallelism)
+	 */
+	public double scalarProduct(@NotNull DoubleVector vector, @NotNull Parallelism parallelism) {
+		assureSameDimension(vector);
+		return Reductions.dot(values, 0, vector.values, 0, values.length, parallelism);
+	}
+
+	/**
+	 * @return compensated sum of the values of this vector
+	 * @see Reductions#sum(double[], int, int, Parallelism)
+	 */
+	public double sum() {
+		return sum(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * @param parallelism
+	 * @return compensated sum of the values of this vector - identical for every
+	 *         parallelism
+	 * @throws IllegalArgumentException if parallelism is null
+	 * @see Reductions#sum(double[], int, int, Parallelism)
+	 */
+	public double sum(@NotNull Parallelism parallelism) {
+		return Reductions.sum(values, 0, values.length, parallelism);
+	}
+
+	/**
+	 * @return compensated sum of the absolute values of this vector
+	 * @see Reductions#norm1(double[], int, int, Parallelism)
+	 */
+	public double norm1() {
+		return norm1(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * @param parallelism
+	 * @return compensated sum of the absolute values of this vector - identical
+	 *         for every parallelism
+	 * @throws IllegalArgumentException if parallelism is null
+	 * @see Reductions#norm1(double[], int, int, Parallelism)
+	 */
+	public double norm1(@NotNull Parallelism parallelism) {
+		return Reductions.norm1(values, 0, values.length, parallelism);
+	}
+
+	/**
+	 * @return euclidean norm of this vector
+	 * @see Reductions#norm2(double[], int, int, Parallelism)
+	 */
+	public double norm2() {
+		return norm2(Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * @param parallelism
+	 * @return euclidean norm of this vector - identical for every parallelism
+	 * @throws IllegalArgumentException if parallelism is null
+	 * @see Reductions#norm2(double[], int, int, Parallelism)
+	 */
+	public double norm2(@NotNull Parallelism parallelism) {
+		return Reductions.norm2(values, 0, values.length, parallelism);
+	}
+
+	/**
+	 * @return maximum of the absolute values of this vector
+	 * @see Reductions#normInfinity(double[], int, int, Parallelism)
+	 */
+	public double normInfinity() {
+		return Reductions.normInfinity(values, 0, values.length, Parallelism.SEQUENTIAL);
+	}
+
+	/**
+	 * @param vector
+	 * @return scalar product of this vector and the sparse vector in
+	 *         O(vector.getValueCount())
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 * @see SparseDoubleVector#scalarProduct(DoubleVector)
+	 */
+	public double scalarProduct(@NotNull SparseDoubleVector vector) {
+		return Assurance.assureNotNull(vector).scalarProduct(this);
+	}
+
+	/**
+	 * @param array  some array
+	 * @param offset start of the range in array
+	 * @return scalar product of this vector and the range [offset, offset +
+	 *         getDimension()) of the array
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @see DoubleKernels#dot(double[], int, double[], int, int)
+	 */
+	public double scalarProduct(@NotNull double[] array, int offset) {
+		return DoubleKernels.dot(values, 0, array, offset, values.length);
 	}
 
 	/**
@@ -156,7 +288,7 @@ public class DoubleVector implements Vector, Serializable {
 	 * @param scalar      some scalar value
 	 */
 	public void addValue(int source, int destination, double scalar) {
-		setValue(getValue(destination) + getValue(source) * scalar, destination);
+		values[destination] += values[source] * scalar;
 	}
 
 	/**
@@ -165,19 +297,8 @@ public class DoubleVector implements Vector, Serializable {
 	 *                                  positive
 	 */
 	public int getMaxIndex() {
-		int dimension = getDimension();
-		Assurance.assurePositive(dimension);
-		int maxIndex = 0;
-		double maxValue = getValue(0);
-		double current;
-		for (int a = 1; a < dimension; a++) {
-			current = getValue(a);
-			if (current > maxValue) {
-				maxValue = current;
-				maxIndex = a;
-			}
-		}
-		return maxIndex;
+		Assurance.assurePositive(getDimension());
+		return DoubleKernels.maxIndex(values, 0, values.length);
 	}
 
 	/**
@@ -0,0 +1,324 @@
+package de.nuttercode.math.vector;
+
+import java.io.Serializable;
+
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * vector which shares the storage of a double[] without copying it - component
+ * a is stored at index offset + a * stride of the array. a row of a row-major
+ * matrix is a view with stride 1, a column a view with the number of columns as
+ * stride. changes to the view are changes to the array and vice versa. views
+ * with stride 1 are processed by the kernels of {@link DoubleKernels}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class DoubleVectorView implements Vector, Serializable {
+
+	private static final long serialVersionUID = 2859087217360524518L;
+
+	/**
+	 * shared array
+	 */
+	private final double[] array;
+
+	/**
+	 * index of component 0 in {@link #array}
+	 */
+	private final int offset;
+
+	/**
+	 * distance of two consecutive components in {@link #array}
+	 */
+	private final int stride;
+
+	/**
+	 * number of components
+	 */
+	private final int dimension;
+
+	/**
+	 * view of the components array[offset + a * stride] for a in [0, dimension)
+	 * 
+	 * @param array
+	 * @param offset    index of component 0
+	 * @param stride    positive distance of two consecutive components
+	 * @param dimension number of components
+	 * @throws IllegalArgumentException if array is null, stride is not positive,
+	 *                                  dimension is negative or a component is
+	 *                                  out of bounds
+	 */
+	public DoubleVectorView(@NotNull double[] array, int offset, int stride, int dimension) {
+		Assurance.assurePositive(stride);
+		Assurance.assureBoundaries(dimension, 0, Integer.MAX_VALUE);
+		Assurance.assureBoundaries(offset, 0, Assurance.assureNotNull(array).length);
+		assureRange(offset, stride, dimension, array.length);
+		this.array = array;
+		this.offset = offset;
+		this.stride = stride;
+		this.dimension = dimension;
+	}
+
+	/**
+	 * view of the whole vector - changes to the view are changes to the vector
+	 * 
+	 * @param vector
+	 */
+	public DoubleVectorView(@NotNull DoubleVector vector) {
+		this(Assurance.assureNotNull(vector).getArray(), 0, 1, vector.getDimension());
+	}
+
+	/**
+	 * @param from      first component of the view in this view
+	 * @param step      positive distance of two consecutive components of the view
+	 *                  in this view
+	 * @param dimension number of components of the view
+	 * @return view of the components from + a * step of this view for a in [0,
+	 *         dimension) - without copying
+	 * @throws IllegalArgumentException if step is not positive, dimension is
+	 *                                  negative or a component is out of bounds
+	 */
+	public DoubleVectorView subVector(int from, int step, int dimension) {
+		Assurance.assurePositive(step);
+		Assurance.assureBoundaries(dimension, 0, Integer.MAX_VALUE);
+		Assurance.assureBoundaries(from, 0, this.dimension);
+		assureRange(from, step, dimension, this.dimension);
+		return new DoubleVectorView(array, offset + from * stride, Math.multiplyExact(step, stride), dimension);
+	}
+
+	/**
+	 * @param from      position of the first component
+	 * @param step      distance of two consecutive components
+	 * @param dimension number of components
+	 * @param length    number of available positions
+	 * @throws IllegalArgumentException if the last component is not in [0,
+	 *                                  length)
+	 */
+	private static void assureRange(int from, int step, int dimension, int length) {
+		if (dimension > 0 && from + (dimension - 1L) * step >= length)
+			throw new IllegalArgumentException("the last component is out of bounds");
+	}
+
+	/**
+	 * @param index
+	 * @return array index of the component
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	private int index(int index) {
+		if (index < 0 || index >= dimension)
+			throw new IndexOutOfBoundsException("index " + index);
+		return offset + index * stride;
+	}
+
+	/**
+	 * sets the value at the index to the given value
+	 * 
+	 * @param value
+	 * @param index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public void setValue(double value, int index) {
+		array[index(index)] = value;
+	}
+
+	/**
+	 * @param index
+	 * @return the value at the index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double getValue(int index) {
+		return array[index(index)];
+	}
+
+	/**
+	 * @return the shared array - intended for kernels which process whole vectors
+	 */
+	public double[] getArray() {
+		return array;
+	}
+
+	/**
+	 * @return index of component 0 in {@link #getArray()}
+	 */
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return distance of two consecutive components in {@link #getArray()}
+	 */
+	public int getStride() {
+		return stride;
+	}
+
+	/**
+	 * @return the dimension of this vector
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * @param vectorDimension dimension of an argument vector
+	 * @throws IllegalArgumentException if vectorDimension != getDimension()
+	 */
+	private void assureSameDimension(int vectorDimension) {
+		if (vectorDimension != dimension)
+			throw new IllegalArgumentException(
+					"dimension of argument vector is " + vectorDimension + " != " + dimension);
+	}
+
+	/**
+	 * scales all values of this vector by the given scalar
+	 * 
+	 * @param scalar
+	 */
+	public void scale(double scalar) {
+		if (stride == 1) {
+			DoubleKernels.scale(scalar, array, offset, dimension);
+			return;
+		}
+		for (int a = 0, index = offset; a < dimension; a++, index += stride)
+			array[index] *= scalar;
+	}
+
+	/**
+	 * @param vector
+	 * @return scalar product of this view and the vector
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public double scalarProduct(@NotNull DoubleVector vector) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		double[] values = vector.getArray();
+		if (stride == 1)
+			return DoubleKernels.dot(values, 0, array, offset, dimension);
+		double sum = 0;
+		for (int a = 0, index = offset; a < dimension; a++, index += stride)
+			sum += array[index] * values[a];
+		return sum;
+	}
+
+	/**
+	 * @param view
+	 * @return scalar product of two views
+	 * @throws IllegalArgumentException if view == null or if view.getDimension()
+	 *                                  != getDimension()
+	 */
+	public double scalarProduct(@NotNull DoubleVectorView view) {
+		assureSameDimension(Assurance.assureNotNull(view).dimension);
+		if (stride == 1 && view.stride == 1)
+			return DoubleKernels.dot(view.array, view.offset, array, offset, dimension);
+		double sum = 0;
+		for (int a = 0, index = offset, other = view.offset; a < dimension; a++, index += stride,
+				other += view.stride)
+			sum += array[index] * view.array[other];
+		return sum;
+	}
+
+	/**
+	 * adds the scalar-scaled values of the vector to this view's values
+	 * 
+	 * @param vector
+	 * @param scalar some scalar
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public void add(@NotNull DoubleVector vector, double scalar) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		double[] values = vector.getArray();
+		if (stride == 1) {
+			DoubleKernels.axpy(scalar, values, 0, array, offset, dimension);
+			return;
+		}
+		for (int a = 0, index = offset; a < dimension; a++, index += stride)
+			array[index] = Math.fma(scalar, values[a], array[index]);
+	}
+
+	/**
+	 * adds the scalar-scaled values of this view to the vector's values
+	 * 
+	 * @param vector
+	 * @param scalar some scalar
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public void addTo(@NotNull DoubleVector vector, double scalar) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		double[] values = vector.getArray();
+		if (stride == 1) {
+			DoubleKernels.axpy(scalar, array, offset, values, 0, dimension);
+			return;
+		}
+		for (int a = 0, index = offset; a < dimension; a++, index += stride)
+			values[a] = Math.fma(scalar, array[index], values[a]);
+	}
+
+	/**
+	 * copies the values of the vector into this view
+	 * 
+	 * @param vector
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public void copyFrom(@NotNull DoubleVector vector) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		double[] values = vector.getArray();
+		if (stride == 1) {
+			System.arraycopy(values, 0, array, offset, dimension);
+			return;
+		}
+		for (int a = 0, index = offset; a < dimension; a++, index += stride)
+			array[index] = values[a];
+	}
+
+	/**
+	 * copies the values of this view into the vector
+	 * 
+	 * @param vector
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public void copyTo(@NotNull DoubleVector vector) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		double[] values = vector.getArray();
+		if (stride == 1) {
+			System.arraycopy(array, offset, values, 0, dimension);
+			return;
+		}
+		for (int a = 0, index = offset; a < dimension; a++, index += stride)
+			values[a] = array[index];
+	}
+
+	/**
+	 * @return a copy of the values of this view
+	 */
+	public DoubleVector toDoubleVector() {
+		DoubleVector vector = new DoubleVector(dimension);
+		copyTo(vector);
+		return vector;
+	}
+
+	/**
+	 * @param visitor a visitor
+	 */
+	public void forEach(DoubleVectorVisitor visitor) {
+		for (int a = 0, index = offset; a < dimension; a++, index += stride)
+			visitor.visit(a, array[index]);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append('[');
+		for (int a = 0, index = offset; a < dimension; a++, index += stride) {
+			if (a != 0)
+				builder.append(", ");
+			builder.append(array[index]);
+		}
+		return builder.append(']').toString();
+	}
+
+}
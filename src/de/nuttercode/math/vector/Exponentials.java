@@ -0,0 +1,141 @@
+package de.nuttercode.math.vector;
+
+/**
+ * exponential functions for the kernels of {@link DoubleKernels}. the
+ * argument x is reduced to x = n * log(2) + r with an integer n and |r| &le;
+ * log(2) / 2, e^r - 1 is approximated by its taylor polynomial of degree
+ * {@value #DEGREE} (relative error below 2^-56) and the result is scaled by
+ * 2^n. every step is a sequence of additions, multiplications and fused
+ * multiply-adds which {@link VectorApiDoubleKernelBackend} performs lane-wise
+ * in the same order, so both backends return bit-identical results - unlike
+ * {@link Math#exp(double)} and the exponential of the vector api, whose results
+ * depend on the hardware and the compilation tier. the error of
+ * {@link #exp(double)} is about 1 ulp.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class Exponentials {
+
+	/**
+	 * degree of the taylor polynomial
+	 */
+	static final int DEGREE = 13;
+
+	/**
+	 * coefficients 1 / k! of the taylor polynomial
+	 */
+	static final double C2 = 1.0 / 2;
+
+	static final double C3 = 1.0 / 6;
+
+	static final double C4 = 1.0 / 24;
+
+	static final double C5 = 1.0 / 120;
+
+	static final double C6 = 1.0 / 720;
+
+	static final double C7 = 1.0 / 5040;
+
+	static final double C8 = 1.0 / 40320;
+
+	static final double C9 = 1.0 / 362880;
+
+	static final double C10 = 1.0 / 3628800;
+
+	static final double C11 = 1.0 / 39916800;
+
+	static final double C12 = 1.0 / 479001600;
+
+	static final double C13 = 1.0 / 6227020800L;
+
+	static final double LOG2_E = 1.4426950408889634;
+
+	/**
+	 * log(2) rounded to double
+	 */
+	static final double LN2_HIGH = 0.6931471805599453;
+
+	/**
+	 * log(2) - {@link #LN2_HIGH}
+	 */
+	static final double LN2_LOW = 2.3190468138462996E-17;
+
+	/**
+	 * 1.5 * 2^52 - adding it rounds a double of magnitude below 2^51 to the
+	 * nearest integer, which is then stored in the low bits of the sum
+	 */
+	static final double ROUNDING_CONSTANT = 6755399441055744.0;
+
+	/**
+	 * arguments below this value have the result 0
+	 */
+	static final double MINIMAL_ARGUMENT = -746;
+
+	/**
+	 * arguments above this value have the result infinity
+	 */
+	static final double MAXIMAL_ARGUMENT = 710;
+
+	/**
+	 * arguments below this value have the result -1 in {@link #expm1(double)}
+	 */
+	static final double MINIMAL_EXPM1_ARGUMENT = -40;
+
+	private Exponentials() {
+	}
+
+	/**
+	 * @param r reduced argument
+	 * @return approximation of e^r - 1
+	 */
+	static double polynomial(double r) {
+		double p = Math.fma(C13, r, C12);
+		p = Math.fma(p, r, C11);
+		p = Math.fma(p, r, C10);
+		p = Math.fma(p, r, C9);
+		p = Math.fma(p, r, C8);
+		p = Math.fma(p, r, C7);
+		p = Math.fma(p, r, C6);
+		p = Math.fma(p, r, C5);
+		p = Math.fma(p, r, C4);
+		p = Math.fma(p, r, C3);
+		p = Math.fma(p, r, C2);
+		return Math.fma(r * r, p, r);
+	}
+
+	/**
+	 * @param exponent integer in [-1022, 1023]
+	 * @return 2^exponent
+	 */
+	static double powerOfTwo(double exponent) {
+		return Double.longBitsToDouble(Double.doubleToRawLongBits(exponent + (1023 + ROUNDING_CONSTANT)) << 52);
+	}
+
+	/**
+	 * @param x
+	 * @return e^x
+	 */
+	static double exp(double x) {
+		x = Math.min(Math.max(x, MINIMAL_ARGUMENT), MAXIMAL_ARGUMENT);
+		double n = Math.fma(x, LOG2_E, ROUNDING_CONSTANT) - ROUNDING_CONSTANT;
+		double r = Math.fma(-n, LN2_LOW, Math.fma(-n, LN2_HIGH, x));
+		// 2^n is applied in two steps, so subnormal results and n = 1024 work
+		double normalN = Math.min(Math.max(n, -1022), 1023);
+		return (1 + polynomial(r)) * powerOfTwo(normalN) * powerOfTwo(n - normalN);
+	}
+
+	/**
+	 * @param x non-positive value
+	 * @return e^x - 1 without cancellation for small |x|
+	 */
+	static double expm1(double x) {
+		x = Math.max(x, MINIMAL_EXPM1_ARGUMENT);
+		double n = Math.fma(x, LOG2_E, ROUNDING_CONSTANT) - ROUNDING_CONSTANT;
+		double r = Math.fma(-n, LN2_LOW, Math.fma(-n, LN2_HIGH, x));
+		// e^x - 1 = 2^n * (e^r - 1) + (2^n - 1) is exact for n = 0
+		double scale = powerOfTwo(n);
+		return Math.fma(scale, polynomial(r), scale - 1);
+	}
+
+}
@@ -0,0 +1,25 @@
+package de.nuttercode.math.vector;
+
+/**
+ * implementation of the reductions of {@link FloatKernels}. the arguments are
+ * already checked by {@link FloatKernels}. every implementation has to return
+ * bit-identical results - see {@link FloatKernels} for the order of operations.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+interface FloatKernelBackend {
+
+	/**
+	 * number of partial sums of {@link #dot(float[], int, float[], int, int)} and
+	 * {@link #dotDouble(float[], int, float[], int, int)}
+	 */
+	int DOT_PARTIAL_SUMS = 16;
+
+	float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+	double dotDouble(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+	int maxIndex(float[] x, int offset, int length);
+
+}
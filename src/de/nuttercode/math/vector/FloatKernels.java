@@ -0,0 +1,279 @@
+package de.nuttercode.math.vector;
+
+import java.util.Objects;
+
+/**
+ * kernels on ranges of float arrays - the single precision counterpart of
+ * {@link DoubleKernels}. the element-wise kernels are plain loops which are
+ * vectorized by the JIT compiler. the reductions use the
+ * <a href="https://openjdk.org/jeps/338">vector api</a> with 256 bit vectors
+ * under the same conditions as {@link DoubleKernels} and return bit-identical
+ * results with and without it. every reduction can either accumulate in float
+ * ({@link #dot(float[], int, float[], int, int)}) or in double
+ * ({@link #dotDouble(float[], int, float[], int, int)}) - see
+ * {@link Accumulation}. the activation kernels compute in double by the kernels
+ * of {@link DoubleKernels} and round the results to float.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class FloatKernels {
+
+	/**
+	 * number of values which the activation kernels convert to double at once
+	 */
+	private static final int CONVERSION_CHUNK_SIZE = 256;
+
+	/**
+	 * buffer of every thread into which the activation kernels convert a chunk
+	 */
+	private static final ThreadLocal<double[]> CONVERSION_BUFFER = ThreadLocal
+			.withInitial(() -> new double[CONVERSION_CHUNK_SIZE]);
+
+	private static final FloatKernelBackend BACKEND = loadBackend();
+
+	private FloatKernels() {
+	}
+
+	private static FloatKernelBackend loadBackend() {
+		if (Boolean.getBoolean(DoubleKernels.SCALAR_PROPERTY)
+				|| !ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+			return new ScalarFloatKernelBackend();
+		try {
+			if (VectorApiFloatKernelBackend.isSupported())
+				return new VectorApiFloatKernelBackend();
+		} catch (LinkageError e) {
+			// the module is present but not readable by this module
+		}
+		return new ScalarFloatKernelBackend();
+	}
+
+	/**
+	 * @return true if and only if the kernels use the vector api
+	 */
+	public static boolean isVectorized() {
+		return BACKEND instanceof VectorApiFloatKernelBackend;
+	}
+
+	/**
+	 * the products are accumulated in float by fused multiply-add into 16 partial
+	 * sums s[k] over the elements with index % 16 == k of the largest prefix whose
+	 * length is a multiple of 16. the sums t[k] = s[k] + s[k + 8] are added
+	 * pairwise and the remaining products are added one by one.
+	 * 
+	 * @param a
+	 * @param aOffset
+	 * @param b
+	 * @param bOffset
+	 * @param length
+	 * @return sum of a[aOffset + i] * b[bOffset + i] for i in [0, length)
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		Objects.checkFromIndexSize(aOffset, length, a.length);
+		Objects.checkFromIndexSize(bOffset, length, b.length);
+		return BACKEND.dot(a, aOffset, b, bOffset, length);
+	}
+
+	/**
+	 * the products are accumulated in double in the order of
+	 * {@link DoubleKernels#dot(double[], int, double[], int, int)}, so the result
+	 * is identical to the double scalar product of the converted ranges
+	 * 
+	 * @param a
+	 * @param aOffset
+	 * @param b
+	 * @param bOffset
+	 * @param length
+	 * @return sum of a[aOffset + i] * b[bOffset + i] for i in [0, length)
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static double dotDouble(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		Objects.checkFromIndexSize(aOffset, length, a.length);
+		Objects.checkFromIndexSize(bOffset, length, b.length);
+		return BACKEND.dotDouble(a, aOffset, b, bOffset, length);
+	}
+
+	/**
+	 * @param a
+	 * @param aOffset
+	 * @param b
+	 * @param bOffset
+	 * @param length
+	 * @param accumulation
+	 * @return sum of a[aOffset + i] * b[bOffset + i] for i in [0, length) computed
+	 *         by {@link #dot(float[], int, float[], int, int)} or
+	 *         {@link #dotDouble(float[], int, float[], int, int)} and rounded to
+	 *         float
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length,
+			Accumulation accumulation) {
+		if (accumulation == Accumulation.DOUBLE)
+			return (float) dotDouble(a, aOffset, b, bOffset, length);
+		return dot(a, aOffset, b, bOffset, length);
+	}
+
+	/**
+	 * y[yOffset + i] = alpha * x[xOffset + i] + y[yOffset + i] for i in [0,
+	 * length) with a single rounding per element. the ranges must either be
+	 * disjoint or identical.
+	 * 
+	 * @param alpha
+	 * @param x
+	 * @param xOffset
+	 * @param y
+	 * @param yOffset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static void axpy(float alpha, float[] x, int xOffset, float[] y, int yOffset, int length) {
+		Objects.checkFromIndexSize(xOffset, length, x.length);
+		Objects.checkFromIndexSize(yOffset, length, y.length);
+		for (int a = 0; a < length; a++)
+			y[yOffset + a] = Math.fma(alpha, x[xOffset + a], y[yOffset + a]);
+	}
+
+	/**
+	 * y[yOffset + i] += x[xOffset + i] for i in [0, length). the ranges must
+	 * either be disjoint or identical.
+	 * 
+	 * @param x
+	 * @param xOffset
+	 * @param y
+	 * @param yOffset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static void add(float[] x, int xOffset, float[] y, int yOffset, int length) {
+		Objects.checkFromIndexSize(xOffset, length, x.length);
+		Objects.checkFromIndexSize(yOffset, length, y.length);
+		for (int a = 0; a < length; a++)
+			y[yOffset + a] += x[xOffset + a];
+	}
+
+	/**
+	 * x[offset + i] *= alpha for i in [0, length)
+	 * 
+	 * @param alpha
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void scale(float alpha, float[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		for (int a = offset; a < offset + length; a++)
+			x[a] *= alpha;
+	}
+
+	/**
+	 * @param x
+	 * @param offset
+	 * @param length positive length
+	 * @return index of the first highest value in the range relative to offset
+	 * @throws IndexOutOfBoundsException if the range is out of bounds or empty
+	 */
+	public static int maxIndex(float[] x, int offset, int length) {
+		if (length <= 0)
+			throw new IndexOutOfBoundsException("empty range");
+		Objects.checkFromIndexSize(offset, length, x.length);
+		return BACKEND.maxIndex(x, offset, length);
+	}
+
+	/**
+	 * x[offset + i] = max(x[offset + i], 0) for i in [0, length). NaN stays NaN.
+	 * 
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void relu(float[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		for (int a = offset; a < offset + length; a++)
+			x[a] = Math.max(x[a], 0);
+	}
+
+	/**
+	 * x[offset + i] = 1 / (1 + e^-x[offset + i]) for i in [0, length) - the
+	 * results of {@link DoubleKernels#sigmoid(double[], int, int)} rounded to
+	 * float
+	 * 
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void sigmoid(float[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		double[] buffer = CONVERSION_BUFFER.get();
+		int chunkLength;
+		for (int chunk = offset; chunk < offset + length; chunk += chunkLength) {
+			chunkLength = Math.min(buffer.length, offset + length - chunk);
+			toDouble(x, chunk, buffer, 0, chunkLength);
+			DoubleKernels.sigmoid(buffer, 0, chunkLength);
+			toFloat(buffer, 0, x, chunk, chunkLength);
+		}
+	}
+
+	/**
+	 * x[offset + i] = tanh(x[offset + i]) for i in [0, length) - the results of
+	 * {@link DoubleKernels#tanh(double[], int, int)} rounded to float
+	 * 
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public static void tanh(float[] x, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		double[] buffer = CONVERSION_BUFFER.get();
+		int chunkLength;
+		for (int chunk = offset; chunk < offset + length; chunk += chunkLength) {
+			chunkLength = Math.min(buffer.length, offset + length - chunk);
+			toDouble(x, chunk, buffer, 0, chunkLength);
+			DoubleKernels.tanh(buffer, 0, chunkLength);
+			toFloat(buffer, 0, x, chunk, chunkLength);
+		}
+	}
+
+	/**
+	 * destination[destinationOffset + i] = source[sourceOffset + i] for i in [0,
+	 * length) - the conversion is exact
+	 * 
+	 * @param source
+	 * @param sourceOffset
+	 * @param destination
+	 * @param destinationOffset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static void toDouble(float[] source, int sourceOffset, double[] destination, int destinationOffset,
+			int length) {
+		Objects.checkFromIndexSize(sourceOffset, length, source.length);
+		Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+		for (int a = 0; a < length; a++)
+			destination[destinationOffset + a] = source[sourceOffset + a];
+	}
+
+	/**
+	 * destination[destinationOffset + i] = source[sourceOffset + i] rounded to the
+	 * nearest float for i in [0, length)
+	 * 
+	 * @param source
+	 * @param sourceOffset
+	 * @param destination
+	 * @param destinationOffset
+	 * @param length
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 */
+	public static void toFloat(double[] source, int sourceOffset, float[] destination, int destinationOffset,
+			int length) {
+		Objects.checkFromIndexSize(sourceOffset, length, source.length);
+		Objects.checkFromIndexSize(destinationOffset, length, destination.length);
+		for (int a = 0; a < length; a++)
+			destination[destinationOffset + a] = (float) source[sourceOffset + a];
+	}
+
+}
@@ -0,0 +1,273 @@
+package de.nuttercode.math.vector;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * wraps around a float[] - the single precision counterpart of
+ * {@link DoubleVector}, which needs half of the memory. reductions accumulate in
+ * float unless an {@link Accumulation} is given.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class FloatVector implements Vector, Serializable {
+
+	private static final long serialVersionUID = -4915520437716094163L;
+
+	/**
+	 * underlying array
+	 */
+	private final float[] values;
+
+	/**
+	 * vector with given dimension. values have default float-values.
+	 * 
+	 * @param dimension
+	 */
+	public FloatVector(int dimension) {
+		values = new float[dimension];
+	}
+
+	/**
+	 * deep-copy constructor
+	 * 
+	 * @param vector
+	 */
+	public FloatVector(@NotNull FloatVector vector) {
+		this(Assurance.assureNotNull(vector).values);
+	}
+
+	/**
+	 * the dimension of this vector will be array.length and the values of the array
+	 * will be copied into this vector
+	 * 
+	 * @param array
+	 */
+	public FloatVector(float[] array) {
+		values = Arrays.copyOf(array, array.length);
+	}
+
+	/**
+	 * converts the vector to single precision - every value is rounded to the
+	 * nearest float
+	 * 
+	 * @param vector
+	 */
+	public FloatVector(@NotNull DoubleVector vector) {
+		this(Assurance.assureNotNull(vector).getDimension());
+		FloatKernels.toFloat(vector.getArray(), 0, values, 0, values.length);
+	}
+
+	/**
+	 * @param vector
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	private void assureSameDimension(@NotNull FloatVector vector) {
+		Assurance.assureNotNull(vector);
+		if (vector.getDimension() != getDimension())
+			throw new IllegalArgumentException(
+					"dimension of argument vector is " + vector.getDimension() + " != " + getDimension());
+	}
+
+	/**
+	 * @return this vector in double precision - the conversion is exact
+	 */
+	public DoubleVector toDoubleVector() {
+		DoubleVector vector = new DoubleVector(values.length);
+		FloatKernels.toDouble(values, 0, vector.getArray(), 0, values.length);
+		return vector;
+	}
+
+	/**
+	 * sets the value at the index to the given value
+	 * 
+	 * @param value
+	 * @param index
+	 */
+	public void setValue(float value, int index) {
+		values[index] = value;
+	}
+
+	/**
+	 * @param index
+	 * @return the value at the index
+	 */
+	public float getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * @return the underlying array - changes to the array are changes to this
+	 *         vector. intended for kernels which process whole vectors.
+	 */
+	public float[] getArray() {
+		return values;
+	}
+
+	/**
+	 * @return the dimension of this vector
+	 */
+	public int getDimension() {
+		return values.length;
+	}
+
+	/**
+	 * swaps the values at the sourceIndex with the destinationindex
+	 * 
+	 * @param sourceIndex
+	 * @param destinationIndex
+	 */
+	public void swapValues(int sourceIndex, int destinationIndex) {
+		float temp = values[sourceIndex];
+		values[sourceIndex] = values[destinationIndex];
+		values[destinationIndex] = temp;
+	}
+
+	/**
+	 * scales the value at the index by scalar
+	 * 
+	 * @param scalar
+	 * @param index
+	 */
+	public void scaleValue(float scalar, int index) {
+		values[index] *= scalar;
+	}
+
+	/**
+	 * scales all values of this vector by the given scalar
+	 * 
+	 * @param scalar
+	 */
+	public void scale(float scalar) {
+		FloatKernels.scale(scalar, values, 0, values.length);
+	}
+
+	/**
+	 * adds the values of the vector to this vector's values
+	 * 
+	 * @param vector
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public void add(@NotNull FloatVector vector) {
+		assureSameDimension(vector);
+		FloatKernels.add(vector.values, 0, values, 0, values.length);
+	}
+
+	/**
+	 * adds the scalar-scaled values of the vector to this vector's values
+	 * 
+	 * @param vector
+	 * @param scalar some scalar
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 * @see FloatKernels#axpy(float, float[], int, float[], int, int)
+	 */
+	public void add(@NotNull FloatVector vector, float scalar) {
+		assureSameDimension(vector);
+		FloatKernels.axpy(scalar, vector.values, 0, values, 0, values.length);
+	}
+
+	/**
+	 * @param vector
+	 * @return scalar product of two vectors accumulated in float
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 * @see FloatKernels#dot(float[], int, float[], int, int)
+	 */
+	public float scalarProduct(@NotNull FloatVector vector) {
+		assureSameDimension(vector);
+		return FloatKernels.dot(values, 0, vector.values, 0, values.length);
+	}
+
+	/**
+	 * @param vector
+	 * @param accumulation
+	 * @return scalar product of two vectors accumulated with the given precision.
+	 *         the result of {@link Accumulation#DOUBLE} is not rounded to float.
+	 * @throws IllegalArgumentException if vector or accumulation is null or if
+	 *                                  vector.getDimension() != getDimension()
+	 * @see FloatKernels#dotDouble(float[], int, float[], int, int)
+	 */
+	public double scalarProduct(@NotNull FloatVector vector, @NotNull Accumulation accumulation) {
+		assureSameDimension(vector);
+		if (Assurance.assureNotNull(accumulation) == Accumulation.DOUBLE)
+			return FloatKernels.dotDouble(values, 0, vector.values, 0, values.length);
+		return FloatKernels.dot(values, 0, vector.values, 0, values.length);
+	}
+
+	/**
+	 * adds value of destination index to scalar * value of source index and saves
+	 * the result at the destination index
+	 * 
+	 * @param source      source index
+	 * @param destination destination index
+	 * @param scalar      some scalar value
+	 */
+	public void addValue(int source, int destination, float scalar) {
+		values[destination] += values[source] * scalar;
+	}
+
+	/**
+	 * @return index with the highest value in this vector
+	 * @throws IllegalArgumentException if and only if getDimension() is not
+	 *                                  positive
+	 */
+	public int getMaxIndex() {
+		Assurance.assurePositive(getDimension());
+		return FloatKernels.maxIndex(values, 0, values.length);
+	}
+
+	/**
+	 * @param visitor a visitor
+	 */
+	public void forEach(FloatVectorVisitor visitor) {
+		int dimension = getDimension();
+		for (int i = 0; i < dimension; i++) {
+			visitor.visit(i, getValue(i));
+		}
+	}
+
+	/**
+	 * sets this vectors components to random values of [-0.5, 0.5)
+	 * 
+	 * @param random
+	 */
+	public void randomize(Random random) {
+		forEach((i, v) -> setValue(random.nextFloat() - 0.5f, i));
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(values);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FloatVector other = (FloatVector) obj;
+		if (!Arrays.equals(values, other.values))
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(values);
+	}
+
+}
@@ -0,0 +1,21 @@
+package de.nuttercode.math.vector;
+
+/**
+ * used to visit entries of a {@link FloatVector}
+ * 
+ * @author Johannes B. Latzel
+ * @see #visit(int, float)
+ * 
+ */
+@FunctionalInterface
+public interface FloatVectorVisitor {
+
+	/**
+	 * visits entries of {@link FloatVector}
+	 * 
+	 * @param index index
+	 * @param value value index
+	 */
+	void visit(int index, float value);
+
+}
@@ -0,0 +1,372 @@
+package de.nuttercode.math.vector;
+
+import java.util.Objects;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.util.assurance.Assurance;
+
+/**
+ * compensated and deterministic reductions of ranges of double arrays. a range
+ * is split into blocks of {@value #BLOCK_SIZE} values - the blocks do not
+ * depend on the {@link Parallelism}, so the blocks may be reduced in parallel
+ * and the result is identical for every number of threads. every block is
+ * reduced into a sum and a compensation by the error-free transformations
+ * TwoSum and TwoProduct (by fused multiply-add) in four interleaved
+ * accumulators, and the blocks are combined in ascending order by TwoSum as
+ * well. the results are as accurate as if they were computed in twice the
+ * working precision and then rounded, i.e. their error is about
+ * eps * |result| + n * eps^2 * (sum of the absolute values of the terms) -
+ * see <a href="https://doi.org/10.1137/030601818">Ogita, Rump and Oishi,
+ * accurate sum and dot product</a>. the compensation is only exact for finite
+ * values - if the sum overflows or a term is infinite or NaN the plain sum of
+ * the blocks is returned, i.e. infinity or NaN like an uncompensated reduction.
+ * on one thread they are about twice as slow as the uncompensated reductions
+ * of {@link DoubleKernels}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public final class Reductions {
+
+	/**
+	 * number of values of a block - the reduction of a block is never split
+	 */
+	public static final int BLOCK_SIZE = 1 << 12;
+
+	/**
+	 * number of interleaved accumulators of a block
+	 */
+	private static final int LANES = 4;
+
+	/**
+	 * terms a[i]
+	 */
+	private static final int SUM = 0;
+
+	/**
+	 * terms |a[i]|
+	 */
+	private static final int ABSOLUTE_SUM = 1;
+
+	/**
+	 * terms a[i] * b[i]
+	 */
+	private static final int DOT = 2;
+
+	/**
+	 * terms (a[i] * scale)^2
+	 */
+	private static final int SQUARE_SUM = 3;
+
+	/**
+	 * terms (a[i] - b[i])^2
+	 */
+	private static final int SQUARED_DIFFERENCE_SUM = 4;
+
+	private Reductions() {
+	}
+
+	/**
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @param parallelism
+	 * @return compensated sum of x[offset + i] for i in [0, length) - identical
+	 *         for every parallelism
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws IllegalArgumentException  if x or parallelism is null
+	 */
+	public static double sum(double[] x, int offset, int length, Parallelism parallelism) {
+		Objects.checkFromIndexSize(offset, length, Assurance.assureNotNull(x).length);
+		return reduce(SUM, x, offset, null, 0, 1, length, parallelism);
+	}
+
+	/**
+	 * @param a
+	 * @param aOffset
+	 * @param b
+	 * @param bOffset
+	 * @param length
+	 * @param parallelism
+	 * @return compensated sum of a[aOffset + i] * b[bOffset + i] for i in [0,
+	 *         length) - identical for every parallelism
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 * @throws IllegalArgumentException  if an array or parallelism is null
+	 */
+	public static double dot(double[] a, int aOffset, double[] b, int bOffset, int length,
+			Parallelism parallelism) {
+		Objects.checkFromIndexSize(aOffset, length, Assurance.assureNotNull(a).length);
+		Objects.checkFromIndexSize(bOffset, length, Assurance.assureNotNull(b).length);
+		return reduce(DOT, a, aOffset, b, bOffset, 1, length, parallelism);
+	}
+
+	/**
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @param parallelism
+	 * @return compensated sum of |x[offset + i]| for i in [0, length) - identical
+	 *         for every parallelism
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws IllegalArgumentException  if x or parallelism is null
+	 */
+	public static double norm1(double[] x, int offset, int length, Parallelism parallelism) {
+		Objects.checkFromIndexSize(offset, length, Assurance.assureNotNull(x).length);
+		return reduce(ABSOLUTE_SUM, x, offset, null, 0, 1, length, parallelism);
+	}
+
+	/**
+	 * euclidean norm which neither overflows nor underflows unless the result
+	 * does - if the plain sum of squares is not a finite normal number the values
+	 * are scaled by a power of two, which is exact
+	 * 
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @param parallelism
+	 * @return square root of the compensated sum of x[offset + i]^2 for i in [0,
+	 *         length) - identical for every parallelism
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws IllegalArgumentException  if x or parallelism is null
+	 */
+	public static double norm2(double[] x, int offset, int length, Parallelism parallelism) {
+		Objects.checkFromIndexSize(offset, length, Assurance.assureNotNull(x).length);
+		double squares = reduce(SQUARE_SUM, x, offset, null, 0, 1, length, parallelism);
+		if (squares >= Double.MIN_NORMAL && squares <= Double.MAX_VALUE)
+			return Math.sqrt(squares);
+		double max = normInfinity(x, offset, length, parallelism);
+		if (max == 0 || !Double.isFinite(max))
+			return max;
+		int exponent = Math.getExponent(max);
+		squares = reduce(SQUARE_SUM, x, offset, null, 0, Math.scalb(1.0, -exponent), length, parallelism);
+		return Math.scalb(Math.sqrt(squares), exponent);
+	}
+
+	/**
+	 * @param x
+	 * @param offset
+	 * @param length
+	 * @param parallelism
+	 * @return maximum of |x[offset + i]| for i in [0, length), 0 if the range is
+	 *         empty and NaN if a value is NaN
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 * @throws IllegalArgumentException  if x or parallelism is null
+	 */
+	public static double normInfinity(double[] x, int offset, int length, Parallelism parallelism) {
+		Objects.checkFromIndexSize(offset, length, Assurance.assureNotNull(x).length);
+		int blockCount = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		double[] maxima = new double[blockCount];
+		Assurance.assureNotNull(parallelism).execute(blockCount, 1, length, (from, to) -> {
+			double max;
+			int end;
+			for (int block = from; block < to; block++) {
+				max = 0;
+				end = offset + Math.min(length, (block + 1) * BLOCK_SIZE);
+				for (int a = offset + block * BLOCK_SIZE; a < end; a++)
+					max = Math.max(max, Math.abs(x[a]));
+				maxima[block] = max;
+			}
+		});
+		double max = 0;
+		for (double value : maxima)
+			max = Math.max(max, value);
+		return max;
+	}
+
+	/**
+	 * @param a
+	 * @param aOffset
+	 * @param b
+	 * @param bOffset
+	 * @param length      positive length
+	 * @param parallelism
+	 * @return compensated sum of (a[aOffset + i] - b[bOffset + i])^2 for i in [0,
+	 *         length) divided by length - the rounding errors of the
+	 *         differences are compensated as well. identical for every
+	 *         parallelism.
+	 * @throws IndexOutOfBoundsException if a range is out of bounds
+	 * @throws IllegalArgumentException  if an array or parallelism is null or
+	 *                                   length is not positive
+	 */
+	public static double meanSquaredError(double[] a, int aOffset, double[] b, int bOffset, int length,
+			Parallelism parallelism) {
+		Assurance.assurePositive(length);
+		Objects.checkFromIndexSize(aOffset, length, Assurance.assureNotNull(a).length);
+		Objects.checkFromIndexSize(bOffset, length, Assurance.assureNotNull(b).length);
+		return reduce(SQUARED_DIFFERENCE_SUM, a, aOffset, b, bOffset, 1, length, parallelism) / length;
+	}
+
+	/**
+	 * reduces every block into a sum and a compensation and combines the blocks in
+	 * ascending order
+	 * 
+	 * @param kind        one of the terms
+	 * @param a
+	 * @param aOffset
+	 * @param b           only read by {@link #DOT} and
+	 *                    {@link #SQUARED_DIFFERENCE_SUM}
+	 * @param bOffset
+	 * @param scale       only read by {@link #SQUARE_SUM}
+	 * @param length
+	 * @param parallelism
+	 * @return compensated sum of the terms - the plain sum if it is not finite
+	 */
+	private static double reduce(int kind, double[] a, int aOffset, double[] b, int bOffset, double scale,
+			int length, Parallelism parallelism) {
+		int blockCount = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		// sum and compensation of block k at 2 * k and 2 * k + 1
+		double[] partials = new double[2 * blockCount];
+		Assurance.assureNotNull(parallelism).execute(blockCount, 1, length, (from, to) -> {
+			int start;
+			for (int block = from; block < to; block++) {
+				start = block * BLOCK_SIZE;
+				reduceBlock(kind, a, aOffset + start, b, bOffset + start, scale, Math.min(BLOCK_SIZE, length - start),
+						partials, 2 * block);
+			}
+		});
+		double sum = 0, compensation = 0, next, z;
+		for (int block = 0; block < blockCount; block++) {
+			next = sum + partials[2 * block];
+			z = next - sum;
+			compensation += (sum - (next - z)) + (partials[2 * block] - z) + partials[2 * block + 1];
+			sum = next;
+		}
+		// the compensation of an infinite sum is NaN or infinite
+		return Double.isFinite(sum) ? sum + compensation : sum;
+	}
+
+	/**
+	 * reduces one block in {@link #LANES} interleaved accumulators - term k is
+	 * added to accumulator k % {@link #LANES} - and stores the sum and the
+	 * compensation in result[position] and result[position + 1]
+	 */
+	private static void reduceBlock(int kind, double[] a, int aOffset, double[] b, int bOffset, double scale,
+			int length, double[] result, int position) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		double c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+		double p0, p1, p2, p3, e0 = 0, e1 = 0, e2 = 0, e3 = 0, t0, t1, t2, t3, z0, z1, z2, z3;
+		int end = length - length % LANES;
+		int i = 0;
+		for (; i < end; i += LANES) {
+			switch (kind) {
+			case SUM:
+				p0 = a[aOffset + i];
+				p1 = a[aOffset + i + 1];
+				p2 = a[aOffset + i + 2];
+				p3 = a[aOffset + i + 3];
+				break;
+			case ABSOLUTE_SUM:
+				p0 = Math.abs(a[aOffset + i]);
+				p1 = Math.abs(a[aOffset + i + 1]);
+				p2 = Math.abs(a[aOffset + i + 2]);
+				p3 = Math.abs(a[aOffset + i + 3]);
+				break;
+			default:
+				t0 = first(kind, a, aOffset + i, b, bOffset + i, scale);
+				t1 = first(kind, a, aOffset + i + 1, b, bOffset + i + 1, scale);
+				t2 = first(kind, a, aOffset + i + 2, b, bOffset + i + 2, scale);
+				t3 = first(kind, a, aOffset + i + 3, b, bOffset + i + 3, scale);
+				z0 = second(kind, t0, b, bOffset + i);
+				z1 = second(kind, t1, b, bOffset + i + 1);
+				z2 = second(kind, t2, b, bOffset + i + 2);
+				z3 = second(kind, t3, b, bOffset + i + 3);
+				// TwoProduct: t * z = p + e exactly - plus the error of the rounded difference t
+				p0 = t0 * z0;
+				p1 = t1 * z1;
+				p2 = t2 * z2;
+				p3 = t3 * z3;
+				e0 = Math.fma(t0, z0, -p0) + firstError(kind, a, aOffset + i, b, bOffset + i, t0);
+				e1 = Math.fma(t1, z1, -p1) + firstError(kind, a, aOffset + i + 1, b, bOffset + i + 1, t1);
+				e2 = Math.fma(t2, z2, -p2) + firstError(kind, a, aOffset + i + 2, b, bOffset + i + 2, t2);
+				e3 = Math.fma(t3, z3, -p3) + firstError(kind, a, aOffset + i + 3, b, bOffset + i + 3, t3);
+			}
+			// TwoSum: s + p = t + the compensated error exactly
+			t0 = s0 + p0;
+			t1 = s1 + p1;
+			t2 = s2 + p2;
+			t3 = s3 + p3;
+			z0 = t0 - s0;
+			z1 = t1 - s1;
+			z2 = t2 - s2;
+			z3 = t3 - s3;
+			c0 += (s0 - (t0 - z0)) + (p0 - z0) + e0;
+			c1 += (s1 - (t1 - z1)) + (p1 - z1) + e1;
+			c2 += (s2 - (t2 - z2)) + (p2 - z2) + e2;
+			c3 += (s3 - (t3 - z3)) + (p3 - z3) + e3;
+			s0 = t0;
+			s1 = t1;
+			s2 = t2;
+			s3 = t3;
+		}
+		for (; i < length; i++) {
+			switch (kind) {
+			case SUM:
+				p0 = a[aOffset + i];
+				break;
+			case ABSOLUTE_SUM:
+				p0 = Math.abs(a[aOffset + i]);
+				break;
+			default:
+				t0 = first(kind, a, aOffset + i, b, bOffset + i, scale);
+				z0 = second(kind, t0, b, bOffset + i);
+				p0 = t0 * z0;
+				e0 = Math.fma(t0, z0, -p0) + firstError(kind, a, aOffset + i, b, bOffset + i, t0);
+			}
+			t0 = s0 + p0;
+			z0 = t0 - s0;
+			c0 += (s0 - (t0 - z0)) + (p0 - z0) + e0;
+			s0 = t0;
+		}
+		// combine the accumulators pairwise by TwoSum
+		t0 = s0 + s1;
+		z0 = t0 - s0;
+		c0 += c1 + (s0 - (t0 - z0)) + (s1 - z0);
+		t2 = s2 + s3;
+		z2 = t2 - s2;
+		c2 += c3 + (s2 - (t2 - z2)) + (s3 - z2);
+		s0 = t0 + t2;
+		z0 = s0 - t0;
+		result[position] = s0;
+		result[position + 1] = c0 + c2 + (t0 - (s0 - z0)) + (t2 - z0);
+	}
+
+	/**
+	 * @return first factor of a product term
+	 */
+	private static double first(int kind, double[] a, int aIndex, double[] b, int bIndex, double scale) {
+		switch (kind) {
+		case DOT:
+			return a[aIndex];
+		case SQUARE_SUM:
+			return a[aIndex] * scale;
+		default:
+			return a[aIndex] - b[bIndex];
+		}
+	}
+
+	/**
+	 * the first factor t of a squared difference is the rounded difference a - b
+	 * = t + d. (t + d)^2 = t^2 + 2 * t * d + d^2 and d^2 is below the
+	 * compensation, so 2 * t * d is carried into the compensation. the other
+	 * first factors are exact.
+	 * 
+	 * @param first first factor of the product term
+	 * @return error of the square of first which is not part of its TwoProduct
+	 */
+	private static double firstError(int kind, double[] a, int aIndex, double[] b, int bIndex, double first) {
+		if (kind != SQUARED_DIFFERENCE_SUM)
+			return 0;
+		// TwoSum: a + (-b) = first + d exactly
+		double z = first - a[aIndex];
+		return 2 * first * ((a[aIndex] - (first - z)) + (-b[bIndex] - z));
+	}
+
+	/**
+	 * @param first first factor of the product term
+	 * @return second factor of a product term
+	 */
+	private static double second(int kind, double first, double[] b, int bIndex) {
+		return kind == DOT ? b[bIndex] : first;
+	}
+
+}
@@ -0,0 +1,146 @@
+package de.nuttercode.math.vector;
+
+/**
+ * plain java implementation of {@link DoubleKernelBackend}
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class ScalarDoubleKernelBackend implements DoubleKernelBackend {
+
+	@Override
+	public double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0, s4 = 0, s5 = 0, s6 = 0, s7 = 0;
+		double s8 = 0, s9 = 0, s10 = 0, s11 = 0, s12 = 0, s13 = 0, s14 = 0, s15 = 0;
+		int a0 = aOffset, b0 = bOffset;
+		int end = aOffset + length - length % DOT_PARTIAL_SUMS;
+		for (; a0 < end; a0 += DOT_PARTIAL_SUMS, b0 += DOT_PARTIAL_SUMS) {
+			s0 = Math.fma(a[a0], b[b0], s0);
+			s1 = Math.fma(a[a0 + 1], b[b0 + 1], s1);
+			s2 = Math.fma(a[a0 + 2], b[b0 + 2], s2);
+			s3 = Math.fma(a[a0 + 3], b[b0 + 3], s3);
+			s4 = Math.fma(a[a0 + 4], b[b0 + 4], s4);
+			s5 = Math.fma(a[a0 + 5], b[b0 + 5], s5);
+			s6 = Math.fma(a[a0 + 6], b[b0 + 6], s6);
+			s7 = Math.fma(a[a0 + 7], b[b0 + 7], s7);
+			s8 = Math.fma(a[a0 + 8], b[b0 + 8], s8);
+			s9 = Math.fma(a[a0 + 9], b[b0 + 9], s9);
+			s10 = Math.fma(a[a0 + 10], b[b0 + 10], s10);
+			s11 = Math.fma(a[a0 + 11], b[b0 + 11], s11);
+			s12 = Math.fma(a[a0 + 12], b[b0 + 12], s12);
+			s13 = Math.fma(a[a0 + 13], b[b0 + 13], s13);
+			s14 = Math.fma(a[a0 + 14], b[b0 + 14], s14);
+			s15 = Math.fma(a[a0 + 15], b[b0 + 15], s15);
+		}
+		// same order as the lane-wise reduction of the vectorized backend
+		double t0 = (s0 + s4) + (s8 + s12);
+		double t1 = (s1 + s5) + (s9 + s13);
+		double t2 = (s2 + s6) + (s10 + s14);
+		double t3 = (s3 + s7) + (s11 + s15);
+		double sum = (t0 + t1) + (t2 + t3);
+		end = aOffset + length;
+		for (; a0 < end; a0++, b0++)
+			sum = Math.fma(a[a0], b[b0], sum);
+		return sum;
+	}
+
+	@Override
+	public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+		for (int a = 0; a < length; a++)
+			y[yOffset + a] = Math.fma(alpha, x[xOffset + a], y[yOffset + a]);
+	}
+
+	@Override
+	public int maxIndex(double[] x, int offset, int length) {
+		int maxIndex = 0;
+		double maxValue = x[offset];
+		double current;
+		for (int a = 1; a < length; a++) {
+			current = x[offset + a];
+			if (current > maxValue) {
+				maxValue = current;
+				maxIndex = a;
+			}
+		}
+		return maxIndex;
+	}
+
+	@Override
+	public void sigmoid(double[] x, int offset, int length) {
+		for (int a = offset; a < offset + length; a++)
+			x[a] = sigmoid(x[a]);
+	}
+
+	/**
+	 * @param value
+	 * @return 1 / (1 + e^-value) computed as described in
+	 *         {@link DoubleKernels#sigmoid(double[], int, int)}
+	 */
+	static double sigmoid(double value) {
+		double e = Exponentials.exp(-Math.abs(value));
+		return value >= 0 ? 1 / (1 + e) : e / (1 + e);
+	}
+
+	@Override
+	public void tanh(double[] x, int offset, int length) {
+		for (int a = offset; a < offset + length; a++)
+			x[a] = tanh(x[a]);
+	}
+
+	/**
+	 * @param value
+	 * @return tanh(value) computed as described in
+	 *         {@link DoubleKernels#tanh(double[], int, int)}
+	 */
+	static double tanh(double value) {
+		double t = Exponentials.expm1(-2 * Math.abs(value));
+		return Math.copySign(-t / (t + 2), value);
+	}
+
+	@Override
+	public double expSum(double[] x, int xOffset, double shift, double[] y, int yOffset, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		double e0, e1, e2, e3;
+		int a = 0;
+		int end = length - length % EXP_PARTIAL_SUMS;
+		for (; a < end; a += EXP_PARTIAL_SUMS) {
+			e0 = Exponentials.exp(x[xOffset + a] - shift);
+			e1 = Exponentials.exp(x[xOffset + a + 1] - shift);
+			e2 = Exponentials.exp(x[xOffset + a + 2] - shift);
+			e3 = Exponentials.exp(x[xOffset + a + 3] - shift);
+			y[yOffset + a] = e0;
+			y[yOffset + a + 1] = e1;
+			y[yOffset + a + 2] = e2;
+			y[yOffset + a + 3] = e3;
+			s0 += e0;
+			s1 += e1;
+			s2 += e2;
+			s3 += e3;
+		}
+		double sum = (s0 + s1) + (s2 + s3);
+		for (; a < length; a++) {
+			e0 = Exponentials.exp(x[xOffset + a] - shift);
+			y[yOffset + a] = e0;
+			sum += e0;
+		}
+		return sum;
+	}
+
+	@Override
+	public double sumExp(double[] x, int offset, double shift, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int a = offset;
+		int end = offset + length - length % EXP_PARTIAL_SUMS;
+		for (; a < end; a += EXP_PARTIAL_SUMS) {
+			s0 += Exponentials.exp(x[a] - shift);
+			s1 += Exponentials.exp(x[a + 1] - shift);
+			s2 += Exponentials.exp(x[a + 2] - shift);
+			s3 += Exponentials.exp(x[a + 3] - shift);
+		}
+		double sum = (s0 + s1) + (s2 + s3);
+		for (; a < offset + length; a++)
+			sum += Exponentials.exp(x[a] - shift);
+		return sum;
+	}
+
+}
@@ -0,0 +1,96 @@
+package de.nuttercode.math.vector;
+
+/**
+ * plain java implementation of {@link FloatKernelBackend}
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class ScalarFloatKernelBackend implements FloatKernelBackend {
+
+	@Override
+	public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		float s0 = 0, s1 = 0, s2 = 0, s3 = 0, s4 = 0, s5 = 0, s6 = 0, s7 = 0;
+		float s8 = 0, s9 = 0, s10 = 0, s11 = 0, s12 = 0, s13 = 0, s14 = 0, s15 = 0;
+		int a0 = aOffset, b0 = bOffset;
+		int end = aOffset + length - length % DOT_PARTIAL_SUMS;
+		for (; a0 < end; a0 += DOT_PARTIAL_SUMS, b0 += DOT_PARTIAL_SUMS) {
+			s0 = Math.fma(a[a0], b[b0], s0);
+			s1 = Math.fma(a[a0 + 1], b[b0 + 1], s1);
+			s2 = Math.fma(a[a0 + 2], b[b0 + 2], s2);
+			s3 = Math.fma(a[a0 + 3], b[b0 + 3], s3);
+			s4 = Math.fma(a[a0 + 4], b[b0 + 4], s4);
+			s5 = Math.fma(a[a0 + 5], b[b0 + 5], s5);
+			s6 = Math.fma(a[a0 + 6], b[b0 + 6], s6);
+			s7 = Math.fma(a[a0 + 7], b[b0 + 7], s7);
+			s8 = Math.fma(a[a0 + 8], b[b0 + 8], s8);
+			s9 = Math.fma(a[a0 + 9], b[b0 + 9], s9);
+			s10 = Math.fma(a[a0 + 10], b[b0 + 10], s10);
+			s11 = Math.fma(a[a0 + 11], b[b0 + 11], s11);
+			s12 = Math.fma(a[a0 + 12], b[b0 + 12], s12);
+			s13 = Math.fma(a[a0 + 13], b[b0 + 13], s13);
+			s14 = Math.fma(a[a0 + 14], b[b0 + 14], s14);
+			s15 = Math.fma(a[a0 + 15], b[b0 + 15], s15);
+		}
+		// same order as the lane-wise reduction of the vectorized backend
+		float t0 = s0 + s8, t1 = s1 + s9, t2 = s2 + s10, t3 = s3 + s11;
+		float t4 = s4 + s12, t5 = s5 + s13, t6 = s6 + s14, t7 = s7 + s15;
+		float sum = ((t0 + t1) + (t2 + t3)) + ((t4 + t5) + (t6 + t7));
+		end = aOffset + length;
+		for (; a0 < end; a0++, b0++)
+			sum = Math.fma(a[a0], b[b0], sum);
+		return sum;
+	}
+
+	@Override
+	public double dotDouble(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0, s4 = 0, s5 = 0, s6 = 0, s7 = 0;
+		double s8 = 0, s9 = 0, s10 = 0, s11 = 0, s12 = 0, s13 = 0, s14 = 0, s15 = 0;
+		int a0 = aOffset, b0 = bOffset;
+		int end = aOffset + length - length % DOT_PARTIAL_SUMS;
+		for (; a0 < end; a0 += DOT_PARTIAL_SUMS, b0 += DOT_PARTIAL_SUMS) {
+			s0 = Math.fma((double) a[a0], (double) b[b0], s0);
+			s1 = Math.fma((double) a[a0 + 1], (double) b[b0 + 1], s1);
+			s2 = Math.fma((double) a[a0 + 2], (double) b[b0 + 2], s2);
+			s3 = Math.fma((double) a[a0 + 3], (double) b[b0 + 3], s3);
+			s4 = Math.fma((double) a[a0 + 4], (double) b[b0 + 4], s4);
+			s5 = Math.fma((double) a[a0 + 5], (double) b[b0 + 5], s5);
+			s6 = Math.fma((double) a[a0 + 6], (double) b[b0 + 6], s6);
+			s7 = Math.fma((double) a[a0 + 7], (double) b[b0 + 7], s7);
+			s8 = Math.fma((double) a[a0 + 8], (double) b[b0 + 8], s8);
+			s9 = Math.fma((double) a[a0 + 9], (double) b[b0 + 9], s9);
+			s10 = Math.fma((double) a[a0 + 10], (double) b[b0 + 10], s10);
+			s11 = Math.fma((double) a[a0 + 11], (double) b[b0 + 11], s11);
+			s12 = Math.fma((double) a[a0 + 12], (double) b[b0 + 12], s12);
+			s13 = Math.fma((double) a[a0 + 13], (double) b[b0 + 13], s13);
+			s14 = Math.fma((double) a[a0 + 14], (double) b[b0 + 14], s14);
+			s15 = Math.fma((double) a[a0 + 15], (double) b[b0 + 15], s15);
+		}
+		// same order as ScalarDoubleKernelBackend.dot
+		double t0 = (s0 + s4) + (s8 + s12);
+		double t1 = (s1 + s5) + (s9 + s13);
+		double t2 = (s2 + s6) + (s10 + s14);
+		double t3 = (s3 + s7) + (s11 + s15);
+		double sum = (t0 + t1) + (t2 + t3);
+		end = aOffset + length;
+		for (; a0 < end; a0++, b0++)
+			sum = Math.fma((double) a[a0], (double) b[b0], sum);
+		return sum;
+	}
+
+	@Override
+	public int maxIndex(float[] x, int offset, int length) {
+		int maxIndex = 0;
+		float maxValue = x[offset];
+		float current;
+		for (int a = 1; a < length; a++) {
+			current = x[offset + a];
+			if (current > maxValue) {
+				maxValue = current;
+				maxIndex = a;
+			}
+		}
+		return maxIndex;
+	}
+
+}
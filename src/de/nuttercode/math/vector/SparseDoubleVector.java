@@ -0,0 +1,401 @@
+package de.nuttercode.math.vector;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+import de.nuttercode.util.assurance.Assurance;
+import de.nuttercode.util.assurance.NotNull;
+
+/**
+ * sparse vector which stores the indices of its non-zero values in ascending
+ * order in an int[] and the values at the same positions in a double[]. every
+ * index which is not stored has the value 0. products with dense vectors and
+ * matrices only touch the stored indices, so they run in O(getValueCount())
+ * instead of O(getDimension()).
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+public class SparseDoubleVector implements Vector, Serializable {
+
+	private static final long serialVersionUID = -4168024387113628436L;
+
+	/**
+	 * if one operand of a sparse-sparse product stores this many times more values
+	 * than the other, the indices of the smaller one are searched in the larger one
+	 * instead of merging both
+	 */
+	private static final int SEARCH_RATIO = 32;
+
+	/**
+	 * dimension of this vector
+	 */
+	private final int dimension;
+
+	/**
+	 * stored indices in ascending order - only the first {@link #size} are used
+	 */
+	private int[] indices;
+
+	/**
+	 * stored values - only the first {@link #size} are used
+	 */
+	private double[] values;
+
+	/**
+	 * number of stored values
+	 */
+	private int size;
+
+	/**
+	 * vector with given dimension and no stored values
+	 * 
+	 * @param dimension
+	 * @throws IllegalArgumentException if dimension is negative
+	 */
+	public SparseDoubleVector(int dimension) {
+		Assurance.assureBoundaries(dimension, 0, Integer.MAX_VALUE);
+		this.dimension = dimension;
+		indices = new int[0];
+		values = new double[0];
+	}
+
+	/**
+	 * creates the vector with the values[a] at indices[a]. the arrays are copied.
+	 * 
+	 * @param dimension
+	 * @param indices   strictly ascending indices in [0, dimension)
+	 * @param values    value of every index
+	 * @throws IllegalArgumentException if an array is null, the arrays have
+	 *                                  different lengths or the indices are out of
+	 *                                  range or not strictly ascending
+	 */
+	public SparseDoubleVector(int dimension, @NotNull int[] indices, @NotNull double[] values) {
+		Assurance.assureBoundaries(dimension, 0, Integer.MAX_VALUE);
+		Assurance.assureEquals(Assurance.assureNotNull(indices).length, Assurance.assureNotNull(values).length);
+		for (int a = 0; a < indices.length; a++)
+			Assurance.assureBoundaries(indices[a], a == 0 ? 0 : indices[a - 1] + 1, dimension - 1);
+		this.dimension = dimension;
+		this.indices = Arrays.copyOf(indices, indices.length);
+		this.values = Arrays.copyOf(values, values.length);
+		size = indices.length;
+	}
+
+	/**
+	 * deep-copy constructor
+	 * 
+	 * @param vector
+	 */
+	public SparseDoubleVector(@NotNull SparseDoubleVector vector) {
+		dimension = Assurance.assureNotNull(vector).dimension;
+		indices = Arrays.copyOf(vector.indices, vector.size);
+		values = Arrays.copyOf(vector.values, vector.size);
+		size = vector.size;
+	}
+
+	/**
+	 * stores every non-zero value of the vector
+	 * 
+	 * @param vector
+	 */
+	public SparseDoubleVector(@NotNull DoubleVector vector) {
+		this(Assurance.assureNotNull(vector).getDimension());
+		double[] array = vector.getArray();
+		int count = 0;
+		for (double value : array) {
+			if (value != 0)
+				count++;
+		}
+		indices = new int[count];
+		values = new double[count];
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] != 0) {
+				indices[size] = i;
+				values[size++] = array[i];
+			}
+		}
+	}
+
+	/**
+	 * @return a dense copy of this vector
+	 */
+	public DoubleVector toDoubleVector() {
+		DoubleVector vector = new DoubleVector(dimension);
+		double[] array = vector.getArray();
+		for (int k = 0; k < size; k++)
+			array[indices[k]] = values[k];
+		return vector;
+	}
+
+	/**
+	 * @param index
+	 * @return position of the index in {@link #indices} or (-(insertion point) -
+	 *         1) if the index is not stored
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	private int find(int index) {
+		Objects.checkIndex(index, dimension);
+		return Arrays.binarySearch(indices, 0, size, index);
+	}
+
+	/**
+	 * sets the value at the index to the given value. setting a value of 0 removes
+	 * the index from the stored indices. inserting a new index runs in
+	 * O(getValueCount()).
+	 * 
+	 * @param value
+	 * @param index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public void setValue(double value, int index) {
+		int position = find(index);
+		if (position >= 0) {
+			if (value != 0) {
+				values[position] = value;
+				return;
+			}
+			System.arraycopy(indices, position + 1, indices, position, size - position - 1);
+			System.arraycopy(values, position + 1, values, position, size - position - 1);
+			size--;
+			return;
+		}
+		if (value == 0)
+			return;
+		position = -position - 1;
+		if (size == indices.length) {
+			int capacity = Math.max(4, size + (size >> 1));
+			indices = Arrays.copyOf(indices, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		System.arraycopy(indices, position, indices, position + 1, size - position);
+		System.arraycopy(values, position, values, position + 1, size - position);
+		indices[position] = index;
+		values[position] = value;
+		size++;
+	}
+
+	/**
+	 * @param index
+	 * @return the value at the index - found by binary search
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double getValue(int index) {
+		int position = find(index);
+		return position >= 0 ? values[position] : 0;
+	}
+
+	/**
+	 * @return the dimension of this vector
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * @return number of stored values
+	 */
+	public int getValueCount() {
+		return size;
+	}
+
+	/**
+	 * @return the underlying array of the stored indices - only the first
+	 *         {@link #getValueCount()} entries are used. changes to the array are
+	 *         changes to this vector. intended for kernels which process whole
+	 *         vectors.
+	 */
+	public int[] getIndexArray() {
+		return indices;
+	}
+
+	/**
+	 * @return the underlying array of the stored values - only the first
+	 *         {@link #getValueCount()} entries are used. changes to the array are
+	 *         changes to this vector. intended for kernels which process whole
+	 *         vectors.
+	 */
+	public double[] getValueArray() {
+		return values;
+	}
+
+	/**
+	 * scales all values of this vector by the given scalar
+	 * 
+	 * @param scalar
+	 */
+	public void scale(double scalar) {
+		for (int k = 0; k < size; k++)
+			values[k] *= scalar;
+	}
+
+	/**
+	 * @param vectorDimension dimension of an argument vector
+	 * @throws IllegalArgumentException if vectorDimension != getDimension()
+	 */
+	private void assureSameDimension(int vectorDimension) {
+		if (vectorDimension != dimension)
+			throw new IllegalArgumentException(
+					"dimension of argument vector is " + vectorDimension + " != " + dimension);
+	}
+
+	/**
+	 * @param vector
+	 * @return scalar product of this vector and the dense vector in
+	 *         O(getValueCount())
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public double scalarProduct(@NotNull DoubleVector vector) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		double[] array = vector.getArray();
+		double sum = 0;
+		for (int k = 0; k < size; k++)
+			sum += values[k] * array[indices[k]];
+		return sum;
+	}
+
+	/**
+	 * @param vector
+	 * @return scalar product of two sparse vectors in O(getValueCount() +
+	 *         vector.getValueCount()) or in O(m log(n)) if one vector stores m
+	 *         values and the other far more values n
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public double scalarProduct(@NotNull SparseDoubleVector vector) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		return dot(indices, values, 0, size, vector.indices, vector.values, 0, vector.size);
+	}
+
+	/**
+	 * scalar product of this vector and the sparse vector whose indices are stored
+	 * in [offset, offset + length) of indices in ascending order and whose values
+	 * are stored at the same positions of values, e.g. a row of a compressed
+	 * sparse row matrix
+	 * 
+	 * @param indices
+	 * @param values
+	 * @param offset
+	 * @param length
+	 * @return scalar product
+	 * @throws IndexOutOfBoundsException if the range is out of bounds
+	 */
+	public double scalarProduct(@NotNull int[] indices, @NotNull double[] values, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, indices.length);
+		Objects.checkFromIndexSize(offset, length, values.length);
+		return dot(this.indices, this.values, 0, size, indices, values, offset, offset + length);
+	}
+
+	/**
+	 * sums the products of the values of the common indices of two sparse vectors
+	 * in ascending order of the indices, so the result does not depend on whether
+	 * the indices are merged or searched
+	 */
+	private static double dot(int[] aIndices, double[] aValues, int aFrom, int aTo, int[] bIndices,
+			double[] bValues, int bFrom, int bTo) {
+		if ((long) (aTo - aFrom) * SEARCH_RATIO < bTo - bFrom)
+			return search(aIndices, aValues, aFrom, aTo, bIndices, bValues, bFrom, bTo);
+		if ((long) (bTo - bFrom) * SEARCH_RATIO < aTo - aFrom)
+			return search(bIndices, bValues, bFrom, bTo, aIndices, aValues, aFrom, aTo);
+		double sum = 0;
+		int a = aFrom, b = bFrom;
+		while (a < aTo && b < bTo) {
+			if (aIndices[a] < bIndices[b])
+				a++;
+			else if (aIndices[a] > bIndices[b])
+				b++;
+			else
+				sum += aValues[a++] * bValues[b++];
+		}
+		return sum;
+	}
+
+	/**
+	 * {@link #dot(int[], double[], int, int, int[], double[], int, int)} which
+	 * searches every index of the small vector in the large vector
+	 */
+	private static double search(int[] smallIndices, double[] smallValues, int smallFrom, int smallTo,
+			int[] largeIndices, double[] largeValues, int largeFrom, int largeTo) {
+		double sum = 0;
+		int position;
+		for (int a = smallFrom; a < smallTo && largeFrom < largeTo; a++) {
+			position = Arrays.binarySearch(largeIndices, largeFrom, largeTo, smallIndices[a]);
+			if (position >= 0) {
+				sum += smallValues[a] * largeValues[position];
+				largeFrom = position + 1;
+			} else
+				largeFrom = -position - 1;
+		}
+		return sum;
+	}
+
+	/**
+	 * adds the scalar-scaled values of this vector to the values of the dense
+	 * vector in O(getValueCount())
+	 * 
+	 * @param vector
+	 * @param scalar some scalar
+	 * @throws IllegalArgumentException if vector == null or if
+	 *                                  vector.getDimension() != getDimension()
+	 */
+	public void addTo(@NotNull DoubleVector vector, double scalar) {
+		assureSameDimension(Assurance.assureNotNull(vector).getDimension());
+		double[] array = vector.getArray();
+		for (int k = 0; k < size; k++)
+			array[indices[k]] = Math.fma(scalar, values[k], array[indices[k]]);
+	}
+
+	/**
+	 * invokes the visitor for every stored value in ascending order of the indices
+	 * 
+	 * @param visitor a visitor
+	 */
+	public void forEach(DoubleVectorVisitor visitor) {
+		for (int k = 0; k < size; k++)
+			visitor.visit(indices[k], values[k]);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + dimension;
+		for (int k = 0; k < size; k++) {
+			result = prime * result + indices[k];
+			result = prime * result + Double.hashCode(values[k]);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SparseDoubleVector other = (SparseDoubleVector) obj;
+		if (dimension != other.dimension || size != other.size)
+			return false;
+		if (!Arrays.equals(indices, 0, size, other.indices, 0, size))
+			return false;
+		if (!Arrays.equals(values, 0, size, other.values, 0, size))
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(dimension).append(": {");
+		for (int k = 0; k < size; k++) {
+			if (k != 0)
+				builder.append(", ");
+			builder.append(indices[k]).append('=').append(values[k]);
+		}
+		return builder.append('}').toString();
+	}
+
+}
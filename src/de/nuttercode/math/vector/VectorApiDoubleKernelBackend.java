@@ -0,0 +1,229 @@
+package de.nuttercode.math.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * implementation of {@link DoubleKernelBackend} with the incubating
+ * <a href="https://openjdk.org/jeps/338">vector api</a>. this class must only
+ * be loaded if the module jdk.incubator.vector is present - see
+ * {@link DoubleKernels}. a fixed vector shape of 256 bits is used, so the
+ * results do not depend on the hardware and are identical to
+ * {@link ScalarDoubleKernelBackend}. the exponential functions of the vector
+ * api are not used, since their results depend on the compilation tier -
+ * {@link Exponentials} is evaluated lane-wise instead.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class VectorApiDoubleKernelBackend implements DoubleKernelBackend {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_256;
+
+	private static final int LANES = 4;
+
+	private static final DoubleVector LN2_HIGH = DoubleVector.broadcast(SPECIES, Exponentials.LN2_HIGH);
+
+	private static final DoubleVector LN2_LOW = DoubleVector.broadcast(SPECIES, Exponentials.LN2_LOW);
+
+	/**
+	 * @return true if and only if the hardware supports vectors of
+	 *         {@link #SPECIES}
+	 */
+	static boolean isSupported() {
+		return DoubleVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize()
+				&& SPECIES.length() == LANES;
+	}
+
+	@Override
+	public double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+		DoubleVector c0 = DoubleVector.zero(SPECIES);
+		DoubleVector c1 = c0, c2 = c0, c3 = c0;
+		int a0 = aOffset, b0 = bOffset;
+		int end = aOffset + length - length % DOT_PARTIAL_SUMS;
+		for (; a0 < end; a0 += DOT_PARTIAL_SUMS, b0 += DOT_PARTIAL_SUMS) {
+			c0 = DoubleVector.fromArray(SPECIES, a, a0).fma(DoubleVector.fromArray(SPECIES, b, b0), c0);
+			c1 = DoubleVector.fromArray(SPECIES, a, a0 + LANES)
+					.fma(DoubleVector.fromArray(SPECIES, b, b0 + LANES), c1);
+			c2 = DoubleVector.fromArray(SPECIES, a, a0 + 2 * LANES)
+					.fma(DoubleVector.fromArray(SPECIES, b, b0 + 2 * LANES), c2);
+			c3 = DoubleVector.fromArray(SPECIES, a, a0 + 3 * LANES)
+					.fma(DoubleVector.fromArray(SPECIES, b, b0 + 3 * LANES), c3);
+		}
+		DoubleVector t = c0.add(c1).add(c2.add(c3));
+		// reduceLanes does not specify the order of the additions
+		double sum = (t.lane(0) + t.lane(1)) + (t.lane(2) + t.lane(3));
+		end = aOffset + length;
+		for (; a0 < end; a0++, b0++)
+			sum = Math.fma(a[a0], b[b0], sum);
+		return sum;
+	}
+
+	@Override
+	public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+		DoubleVector scalar = DoubleVector.broadcast(SPECIES, alpha);
+		int bound = SPECIES.loopBound(length);
+		int a = 0;
+		for (; a < bound; a += LANES)
+			scalar.fma(DoubleVector.fromArray(SPECIES, x, xOffset + a),
+					DoubleVector.fromArray(SPECIES, y, yOffset + a)).intoArray(y, yOffset + a);
+		for (; a < length; a++)
+			y[yOffset + a] = Math.fma(alpha, x[xOffset + a], y[yOffset + a]);
+	}
+
+	@Override
+	public int maxIndex(double[] x, int offset, int length) {
+		int bound = SPECIES.loopBound(length);
+		if (bound == 0)
+			return scalarMaxIndex(x, offset, length);
+		DoubleVector max = DoubleVector.fromArray(SPECIES, x, offset);
+		int a = LANES;
+		for (; a < bound; a += LANES)
+			max = max.max(DoubleVector.fromArray(SPECIES, x, offset + a));
+		double maxValue = max.reduceLanes(VectorOperators.MAX);
+		for (; a < length; a++)
+			maxValue = Math.max(maxValue, x[offset + a]);
+		// NaN has no well-defined position in the vectorized search
+		if (Double.isNaN(maxValue))
+			return scalarMaxIndex(x, offset, length);
+		// the first occurrence of the maximum is the result of the scalar search -
+		// -0.0 == 0.0, so the sign of zero does not matter
+		for (a = 0; a < length; a++) {
+			if (x[offset + a] == maxValue)
+				return a;
+		}
+		throw new IllegalStateException("maximum " + maxValue + " not found");
+	}
+
+	@Override
+	public void sigmoid(double[] x, int offset, int length) {
+		int end = offset + SPECIES.loopBound(length);
+		int a = offset;
+		DoubleVector value, e;
+		for (; a < end; a += LANES) {
+			value = DoubleVector.fromArray(SPECIES, x, a);
+			e = exp(value.abs().neg());
+			// 1 / (1 + e^-x) for x >= 0 and e^x / (1 + e^x) otherwise
+			e.blend(1, value.compare(VectorOperators.GE, 0)).div(e.add(1)).intoArray(x, a);
+		}
+		for (; a < offset + length; a++)
+			x[a] = ScalarDoubleKernelBackend.sigmoid(x[a]);
+	}
+
+	@Override
+	public void tanh(double[] x, int offset, int length) {
+		int end = offset + SPECIES.loopBound(length);
+		int a = offset;
+		DoubleVector value, t;
+		for (; a < end; a += LANES) {
+			value = DoubleVector.fromArray(SPECIES, x, a);
+			t = expm1(value.abs().mul(-2));
+			// copies the sign of x like Math.copySign
+			t.neg().div(t.add(2)).abs().reinterpretAsLongs().or(value.reinterpretAsLongs().and(Long.MIN_VALUE))
+					.reinterpretAsDoubles().intoArray(x, a);
+		}
+		for (; a < offset + length; a++)
+			x[a] = ScalarDoubleKernelBackend.tanh(x[a]);
+	}
+
+	@Override
+	public double expSum(double[] x, int xOffset, double shift, double[] y, int yOffset, int length) {
+		int bound = SPECIES.loopBound(length);
+		DoubleVector sum = DoubleVector.zero(SPECIES), value;
+		int a = 0;
+		for (; a < bound; a += LANES) {
+			value = exp(DoubleVector.fromArray(SPECIES, x, xOffset + a).sub(shift));
+			value.intoArray(y, yOffset + a);
+			sum = sum.add(value);
+		}
+		double scalarSum = (sum.lane(0) + sum.lane(1)) + (sum.lane(2) + sum.lane(3));
+		double scalar;
+		for (; a < length; a++) {
+			scalar = Exponentials.exp(x[xOffset + a] - shift);
+			y[yOffset + a] = scalar;
+			scalarSum += scalar;
+		}
+		return scalarSum;
+	}
+
+	@Override
+	public double sumExp(double[] x, int offset, double shift, int length) {
+		int bound = SPECIES.loopBound(length);
+		DoubleVector sum = DoubleVector.zero(SPECIES);
+		int a = 0;
+		for (; a < bound; a += LANES)
+			sum = sum.add(exp(DoubleVector.fromArray(SPECIES, x, offset + a).sub(shift)));
+		double scalarSum = (sum.lane(0) + sum.lane(1)) + (sum.lane(2) + sum.lane(3));
+		for (; a < length; a++)
+			scalarSum += Exponentials.exp(x[offset + a] - shift);
+		return scalarSum;
+	}
+
+	private static DoubleVector broadcast(double value) {
+		return DoubleVector.broadcast(SPECIES, value);
+	}
+
+	/**
+	 * lane-wise {@link Exponentials#polynomial(double)}
+	 */
+	private static DoubleVector polynomial(DoubleVector r) {
+		DoubleVector p = r.fma(Exponentials.C13, Exponentials.C12);
+		p = p.fma(r, broadcast(Exponentials.C11));
+		p = p.fma(r, broadcast(Exponentials.C10));
+		p = p.fma(r, broadcast(Exponentials.C9));
+		p = p.fma(r, broadcast(Exponentials.C8));
+		p = p.fma(r, broadcast(Exponentials.C7));
+		p = p.fma(r, broadcast(Exponentials.C6));
+		p = p.fma(r, broadcast(Exponentials.C5));
+		p = p.fma(r, broadcast(Exponentials.C4));
+		p = p.fma(r, broadcast(Exponentials.C3));
+		p = p.fma(r, broadcast(Exponentials.C2));
+		return r.mul(r).fma(p, r);
+	}
+
+	/**
+	 * lane-wise {@link Exponentials#powerOfTwo(double)}
+	 */
+	private static DoubleVector powerOfTwo(DoubleVector exponent) {
+		return exponent.add(1023 + Exponentials.ROUNDING_CONSTANT).reinterpretAsLongs()
+				.lanewise(VectorOperators.LSHL, 52).reinterpretAsDoubles();
+	}
+
+	/**
+	 * lane-wise {@link Exponentials#exp(double)}
+	 */
+	private static DoubleVector exp(DoubleVector x) {
+		x = x.max(Exponentials.MINIMAL_ARGUMENT).min(Exponentials.MAXIMAL_ARGUMENT);
+		DoubleVector n = x.fma(Exponentials.LOG2_E, Exponentials.ROUNDING_CONSTANT).sub(Exponentials.ROUNDING_CONSTANT);
+		DoubleVector negatedN = n.neg();
+		DoubleVector r = negatedN.fma(LN2_LOW, negatedN.fma(LN2_HIGH, x));
+		DoubleVector normalN = n.max(-1022).min(1023);
+		return polynomial(r).add(1).mul(powerOfTwo(normalN)).mul(powerOfTwo(n.sub(normalN)));
+	}
+
+	/**
+	 * lane-wise {@link Exponentials#expm1(double)}
+	 */
+	private static DoubleVector expm1(DoubleVector x) {
+		x = x.max(Exponentials.MINIMAL_EXPM1_ARGUMENT);
+		DoubleVector n = x.fma(Exponentials.LOG2_E, Exponentials.ROUNDING_CONSTANT).sub(Exponentials.ROUNDING_CONSTANT);
+		DoubleVector negatedN = n.neg();
+		DoubleVector r = negatedN.fma(LN2_LOW, negatedN.fma(LN2_HIGH, x));
+		DoubleVector scale = powerOfTwo(n);
+		return scale.fma(polynomial(r), scale.sub(1));
+	}
+
+	private static int scalarMaxIndex(double[] x, int offset, int length) {
+		int maxIndex = 0;
+		double maxValue = x[offset];
+		for (int a = 1; a < length; a++) {
+			if (x[offset + a] > maxValue) {
+				maxValue = x[offset + a];
+				maxIndex = a;
+			}
+		}
+		return maxIndex;
+	}
+
+}
@@ -0,0 +1,132 @@
+package de.nuttercode.math.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * implementation of {@link FloatKernelBackend} with the incubating
+ * <a href="https://openjdk.org/jeps/338">vector api</a>. this class must only
+ * be loaded if the module jdk.incubator.vector is present - see
+ * {@link FloatKernels}. a fixed vector shape of 256 bits is used, so the
+ * results do not depend on the hardware and are identical to
+ * {@link ScalarFloatKernelBackend}.
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class VectorApiFloatKernelBackend implements FloatKernelBackend {
+
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_256;
+
+	private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_256;
+
+	private static final int LANES = 8;
+
+	/**
+	 * float species whose lanes fill a vector of {@link #DOUBLE_SPECIES}
+	 */
+	private static final VectorSpecies<Float> HALF_SPECIES = FloatVector.SPECIES_128;
+
+	private static final int HALF_LANES = 4;
+
+	/**
+	 * @return true if and only if the hardware supports vectors of
+	 *         {@link #SPECIES}
+	 */
+	static boolean isSupported() {
+		return FloatVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize() && SPECIES.length() == LANES;
+	}
+
+	@Override
+	public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		FloatVector c0 = FloatVector.zero(SPECIES);
+		FloatVector c1 = c0;
+		int a0 = aOffset, b0 = bOffset;
+		int end = aOffset + length - length % DOT_PARTIAL_SUMS;
+		for (; a0 < end; a0 += DOT_PARTIAL_SUMS, b0 += DOT_PARTIAL_SUMS) {
+			c0 = FloatVector.fromArray(SPECIES, a, a0).fma(FloatVector.fromArray(SPECIES, b, b0), c0);
+			c1 = FloatVector.fromArray(SPECIES, a, a0 + LANES).fma(FloatVector.fromArray(SPECIES, b, b0 + LANES),
+					c1);
+		}
+		FloatVector t = c0.add(c1);
+		// reduceLanes does not specify the order of the additions
+		float sum = ((t.lane(0) + t.lane(1)) + (t.lane(2) + t.lane(3)))
+				+ ((t.lane(4) + t.lane(5)) + (t.lane(6) + t.lane(7)));
+		end = aOffset + length;
+		for (; a0 < end; a0++, b0++)
+			sum = Math.fma(a[a0], b[b0], sum);
+		return sum;
+	}
+
+	@Override
+	public double dotDouble(float[] a, int aOffset, float[] b, int bOffset, int length) {
+		DoubleVector c0 = DoubleVector.zero(DOUBLE_SPECIES);
+		DoubleVector c1 = c0, c2 = c0, c3 = c0;
+		int a0 = aOffset, b0 = bOffset;
+		int end = aOffset + length - length % DOT_PARTIAL_SUMS;
+		for (; a0 < end; a0 += DOT_PARTIAL_SUMS, b0 += DOT_PARTIAL_SUMS) {
+			c0 = widen(a, a0).fma(widen(b, b0), c0);
+			c1 = widen(a, a0 + HALF_LANES).fma(widen(b, b0 + HALF_LANES), c1);
+			c2 = widen(a, a0 + 2 * HALF_LANES).fma(widen(b, b0 + 2 * HALF_LANES), c2);
+			c3 = widen(a, a0 + 3 * HALF_LANES).fma(widen(b, b0 + 3 * HALF_LANES), c3);
+		}
+		// same order as VectorApiDoubleKernelBackend.dot
+		DoubleVector t = c0.add(c1).add(c2.add(c3));
+		double sum = (t.lane(0) + t.lane(1)) + (t.lane(2) + t.lane(3));
+		end = aOffset + length;
+		for (; a0 < end; a0++, b0++)
+			sum = Math.fma((double) a[a0], (double) b[b0], sum);
+		return sum;
+	}
+
+	/**
+	 * @param values
+	 * @param offset
+	 * @return the values [offset, offset + {@value #HALF_LANES}) converted to
+	 *         double - loaded with half the vector width, so the conversion is a
+	 *         single instruction
+	 */
+	private static DoubleVector widen(float[] values, int offset) {
+		return (DoubleVector) FloatVector.fromArray(HALF_SPECIES, values, offset).convertShape(VectorOperators.F2D,
+				DOUBLE_SPECIES, 0);
+	}
+
+	@Override
+	public int maxIndex(float[] x, int offset, int length) {
+		int bound = SPECIES.loopBound(length);
+		if (bound == 0)
+			return scalarMaxIndex(x, offset, length);
+		FloatVector max = FloatVector.fromArray(SPECIES, x, offset);
+		int a = LANES;
+		for (; a < bound; a += LANES)
+			max = max.max(FloatVector.fromArray(SPECIES, x, offset + a));
+		float maxValue = max.reduceLanes(VectorOperators.MAX);
+		for (; a < length; a++)
+			maxValue = Math.max(maxValue, x[offset + a]);
+		// NaN has no well-defined position in the vectorized search
+		if (Float.isNaN(maxValue))
+			return scalarMaxIndex(x, offset, length);
+		// the first occurrence of the maximum is the result of the scalar search -
+		// -0.0 == 0.0, so the sign of zero does not matter
+		for (a = 0; a < length; a++) {
+			if (x[offset + a] == maxValue)
+				return a;
+		}
+		throw new IllegalStateException("maximum " + maxValue + " not found");
+	}
+
+	private static int scalarMaxIndex(float[] x, int offset, int length) {
+		int maxIndex = 0;
+		float maxValue = x[offset];
+		for (int a = 1; a < length; a++) {
+			if (x[offset + a] > maxValue) {
+				maxValue = x[offset + a];
+				maxIndex = a;
+			}
+		}
+		return maxIndex;
+	}
+
+}
@@ -0,0 +1,97 @@
+package de.nuttercode.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+
+class EuclidTest {
+
+	@Test
+	void gcdMatchesBigInteger() {
+		Random random = new Random(1);
+		long a, b, expected;
+		for (int n = 0; n < 10000; n++) {
+			a = random.nextLong() >> random.nextInt(63);
+			b = n % 10 == 0 ? a * (random.nextInt(100) - 50) : random.nextLong() >> random.nextInt(63);
+			expected = BigInteger.valueOf(a).gcd(BigInteger.valueOf(b)).longValueExact();
+			assertEquals(expected, Euclid.gcd(a, b), a + ", " + b);
+			assertEquals(expected, Euclid.binaryGcd(a, b), a + ", " + b);
+		}
+		assertEquals(0, Euclid.gcd(0, 0));
+		assertEquals(7, Euclid.binaryGcd(0, -7));
+	}
+
+	@Test
+	void extendedGcdSatisfiesBezout() {
+		Random random = new Random(2);
+		long a, b;
+		long[] result;
+		for (int n = 0; n < 10000; n++) {
+			a = random.nextInt() >> random.nextInt(31);
+			b = random.nextInt() >> random.nextInt(31);
+			result = Euclid.extendedGcd(a, b);
+			assertEquals(Euclid.gcd(a, b), result[0]);
+			assertEquals(result[0], a * result[1] + b * result[2], a + ", " + b);
+		}
+	}
+
+	@Test
+	void modInverse() {
+		Random random = new Random(3);
+		long modulus = 1_000_000_007L;
+		long value;
+		for (int n = 0; n < 1000; n++) {
+			value = 1 + random.nextInt((int) modulus - 1);
+			assertEquals(1, BigInteger.valueOf(value).multiply(BigInteger.valueOf(Euclid.modInverse(value, modulus)))
+					.mod(BigInteger.valueOf(modulus)).longValueExact());
+		}
+		assertThrows(ArithmeticException.class, () -> Euclid.modInverse(6, 9));
+		assertThrows(IllegalArgumentException.class, () -> Euclid.modInverse(1, 0));
+	}
+
+	@Test
+	void lcm() {
+		assertEquals(36, Euclid.lcm(-12, 18));
+		assertEquals(0, Euclid.lcm(0, 5));
+		assertThrows(ArithmeticException.class, () -> Euclid.lcm(Long.MAX_VALUE, Long.MAX_VALUE - 1));
+	}
+
+	@Test
+	void arrayGcd() {
+		long[] a = { 12, 0, -9, 17 };
+		long[] b = { 18, 5, 6, 34 };
+		assertArrayEquals(new long[] { 6, 5, 3, 17 }, Euclid.gcd(a, b, new long[4]));
+		assertEquals(3, Euclid.gcd(new long[] { 9, -12, 30 }));
+	}
+
+	@Test
+	void batchGcdFindsSharedFactors() {
+		Random random = new Random(4);
+		BigInteger p = BigInteger.probablePrime(64, random);
+		BigInteger[] moduli = new BigInteger[20];
+		for (int a = 0; a < moduli.length; a++)
+			moduli[a] = BigInteger.probablePrime(64, random).multiply(BigInteger.probablePrime(64, random));
+		moduli[3] = p.multiply(BigInteger.probablePrime(64, random));
+		moduli[11] = p.multiply(BigInteger.probablePrime(64, random));
+		BigInteger[] expected = new BigInteger[moduli.length];
+		BigInteger product;
+		for (int i = 0; i < moduli.length; i++) {
+			product = BigInteger.ONE;
+			for (int j = 0; j < moduli.length; j++)
+				if (i != j)
+					product = product.multiply(moduli[j]);
+			expected[i] = moduli[i].gcd(product);
+		}
+		assertArrayEquals(expected, Euclid.batchGcd(moduli));
+		assertArrayEquals(expected, Euclid.batchGcd(moduli, new Parallelism()));
+		assertEquals(p, Euclid.batchGcd(moduli)[3]);
+	}
+
+}
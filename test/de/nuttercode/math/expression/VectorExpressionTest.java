@@ -0,0 +1,137 @@
+package de.nuttercode.math.expression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.function.Functions;
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.DoubleMatrix;
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.OffHeapDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+class VectorExpressionTest {
+
+	private static final Parallelism EAGER = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+
+	private static DoubleVector vector(int dimension, Random random) {
+		DoubleVector vector = new DoubleVector(dimension);
+		for (int a = 0; a < dimension; a++)
+			vector.setValue(2 * random.nextDouble() - 1, a);
+		return vector;
+	}
+
+	private static void fill(DoubleMatrix matrix, double density, Random random) {
+		for (int i = 0; i < matrix.getRowCount(); i++)
+			for (int j = 0; j < matrix.getColumnCount(); j++)
+				if (random.nextDouble() < density)
+					matrix.setValue(2 * random.nextDouble() - 1, i, j);
+	}
+
+	/**
+	 * @return sigmoid(matrix * x + b) computed by the eager operations
+	 */
+	private static DoubleVector layer(DoubleMatrix matrix, DoubleVector x, DoubleVector b) {
+		DoubleVector result = matrix.multiply(x);
+		result.add(b);
+		return Functions.SIGMOID.applyInPlace(result);
+	}
+
+	private static void assertFusedEqualsEager(DoubleMatrix matrix, Random random) {
+		DoubleVector x = vector(matrix.getColumnCount(), random);
+		DoubleVector b = vector(matrix.getRowCount(), random);
+		VectorExpression expression = VectorExpression.product(matrix, x).add(b).map(Functions.SIGMOID);
+		double[] expected = layer(matrix, x, b).getArray();
+		assertEquals(matrix.getRowCount(), expression.getDimension());
+		assertArrayEquals(expected, expression.evaluate().getArray());
+		assertArrayEquals(expected, expression.evaluate(EAGER).getArray());
+		DoubleVector result = new DoubleVector(matrix.getRowCount());
+		assertSame(result, expression.evaluate(result, EAGER));
+		assertArrayEquals(expected, result.getArray());
+	}
+
+	@Test
+	void fusedLayersEqualEagerOperations() {
+		Random random = new Random(1);
+		for (int rows : new int[] { 1, 255, 256, 257, 1000 }) {
+			FullDoubleMatrix full = new FullDoubleMatrix(rows, 37);
+			fill(full, 1, random);
+			OffHeapDoubleMatrix offHeap = new OffHeapDoubleMatrix(rows, 37);
+			fill(offHeap, 1, random);
+			SparseDoubleMatrix sparse = new SparseDoubleMatrix(rows, 37);
+			fill(sparse, 0.2, random);
+			assertFusedEqualsEager(full, random);
+			assertFusedEqualsEager(offHeap, random);
+			assertFusedEqualsEager(sparse, random);
+			assertFusedEqualsEager(new CsrDoubleMatrix(sparse), random);
+		}
+	}
+
+	@Test
+	void nestedExpressions() {
+		Random random = new Random(2);
+		FullDoubleMatrix first = new FullDoubleMatrix(600, 40);
+		FullDoubleMatrix second = new FullDoubleMatrix(30, 600);
+		fill(first, 1, random);
+		fill(second, 1, random);
+		DoubleVector x = vector(40, random);
+		DoubleVector b = vector(600, random);
+		DoubleVector c = vector(30, random);
+		DoubleVector hidden = layer(first, x, b);
+		DoubleVector expected = second.multiply(hidden);
+		expected.add(c, -0.5);
+		expected.scale(3);
+		Functions.TANH.applyInPlace(expected);
+		VectorExpression expression = VectorExpression
+				.product(second, VectorExpression.product(first, x).add(b).map(Functions.SIGMOID))
+				.subtract(VectorExpression.of(c).scale(0.5)).scale(3).map(Functions.TANH);
+		assertArrayEquals(expected.getArray(), expression.evaluate().getArray());
+		assertArrayEquals(expected.getArray(), expression.evaluate(EAGER).getArray());
+		DoubleVector sum = new DoubleVector(b);
+		sum.add(b, 2);
+		assertArrayEquals(sum.getArray(), VectorExpression.of(b).add(2, VectorExpression.of(b)).evaluate().getArray());
+	}
+
+	@Test
+	void resultMayBeAnElementWiseOperand() {
+		Random random = new Random(3);
+		FullDoubleMatrix matrix = new FullDoubleMatrix(700, 20);
+		fill(matrix, 1, random);
+		DoubleVector x = vector(20, random);
+		DoubleVector b = vector(700, random);
+		DoubleVector expected = matrix.multiply(x);
+		expected.add(b);
+		expected.add(b, 1);
+		DoubleVector result = new DoubleVector(b);
+		// b is read as left and right operand of the sums while it is overwritten
+		VectorExpression.of(result).add(VectorExpression.product(matrix, x)).add(result).evaluate(result, EAGER);
+		assertArrayEquals(expected.getArray(), result.getArray());
+		DoubleVector negated = new DoubleVector(b);
+		VectorExpression.of(negated).subtract(VectorExpression.of(negated).scale(2)).evaluate(negated);
+		for (int a = 0; a < 700; a++)
+			assertEquals(-b.getValue(a), negated.getValue(a));
+	}
+
+	@Test
+	void invalidExpressions() {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(4, 4);
+		DoubleVector vector = new DoubleVector(4);
+		VectorExpression product = VectorExpression.product(matrix, vector);
+		assertThrows(IllegalArgumentException.class, () -> product.evaluate(vector));
+		assertThrows(IllegalArgumentException.class, () -> product.evaluate(new DoubleVector(3)));
+		assertThrows(IllegalArgumentException.class, () -> product.add(new DoubleVector(3)));
+		assertThrows(IllegalArgumentException.class,
+				() -> VectorExpression.product(matrix, new DoubleVector(3)).evaluate());
+		assertThrows(IllegalArgumentException.class, () -> product.map(null));
+	}
+
+}
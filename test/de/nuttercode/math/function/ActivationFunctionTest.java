@@ -0,0 +1,120 @@
+package de.nuttercode.math.function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.OffHeapDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+
+class ActivationFunctionTest {
+
+	/**
+	 * @return values of [-scale, scale) and the special cases around 0
+	 */
+	private static double[] values(int length, double scale, Random random) {
+		double[] values = new double[length];
+		for (int a = 0; a < length; a++)
+			values[a] = scale * (2 * random.nextDouble() - 1);
+		values[0] = 0;
+		values[1] = -0.0;
+		values[2] = Double.MIN_VALUE;
+		values[3] = -1e-300;
+		return values;
+	}
+
+	private static double sigmoid(double value) {
+		double e = StrictMath.exp(-Math.abs(value));
+		return value >= 0 ? 1 / (1 + e) : e / (1 + e);
+	}
+
+	private static void assertClose(double expected, double actual, String message) {
+		assertEquals(expected, actual, 4 * Math.ulp(expected), message);
+	}
+
+	@Test
+	void bulkApplicationIsAccurate() {
+		Random random = new Random(1);
+		for (double scale : new double[] { 1, 20, 800 }) {
+			double[] values = values(1003, scale, random);
+			double[] sigmoid = values.clone();
+			double[] tanh = values.clone();
+			Functions.SIGMOID.applyInPlace(sigmoid, 0, sigmoid.length);
+			Functions.TANH.applyInPlace(tanh, 0, tanh.length);
+			for (int a = 0; a < values.length; a++) {
+				assertClose(sigmoid(values[a]), sigmoid[a], "sigmoid " + values[a]);
+				assertClose(StrictMath.tanh(values[a]), tanh[a], "tanh " + values[a]);
+				assertClose(sigmoid[a], Functions.SIGMOID.apply(values[a]), "sigmoid " + values[a]);
+				assertClose(tanh[a], Functions.TANH.apply(values[a]), "tanh " + values[a]);
+			}
+		}
+	}
+
+	@Test
+	void extremeValues() {
+		double[] values = { -1e308, -745, 745, 1e308, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY };
+		double[] sigmoid = values.clone();
+		double[] tanh = values.clone();
+		Functions.SIGMOID.applyInPlace(sigmoid, 0, values.length);
+		Functions.TANH.applyInPlace(tanh, 0, values.length);
+		assertArrayEquals(new double[] { 0, StrictMath.exp(-745), 1, 1, 0, 1 }, sigmoid);
+		assertArrayEquals(new double[] { -1, -1, 1, 1, -1, 1 }, tanh);
+		assertEquals(0.5, Functions.SIGMOID.apply(0));
+		assertTrue(Functions.SIGMOID.apply(-40) > 0);
+		assertEquals(1 - Functions.SIGMOID.apply(3), Functions.SIGMOID.apply(-3), Math.ulp(1.0));
+	}
+
+	@Test
+	void reluIsExact() {
+		double[] values = values(100, 5, new Random(2));
+		double[] relu = values.clone();
+		Functions.RELU.applyInPlace(relu, 10, 80);
+		for (int a = 0; a < values.length; a++)
+			assertEquals(a < 10 || a >= 90 ? values[a] : Math.max(values[a], 0), relu[a]);
+		double[] nan = { Double.NaN };
+		Functions.RELU.applyInPlace(nan, 0, 1);
+		assertTrue(Double.isNaN(nan[0]));
+	}
+
+	@Test
+	void everyValueOfMatricesAndVectors() {
+		Random random = new Random(3);
+		double[] values = values(12, 4, random);
+		double[] expected = values.clone();
+		Functions.TANH.applyInPlace(expected, 0, expected.length);
+		DoubleVector vector = Functions.TANH.applyInPlace(new DoubleVector(values.clone()));
+		assertArrayEquals(expected, vector.getArray());
+		FullDoubleMatrix full = new FullDoubleMatrix(3, 4);
+		OffHeapDoubleMatrix offHeap = new OffHeapDoubleMatrix(3, 4);
+		SparseDoubleMatrix sparse = new SparseDoubleMatrix(3, 4);
+		for (int a = 0; a < values.length; a++) {
+			full.setValue(values[a], a / 4, a % 4);
+			offHeap.setValue(values[a], a / 4, a % 4);
+			if (a % 3 == 0)
+				sparse.setValue(values[a], a / 4, a % 4);
+		}
+		Functions.TANH.applyInPlace(full);
+		Functions.TANH.applyInPlace(offHeap);
+		Functions.SIGMOID.applyInPlace(sparse);
+		for (int a = 0; a < values.length; a++) {
+			assertEquals(expected[a], full.getValue(a / 4, a % 4));
+			assertEquals(expected[a], offHeap.getValue(a / 4, a % 4));
+			assertEquals(a % 3 == 0 ? Functions.SIGMOID.apply(values[a]) : 0.5, sparse.getValue(a / 4, a % 4));
+		}
+	}
+
+	@Test
+	void lambdasUseScalarDefault() {
+		ActivationFunction square = value -> value * value;
+		double[] values = { 1, -2, 3, 4 };
+		square.applyInPlace(values, 1, 2);
+		assertArrayEquals(new double[] { 1, 4, 9, 4 }, values);
+	}
+
+}
@@ -0,0 +1,28 @@
+package de.nuttercode.math.function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.vector.DoubleVector;
+
+class FunctionsTest {
+
+	@Test
+	void softMaxIntoAndInPlace() {
+		DoubleVector vector = new DoubleVector(new double[] { 1, 2, 3, -1 });
+		double sum = Math.exp(1) + Math.exp(2) + Math.exp(3) + Math.exp(-1);
+		double[] expected = { Math.exp(1) / sum, Math.exp(2) / sum, Math.exp(3) / sum, Math.exp(-1) / sum };
+		DoubleVector allocated = Functions.SOFT_MAX.apply(vector);
+		assertArrayEquals(expected, allocated.getArray(), 1e-15);
+		DoubleVector result = new DoubleVector(4);
+		assertSame(result, Functions.SOFT_MAX.apply(vector, result));
+		assertArrayEquals(allocated.getArray(), result.getArray());
+		assertSame(vector, Functions.SOFT_MAX.applyInPlace(vector));
+		assertArrayEquals(allocated.getArray(), vector.getArray());
+		assertEquals(1, vector.getValue(0) + vector.getValue(1) + vector.getValue(2) + vector.getValue(3), 1e-15);
+	}
+
+}
@@ -0,0 +1,118 @@
+package de.nuttercode.math.function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+class SoftMaxTest {
+
+	private static double[] values(int length, double scale, Random random) {
+		double[] values = new double[length];
+		for (int a = 0; a < length; a++)
+			values[a] = scale * (2 * random.nextDouble() - 1);
+		return values;
+	}
+
+	@Test
+	void softMaxIsAccurate() {
+		Random random = new Random(1);
+		for (int length : new int[] { 1, 2, 7, 100, 1001 }) {
+			double[] values = values(length, 30, random);
+			double[] result = new double[length + 2];
+			SoftMax.softMax(values, 0, result, 1, length);
+			double max = Double.NEGATIVE_INFINITY;
+			for (double value : values)
+				max = Math.max(max, value);
+			double sum = 0;
+			for (double value : values)
+				sum += StrictMath.exp(value - max);
+			double total = 0;
+			for (int a = 0; a < length; a++) {
+				assertEquals(StrictMath.exp(values[a] - max) / sum, result[a + 1],
+						1e-14 * StrictMath.exp(values[a] - max) / sum);
+				total += result[a + 1];
+			}
+			assertEquals(1, total, 1e-13);
+			assertEquals(0, result[0]);
+			assertEquals(0, result[length + 1]);
+			assertEquals(max + StrictMath.log(sum), SoftMax.logSumExp(values, 0, length), 1e-13);
+		}
+	}
+
+	@Test
+	void largeValuesDoNotOverflow() {
+		double[] small = { 0, 1, 2, -3 };
+		double[] large = { 1000, 1001, 1002, 997 };
+		SoftMax.softMax(small, 0, small.length);
+		SoftMax.softMax(large, 0, large.length);
+		// x - max is exact for both, so the results are identical
+		assertArrayEquals(small, large);
+		double[] values = { 1000, 1001, 1002, 997 };
+		assertEquals(1002 + StrictMath.log(1 + Math.exp(-1) + Math.exp(-2) + Math.exp(-5)),
+				SoftMax.logSumExp(values, 0, 4), 1e-12);
+		DoubleVector vector = Functions.SOFT_MAX.apply(new DoubleVector(values));
+		assertArrayEquals(small, vector.getArray());
+		DoubleVector logarithmic = Functions.LOG_SOFT_MAX.apply(new DoubleVector(values));
+		for (int a = 0; a < 4; a++)
+			assertEquals(Math.log(small[a]), logarithmic.getValue(a), 1e-13);
+	}
+
+	@Test
+	void infiniteValues() {
+		double[] values = { Double.NEGATIVE_INFINITY, 0, Double.NEGATIVE_INFINITY };
+		SoftMax.softMax(values, 0, 3);
+		assertArrayEquals(new double[] { 0, 1, 0 }, values);
+		double[] negative = { Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY };
+		assertEquals(Double.NEGATIVE_INFINITY, SoftMax.logSumExp(negative, 0, 2));
+		assertEquals(Double.POSITIVE_INFINITY, SoftMax.logSumExp(new double[] { Double.POSITIVE_INFINITY, 1 }, 0, 2));
+		SoftMax.softMax(negative, 0, 2);
+		assertTrue(Double.isNaN(negative[0]));
+		assertThrows(IndexOutOfBoundsException.class, () -> SoftMax.softMax(new double[2], 0, 0));
+	}
+
+	@Test
+	void rowsDoNotDependOnParallelismOrMatrix() {
+		Random random = new Random(2);
+		int rowCount = 300;
+		int columnCount = 40;
+		FullDoubleMatrix matrix = new FullDoubleMatrix(rowCount, columnCount);
+		SparseDoubleMatrix sparse = new SparseDoubleMatrix(rowCount, columnCount);
+		double[] values = values(rowCount * columnCount, 50, random);
+		for (int a = 0; a < values.length; a++) {
+			matrix.setValue(values[a], a / columnCount, a % columnCount);
+			sparse.setValue(values[a], a / columnCount, a % columnCount);
+		}
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		double[] expected = values.clone();
+		double[] expectedLogarithmic = values.clone();
+		double[] logSumExp = new double[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			SoftMax.softMax(expected, i * columnCount, columnCount);
+			SoftMax.logSoftMax(expectedLogarithmic, i * columnCount, columnCount);
+			logSumExp[i] = SoftMax.logSumExp(values, i * columnCount, columnCount);
+		}
+		FullDoubleMatrix result = new FullDoubleMatrix(rowCount, columnCount);
+		assertArrayEquals(expected, ((FullDoubleMatrix) SoftMax.softMaxRows(matrix, result, parallelism)).getArray());
+		assertArrayEquals(expectedLogarithmic,
+				((FullDoubleMatrix) SoftMax.logSoftMaxRows(matrix, result, parallelism)).getArray());
+		assertArrayEquals(logSumExp, SoftMax.logSumExpRows(matrix, new DoubleVector(rowCount), parallelism).getArray());
+		assertArrayEquals(logSumExp, SoftMax.logSumExpRows(sparse).getArray());
+		SoftMax.softMaxRows(sparse);
+		SoftMax.softMaxRows(matrix);
+		assertArrayEquals(expected, matrix.getArray());
+		for (int a = 0; a < values.length; a++)
+			assertEquals(expected[a], sparse.getValue(a / columnCount, a % columnCount));
+	}
+
+}
@@ -0,0 +1,98 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * every batched product has to be bit-identical to the single-vector products
+ */
+class BatchProductTest {
+
+	private static void assertBatchEqualsSingle(DoubleMatrix matrix, Random random) {
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		int size = 13;
+		DoubleVector[] vectors = new DoubleVector[size];
+		FullDoubleMatrix batch = new FullDoubleMatrix(size, matrix.getColumnCount());
+		for (int s = 0; s < size; s++) {
+			vectors[s] = vector(matrix.getColumnCount(), random);
+			for (int j = 0; j < matrix.getColumnCount(); j++)
+				batch.setValue(vectors[s].getValue(j), s, j);
+		}
+		DoubleVector[] results = matrix.multiply(vectors);
+		DoubleVector[] parallelResults = matrix.multiply(vectors, parallelism);
+		DoubleMatrix packed = matrix.multiplyBatch(batch);
+		DoubleMatrix parallelPacked = matrix.multiplyBatch(batch, parallelism);
+		assertEquals(size, packed.getRowCount());
+		assertEquals(matrix.getRowCount(), packed.getColumnCount());
+		DoubleVector expected;
+		for (int s = 0; s < size; s++) {
+			expected = matrix.multiply(vectors[s]);
+			assertVectorEquals(expected, results[s], 0);
+			assertVectorEquals(expected, parallelResults[s], 0);
+			for (int i = 0; i < matrix.getRowCount(); i++) {
+				assertEquals(expected.getValue(i), packed.getValue(s, i), 0);
+				assertEquals(expected.getValue(i), parallelPacked.getValue(s, i), 0);
+			}
+		}
+	}
+
+	@Test
+	void fullBatchEqualsSingleProducts() {
+		Random random = new Random(1);
+		for (int rows : new int[] { 1, 7, 300 })
+			for (int columns : new int[] { 1, 17, 600 })
+				assertBatchEqualsSingle(dense(rows, columns, random), random);
+	}
+
+	@Test
+	void sparseBatchEqualsSingleProducts() {
+		Random random = new Random(2);
+		for (int rows : new int[] { 1, 7, 300 }) {
+			SparseDoubleMatrix matrix = sparse(rows, 80, 0.1, random);
+			assertBatchEqualsSingle(matrix, random);
+			assertBatchEqualsSingle(new CsrDoubleMatrix(matrix), random);
+			assertBatchEqualsSingle(new CscDoubleMatrix(matrix), random);
+		}
+	}
+
+	@Test
+	void parallelBatchIntoSparseResult() {
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		Random random = new Random(4);
+		for (int run = 0; run < 20; run++) {
+			SparseDoubleMatrix matrix = sparse(64, 48, 0.5, random);
+			FullDoubleMatrix batch = dense(40, 48, random);
+			for (DoubleMatrix operand : new DoubleMatrix[] { matrix, new CsrDoubleMatrix(matrix) }) {
+				DoubleMatrix expected = operand.multiplyBatch(batch, new SparseDoubleMatrix(40, 64),
+						Parallelism.SEQUENTIAL);
+				assertMatrixEquals(operand.multiplyBatch(batch), expected, 1e-12);
+				assertMatrixEquals(expected, operand.multiplyBatch(batch, new SparseDoubleMatrix(40, 64), parallelism),
+						0);
+			}
+		}
+	}
+
+	@Test
+	void invalidBatches() {
+		FullDoubleMatrix matrix = dense(4, 3, new Random(3));
+		assertThrows(IllegalArgumentException.class,
+				() -> matrix.multiply(new DoubleVector[] { new DoubleVector(3), new DoubleVector(4) }));
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiplyBatch(new FullDoubleMatrix(2, 4)));
+		assertThrows(IllegalArgumentException.class,
+				() -> matrix.multiplyBatch(new FullDoubleMatrix(2, 3), new FullDoubleMatrix(2, 3)));
+	}
+
+}
@@ -0,0 +1,147 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.nuttercode.math.vector.DoubleVector;
+
+class BinaryFormatTest {
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * @return matrix written to and read from a file
+	 */
+	private DoubleMatrix roundTrip(DoubleMatrix matrix) throws IOException {
+		Path path = directory.resolve("matrix.bin");
+		BinaryFormat.write(matrix, path);
+		return BinaryFormat.readMatrix(path);
+	}
+
+	@Test
+	void vectorRoundTrip() throws IOException {
+		Random random = new Random(1);
+		Path path = directory.resolve("vector.bin");
+		for (int dimension : new int[] { 0, 1, 1000, 100_000 }) {
+			DoubleVector vector = vector(dimension, random);
+			if (dimension > 1) {
+				vector.setValue(Double.NaN, 0);
+				vector.setValue(-0.0, 1);
+			}
+			BinaryFormat.write(vector, path);
+			assertEquals(BinaryFormat.HEADER_SIZE + dimension * Double.BYTES, Files.size(path));
+			assertArrayEquals(vector.getArray(), BinaryFormat.readVector(path).getArray());
+		}
+	}
+
+	@Test
+	void matricesKeepTheirFormat() throws IOException {
+		Random random = new Random(2);
+		for (int rows : new int[] { 1, 9, 400 }) {
+			FullDoubleMatrix full = dense(rows, 300, random);
+			full.setValue(Double.NEGATIVE_INFINITY, rows - 1, 299);
+			assertMatrixEquals(full, assertInstanceOf(FullDoubleMatrix.class, roundTrip(full)), 0);
+			SparseDoubleMatrix matrix = sparse(rows, 300, 0.05, random);
+			SparseDoubleMatrix shifted = new SparseDoubleMatrix(-2.5, rows, 300);
+			matrix.forEach((i, j, value) -> shifted.setValue(value, i, j));
+			SparseDoubleMatrix sparse = assertInstanceOf(SparseDoubleMatrix.class, roundTrip(shifted));
+			assertEquals(-2.5, sparse.getDefaultValue());
+			assertEquals(shifted.getValueCount(), sparse.getValueCount());
+			assertMatrixEquals(shifted, sparse, 0);
+			CsrDoubleMatrix csr = new CsrDoubleMatrix(matrix);
+			CsrDoubleMatrix readCsr = assertInstanceOf(CsrDoubleMatrix.class, roundTrip(csr));
+			assertArrayEquals(csr.pointers, readCsr.pointers);
+			assertArrayEquals(csr.indices, readCsr.indices);
+			assertArrayEquals(csr.values, readCsr.values);
+			CscDoubleMatrix csc = new CscDoubleMatrix(matrix);
+			assertMatrixEquals(csc, assertInstanceOf(CscDoubleMatrix.class, roundTrip(csc)), 0);
+		}
+	}
+
+	@Test
+	void otherMatricesAreWrittenDense() throws IOException {
+		OffHeapDoubleMatrix matrix = new OffHeapDoubleMatrix(3, 4);
+		matrix.setValue(7, 2, 1);
+		assertMatrixEquals(matrix, assertInstanceOf(FullDoubleMatrix.class, roundTrip(matrix)), 0);
+	}
+
+	@Test
+	void streamRoundTrip() throws IOException {
+		Random random = new Random(3);
+		SparseDoubleMatrix matrix = sparse(50, 60, 0.3, random);
+		FullDoubleMatrix full = dense(70, 80, random);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BinaryFormat.write(new CsrDoubleMatrix(matrix), Channels.newChannel(output));
+		BinaryFormat.write(full, Channels.newChannel(output));
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		assertMatrixEquals(matrix, BinaryFormat.readMatrix(Channels.newChannel(input)), 0);
+		assertMatrixEquals(full, BinaryFormat.readMatrix(Channels.newChannel(input)), 0);
+		assertEquals(0, input.available());
+	}
+
+	@Test
+	void mapDenseFile() throws IOException {
+		Random random = new Random(4);
+		FullDoubleMatrix full = dense(33, 17, random);
+		Path path = directory.resolve("dense.bin");
+		BinaryFormat.write(full, path);
+		assertMatrixEquals(full, BinaryFormat.map(path, false), 0);
+		OffHeapDoubleMatrix mapped = BinaryFormat.map(path, true);
+		mapped.setValue(42, 5, 6);
+		mapped.force();
+		full.setValue(42, 5, 6);
+		assertMatrixEquals(full, BinaryFormat.readMatrix(path), 0);
+		BinaryFormat.write(new CsrDoubleMatrix(sparse(3, 3, 0.5, random)), path);
+		assertThrows(IOException.class, () -> BinaryFormat.map(path, false));
+	}
+
+	@Test
+	void corruptFilesAreRejected() throws IOException {
+		Path path = directory.resolve("corrupt.bin");
+		BinaryFormat.write(new DoubleVector(3), path);
+		assertThrows(IOException.class, () -> BinaryFormat.readMatrix(path));
+		BinaryFormat.write(dense(3, 3, new Random(5)), path);
+		assertThrows(IOException.class, () -> BinaryFormat.readVector(path));
+		byte[] bytes = Files.readAllBytes(path);
+		Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+		assertThrows(IOException.class, () -> BinaryFormat.readMatrix(path));
+		bytes[0] ^= 1;
+		Files.write(path, bytes);
+		assertThrows(IOException.class, () -> BinaryFormat.readMatrix(path));
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(2, 3);
+		matrix.setValue(1, 0, 1);
+		matrix.setValue(2, 1, 2);
+		BinaryFormat.write(new CsrDoubleMatrix(matrix), path);
+		assertMatrixEquals(matrix, BinaryFormat.readMatrix(path), 0);
+		// the first column index follows the three row pointers
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 3),
+					BinaryFormat.HEADER_SIZE + 3 * Integer.BYTES);
+		}
+		assertThrows(IOException.class, () -> BinaryFormat.readMatrix(path));
+	}
+
+}
@@ -0,0 +1,114 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.vector.DoubleVector;
+
+class CompressedDoubleMatrixTest {
+
+	private static final double DELTA = 1e-12;
+
+	private static final int[] SIZES = { 1, 3, 17, 64, 131 };
+
+	@Test
+	void productsMatchDense() {
+		Random random = new Random(1);
+		for (int rows : SIZES) {
+			SparseDoubleMatrix matrix = sparse(rows, rows + 5, 0.2, random);
+			FullDoubleMatrix full = new FullDoubleMatrix(rows, rows + 5);
+			matrix.forEach((i, j, value) -> full.setValue(value, i, j));
+			CsrDoubleMatrix csr = new CsrDoubleMatrix(matrix);
+			CscDoubleMatrix csc = new CscDoubleMatrix(matrix);
+			DoubleVector right = vector(rows + 5, random);
+			DoubleVector left = vector(rows, random);
+			assertMatrixEquals(full, csr, 0);
+			assertMatrixEquals(full, csc, 0);
+			assertEquals(matrix.getValueCount(), csr.getValueCount());
+			assertEquals(matrix.getValueCount(), csc.getValueCount());
+			assertVectorEquals(full.multiply(right), matrix.multiply(right), DELTA);
+			assertVectorEquals(full.multiply(right), csr.multiply(right), DELTA);
+			assertVectorEquals(full.multiply(right), csc.multiply(right), DELTA);
+			assertVectorEquals(full.multiplyTransposed(left), matrix.multiplyTransposed(left), DELTA);
+			assertVectorEquals(full.multiplyTransposed(left), csr.multiplyTransposed(left), DELTA);
+			assertVectorEquals(full.multiplyTransposed(left), csc.multiplyTransposed(left), DELTA);
+		}
+	}
+
+	@Test
+	void multiplyTransposedMatchesTextbook() {
+		Random random = new Random(2);
+		FullDoubleMatrix matrix = dense(11, 7, random);
+		DoubleVector vector = vector(11, random);
+		DoubleVector result = matrix.multiplyTransposed(vector);
+		double value;
+		for (int j = 0; j < 7; j++) {
+			value = 0;
+			for (int i = 0; i < 11; i++)
+				value += matrix.getValue(i, j) * vector.getValue(i);
+			assertEquals(value, result.getValue(j), DELTA);
+		}
+	}
+
+	@Test
+	void conversionsAreExact() {
+		Random random = new Random(3);
+		SparseDoubleMatrix matrix = sparse(50, 30, 0.1, random);
+		CsrDoubleMatrix csr = new CsrDoubleMatrix(matrix);
+		CscDoubleMatrix csc = new CscDoubleMatrix(matrix);
+		assertArrayEquals(csr.pointers, csc.toCsr().pointers);
+		assertArrayEquals(csr.indices, csc.toCsr().indices);
+		assertArrayEquals(csr.values, csc.toCsr().values);
+		assertArrayEquals(csc.pointers, csr.toCsc().pointers);
+		assertArrayEquals(csc.indices, csr.toCsc().indices);
+		assertArrayEquals(csc.values, csr.toCsc().values);
+		SparseDoubleMatrix visited = new SparseDoubleMatrix(50, 30);
+		csc.forEach((i, j, value) -> visited.setValue(value, i, j));
+		assertMatrixEquals(matrix, visited, 0);
+	}
+
+	@Test
+	void arraysAreConsistent() {
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(2, 3);
+		matrix.setValue(1, 0, 2);
+		matrix.setValue(2, 1, 0);
+		matrix.setValue(3, 1, 2);
+		CsrDoubleMatrix csr = new CsrDoubleMatrix(matrix);
+		assertArrayEquals(new int[] { 0, 1, 3 }, csr.pointers);
+		assertArrayEquals(new int[] { 2, 0, 2 }, csr.indices);
+		assertArrayEquals(new double[] { 1, 2, 3 }, csr.values);
+		CscDoubleMatrix csc = new CscDoubleMatrix(matrix);
+		assertArrayEquals(new int[] { 0, 1, 1, 3 }, csc.pointers);
+		assertArrayEquals(new int[] { 1, 0, 1 }, csc.indices);
+		assertArrayEquals(new double[] { 2, 1, 3 }, csc.values);
+		assertMatrixEquals(csr, new CsrDoubleMatrix(2, 3, new int[] { 0, 1, 1 }, new int[] { 2, 0, 2 },
+				new double[] { 1, 2, 3 }), 0);
+		assertMatrixEquals(csc, new CscDoubleMatrix(2, 3, new int[] { 1, 0, 1 }, new int[] { 0, 2, 2 },
+				new double[] { 2, 1, 3 }), 0);
+	}
+
+	@Test
+	void invalidInput() {
+		assertThrows(IllegalArgumentException.class, () -> new CsrDoubleMatrix(2, 3, new int[] { 1, 0 },
+				new int[] { 0, 0 }, new double[] { 1, 1 }));
+		assertThrows(IllegalArgumentException.class, () -> new CsrDoubleMatrix(2, 3, new int[] { 0, 0 },
+				new int[] { 1, 1 }, new double[] { 1, 1 }));
+		assertThrows(IllegalArgumentException.class,
+				() -> new CscDoubleMatrix(2, 3, new int[] { 2 }, new int[] { 0 }, new double[] { 1 }));
+		assertThrows(IllegalArgumentException.class, () -> new CsrDoubleMatrix(new SparseDoubleMatrix(1, 2, 2)));
+		CsrDoubleMatrix csr = new CsrDoubleMatrix(new SparseDoubleMatrix(2, 2));
+		assertThrows(UnsupportedOperationException.class, () -> csr.setValue(1, 0, 0));
+		assertThrows(UnsupportedOperationException.class, () -> csr.swapRows(0, 1));
+	}
+
+}
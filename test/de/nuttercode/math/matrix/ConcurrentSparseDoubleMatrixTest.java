@@ -0,0 +1,150 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+
+class ConcurrentSparseDoubleMatrixTest {
+
+	private static final int SIZE = 300;
+
+	private static final int THREADS = 8;
+
+	private static final int ADDITIONS = 20_000;
+
+	/**
+	 * every thread adds small integers, so the sums are exact in any order
+	 */
+	private static void assemble(int thread, ValueAdder adder) {
+		Random random = new Random(thread);
+		int i;
+		for (int n = 0; n < ADDITIONS; n++) {
+			i = random.nextInt(SIZE);
+			adder.add(1 + random.nextInt(4), i, (i + random.nextInt(5)) % SIZE);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ValueAdder {
+
+		void add(double delta, int i, int j);
+
+	}
+
+	private static SparseDoubleMatrix sequentialReference() {
+		SparseDoubleMatrix reference = new SparseDoubleMatrix(SIZE, SIZE);
+		for (int thread = 0; thread < THREADS; thread++)
+			assemble(thread, reference::addToValue);
+		return reference;
+	}
+
+	private static void runConcurrently(ConcurrentSparseDoubleMatrix matrix) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < THREADS; thread++) {
+				int seed = thread;
+				futures.add(executor.submit(() -> assemble(seed, matrix::addToValue)));
+			}
+			for (Future<?> future : futures)
+				future.get();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void concurrentAssemblyEqualsSequentialAssembly() throws Exception {
+		SparseDoubleMatrix reference = sequentialReference();
+		for (int stripeCount : new int[] { 1, 3, 64 }) {
+			ConcurrentSparseDoubleMatrix matrix = new ConcurrentSparseDoubleMatrix(SIZE, SIZE, stripeCount, 0);
+			assertEquals(Integer.highestOneBit(2 * stripeCount - 1), matrix.getStripeCount());
+			runConcurrently(matrix);
+			assertEquals(reference.getValueCount(), matrix.getValueCount());
+			assertMatrixEquals(reference, matrix, 0);
+			CsrDoubleMatrix frozen = matrix.freeze();
+			assertMatrixEquals(reference, frozen, 0);
+			assertEquals(reference.getValueCount(), frozen.getValueCount());
+			for (int i = 0; i < SIZE; i++)
+				for (int k = frozen.pointers[i] + 1; k < frozen.pointers[i + 1]; k++)
+					assertTrue(frozen.indices[k - 1] < frozen.indices[k]);
+		}
+	}
+
+	@Test
+	void freezeIsSnapshotWhileWriting() throws Exception {
+		SparseDoubleMatrix reference = sequentialReference();
+		ConcurrentSparseDoubleMatrix matrix = new ConcurrentSparseDoubleMatrix(SIZE, SIZE);
+		AtomicBoolean done = new AtomicBoolean();
+		List<CsrDoubleMatrix> snapshots = new ArrayList<>();
+		Thread freezer = new Thread(() -> {
+			while (!done.get())
+				snapshots.add(matrix.freeze());
+		});
+		freezer.start();
+		try {
+			runConcurrently(matrix);
+		} finally {
+			done.set(true);
+			freezer.join();
+		}
+		// the values only grow, so every snapshot is bounded by the final matrix
+		for (CsrDoubleMatrix snapshot : snapshots)
+			snapshot.forEach((i, j, value) -> assertTrue(value > 0 && value <= reference.getValue(i, j)));
+		assertMatrixEquals(reference, matrix.freeze(), 0);
+		matrix.addToValue(1, 0, 0);
+		assertEquals(reference.getValue(0, 0) + 1, matrix.getValue(0, 0));
+	}
+
+	@Test
+	void matrixBehavesLikeSparseMatrix() {
+		Random random = new Random(1);
+		SparseDoubleMatrix reference = new SparseDoubleMatrix(40, 25);
+		ConcurrentSparseDoubleMatrix matrix = new ConcurrentSparseDoubleMatrix(40, 25, 4, 100);
+		int i, j;
+		double value;
+		for (int n = 0; n < 300; n++) {
+			i = random.nextInt(40);
+			j = random.nextInt(25);
+			value = random.nextDouble();
+			reference.setValue(value, i, j);
+			matrix.setValue(value, i, j);
+			assertTrue(matrix.hasValue(i, j));
+		}
+		assertEquals(reference.getValue(3, 4), matrix.getValue(3, 4));
+		assertMatrixEquals(reference, matrix, 0);
+		Parallelism parallelism = new Parallelism();
+		assertVectorEquals(reference.multiply(vector(25, new Random(3))),
+				matrix.multiply(vector(25, new Random(3)), parallelism), 1e-12);
+		assertVectorEquals(reference.multiplyTransposed(vector(40, new Random(4))),
+				matrix.multiplyTransposed(vector(40, new Random(4))), 1e-12);
+		reference.swapRows(2, 30);
+		matrix.swapRows(2, 30);
+		assertMatrixEquals(reference, matrix, 0);
+		int[] count = new int[1];
+		matrix.forEach((row, column, entry) -> {
+			assertEquals(reference.getValue(row, column), entry);
+			count[0]++;
+		});
+		assertEquals(reference.getValueCount(), count[0]);
+		matrix.reset();
+		assertEquals(0, matrix.getValueCount());
+		assertFalse(matrix.hasValue(3, 4));
+	}
+
+}
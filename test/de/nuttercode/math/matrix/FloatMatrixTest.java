@@ -0,0 +1,149 @@
+package de.nuttercode.math.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.function.Functions;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.Accumulation;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.FloatVector;
+
+class FloatMatrixTest {
+
+	private static final Parallelism EAGER = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+
+	private static FloatVector vector(int dimension, Random random) {
+		FloatVector vector = new FloatVector(dimension);
+		for (int a = 0; a < dimension; a++)
+			vector.setValue(2 * random.nextFloat() - 1, a);
+		return vector;
+	}
+
+	private static SparseFloatMatrix sparse(float defaultValue, int rows, int columns, Random random) {
+		SparseFloatMatrix matrix = new SparseFloatMatrix(defaultValue, rows, columns);
+		for (int i = 0; i < rows; i++)
+			for (int j = 0; j < columns; j++)
+				if (random.nextDouble() < 0.2)
+					matrix.setValue(2 * random.nextFloat() - 1, i, j);
+		return matrix;
+	}
+
+	/**
+	 * @return dense copy of matrix
+	 */
+	private static FullFloatMatrix full(FloatMatrix matrix) {
+		FullFloatMatrix full = new FullFloatMatrix(matrix.getRowCount(), matrix.getColumnCount());
+		for (int i = 0; i < matrix.getRowCount(); i++)
+			for (int j = 0; j < matrix.getColumnCount(); j++)
+				full.setValue(matrix.getValue(i, j), i, j);
+		return full;
+	}
+
+	/**
+	 * the sums of products of floats in double differ from the exact sums by far
+	 * less than a float ulp
+	 */
+	private static void assertDoubleAccumulated(double[] expected, FloatVector actual) {
+		for (int a = 0; a < expected.length; a++)
+			assertEquals((float) expected[a], actual.getValue(a), Math.ulp((float) expected[a]));
+	}
+
+	@Test
+	void fullProductsWithDoubleAccumulationEqualDoubleProducts() {
+		Random random = new Random(1);
+		for (int columns : new int[] { 1, 16, 17, 300 }) {
+			FullFloatMatrix matrix = new FullFloatMatrix(45, columns);
+			matrix.randomize(random);
+			FullDoubleMatrix converted = matrix.toFullDoubleMatrix();
+			FloatVector vector = vector(columns, random);
+			DoubleVector expected = converted.multiply(vector.toDoubleVector());
+			FloatVector result = matrix.multiply(vector, new FloatVector(45), Accumulation.DOUBLE, EAGER);
+			for (int i = 0; i < 45; i++)
+				assertEquals((float) expected.getValue(i), result.getValue(i));
+			assertArrayEquals(matrix.multiply(vector).getArray(),
+					matrix.multiply(vector, new FloatVector(45), Accumulation.FLOAT, EAGER).getArray());
+			FloatVector left = vector(45, random);
+			assertDoubleAccumulated(converted.multiplyTransposed(left.toDoubleVector()).getArray(),
+					matrix.multiplyTransposed(left, new FloatVector(columns), Accumulation.DOUBLE, EAGER));
+			assertArrayEquals(matrix.multiplyTransposed(left).getArray(), matrix
+					.multiplyTransposed(left, new FloatVector(columns), Accumulation.FLOAT, EAGER).getArray());
+			assertMatrixEquals(matrix, new FullFloatMatrix(converted));
+		}
+	}
+
+	@Test
+	void sparseProductsMatchDenseProducts() {
+		Random random = new Random(2);
+		for (float defaultValue : new float[] { 0, -0.25f }) {
+			SparseFloatMatrix matrix = sparse(defaultValue, 60, 35, random);
+			SparseDoubleMatrix converted = matrix.toSparseDoubleMatrix();
+			FloatVector vector = vector(35, random);
+			FloatVector left = vector(60, random);
+			assertDoubleAccumulated(converted.multiply(vector.toDoubleVector()).getArray(),
+					matrix.multiply(vector, Accumulation.DOUBLE));
+			assertDoubleAccumulated(converted.multiplyTransposed(left.toDoubleVector()).getArray(),
+					matrix.multiplyTransposed(left, new FloatVector(35), Accumulation.DOUBLE, EAGER));
+			FloatVector expected = full(matrix).multiply(vector);
+			FloatVector actual = matrix.multiply(vector);
+			for (int i = 0; i < 60; i++)
+				assertEquals(expected.getValue(i), actual.getValue(i), 1e-5f);
+		}
+	}
+
+	@Test
+	void sparseValues() {
+		Random random = new Random(3);
+		SparseFloatMatrix matrix = sparse(1.5f, 20, 30, random);
+		FullFloatMatrix full = full(matrix);
+		assertEquals(1.5f, matrix.getDefaultValue());
+		matrix.swapRows(3, 17);
+		full.swapRows(3, 17);
+		assertMatrixEquals(full, matrix);
+		assertMatrixEquals(matrix, new SparseFloatMatrix(matrix.toSparseDoubleMatrix()));
+		matrix.setValue(7, 19, 29);
+		assertTrue(matrix.hasValue(19, 29));
+		matrix.reset();
+		assertEquals(0, matrix.getValueCount());
+		assertFalse(matrix.hasValue(19, 29));
+		assertEquals(1.5f, matrix.getValue(19, 29));
+		SparseDoubleMatrix doubles = new SparseDoubleMatrix(0.1, 2, 2);
+		doubles.setValue(1.0 / 3, 1, 1);
+		SparseFloatMatrix rounded = new SparseFloatMatrix(doubles);
+		assertEquals(0.1f, rounded.getValue(0, 0));
+		assertEquals(1f / 3, rounded.getValue(1, 1));
+	}
+
+	@Test
+	void activations() {
+		Random random = new Random(4);
+		FullFloatMatrix matrix = new FullFloatMatrix(7, 300);
+		matrix.randomize(random);
+		FullFloatMatrix copy = new FullFloatMatrix(matrix);
+		Functions.TANH.applyInPlace(matrix);
+		SparseFloatMatrix sparse = new SparseFloatMatrix(3, 3);
+		sparse.setValue(2, 0, 0);
+		Functions.SIGMOID.applyInPlace(sparse);
+		for (int i = 0; i < 7; i++)
+			for (int j = 0; j < 300; j++)
+				assertEquals((float) Functions.TANH.apply(copy.getValue(i, j)), matrix.getValue(i, j));
+		assertEquals((float) Functions.SIGMOID.apply(2), sparse.getValue(0, 0));
+		assertEquals(0.5f, sparse.getValue(2, 2));
+	}
+
+	private static void assertMatrixEquals(FloatMatrix expected, FloatMatrix actual) {
+		assertEquals(expected.getRowCount(), actual.getRowCount());
+		assertEquals(expected.getColumnCount(), actual.getColumnCount());
+		for (int i = 0; i < expected.getRowCount(); i++)
+			for (int j = 0; j < expected.getColumnCount(); j++)
+				assertEquals(expected.getValue(i, j), actual.getValue(i, j), "(" + i + ", " + j + ")");
+	}
+
+}
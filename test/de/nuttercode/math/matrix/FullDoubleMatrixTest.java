@@ -0,0 +1,85 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.multiply;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.vector.DoubleVector;
+
+class FullDoubleMatrixTest {
+
+	private static final double DELTA = 1e-10;
+
+	/**
+	 * sizes around the micro-kernel and the packed block sizes
+	 */
+	private static final int[] SIZES = { 1, 3, 4, 5, 17, 64, 65, 131 };
+
+	@Test
+	void productMatchesTextbook() {
+		Random random = new Random(1);
+		for (int rows : SIZES) {
+			for (int inner : SIZES) {
+				FullDoubleMatrix a = dense(rows, inner, random);
+				FullDoubleMatrix b = dense(inner, rows + 2, random);
+				assertMatrixEquals(multiply(a, b), a.multiply(b), DELTA);
+			}
+		}
+	}
+
+	@Test
+	void productAcrossPanelBoundaries() {
+		Random random = new Random(2);
+		FullDoubleMatrix a = dense(BlockedMultiplication.MC + 7, BlockedMultiplication.KC + 45, random);
+		FullDoubleMatrix b = dense(BlockedMultiplication.KC + 45, BlockedMultiplication.NC + 6, random);
+		assertMatrixEquals(multiply(a, b), a.multiply(b), DELTA);
+	}
+
+	@Test
+	void productRejectsMismatchedShapes() {
+		Random random = new Random(3);
+		FullDoubleMatrix a = dense(9, 6, random);
+		assertThrows(IllegalArgumentException.class, () -> a.multiply(dense(5, 4, random)));
+		assertThrows(IllegalArgumentException.class, () -> a.multiply(new DoubleVector(5)));
+	}
+
+	@Test
+	void vectorProductMatchesTextbook() {
+		Random random = new Random(4);
+		FullDoubleMatrix matrix = dense(13, 29, random);
+		DoubleVector vector = vector(29, random);
+		FullDoubleMatrix column = new FullDoubleMatrix(29, 1);
+		for (int a = 0; a < 29; a++)
+			column.setValue(vector.getValue(a), a, 0);
+		DoubleVector result = matrix.multiply(vector);
+		FullDoubleMatrix expected = multiply(matrix, column);
+		assertEquals(13, result.getDimension());
+		for (int a = 0; a < 13; a++)
+			assertEquals(expected.getValue(a, 0), result.getValue(a), DELTA);
+		assertVectorEquals(result, matrix.multiply(new DoubleVector(vector)), 0);
+	}
+
+	@Test
+	void rowOperationsUseRowMajorLayout() {
+		double[][] array = { { 1, 2, 3 }, { 4, 5, 6 }, { 7, 8, 9 }, { 10, 11, 12 } };
+		FullDoubleMatrix matrix = new FullDoubleMatrix(array);
+		FullDoubleMatrix copy = new FullDoubleMatrix(matrix);
+		matrix.swapRows(0, 3);
+		matrix.addRow(1, 2, -2);
+		matrix.scaleRow(0.5, 0);
+		assertMatrixEquals(new FullDoubleMatrix(new double[][] { { 5, 5.5, 6 }, { 4, 5, 6 }, { -1, -2, -3 },
+				{ 1, 2, 3 } }), matrix, 0);
+		assertMatrixEquals(new FullDoubleMatrix(array), copy, 0);
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> matrix.getValue(0, 3));
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> matrix.setValue(1, 4, 0));
+	}
+
+}
@@ -0,0 +1,105 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+class IntoProductTest {
+
+	/**
+	 * @return vector filled with values which have to be overwritten
+	 */
+	private static DoubleVector stale(int dimension) {
+		DoubleVector vector = new DoubleVector(dimension);
+		for (int a = 0; a < dimension; a++)
+			vector.setValue(Double.NaN, a);
+		return vector;
+	}
+
+	private static void assertIntoEqualsAllocating(DoubleMatrix matrix, Random random) {
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		DoubleVector right = vector(matrix.getColumnCount(), random);
+		DoubleVector left = vector(matrix.getRowCount(), random);
+		DoubleVector result = stale(matrix.getRowCount());
+		assertSame(result, matrix.multiply(right, result));
+		assertVectorEquals(matrix.multiply(right), result, 0);
+		assertVectorEquals(matrix.multiply(right), matrix.multiply(right, stale(matrix.getRowCount()), parallelism),
+				0);
+		result = stale(matrix.getColumnCount());
+		assertSame(result, matrix.multiplyTransposed(left, result));
+		assertVectorEquals(matrix.multiplyTransposed(left), result, 0);
+		assertVectorEquals(matrix.multiplyTransposed(left),
+				matrix.multiplyTransposed(left, stale(matrix.getColumnCount()), parallelism), 0);
+		FullDoubleMatrix other = dense(matrix.getColumnCount(), 5, random);
+		FullDoubleMatrix product = new FullDoubleMatrix(matrix.getRowCount(), 5);
+		product.setAllValuesTo(Double.NaN);
+		assertSame(product, matrix.multiply(other, product));
+		assertMatrixEquals(matrix.multiply(other), product, 0);
+		product.setAllValuesTo(Double.NaN);
+		assertMatrixEquals(matrix.multiply(other), matrix.multiply(other, product, parallelism), 0);
+	}
+
+	@Test
+	void intoProductsEqualAllocatingProducts() {
+		Random random = new Random(1);
+		SparseDoubleMatrix matrix = sparse(37, 23, 0.3, random);
+		assertIntoEqualsAllocating(dense(37, 23, random), random);
+		assertIntoEqualsAllocating(matrix, random);
+		assertIntoEqualsAllocating(new CsrDoubleMatrix(matrix), random);
+		assertIntoEqualsAllocating(new CscDoubleMatrix(matrix), random);
+	}
+
+	@Test
+	void operandsMustNotBeResults() {
+		FullDoubleMatrix matrix = dense(4, 4, new Random(2));
+		DoubleVector vector = new DoubleVector(4);
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiply(vector, vector));
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiplyTransposed(vector, vector));
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiply(matrix, matrix));
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiply(dense(4, 4, new Random(3)), matrix));
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiply(vector, new DoubleVector(3)));
+	}
+
+	@Test
+	void sequentialIntoProductsDoNotAllocate() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Random random = new Random(4);
+		FullDoubleMatrix full = dense(64, 48, random);
+		SparseDoubleMatrix sparse = sparse(64, 48, 0.2, random);
+		CsrDoubleMatrix csr = new CsrDoubleMatrix(sparse);
+		DoubleVector right = vector(48, random);
+		DoubleVector left = vector(64, random);
+		DoubleVector rowResult = new DoubleVector(64);
+		DoubleVector columnResult = new DoubleVector(48);
+		long allocated = Long.MAX_VALUE;
+		long start;
+		// the first runs are interpreted, the minimum is reached once every method is compiled
+		for (int run = 0; run < 20; run++) {
+			start = bean.getCurrentThreadAllocatedBytes();
+			for (int a = 0; a < 1000; a++) {
+				full.multiply(right, rowResult);
+				full.multiplyTransposed(left, columnResult);
+				sparse.multiply(right, rowResult);
+				csr.multiply(right, rowResult);
+				csr.multiplyTransposed(left, columnResult);
+			}
+			allocated = Math.min(allocated, bean.getCurrentThreadAllocatedBytes() - start);
+		}
+		assertTrue(allocated < 1 << 14, allocated + " bytes allocated");
+	}
+
+}
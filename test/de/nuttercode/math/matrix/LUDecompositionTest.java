@@ -0,0 +1,131 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.permutation.IntPermutation;
+import de.nuttercode.math.vector.DoubleVector;
+
+class LUDecompositionTest {
+
+	/**
+	 * sizes around the block size
+	 */
+	private static final int[] SIZES = { 1, 4, 50, LUDecomposition.BLOCK_SIZE, LUDecomposition.BLOCK_SIZE + 1, 150 };
+
+	@Test
+	void factorsReproducePermutedMatrix() {
+		Random random = new Random(1);
+		for (int size : SIZES) {
+			FullDoubleMatrix matrix = dense(size, size, random);
+			LUDecomposition decomposition = new LUDecomposition(matrix, new Parallelism());
+			DoubleMatrix product = decomposition.getL().multiply(decomposition.getU());
+			IntPermutation permutation = decomposition.getPermutation();
+			FullDoubleMatrix permuted = new FullDoubleMatrix(size);
+			for (int i = 0; i < size; i++)
+				for (int j = 0; j < size; j++)
+					permuted.setValue(matrix.getValue(permutation.apply(i), j), i, j);
+			assertMatrixEquals(permuted, product, 1e-12 * size);
+		}
+	}
+
+	@Test
+	void solveRecoversSolution() {
+		Random random = new Random(2);
+		for (int size : SIZES) {
+			FullDoubleMatrix matrix = dense(size, size, random);
+			DoubleVector solution = vector(size, random);
+			LUDecomposition decomposition = new LUDecomposition(matrix, new Parallelism());
+			DoubleVector rightHandSide = matrix.multiply(solution);
+			assertVectorEquals(solution, decomposition.solve(rightHandSide), 1e-8);
+			assertVectorEquals(decomposition.solve(rightHandSide), decomposition.solve(rightHandSide, rightHandSide),
+					0);
+		}
+	}
+
+	@Test
+	void solveManyRightHandSides() {
+		Random random = new Random(3);
+		for (int size : SIZES) {
+			FullDoubleMatrix matrix = dense(size, size, random);
+			FullDoubleMatrix solutions = dense(size, 70, random);
+			LUDecomposition decomposition = new LUDecomposition(matrix);
+			FullDoubleMatrix result = decomposition.solve((FullDoubleMatrix) matrix.multiply(solutions));
+			assertMatrixEquals(solutions, result, 1e-8);
+		}
+	}
+
+	@Test
+	void subtractedProductsEqualProductsOfNegatedBlocks() {
+		Random random = new Random(6);
+		Parallelism eager = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		int size = BlockedMultiplication.KC + 70;
+		int depth = BlockedMultiplication.KC + 3;
+		// a is the left part of the array of c like the columns of L in the factorization
+		double[] values = dense(size, depth + size, random).getArray();
+		double[] negated = new double[size * depth];
+		for (int i = 0; i < size; i++) {
+			for (int p = 0; p < depth; p++)
+				negated[i * depth + p] = -values[i * (depth + size) + p];
+		}
+		double[] b = dense(depth, size, random).getArray();
+		double[] expected = values.clone();
+		BlockedMultiplication.multiply(negated, 0, depth, b, 0, size, expected, depth, depth + size, size, depth, size,
+				Parallelism.SEQUENTIAL);
+		for (Parallelism parallelism : new Parallelism[] { Parallelism.SEQUENTIAL, eager }) {
+			double[] actual = values.clone();
+			BlockedMultiplication.subtract(actual, 0, depth + size, b, 0, size, actual, depth, depth + size, size,
+					depth, size, parallelism);
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void inverseAndDeterminant() {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(new double[][] { { 2, 1, 1 }, { 1, 3, 2 }, { 1, 0, 0 } });
+		LUDecomposition decomposition = new LUDecomposition(matrix);
+		assertEquals(3, decomposition.getSize());
+		assertEquals(-1, decomposition.getDeterminant(), 1e-12);
+		FullDoubleMatrix identity = new FullDoubleMatrix(3, 3);
+		for (int a = 0; a < 3; a++)
+			identity.setValue(1, a, a);
+		assertMatrixEquals(identity, matrix.multiply(decomposition.getInverse()), 1e-12);
+	}
+
+	@Test
+	void sparseMatrixWithDefaultValue() {
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(1.0, 3, 3);
+		matrix.setValue(5, 0, 0);
+		matrix.setValue(7, 1, 1);
+		matrix.setValue(9, 2, 2);
+		// the unmapped values are 1, not 0
+		assertEquals(296, new LUDecomposition(matrix).getDeterminant(), 1e-10);
+		FullDoubleMatrix full = new FullDoubleMatrix(3, 3);
+		full.setAllValuesTo(1);
+		matrix.forEach((i, j, value) -> full.setValue(value, i, j));
+		assertMatrixEquals(new LUDecomposition(full).getInverse(), new LUDecomposition(matrix).getInverse(), 0);
+	}
+
+	@Test
+	void singular() {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(new double[][] { { 1, 2 }, { 2, 4 } });
+		LUDecomposition decomposition = new LUDecomposition(matrix);
+		assertTrue(decomposition.isSingular());
+		assertEquals(0, decomposition.getDeterminant(), 0);
+		assertThrows(ArithmeticException.class, () -> decomposition.solve(new DoubleVector(2)));
+		assertThrows(IllegalArgumentException.class, () -> new LUDecomposition(new FullDoubleMatrix(2, 3)));
+	}
+
+}
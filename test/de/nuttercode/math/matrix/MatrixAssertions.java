@@ -0,0 +1,103 @@
+package de.nuttercode.math.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * inputs and assertions shared by the matrix tests
+ * 
+ * @author Johannes B. Latzel
+ *
+ */
+final class MatrixAssertions {
+
+	private MatrixAssertions() {
+	}
+
+	/**
+	 * @param rowCount
+	 * @param columnCount
+	 * @param random
+	 * @return matrix with uniformly distributed values in [-1, 1)
+	 */
+	static FullDoubleMatrix dense(int rowCount, int columnCount, Random random) {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(rowCount, columnCount);
+		for (int i = 0; i < rowCount; i++)
+			for (int j = 0; j < columnCount; j++)
+				matrix.setValue(2 * random.nextDouble() - 1, i, j);
+		return matrix;
+	}
+
+	/**
+	 * @param rowCount
+	 * @param columnCount
+	 * @param density     probability of a mapped value
+	 * @param random
+	 * @return sparse matrix with default value 0
+	 */
+	static SparseDoubleMatrix sparse(int rowCount, int columnCount, double density, Random random) {
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(rowCount, columnCount);
+		for (int i = 0; i < rowCount; i++)
+			for (int j = 0; j < columnCount; j++)
+				if (random.nextDouble() < density)
+					matrix.setValue(2 * random.nextDouble() - 1, i, j);
+		return matrix;
+	}
+
+	/**
+	 * @param dimension
+	 * @param random
+	 * @return vector with uniformly distributed values in [-1, 1)
+	 */
+	static DoubleVector vector(int dimension, Random random) {
+		double[] values = new double[dimension];
+		for (int a = 0; a < dimension; a++)
+			values[a] = 2 * random.nextDouble() - 1;
+		return new DoubleVector(values);
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return a * b computed by the textbook triple loop over getValue
+	 */
+	static FullDoubleMatrix multiply(DoubleMatrix a, DoubleMatrix b) {
+		FullDoubleMatrix product = new FullDoubleMatrix(a.getRowCount(), b.getColumnCount());
+		double value;
+		for (int i = 0; i < a.getRowCount(); i++) {
+			for (int j = 0; j < b.getColumnCount(); j++) {
+				value = 0;
+				for (int k = 0; k < a.getColumnCount(); k++)
+					value += a.getValue(i, k) * b.getValue(k, j);
+				product.setValue(value, i, j);
+			}
+		}
+		return product;
+	}
+
+	/**
+	 * asserts that both matrices have the same shape and their values differ by at
+	 * most delta
+	 */
+	static void assertMatrixEquals(DoubleMatrix expected, DoubleMatrix actual, double delta) {
+		assertEquals(expected.getRowCount(), actual.getRowCount(), "rows");
+		assertEquals(expected.getColumnCount(), actual.getColumnCount(), "columns");
+		for (int i = 0; i < expected.getRowCount(); i++)
+			for (int j = 0; j < expected.getColumnCount(); j++)
+				assertEquals(expected.getValue(i, j), actual.getValue(i, j), delta, "(" + i + ", " + j + ")");
+	}
+
+	/**
+	 * asserts that both vectors have the same dimension and their values differ by
+	 * at most delta
+	 */
+	static void assertVectorEquals(DoubleVector expected, DoubleVector actual, double delta) {
+		assertEquals(expected.getDimension(), actual.getDimension(), "dimension");
+		for (int a = 0; a < expected.getDimension(); a++)
+			assertEquals(expected.getValue(a), actual.getValue(a), delta, "component " + a);
+	}
+
+}
@@ -0,0 +1,117 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.nuttercode.math.parallel.Parallelism;
+
+class MatrixFormatTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void matrixMarketRoundTrip() throws IOException {
+		Random random = new Random(1);
+		Parallelism parallelism = new Parallelism();
+		Path path = directory.resolve("matrix.mtx");
+		for (int rows : new int[] { 1, 7, 300 }) {
+			SparseDoubleMatrix matrix = sparse(rows, rows + 3, 0.1, random);
+			MatrixMarketFormat.write(matrix, path, parallelism);
+			assertMatrixEquals(matrix, MatrixMarketFormat.readSparse(path, parallelism), 0);
+			assertMatrixEquals(matrix, MatrixMarketFormat.readCsr(path, Parallelism.SEQUENTIAL), 0);
+			MatrixMarketFormat.write(new CscDoubleMatrix(matrix), path, Parallelism.SEQUENTIAL);
+			assertMatrixEquals(matrix, MatrixMarketFormat.readCsr(path, parallelism), 0);
+			FullDoubleMatrix full = dense(rows, rows + 3, random);
+			MatrixMarketFormat.write(full, path, parallelism);
+			assertMatrixEquals(full, MatrixMarketFormat.readDense(path, parallelism), 0);
+		}
+	}
+
+	@Test
+	void parallelReadsEqualSequentialReads() throws IOException {
+		Random random = new Random(3);
+		Parallelism eager = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		Path path = directory.resolve("large.mtx");
+		SparseDoubleMatrix matrix = sparse(2000, 300, 0.05, random);
+		MatrixMarketFormat.write(matrix, path, eager);
+		CsrDoubleMatrix expected = MatrixMarketFormat.readCsr(path, Parallelism.SEQUENTIAL);
+		CsrDoubleMatrix actual = MatrixMarketFormat.readCsr(path, eager);
+		assertArrayEquals(expected.pointers, actual.pointers);
+		assertArrayEquals(expected.indices, actual.indices);
+		assertArrayEquals(expected.values, actual.values);
+		assertMatrixEquals(matrix, actual, 0);
+		assertMatrixEquals(matrix, MatrixMarketFormat.readSparse(path, eager), 0);
+	}
+
+	@Test
+	void concurrentChunksFillCsrRows() throws IOException {
+		Random random = new Random(4);
+		Parallelism eager = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		Path path = directory.resolve("chunks.mtx");
+		// several chunks of the file, and half of the entries share a few rows
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(5000, 5000);
+		for (int a = 0; a < 300_000; a++)
+			matrix.setValue(random.nextDouble(), a % 2 == 0 ? random.nextInt(4) : random.nextInt(5000),
+					random.nextInt(5000));
+		MatrixMarketFormat.write(matrix, path, eager);
+		assertTrue(Files.size(path) > 4 << 20);
+		CsrDoubleMatrix expected = new CsrDoubleMatrix(matrix);
+		for (int run = 0; run < 3; run++) {
+			CsrDoubleMatrix actual = MatrixMarketFormat.readCsr(path, eager);
+			assertArrayEquals(expected.pointers, actual.pointers);
+			assertArrayEquals(expected.indices, actual.indices);
+			assertArrayEquals(expected.values, actual.values);
+		}
+	}
+
+	@Test
+	void matrixMarketSymmetric() throws IOException {
+		Path path = directory.resolve("symmetric.mtx");
+		Files.writeString(path, "%%MatrixMarket matrix coordinate real symmetric\n% comment\n3 3 3\n1 1 2.5\n"
+				+ "3 1 -1\n2 2 4e-3\n");
+		SparseDoubleMatrix expected = new SparseDoubleMatrix(3, 3);
+		expected.setValue(2.5, 0, 0);
+		expected.setValue(-1, 2, 0);
+		expected.setValue(-1, 0, 2);
+		expected.setValue(4e-3, 1, 1);
+		assertMatrixEquals(expected, MatrixMarketFormat.readSparse(path, new Parallelism()), 0);
+		assertMatrixEquals(expected, MatrixMarketFormat.readCsr(path, new Parallelism()), 0);
+	}
+
+	@Test
+	void matrixMarketRejectsMalformedInput() throws IOException {
+		Path path = directory.resolve("malformed.mtx");
+		Files.writeString(path, "%%MatrixMarket matrix coordinate real general\n2 2 1\n3 1 1\n");
+		assertThrows(IOException.class, () -> MatrixMarketFormat.readSparse(path, Parallelism.SEQUENTIAL));
+		assertThrows(IOException.class, () -> MatrixMarketFormat.readCsr(path, Parallelism.SEQUENTIAL));
+	}
+
+	@Test
+	void csvRoundTrip() throws IOException {
+		Random random = new Random(2);
+		Parallelism parallelism = new Parallelism();
+		Path path = directory.resolve("matrix.csv");
+		for (int rows : new int[] { 1, 9, 500 }) {
+			FullDoubleMatrix matrix = dense(rows, 4, random);
+			matrix.setValue(Double.MIN_VALUE, 0, 0);
+			matrix.setValue(-Double.MAX_VALUE, rows - 1, 3);
+			CsvFormat.write(matrix, path, parallelism);
+			assertMatrixEquals(matrix, CsvFormat.readDense(path, parallelism), 0);
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.multiply;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.DoubleVectorView;
+import de.nuttercode.math.vector.SparseDoubleVector;
+
+class MatrixViewTest {
+
+	private static final double DELTA = 1e-12;
+
+	private static final Parallelism EAGER = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+
+	/**
+	 * @return copy of the rows rowOffset + i * rowStride and the columns
+	 *         columnOffset + j * columnStride
+	 */
+	private static FullDoubleMatrix copy(DoubleMatrix matrix, int rowOffset, int columnOffset, int rowCount,
+			int columnCount, int rowStride, int columnStride) {
+		FullDoubleMatrix copy = new FullDoubleMatrix(rowCount, columnCount);
+		for (int i = 0; i < rowCount; i++)
+			for (int j = 0; j < columnCount; j++)
+				copy.setValue(matrix.getValue(rowOffset + i * rowStride, columnOffset + j * columnStride), i, j);
+		return copy;
+	}
+
+	private static FullDoubleMatrix transposedCopy(DoubleMatrix matrix) {
+		FullDoubleMatrix copy = new FullDoubleMatrix(matrix.getColumnCount(), matrix.getRowCount());
+		for (int i = 0; i < matrix.getRowCount(); i++)
+			for (int j = 0; j < matrix.getColumnCount(); j++)
+				copy.setValue(matrix.getValue(i, j), j, i);
+		return copy;
+	}
+
+	private static void assertProductsMatchCopy(FullDoubleMatrix copy, DoubleMatrix view, Random random) {
+		assertMatrixEquals(copy, view, 0);
+		DoubleVector right = vector(copy.getColumnCount(), random);
+		DoubleVector left = vector(copy.getRowCount(), random);
+		assertVectorEquals(copy.multiply(right), view.multiply(right), DELTA);
+		assertVectorEquals(view.multiply(right), view.multiply(right, EAGER), 0);
+		assertVectorEquals(copy.multiplyTransposed(left), view.multiplyTransposed(left), DELTA);
+		assertVectorEquals(view.multiplyTransposed(left),
+				view.multiplyTransposed(left, new DoubleVector(copy.getColumnCount()), EAGER), 0);
+		SparseDoubleVector sparse = new SparseDoubleVector(right);
+		sparse.setValue(0, 0);
+		assertVectorEquals(copy.multiply(sparse.toDoubleVector()), view.multiply(sparse), DELTA);
+		FullDoubleMatrix other = dense(copy.getColumnCount(), 6, random);
+		assertMatrixEquals(multiply(copy, other), view.multiply(other), DELTA);
+		assertMatrixEquals(multiply(copy, other), view.multiply(other, EAGER), DELTA);
+	}
+
+	@Test
+	void viewProductsMatchCopies() {
+		Random random = new Random(1);
+		SparseDoubleMatrix sparse = sparse(40, 30, 0.3, random);
+		for (DoubleMatrix matrix : new DoubleMatrix[] { dense(40, 30, random), sparse, new CsrDoubleMatrix(sparse),
+				new CscDoubleMatrix(sparse) }) {
+			assertProductsMatchCopy(transposedCopy(matrix), matrix.transpose(), random);
+			assertProductsMatchCopy(copy(matrix, 3, 2, 12, 9, 3, 3), matrix.subMatrix(3, 2, 12, 9, 3, 3), random);
+			assertProductsMatchCopy(copy(matrix, 5, 0, 20, 30, 1, 1), matrix.subMatrix(5, 0, 20, 30), random);
+			assertProductsMatchCopy(transposedCopy(copy(matrix, 1, 4, 10, 7, 2, 1)),
+					matrix.subMatrix(1, 4, 10, 7, 2, 1).transpose(), random);
+		}
+	}
+
+	@Test
+	void fullProductsWithTransposedOperands() {
+		Random random = new Random(2);
+		FullDoubleMatrix a = dense(37, 29, random);
+		FullDoubleMatrix b = dense(41, 29, random);
+		FullDoubleMatrix c = dense(37, 11, random);
+		assertMatrixEquals(multiply(a, transposedCopy(b)), a.multiply(b.transpose()), DELTA);
+		assertMatrixEquals(a.multiply(b.transpose()), a.multiply(b.transpose(), EAGER), 0);
+		assertMatrixEquals(multiply(transposedCopy(a), c), a.transpose().multiply(c), DELTA);
+		assertMatrixEquals(a.transpose().multiply(c), a.transpose().multiply(c, EAGER), 0);
+	}
+
+	@Test
+	void viewsOfOperandsAreNotResults() {
+		Random random = new Random(5);
+		FullDoubleMatrix a = dense(6, 6, random);
+		FullDoubleMatrix b = dense(6, 6, random);
+		SparseDoubleMatrix sparse = sparse(6, 6, 0.5, random);
+		DoubleMatrix view = a.subMatrix(0, 0, 6, 6);
+		assertThrows(IllegalArgumentException.class, () -> view.multiply(b, a));
+		assertThrows(IllegalArgumentException.class, () -> b.multiply(view, a));
+		assertThrows(IllegalArgumentException.class, () -> b.multiply(view.transpose(), a));
+		assertThrows(IllegalArgumentException.class, () -> a.multiply(b, view));
+		assertThrows(IllegalArgumentException.class, () -> a.multiply(b, a.transpose()));
+		assertThrows(IllegalArgumentException.class, () -> a.transpose().multiply(b, view));
+		assertThrows(IllegalArgumentException.class, () -> sparse.multiply(sparse.transpose(), sparse));
+		assertThrows(IllegalArgumentException.class,
+				() -> sparse.subMatrix(0, 0, 6, 6).multiply(b, sparse.subMatrix(0, 0, 6, 6, 1, 1)));
+		assertThrows(IllegalArgumentException.class, () -> b.multiplyBatch(view, a));
+		assertThrows(IllegalArgumentException.class, () -> b.multiplyBatch(a, view.transpose()));
+		// disjoint views of the same matrix are rejected as well, since only the storage is compared
+		FullDoubleMatrix c = new FullDoubleMatrix(12, 6);
+		assertThrows(IllegalArgumentException.class,
+				() -> c.subMatrix(0, 0, 6, 6).multiply(b, c.subMatrix(6, 0, 6, 6)));
+		FullDoubleMatrix d = new FullDoubleMatrix(6, 6);
+		assertMatrixEquals(multiply(a, b), a.multiply(b, d.transpose()), DELTA);
+		assertMatrixEquals(transposedCopy(multiply(a, b)), d, DELTA);
+	}
+
+	@Test
+	void viewsShareStorage() {
+		Random random = new Random(3);
+		FullDoubleMatrix matrix = dense(10, 8, random);
+		DoubleMatrix transposed = matrix.transpose();
+		assertSame(matrix, transposed.transpose());
+		transposed.setValue(42, 7, 2);
+		assertEquals(42, matrix.getValue(2, 7));
+		DoubleMatrix view = matrix.subMatrix(2, 1, 4, 3, 2, 2);
+		view.setValue(-1, 3, 2);
+		assertEquals(-1, matrix.getValue(8, 5));
+		DoubleMatrix nested = view.subMatrix(1, 1, 2, 2);
+		nested.setValue(-2, 1, 1);
+		assertEquals(-2, matrix.getValue(6, 5));
+		assertSame(matrix, ((SubDoubleMatrix) nested).getOriginal());
+		assertMatrixEquals(matrix.subMatrix(1, 2, 3, 4).transpose(), transposed.subMatrix(2, 1, 4, 3), 0);
+		view.reset();
+		assertEquals(0, matrix.getValue(8, 5));
+		assertEquals(matrix.getValue(9, 5), copy(matrix, 9, 5, 1, 1, 1, 1).getValue(0, 0));
+		assertThrows(IllegalArgumentException.class, () -> matrix.subMatrix(8, 0, 3, 1));
+		assertThrows(IllegalArgumentException.class, () -> matrix.subMatrix(0, 0, 4, 1, 4, 1));
+		assertThrows(IllegalArgumentException.class, () -> matrix.subMatrix(0, 0, 1, 1, 0, 1));
+	}
+
+	@Test
+	void rowAndColumnViews() {
+		Random random = new Random(4);
+		FullDoubleMatrix matrix = dense(6, 9, random);
+		DoubleVectorView row = matrix.getRow(2);
+		DoubleVectorView column = matrix.getColumn(4);
+		assertEquals(9, row.getDimension());
+		assertEquals(6, column.getDimension());
+		for (int j = 0; j < 9; j++)
+			assertEquals(matrix.getValue(2, j), row.getValue(j));
+		for (int i = 0; i < 6; i++)
+			assertEquals(matrix.getValue(i, 4), column.getValue(i));
+		DoubleVector vector = vector(9, random);
+		assertEquals(matrix.multiply(vector).getValue(2), row.scalarProduct(vector));
+		DoubleVector left = vector(6, random);
+		assertEquals(matrix.multiplyTransposed(left).getValue(4), column.scalarProduct(left), DELTA);
+		DoubleVectorView every = row.subVector(1, 3, 3);
+		assertEquals(matrix.getValue(2, 7), every.getValue(2));
+		assertEquals(matrix.getValue(0, 4) * matrix.getValue(0, 4) + matrix.getValue(3, 4) * matrix.getValue(3, 4),
+				column.subVector(0, 3, 2).scalarProduct(column.subVector(0, 3, 2)));
+		DoubleVector addend = vector(6, random);
+		double[] expected = new double[6];
+		for (int i = 0; i < 6; i++)
+			expected[i] = Math.fma(2, addend.getValue(i), matrix.getValue(i, 4));
+		column.add(addend, 2);
+		column.copyTo(left);
+		assertArrayEquals(expected, left.getArray());
+		for (int i = 0; i < 6; i++)
+			assertEquals(expected[i], matrix.getValue(i, 4));
+		DoubleVector sum = new DoubleVector(9);
+		row.addTo(sum, -1);
+		for (int j = 0; j < 9; j++)
+			assertEquals(-matrix.getValue(2, j), sum.getValue(j));
+		row.copyFrom(vector);
+		assertArrayEquals(vector.getArray(), matrix.getRow(2).toDoubleVector().getArray());
+		assertThrows(IllegalArgumentException.class, () -> row.subVector(5, 2, 3));
+		assertThrows(IndexOutOfBoundsException.class, () -> row.getValue(9));
+	}
+
+}
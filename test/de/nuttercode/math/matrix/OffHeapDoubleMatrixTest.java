@@ -0,0 +1,175 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.nuttercode.math.function.ActivationFunction;
+import de.nuttercode.math.function.Functions;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+class OffHeapDoubleMatrixTest {
+
+	@TempDir
+	Path directory;
+
+	private static OffHeapDoubleMatrix copy(FullDoubleMatrix matrix) {
+		OffHeapDoubleMatrix copy = new OffHeapDoubleMatrix(matrix.getRowCount(), matrix.getColumnCount());
+		matrix.forEach((i, j, value) -> copy.setValue(value, i, j));
+		return copy;
+	}
+
+	@Test
+	void productsEqualFullProducts() {
+		Random random = new Random(1);
+		Parallelism parallelism = new Parallelism();
+		for (int columns : new int[] { 1, 15, 16, 17, 100 }) {
+			FullDoubleMatrix full = dense(70, columns, random);
+			OffHeapDoubleMatrix matrix = copy(full);
+			DoubleVector vector = vector(columns, random);
+			DoubleVector left = vector(70, random);
+			assertArrayEquals(full.multiply(vector).getArray(), matrix.multiply(vector).getArray());
+			assertArrayEquals(full.multiply(vector).getArray(), matrix.multiply(vector, parallelism).getArray());
+			assertArrayEquals(full.multiplyTransposed(left).getArray(),
+					matrix.multiplyTransposed(left, parallelism).getArray());
+			DoubleVector[] vectors = { vector, vector(columns, random) };
+			DoubleVector[] expected = full.multiply(vectors);
+			DoubleVector[] actual = matrix.multiply(vectors, parallelism);
+			for (int s = 0; s < vectors.length; s++)
+				assertArrayEquals(expected[s].getArray(), actual[s].getArray());
+			double[] rows = new double[12];
+			matrix.multiplyRows(vector, 30, 40, rows, 2);
+			for (int i = 30; i < 40; i++)
+				assertEquals(full.multiply(vector).getValue(i), rows[i - 28]);
+		}
+	}
+
+	@Test
+	void longRowsEqualFullProducts() {
+		Random random = new Random(5);
+		FullDoubleMatrix full = dense(3, (1 << 16) + 17, random);
+		OffHeapDoubleMatrix matrix = copy(full);
+		DoubleVector vector = vector(full.getColumnCount(), random);
+		DoubleVector left = vector(3, random);
+		assertArrayEquals(full.multiply(vector).getArray(), matrix.multiply(vector).getArray());
+		assertArrayEquals(full.multiply(new DoubleVector[] { vector })[0].getArray(),
+				matrix.multiply(new DoubleVector[] { vector })[0].getArray());
+		assertArrayEquals(full.multiplyTransposed(left).getArray(), matrix.multiplyTransposed(left).getArray());
+	}
+
+	@Test
+	void swapRowsAndReset() {
+		Random random = new Random(2);
+		FullDoubleMatrix full = dense(9, 5, random);
+		OffHeapDoubleMatrix matrix = copy(full);
+		matrix.swapRows(2, 7);
+		full.swapRows(2, 7);
+		assertMatrixEquals(full, matrix, 0);
+		matrix.reset();
+		assertMatrixEquals(new FullDoubleMatrix(9, 5), matrix, 0);
+	}
+
+	@Test
+	void rowAccess() {
+		Random random = new Random(4);
+		FullDoubleMatrix full = dense(5, 6, random);
+		OffHeapDoubleMatrix matrix = copy(full);
+		double[] row = matrix.getRow(3, new double[6]);
+		for (int j = 0; j < 6; j++)
+			assertEquals(full.getValue(3, j), row[j]);
+		row[2] = 42;
+		matrix.setRow(1, row);
+		assertEquals(42, matrix.getValue(1, 2));
+		assertEquals(full.getValue(3, 5), matrix.getValue(1, 5));
+	}
+
+	@Test
+	void mappedFileKeepsValues() throws IOException {
+		Random random = new Random(3);
+		FullDoubleMatrix full = dense(33, 7, random);
+		Path path = directory.resolve("matrix.bin");
+		OffHeapDoubleMatrix matrix = OffHeapDoubleMatrix.map(path, 33, 7, true);
+		full.forEach((i, j, value) -> matrix.setValue(value, i, j));
+		matrix.force();
+		assertMatrixEquals(full, OffHeapDoubleMatrix.map(path, 33, 7, false), 0);
+	}
+
+	@Test
+	void rowProductsDoNotAllocate() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Random random = new Random(6);
+		OffHeapDoubleMatrix matrix = copy(dense(64, 256, random));
+		DoubleVector vector = vector(256, random);
+		DoubleVector left = vector(64, random);
+		DoubleVector result = new DoubleVector(256);
+		double[] destination = new double[64];
+		long allocated = Long.MAX_VALUE;
+		long start;
+		// the first runs are interpreted, the minimum is reached once every method is compiled
+		for (int round = 0; round < 20; round++) {
+			start = bean.getCurrentThreadAllocatedBytes();
+			for (int run = 0; run < 1000; run++) {
+				matrix.multiplyRows(vector, 0, 64, destination, 0);
+				matrix.multiplyTransposed(left, result);
+				matrix.swapRows(run % 64, 63 - run % 64);
+			}
+			allocated = Math.min(allocated, bean.getCurrentThreadAllocatedBytes() - start);
+		}
+		// a row buffer per call would take more than 6 MB
+		assertTrue(allocated < 1 << 14, allocated + " bytes allocated");
+	}
+
+	@Test
+	void applyInPlaceEqualsFullMatrix() {
+		Random random = new Random(7);
+		// more values than fit into the row buffer
+		FullDoubleMatrix full = dense(300, 301, random);
+		OffHeapDoubleMatrix matrix = copy(full);
+		Functions.TANH.applyInPlace(full);
+		Functions.TANH.applyInPlace(matrix);
+		assertMatrixEquals(full, matrix, 0);
+		matrix.applyInPlace((values, offset, length) -> {
+			for (int a = offset; a < offset + length; a++)
+				values[a] = 2 * values[a];
+		});
+		for (int i = 0; i < 300; i++) {
+			for (int j = 0; j < 301; j++)
+				assertEquals(2 * full.getValue(i, j), matrix.getValue(i, j));
+		}
+	}
+
+	@Test
+	void applyInPlaceAndResetDoNotAllocate() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		OffHeapDoubleMatrix matrix = copy(dense(64, 256, new Random(8)));
+		// a scalar function, since vectorized kernels may allocate before they are compiled
+		ActivationFunction half = value -> value / 2;
+		long allocated = Long.MAX_VALUE;
+		long start;
+		// the first runs are interpreted, the minimum is reached once every method is compiled
+		for (int round = 0; round < 20; round++) {
+			start = bean.getCurrentThreadAllocatedBytes();
+			for (int run = 0; run < 100; run++) {
+				half.applyInPlace(matrix);
+				matrix.reset();
+			}
+			allocated = Math.min(allocated, bean.getCurrentThreadAllocatedBytes() - start);
+		}
+		// a row and a block of zeros per call would take more than 10 MB
+		assertTrue(allocated < 1 << 14, allocated + " bytes allocated");
+		assertMatrixEquals(new FullDoubleMatrix(64, 256), matrix, 0);
+	}
+
+}
@@ -0,0 +1,108 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.multiply;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static de.nuttercode.math.matrix.MatrixAssertions.vector;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+/**
+ * every product has to be bit-identical no matter how it is split
+ */
+class ParallelProductTest {
+
+	private static final int[] SIZES = { 1, 3, 17, 64, 131 };
+
+	/**
+	 * splits every operation into chunks of at least one row
+	 */
+	private static Parallelism eager() {
+		return new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+	}
+
+	@Test
+	void fullProductsDoNotDependOnParallelism() {
+		Random random = new Random(1);
+		for (int rows : SIZES) {
+			for (int inner : SIZES) {
+				FullDoubleMatrix a = dense(rows, inner, random);
+				FullDoubleMatrix b = dense(inner, rows + 2, random);
+				DoubleMatrix expected = a.multiply(b);
+				assertMatrixEquals(multiply(a, b), expected, 1e-10);
+				assertMatrixEquals(expected, a.multiply(b, eager()), 0);
+				assertMatrixEquals(expected, a.multiply(b, new Parallelism()), 0);
+				DoubleVector vector = vector(inner, random);
+				assertVectorEquals(a.multiply(vector), a.multiply(vector, eager()), 0);
+				vector = vector(rows, random);
+				assertVectorEquals(a.multiplyTransposed(vector), a.multiplyTransposed(vector, eager()), 0);
+			}
+		}
+	}
+
+	@Test
+	void largeFullProductDoesNotDependOnParallelism() {
+		Random random = new Random(2);
+		FullDoubleMatrix a = dense(3 * BlockedMultiplication.MC + 5, BlockedMultiplication.KC + 3, random);
+		FullDoubleMatrix b = dense(BlockedMultiplication.KC + 3, 70, random);
+		assertMatrixEquals(a.multiply(b), a.multiply(b, eager()), 0);
+	}
+
+	@Test
+	void productOfSeveralPanelsDoesNotDependOnParallelism() {
+		Random random = new Random(5);
+		// two panels in both directions, so every chunk of rows reads two shared panels
+		FullDoubleMatrix a = dense(2 * BlockedMultiplication.MC + 9, BlockedMultiplication.KC + 7, random);
+		FullDoubleMatrix b = dense(BlockedMultiplication.KC + 7, BlockedMultiplication.NC + 5, random);
+		DoubleMatrix expected = a.multiply(b, Parallelism.SEQUENTIAL);
+		assertMatrixEquals(multiply(a, b), expected, 1e-10);
+		for (int parallelism : new int[] { 2, 3, 8 })
+			assertMatrixEquals(expected, a.multiply(b, new Parallelism(ForkJoinPool.commonPool(), parallelism, 1)),
+					0);
+	}
+
+	@Test
+	void sparseProductsDoNotDependOnParallelism() {
+		Random random = new Random(3);
+		for (int rows : SIZES) {
+			SparseDoubleMatrix matrix = sparse(rows, rows + 5, 0.2, random);
+			CsrDoubleMatrix csr = new CsrDoubleMatrix(matrix);
+			CscDoubleMatrix csc = new CscDoubleMatrix(matrix);
+			DoubleVector right = vector(rows + 5, random);
+			DoubleVector left = vector(rows, random);
+			assertVectorEquals(matrix.multiply(right), matrix.multiply(right, eager()), 0);
+			assertVectorEquals(csr.multiply(right), csr.multiply(right, eager()), 0);
+			assertVectorEquals(csc.multiply(right), csc.multiply(right, eager()), 0);
+			assertVectorEquals(matrix.multiplyTransposed(left), matrix.multiplyTransposed(left, eager()), 0);
+			assertVectorEquals(csr.multiplyTransposed(left), csr.multiplyTransposed(left, eager()), 0);
+			assertVectorEquals(csc.multiplyTransposed(left), csc.multiplyTransposed(left, eager()), 0);
+			FullDoubleMatrix other = dense(rows + 5, 9, random);
+			assertMatrixEquals(matrix.multiply(other), matrix.multiply(other, eager()), 0);
+			assertMatrixEquals(multiply(matrix, other), matrix.multiply(other, eager()), 1e-12);
+		}
+	}
+
+	@Test
+	void parallelProductIntoSparseResult() {
+		Random random = new Random(4);
+		for (int run = 0; run < 20; run++) {
+			SparseDoubleMatrix a = sparse(64, 48, 0.5, random);
+			FullDoubleMatrix b = dense(48, 64, random);
+			DoubleMatrix expected = a.multiply(b, new SparseDoubleMatrix(64, 64), Parallelism.SEQUENTIAL);
+			assertMatrixEquals(multiply(a, b), expected, 1e-12);
+			assertMatrixEquals(expected, a.multiply(b, new SparseDoubleMatrix(64, 64), eager()), 0);
+			expected = b.transpose().multiply(b, new SparseDoubleMatrix(64, 64), Parallelism.SEQUENTIAL);
+			assertMatrixEquals(multiply(b.transpose(), b), expected, 1e-12);
+			assertMatrixEquals(expected, b.transpose().multiply(b, new SparseDoubleMatrix(64, 64), eager()), 0);
+		}
+	}
+
+}
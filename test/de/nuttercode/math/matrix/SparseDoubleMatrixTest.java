@@ -0,0 +1,134 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.multiply;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SparseDoubleMatrixTest {
+
+	private static long key(int i, int j) {
+		return (long) i * Integer.MAX_VALUE + j;
+	}
+
+	/**
+	 * asserts that matrix maps exactly the entries of reference and returns the
+	 * default value everywhere else
+	 */
+	private static void assertMapping(Map<Long, Double> reference, SparseDoubleMatrix matrix) {
+		assertEquals(reference.size(), matrix.getValueCount());
+		for (int i = 0; i < matrix.getRowCount(); i++) {
+			for (int j = 0; j < matrix.getColumnCount(); j++) {
+				assertEquals(reference.containsKey(key(i, j)), matrix.hasValue(i, j), "(" + i + ", " + j + ")");
+				assertEquals(reference.getOrDefault(key(i, j), matrix.getDefaultValue()), matrix.getValue(i, j),
+						"(" + i + ", " + j + ")");
+			}
+		}
+		Map<Long, Double> visited = new HashMap<>();
+		matrix.forEach((i, j, value) -> assertEquals(null, visited.put(key(i, j), value)));
+		assertEquals(reference, visited);
+	}
+
+	/**
+	 * sets values and swaps rows of matrix and of a {@link HashMap} and compares
+	 * both after every swap
+	 */
+	private static void assertSameAsHashMap(SparseDoubleMatrix matrix, Random random) {
+		Map<Long, Double> reference = new HashMap<>();
+		int i, j, row1, row2;
+		Double value1, value2;
+		for (int run = 0; run < 40; run++) {
+			for (int a = 0; a < 20; a++) {
+				i = random.nextInt(matrix.getRowCount());
+				j = random.nextInt(matrix.getColumnCount());
+				matrix.setValue(random.nextInt(1000), i, j);
+				reference.put(key(i, j), matrix.getValue(i, j));
+			}
+			row1 = random.nextInt(matrix.getRowCount());
+			row2 = random.nextInt(matrix.getRowCount());
+			matrix.swapRows(row1, row2);
+			if (row1 != row2) {
+				for (j = 0; j < matrix.getColumnCount(); j++) {
+					value1 = reference.remove(key(row1, j));
+					value2 = reference.remove(key(row2, j));
+					if (value1 != null)
+						reference.put(key(row2, j), value1);
+					if (value2 != null)
+						reference.put(key(row1, j), value2);
+				}
+			}
+			assertMapping(reference, matrix);
+		}
+		matrix.reset();
+		reference.clear();
+		assertMapping(reference, matrix);
+	}
+
+	@Test
+	void narrowMatrixBehavesLikeHashMap() {
+		assertSameAsHashMap(new SparseDoubleMatrix(40, 7), new Random(1));
+	}
+
+	@Test
+	void wideMatrixBehavesLikeHashMap() {
+		// fewer slots than columns, so swapRows scans the table
+		assertSameAsHashMap(new SparseDoubleMatrix(-3, 5, 5000), new Random(2));
+	}
+
+	@Test
+	void defaultValue() {
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(2.5, 3, 4, 100);
+		matrix.setValue(0, 1, 1);
+		matrix.setValue(-1, 2, 3);
+		assertEquals(2.5, matrix.getValue(0, 0));
+		assertEquals(0, matrix.getValue(1, 1));
+		assertEquals(-1, matrix.getValue(2, 3));
+		assertTrue(matrix.hasValue(1, 1));
+		assertFalse(matrix.hasValue(1, 2));
+		matrix.swapRows(0, 2);
+		assertEquals(-1, matrix.getValue(0, 3));
+		assertEquals(2.5, matrix.getValue(2, 3));
+		assertFalse(matrix.hasValue(2, 3));
+	}
+
+	@Test
+	void productsUseMappedAndDefaultValues() {
+		Random random = new Random(3);
+		SparseDoubleMatrix matrix = sparse(20, 30, 0.2, random);
+		FullDoubleMatrix other = dense(30, 6, random);
+		assertMatrixEquals(multiply(matrix, other), matrix.multiply(other), 1e-12);
+		FullDoubleMatrix left = dense(6, 20, random);
+		assertMatrixEquals(multiply(left, matrix), left.multiply(matrix), 1e-12);
+	}
+
+	@Test
+	void tableBehavesLikeHashMap() {
+		Random random = new Random(5);
+		LongDoubleHashMap map = new LongDoubleHashMap(0);
+		Map<Long, Double> reference = new HashMap<>();
+		long key;
+		for (int run = 0; run < 100_000; run++) {
+			// few distinct keys, so removals often break probe sequences
+			key = random.nextInt(2000) * 1024L;
+			if (random.nextBoolean()) {
+				map.put(key, run);
+				reference.put(key, (double) run);
+			} else {
+				assertEquals(reference.remove(key) != null, map.remove(key));
+			}
+		}
+		assertEquals(reference.size(), map.size());
+		for (long k = 0; k < 2000; k++)
+			assertEquals(reference.getOrDefault(k * 1024, Double.NaN), map.get(k * 1024, Double.NaN));
+	}
+
+}
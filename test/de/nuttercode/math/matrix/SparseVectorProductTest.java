@@ -0,0 +1,64 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertVectorEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+import de.nuttercode.math.vector.SparseDoubleVector;
+
+class SparseVectorProductTest {
+
+	private static final Parallelism EAGER = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+
+	private static SparseDoubleVector vector(int dimension, int count, Random random) {
+		SparseDoubleVector vector = new SparseDoubleVector(dimension);
+		for (int a = 0; a < count; a++)
+			vector.setValue(2 * random.nextDouble() - 1, random.nextInt(dimension));
+		return vector;
+	}
+
+	private static void assertProductsMatchDense(DoubleMatrix matrix, Random random) {
+		for (int count : new int[] { 0, 1, 5, 60 }) {
+			SparseDoubleVector right = vector(matrix.getColumnCount(), count, random);
+			SparseDoubleVector left = vector(matrix.getRowCount(), count, random);
+			DoubleVector product = matrix.multiply(right);
+			DoubleVector transposed = matrix.multiplyTransposed(left);
+			assertVectorEquals(matrix.multiply(right.toDoubleVector()), product, 1e-12);
+			assertVectorEquals(matrix.multiplyTransposed(left.toDoubleVector()), transposed, 1e-12);
+			assertVectorEquals(product, matrix.multiply(right, new DoubleVector(matrix.getRowCount()), EAGER), 0);
+			assertVectorEquals(transposed,
+					matrix.multiplyTransposed(left, new DoubleVector(matrix.getColumnCount()), EAGER), 0);
+		}
+	}
+
+	@Test
+	void productsMatchDenseVectors() {
+		Random random = new Random(1);
+		SparseDoubleMatrix matrix = sparse(80, 120, 0.1, random);
+		assertProductsMatchDense(dense(80, 120, random), random);
+		assertProductsMatchDense(matrix, random);
+		assertProductsMatchDense(new CsrDoubleMatrix(matrix), random);
+		assertProductsMatchDense(new CscDoubleMatrix(matrix), random);
+		SparseDoubleMatrix withDefault = new SparseDoubleMatrix(0.5, 80, 120);
+		matrix.forEach((i, j, value) -> withDefault.setValue(value, i, j));
+		assertProductsMatchDense(withDefault, random);
+	}
+
+	@Test
+	void dimensionsAreChecked() {
+		FullDoubleMatrix matrix = new FullDoubleMatrix(3, 4);
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiply(new SparseDoubleVector(3)));
+		assertThrows(IllegalArgumentException.class, () -> matrix.multiplyTransposed(new SparseDoubleVector(4)));
+		assertThrows(IllegalArgumentException.class,
+				() -> matrix.multiply(new SparseDoubleVector(4), new DoubleVector(4), Parallelism.SEQUENTIAL));
+	}
+
+}
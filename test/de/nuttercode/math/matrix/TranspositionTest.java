@@ -0,0 +1,152 @@
+package de.nuttercode.math.matrix;
+
+import static de.nuttercode.math.matrix.MatrixAssertions.assertMatrixEquals;
+import static de.nuttercode.math.matrix.MatrixAssertions.dense;
+import static de.nuttercode.math.matrix.MatrixAssertions.sparse;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.parallel.Parallelism;
+
+class TranspositionTest {
+
+	private static final Parallelism EAGER = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+
+	/**
+	 * asserts that the copy is the exact transpose of the matrix in the expected
+	 * format and does not share its storage
+	 */
+	private static void assertTransposeCopy(DoubleMatrix matrix, Class<?> format) {
+		for (DoubleMatrix copy : new DoubleMatrix[] { matrix.transposeCopy(), matrix.transposeCopy(EAGER) }) {
+			assertSame(format, copy.getClass());
+			assertEquals(matrix.getColumnCount(), copy.getRowCount());
+			assertEquals(matrix.getRowCount(), copy.getColumnCount());
+			for (int i = 0; i < matrix.getRowCount(); i++)
+				for (int j = 0; j < matrix.getColumnCount(); j++)
+					assertEquals(matrix.getValue(i, j), copy.getValue(j, i), "(" + i + ", " + j + ")");
+			assertNotSame(matrix, copy);
+		}
+	}
+
+	@Test
+	void everyFormatIsTransposedExactly() {
+		Random random = new Random(1);
+		for (int rows : new int[] { 1, 5, 33, 100 }) {
+			int columns = 2 * rows + 1;
+			FullDoubleMatrix full = dense(rows, columns, random);
+			SparseDoubleMatrix sparse = sparse(rows, columns, 0.3, random);
+			SparseDoubleMatrix withDefault = new SparseDoubleMatrix(-1.5, rows, columns);
+			sparse.forEach((i, j, value) -> withDefault.setValue(value, i, j));
+			ConcurrentSparseDoubleMatrix concurrent = new ConcurrentSparseDoubleMatrix(rows, columns);
+			sparse.forEach((i, j, value) -> concurrent.setValue(value, i, j));
+			OffHeapDoubleMatrix offHeap = new OffHeapDoubleMatrix(rows, columns);
+			full.forEach((i, j, value) -> offHeap.setValue(value, i, j));
+			assertTransposeCopy(full, FullDoubleMatrix.class);
+			assertTransposeCopy(sparse, SparseDoubleMatrix.class);
+			assertTransposeCopy(withDefault, SparseDoubleMatrix.class);
+			assertEquals(-1.5, withDefault.transposeCopy().getDefaultValue());
+			assertTransposeCopy(concurrent, ConcurrentSparseDoubleMatrix.class);
+			assertTransposeCopy(new CsrDoubleMatrix(sparse), CsrDoubleMatrix.class);
+			assertTransposeCopy(new CscDoubleMatrix(sparse), CscDoubleMatrix.class);
+			assertTransposeCopy(offHeap, FullDoubleMatrix.class);
+			assertTransposeCopy(full.subMatrix(0, 1, rows, columns - 1), FullDoubleMatrix.class);
+			assertTransposeCopy(full.transpose(), FullDoubleMatrix.class);
+			assertTransposeCopy(new CsrDoubleMatrix(sparse).transpose(), CsrDoubleMatrix.class);
+			assertTransposeCopy(new CscDoubleMatrix(sparse).transpose(), CscDoubleMatrix.class);
+			assertTransposeCopy(withDefault.transpose(), SparseDoubleMatrix.class);
+			assertEquals(-1.5, ((SparseDoubleMatrix) withDefault.transpose().transposeCopy()).getDefaultValue());
+			assertTransposeCopy(concurrent.transpose(), ConcurrentSparseDoubleMatrix.class);
+		}
+	}
+
+	@Test
+	void transposedViewsAreCopiedDirectly() {
+		Random random = new Random(4);
+		FullDoubleMatrix full = dense(6, 9, random);
+		SparseDoubleMatrix sparse = sparse(6, 9, 0.5, random);
+		DoubleMatrix fullCopy = full.transpose().transposeCopy(EAGER);
+		DoubleMatrix sparseCopy = sparse.transpose().transposeCopy();
+		assertMatrixEquals(full, fullCopy, 0);
+		assertMatrixEquals(sparse, sparseCopy, 0);
+		full.setValue(42, 2, 3);
+		sparse.setValue(42, 2, 3);
+		assertNotEquals(42, fullCopy.getValue(2, 3));
+		assertNotEquals(42, sparseCopy.getValue(2, 3));
+	}
+
+	@Test
+	void compressedTransposesAreSorted() {
+		Random random = new Random(2);
+		SparseDoubleMatrix matrix = sparse(70, 45, 0.2, random);
+		CsrDoubleMatrix expected = new CsrDoubleMatrix(matrix.transposeCopy());
+		CsrDoubleMatrix csr = new CsrDoubleMatrix(matrix).transposeCopy(EAGER);
+		assertArrayEquals(expected.pointers, csr.pointers);
+		assertArrayEquals(expected.indices, csr.indices);
+		assertArrayEquals(expected.values, csr.values);
+		CscDoubleMatrix expectedCsc = new CscDoubleMatrix(matrix.transposeCopy());
+		CscDoubleMatrix csc = new CscDoubleMatrix(matrix).transposeCopy();
+		assertArrayEquals(expectedCsc.pointers, csc.pointers);
+		assertArrayEquals(expectedCsc.indices, csc.indices);
+		assertArrayEquals(expectedCsc.values, csc.values);
+	}
+
+	@Test
+	void squareTransposeInPlace() {
+		Random random = new Random(3);
+		for (int size : new int[] { 1, 2, 31, 100, 257 }) {
+			FullDoubleMatrix matrix = dense(size, size, random);
+			FullDoubleMatrix expected = matrix.transposeCopy();
+			FullDoubleMatrix parallel = new FullDoubleMatrix(matrix);
+			matrix.transposeInPlace();
+			parallel.transposeInPlace(EAGER);
+			assertMatrixEquals(expected, matrix, 0);
+			assertMatrixEquals(expected, parallel, 0);
+		}
+	}
+
+	@Test
+	void transposeInPlaceKeepsViewsValid() {
+		Random random = new Random(4);
+		FullDoubleMatrix matrix = dense(40, 40, random);
+		FullDoubleMatrix expected = matrix.transposeCopy();
+		DoubleMatrix view = matrix.subMatrix(3, 5, 20, 30);
+		matrix.transposeInPlace();
+		assertMatrixEquals(expected.subMatrix(3, 5, 20, 30), view, 0);
+		FullDoubleMatrix rectangular = dense(3, 5, random);
+		FullDoubleMatrix copy = new FullDoubleMatrix(rectangular);
+		assertThrows(IllegalArgumentException.class, () -> rectangular.transposeInPlace());
+		assertMatrixEquals(copy, rectangular, 0);
+	}
+
+	@Test
+	void flatArraysOfEveryShape() {
+		Random random = new Random(5);
+		int[] sizes = { 1, 2, 3, 7, 16, 64, 129 };
+		for (int rows : sizes) {
+			for (int columns : sizes) {
+				double[] values = new double[rows * columns];
+				for (int a = 0; a < values.length; a++)
+					values[a] = random.nextDouble();
+				double[] expected = new double[values.length];
+				for (int i = 0; i < rows; i++)
+					for (int j = 0; j < columns; j++)
+						expected[j * rows + i] = values[i * columns + j];
+				FullDoubleMatrix.transposeInPlace(values, rows, columns);
+				assertArrayEquals(expected, values, rows + "x" + columns);
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> FullDoubleMatrix.transposeInPlace(new double[5], 2, 3));
+		assertThrows(IllegalArgumentException.class, () -> FullDoubleMatrix.transposeInPlace(new double[0], 0, 3));
+		assertThrows(IllegalArgumentException.class, () -> FullDoubleMatrix.transposeInPlace(null, 1, 1));
+	}
+
+}
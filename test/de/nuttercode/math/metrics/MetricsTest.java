@@ -0,0 +1,96 @@
+package de.nuttercode.math.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.function.BiDoubleVectorToDoubleFunction;
+import de.nuttercode.math.function.DoubleVectorFunction;
+import de.nuttercode.math.function.InPlaceDoubleVectorFunction;
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+class MetricsTest {
+
+	@Test
+	void instrumentedFunctionsAreRecorded() {
+		Metrics metrics = new Metrics("test", true);
+		// implicit lambdas must select exactly one method
+		DoubleVectorFunction negate = metrics.instrument("negate",
+				v -> new DoubleVector(new double[] { -v.getValue(0), -v.getValue(1) }));
+		InPlaceDoubleVectorFunction twice = metrics.instrumentInPlace("twice", (v, r) -> {
+			r.setValue(2 * v.getValue(0), 0);
+			r.setValue(2 * v.getValue(1), 1);
+			return r;
+		});
+		BiDoubleVectorToDoubleFunction difference = metrics.instrumentLoss("difference",
+				(v, w) -> v.getValue(0) - w.getValue(0));
+		DoubleVector vector = new DoubleVector(new double[] { 1, 2 });
+		assertArrayEquals(new double[] { -1, -2 }, negate.apply(vector).getArray());
+		assertArrayEquals(new double[] { 2, 4 }, twice.apply(vector, new DoubleVector(2)).getArray());
+		assertArrayEquals(new double[] { 2, 4 }, twice.apply(vector).getArray());
+		assertEquals(-1, difference.apply(vector, twice.apply(vector)));
+		OperationStatistics statistics = metrics.getStatistics(Operation.FUNCTION);
+		assertEquals(5, statistics.getCalls());
+		// only apply(DoubleVector) of the in-place function counts as allocation
+		assertEquals(2, statistics.getAllocations());
+		metrics.setEnabled(false);
+		negate.apply(vector);
+		assertEquals(5, statistics.getCalls());
+	}
+
+	@Test
+	void instrumentedMatricesDelegateAndCount() {
+		Random random = new Random(1);
+		SparseDoubleMatrix sparse = new SparseDoubleMatrix(30, 20);
+		for (int n = 0; n < 100; n++)
+			sparse.setValue(random.nextDouble(), random.nextInt(30), random.nextInt(20));
+		CsrDoubleMatrix matrix = new CsrDoubleMatrix(sparse);
+		Metrics metrics = new Metrics("layer", true);
+		InstrumentedDoubleMatrix instrumented = metrics.instrument(matrix);
+		assertSame(matrix, instrumented.getOriginal());
+		DoubleVector vector = new DoubleVector(20);
+		vector.randomize(random);
+		DoubleVector left = new DoubleVector(30);
+		left.randomize(random);
+		assertArrayEquals(matrix.multiply(vector).getArray(), instrumented.multiply(vector).getArray());
+		assertArrayEquals(matrix.multiply(vector).getArray(),
+				instrumented.multiply(vector, new DoubleVector(30), new Parallelism()).getArray());
+		assertArrayEquals(matrix.multiplyTransposed(left).getArray(), instrumented.multiplyTransposed(left).getArray());
+		assertEquals(matrix.getValue(3, 4), instrumented.getValue(3, 4));
+		OperationStatistics products = metrics.getStatistics(Operation.MATRIX_VECTOR);
+		long valueCount = matrix.getValueCount();
+		assertEquals(2, products.getCalls());
+		assertEquals(1, products.getAllocations());
+		assertEquals(2 * 2 * valueCount, products.getFlops());
+		assertEquals(2 * (valueCount * 12 + 31 * 4 + 50 * 8), products.getBytes());
+		assertEquals(2, products.getLatency().getCount());
+		assertEquals(1, metrics.getStatistics(Operation.TRANSPOSED_MATRIX_VECTOR).getCalls());
+		assertEquals(1, metrics.getStatistics(Operation.LOOKUP).getCalls());
+		metrics.reset();
+		assertEquals(0, products.getCalls());
+		assertEquals(0, products.getLatency().getQuantile(0.5));
+	}
+
+	@Test
+	void latencyQuantiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int n = 0; n < 99; n++)
+			histogram.record(100);
+		histogram.record(1_000_000);
+		assertEquals(100, histogram.getCount());
+		// the quantiles are the upper bounds of the power-of-two buckets
+		assertEquals(127, histogram.getQuantile(0.5));
+		assertEquals(127, histogram.getQuantile(0.99));
+		assertEquals((1 << 20) - 1, histogram.getQuantile(1));
+		assertThrows(IllegalArgumentException.class, () -> histogram.getQuantile(1.5));
+	}
+
+}
@@ -0,0 +1,68 @@
+package de.nuttercode.math.parallel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelismTest {
+
+	@Test
+	void everyIndexIsRunOnce() {
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		for (int count : new int[] { 0, 1, 7, 100, 10_000 }) {
+			for (int minimalChunkSize : new int[] { 1, 3, 64 }) {
+				AtomicIntegerArray runs = new AtomicIntegerArray(count);
+				parallelism.execute(count, minimalChunkSize, count, (from, to) -> {
+					for (int a = from; a < to; a++)
+						runs.incrementAndGet(a);
+				});
+				for (int a = 0; a < count; a++)
+					assertEquals(1, runs.get(a), "index " + a);
+			}
+		}
+	}
+
+	@Test
+	void chunksAreNotSmallerThanMinimalChunkSize() {
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		for (int count : new int[] { 1, 10, 63, 64, 65, 127, 1000 }) {
+			for (int minimalChunkSize : new int[] { 1, 4, 16, 64 }) {
+				parallelism.execute(count, minimalChunkSize, count, (from, to) -> {
+					if (to - from != count)
+						assertTrue(to - from >= minimalChunkSize, count + ": [" + from + ", " + to + ")");
+				});
+			}
+		}
+	}
+
+	@Test
+	void smallWorkRunsOnCallingThread() {
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1000);
+		Thread thread = Thread.currentThread();
+		assertFalse(parallelism.isParallel(999));
+		assertTrue(parallelism.isParallel(1000));
+		parallelism.execute(100, 1, 999, (from, to) -> {
+			assertEquals(0, from);
+			assertEquals(100, to);
+			assertSame(thread, Thread.currentThread());
+		});
+		assertFalse(Parallelism.SEQUENTIAL.isParallel(Long.MAX_VALUE));
+	}
+
+	@Test
+	void exceptionsOfChunksAreRethrown() {
+		Parallelism parallelism = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		assertThrows(IllegalStateException.class, () -> parallelism.execute(100, 1, 100, (from, to) -> {
+			if (from == 0)
+				throw new IllegalStateException();
+		}));
+	}
+
+}
@@ -0,0 +1,139 @@
+package de.nuttercode.math.permutation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.vector.DoubleVector;
+
+class CompiledIntPermutationTest {
+
+	private static final int SIZE = 50;
+
+	/**
+	 * @return chain of random transpositions of distinct values
+	 */
+	private static IntPermutation chain(int transpositionCount, Random random) {
+		IntPermutation permutation = new IntPermutation();
+		int i, j;
+		for (int a = 0; a < transpositionCount; a++) {
+			i = random.nextInt(SIZE);
+			do {
+				j = random.nextInt(SIZE);
+			} while (i == j);
+			permutation.chain(new IntTransposition(i, j));
+		}
+		return permutation;
+	}
+
+	/**
+	 * @return sign computed from the number of inversions
+	 */
+	private static int sign(CompiledIntPermutation permutation) {
+		int inversions = 0;
+		for (int a = 0; a < permutation.getSize(); a++)
+			for (int b = a + 1; b < permutation.getSize(); b++)
+				if (permutation.apply(a) > permutation.apply(b))
+					inversions++;
+		return inversions % 2 == 0 ? 1 : -1;
+	}
+
+	@Test
+	void compileMatchesChain() {
+		Random random = new Random(1);
+		for (int transpositionCount = 0; transpositionCount < 100; transpositionCount++) {
+			IntPermutation chain = chain(transpositionCount, random);
+			CompiledIntPermutation permutation = chain.compile(SIZE);
+			for (int v = 0; v < SIZE; v++)
+				assertEquals(chain.apply(v), permutation.apply(v));
+			// the parity of the number of transpositions does not depend on the chain
+			assertEquals(transpositionCount % 2 == 0 ? 1 : -1, permutation.getSign());
+			assertEquals(sign(permutation), permutation.getSign());
+			assertEquals(permutation.getSign() == 1, permutation.isEven());
+			assertEquals(permutation, permutation.toIntPermutation().compile(SIZE));
+			assertEquals(permutation.getInverse(), chain.getInverse().compile(SIZE));
+		}
+		assertThrows(IllegalArgumentException.class, () -> chain(1, random).compile(1));
+	}
+
+	@Test
+	void composeAndInverse() {
+		Random random = new Random(2);
+		CompiledIntPermutation identity = CompiledIntPermutation.identity(SIZE);
+		for (int run = 0; run < 50; run++) {
+			CompiledIntPermutation a = chain(random.nextInt(40), random).compile(SIZE);
+			CompiledIntPermutation b = chain(random.nextInt(40), random).compile(SIZE);
+			CompiledIntPermutation composed = a.compose(b);
+			for (int v = 0; v < SIZE; v++)
+				assertEquals(a.apply(b.apply(v)), composed.apply(v));
+			assertEquals(a.getSign() * b.getSign(), composed.getSign());
+			assertEquals(identity, a.compose(a.getInverse()));
+			assertEquals(identity, a.getInverse().compose(a));
+			assertEquals(a.getSign(), a.getInverse().getSign());
+		}
+		assertTrue(identity.isEven());
+		assertEquals(0, identity.getCycleCount());
+	}
+
+	@Test
+	void cycles() {
+		CompiledIntPermutation permutation = new CompiledIntPermutation(new int[] { 2, 1, 4, 5, 0, 3, 6 });
+		assertEquals(2, permutation.getCycleCount());
+		assertArrayEquals(new int[][] { { 0, 2, 4 }, { 3, 5 } }, permutation.getCycles());
+		// a cycle of length l is a product of l - 1 transpositions
+		assertEquals(-1, permutation.getSign());
+		assertEquals(sign(permutation), permutation.getSign());
+		assertArrayEquals(new int[] { 2, 1, 4, 5, 0, 3, 6 }, permutation.toArray());
+	}
+
+	@Test
+	void permuteArraysAndRows() {
+		Random random = new Random(3);
+		CompiledIntPermutation permutation = chain(30, random).compile(SIZE);
+		int[] ints = new int[SIZE];
+		double[] doubles = new double[SIZE];
+		FullDoubleMatrix matrix = new FullDoubleMatrix(SIZE, 2);
+		for (int a = 0; a < SIZE; a++) {
+			ints[a] = 10 * a;
+			doubles[a] = random.nextDouble();
+			matrix.setValue(doubles[a], a, 0);
+			matrix.setValue(a, a, 1);
+		}
+		DoubleVector vector = new DoubleVector(doubles.clone());
+		DoubleVector gathered = permutation.permute(vector, new DoubleVector(SIZE));
+		double[] original = doubles.clone();
+		permutation.permute(ints);
+		permutation.permute(doubles);
+		permutation.permute(vector);
+		permutation.permuteRows(matrix);
+		for (int v = 0; v < SIZE; v++) {
+			assertEquals(10 * permutation.apply(v), ints[v]);
+			assertEquals(original[permutation.apply(v)], doubles[v]);
+			assertEquals(original[permutation.apply(v)], vector.getValue(v));
+			assertEquals(original[permutation.apply(v)], gathered.getValue(v));
+			assertEquals(original[permutation.apply(v)], matrix.getValue(v, 0));
+			assertEquals(permutation.apply(v), matrix.getValue(v, 1));
+		}
+		assertThrows(IllegalArgumentException.class, () -> permutation.permute(vector, vector));
+		assertThrows(IllegalArgumentException.class, () -> permutation.permute(new int[SIZE - 1]));
+	}
+
+	@Test
+	void invalidTables() {
+		assertThrows(IllegalArgumentException.class, () -> new CompiledIntPermutation(new int[] { 0, 0 }));
+		assertThrows(IllegalArgumentException.class, () -> new CompiledIntPermutation(new int[] { 1, 2 }));
+		int[] table = { 1, 0 };
+		CompiledIntPermutation permutation = new CompiledIntPermutation(table);
+		table[0] = 0;
+		assertEquals(1, permutation.apply(0));
+		assertFalse(permutation.isEven());
+	}
+
+}
@@ -0,0 +1,98 @@
+package de.nuttercode.math.solver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.matrix.CsrDoubleMatrix;
+import de.nuttercode.math.matrix.SparseDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+import de.nuttercode.math.vector.DoubleVector;
+
+class IterativeSolverTest {
+
+	private static final int SIZE = 200;
+
+	/**
+	 * @return tridiagonal matrix with 4 on the diagonal, lower beside it and upper
+	 *         above it
+	 */
+	private static CsrDoubleMatrix tridiagonal(double lower, double upper) {
+		SparseDoubleMatrix matrix = new SparseDoubleMatrix(SIZE, SIZE);
+		for (int i = 0; i < SIZE; i++) {
+			matrix.setValue(4, i, i);
+			if (i > 0)
+				matrix.setValue(lower, i, i - 1);
+			if (i + 1 < SIZE)
+				matrix.setValue(upper, i, i + 1);
+		}
+		return new CsrDoubleMatrix(matrix);
+	}
+
+	private static DoubleVector solution() {
+		double[] values = new double[SIZE];
+		for (int a = 0; a < SIZE; a++)
+			values[a] = Math.sin(a);
+		return new DoubleVector(values);
+	}
+
+	private static void assertSolves(IterativeSolver solver, CsrDoubleMatrix matrix) {
+		DoubleVector solution = solution();
+		DoubleVector result = solver.solve(matrix.multiply(solution));
+		assertTrue(solver.getResidualNorm() <= solver.getTolerance(), solver.getClass().getSimpleName());
+		for (int a = 0; a < SIZE; a++)
+			assertEquals(solution.getValue(a), result.getValue(a), 1e-8, solver.getClass().getSimpleName());
+	}
+
+	@Test
+	void symmetricSystem() {
+		CsrDoubleMatrix matrix = tridiagonal(-1, -1);
+		assertSolves(new ConjugateGradientSolver(matrix), matrix);
+		assertSolves(new ConjugateGradientSolver(matrix, new JacobiPreconditioner(matrix)), matrix);
+		assertSolves(new ConjugateGradientSolver(matrix, new IncompleteLUPreconditioner(matrix)), matrix);
+		assertSolves(new BiCgStabSolver(matrix), matrix);
+		assertSolves(new GmresSolver(matrix), matrix);
+	}
+
+	@Test
+	void nonSymmetricSystem() {
+		CsrDoubleMatrix matrix = tridiagonal(-2.5, -0.5);
+		assertSolves(new BiCgStabSolver(matrix), matrix);
+		assertSolves(new BiCgStabSolver(matrix, new JacobiPreconditioner(matrix)), matrix);
+		assertSolves(new GmresSolver(matrix), matrix);
+		assertSolves(new GmresSolver(matrix, new IncompleteLUPreconditioner(matrix), 10), matrix);
+		IterativeSolver solver = new BiCgStabSolver(matrix);
+		solver.setParallelism(new Parallelism());
+		assertSolves(solver, matrix);
+	}
+
+	@Test
+	void incompleteFactorizationWithoutFillInIsExact() {
+		CsrDoubleMatrix matrix = tridiagonal(-2.5, -0.5);
+		DoubleVector vector = solution();
+		DoubleVector result = new DoubleVector(SIZE);
+		new IncompleteLUPreconditioner(matrix).apply(matrix.multiply(vector), result);
+		for (int a = 0; a < SIZE; a++)
+			assertEquals(vector.getValue(a), result.getValue(a), 1e-12);
+		IterativeSolver solver = new GmresSolver(matrix, new IncompleteLUPreconditioner(matrix), 10);
+		solver.solve(matrix.multiply(vector));
+		assertEquals(1, solver.getIterationCount());
+	}
+
+	@Test
+	void iterationLimitAndZeroRightHandSide() {
+		CsrDoubleMatrix matrix = tridiagonal(-1, -1);
+		IterativeSolver solver = new ConjugateGradientSolver(matrix);
+		solver.setMaximalIterationCount(2);
+		DoubleVector result = new DoubleVector(SIZE);
+		assertFalse(solver.solve(matrix.multiply(solution()), result));
+		assertTrue(solver.getIterationCount() <= 2);
+		assertTrue(solver.getResidualNorm() > solver.getTolerance());
+		assertTrue(solver.solve(new DoubleVector(SIZE), result));
+		assertArrayEquals(new double[SIZE], result.getArray());
+	}
+
+}
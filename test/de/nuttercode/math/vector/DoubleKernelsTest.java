@@ -0,0 +1,206 @@
+package de.nuttercode.math.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.matrix.FullDoubleMatrix;
+import de.nuttercode.math.parallel.Parallelism;
+
+class DoubleKernelsTest {
+
+	private static final int[] LENGTHS = { 1, 2, 15, 16, 17, 33, 100, 1031 };
+
+	private static double[] array(int length, Random random) {
+		double[] array = new double[length];
+		for (int a = 0; a < length; a++)
+			array[a] = random.nextGaussian() * Math.pow(10, random.nextInt(8));
+		return array;
+	}
+
+	@Test
+	void backendsAreBitIdentical() {
+		assumeTrue(VectorApiDoubleKernelBackend.isSupported(), "vector api not supported");
+		DoubleKernelBackend scalar = new ScalarDoubleKernelBackend();
+		DoubleKernelBackend vectorized = new VectorApiDoubleKernelBackend();
+		Random random = new Random(1);
+		double[] a, b, expected, actual;
+		for (int length : LENGTHS) {
+			for (int offset : new int[] { 0, 3 }) {
+				a = array(length + offset, random);
+				b = array(length + 5, random);
+				assertEquals(scalar.dot(a, offset, b, 5, length), vectorized.dot(a, offset, b, 5, length),
+						"length " + length);
+				assertEquals(scalar.maxIndex(a, offset, length), vectorized.maxIndex(a, offset, length));
+				expected = b.clone();
+				actual = b.clone();
+				scalar.axpy(-0.75, a, offset, expected, 5, length);
+				vectorized.axpy(-0.75, a, offset, actual, 5, length);
+				assertArrayEquals(expected, actual, "axpy " + length);
+			}
+		}
+	}
+
+	@Test
+	void productsDoNotDependOnBackendOrParallelism() {
+		assumeTrue(VectorApiDoubleKernelBackend.isSupported(), "vector api not supported");
+		DoubleKernelBackend scalar = new ScalarDoubleKernelBackend();
+		DoubleKernelBackend vectorized = new VectorApiDoubleKernelBackend();
+		Parallelism eager = new Parallelism(ForkJoinPool.commonPool(), 8, 1);
+		Random random = new Random(5);
+		int rowCount = 67;
+		int columnCount = 1031;
+		FullDoubleMatrix matrix = new FullDoubleMatrix(rowCount, columnCount);
+		double[] values = array(rowCount * columnCount, random);
+		for (int a = 0; a < values.length; a++)
+			matrix.setValue(values[a], a / columnCount, a % columnCount);
+		DoubleVector right = new DoubleVector(array(columnCount, random));
+		DoubleVector left = new DoubleVector(array(rowCount, random));
+		double[] expected = new double[rowCount];
+		double[] expectedTransposed = new double[columnCount];
+		double[] transposed = new double[columnCount];
+		for (int i = 0; i < rowCount; i++) {
+			expected[i] = scalar.dot(right.getArray(), 0, values, i * columnCount, columnCount);
+			assertEquals(expected[i], vectorized.dot(right.getArray(), 0, values, i * columnCount, columnCount));
+			scalar.axpy(left.getValue(i), values, i * columnCount, expectedTransposed, 0, columnCount);
+			vectorized.axpy(left.getValue(i), values, i * columnCount, transposed, 0, columnCount);
+		}
+		assertArrayEquals(expectedTransposed, transposed);
+		assertArrayEquals(expected,
+				matrix.multiply(right, new DoubleVector(rowCount), Parallelism.SEQUENTIAL).getArray());
+		assertArrayEquals(expected, matrix.multiply(right, new DoubleVector(rowCount), eager).getArray());
+		assertArrayEquals(expectedTransposed,
+				matrix.multiplyTransposed(left, new DoubleVector(columnCount), Parallelism.SEQUENTIAL).getArray());
+		assertArrayEquals(expectedTransposed,
+				matrix.multiplyTransposed(left, new DoubleVector(columnCount), eager).getArray());
+	}
+
+	@Test
+	void exponentialBackendsAreBitIdentical() {
+		assumeTrue(VectorApiDoubleKernelBackend.isSupported(), "vector api not supported");
+		DoubleKernelBackend scalar = new ScalarDoubleKernelBackend();
+		DoubleKernelBackend vectorized = new VectorApiDoubleKernelBackend();
+		Random random = new Random(4);
+		double[] x, expected, actual;
+		for (int length : LENGTHS) {
+			x = new double[length + 1];
+			for (int a = 0; a < x.length; a++)
+				x[a] = 100 * random.nextDouble() - 50;
+			expected = x.clone();
+			actual = x.clone();
+			scalar.sigmoid(expected, 1, length);
+			vectorized.sigmoid(actual, 1, length);
+			assertArrayEquals(expected, actual, "sigmoid");
+			expected = x.clone();
+			actual = x.clone();
+			scalar.tanh(expected, 1, length);
+			vectorized.tanh(actual, 1, length);
+			assertArrayEquals(expected, actual, "tanh");
+			expected = new double[length];
+			actual = new double[length];
+			assertEquals(scalar.expSum(x, 1, 50, expected, 0, length),
+					vectorized.expSum(x, 1, 50, actual, 0, length));
+			assertArrayEquals(expected, actual, "expSum");
+			assertEquals(scalar.sumExp(x, 1, 50, length), vectorized.sumExp(x, 1, 50, length));
+		}
+	}
+
+	@Test
+	void exponentialIsAccurate() {
+		Random random = new Random(5);
+		double x;
+		for (int n = 0; n < 100_000; n++) {
+			x = 1400 * random.nextDouble() - 700;
+			assertEquals(StrictMath.exp(x), Exponentials.exp(x), Math.ulp(StrictMath.exp(x)), "exp " + x);
+			x = -40 * random.nextDouble();
+			assertEquals(StrictMath.expm1(x), Exponentials.expm1(x), 2 * Math.ulp(StrictMath.expm1(x)),
+					"expm1 " + x);
+		}
+		assertEquals(0, Exponentials.exp(-1e4));
+		assertEquals(Double.POSITIVE_INFINITY, Exponentials.exp(1e4));
+		assertEquals(Double.MIN_VALUE, Exponentials.exp(Math.log(Double.MIN_VALUE)));
+		assertEquals(-1, Exponentials.expm1(-1e4));
+		assertEquals(-1e-300, Exponentials.expm1(-1e-300));
+	}
+
+	@Test
+	void dotIsAccurate() {
+		Random random = new Random(2);
+		double[] a, b;
+		BigDecimal exact;
+		double absoluteSum;
+		for (int length : LENGTHS) {
+			a = array(length, random);
+			b = array(length, random);
+			exact = BigDecimal.ZERO;
+			absoluteSum = 0;
+			for (int i = 0; i < length; i++) {
+				exact = exact.add(new BigDecimal(a[i]).multiply(new BigDecimal(b[i])));
+				absoluteSum += Math.abs(a[i] * b[i]);
+			}
+			// error bound of a recursive summation
+			assertEquals(exact.doubleValue(), DoubleKernels.dot(a, 0, b, 0, length),
+					length * Math.ulp(absoluteSum));
+		}
+		assertEquals(0, DoubleKernels.dot(new double[0], 0, new double[0], 0, 0));
+	}
+
+	@Test
+	void elementWiseKernelsMatchLoops() {
+		Random random = new Random(3);
+		double[] x, y, expected;
+		for (int length : LENGTHS) {
+			x = array(length + 2, random);
+			y = array(length + 1, random);
+			expected = y.clone();
+			for (int a = 0; a < length; a++)
+				expected[a + 1] += 0.5 * x[a + 2];
+			DoubleKernels.axpy(0.5, x, 2, y, 1, length);
+			assertArrayEquals(expected, y);
+			for (int a = 0; a < length; a++)
+				expected[a + 1] += x[a + 2];
+			DoubleKernels.add(x, 2, y, 1, length);
+			assertArrayEquals(expected, y);
+			for (int a = 0; a < length; a++)
+				expected[a + 1] *= -3;
+			DoubleKernels.scale(-3, y, 1, length);
+			assertArrayEquals(expected, y);
+		}
+	}
+
+	@Test
+	void maxIndexReturnsFirstMaximum() {
+		double[] x = { 5, 1, 7, 7, 2, 7 };
+		assertEquals(2, DoubleKernels.maxIndex(x, 0, x.length));
+		assertEquals(0, DoubleKernels.maxIndex(x, 3, 3));
+		double[] large = new double[100];
+		large[97] = 1;
+		large[40] = 1;
+		assertEquals(40, DoubleKernels.maxIndex(large, 0, 100));
+		assertEquals(56, DoubleKernels.maxIndex(large, 41, 59));
+		assertThrows(IndexOutOfBoundsException.class, () -> DoubleKernels.maxIndex(x, 0, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> DoubleKernels.dot(x, 2, x, 0, 5));
+	}
+
+	@Test
+	void vectorOperationsUseKernels() {
+		DoubleVector vector = new DoubleVector(new double[] { 1, 2, 3 });
+		DoubleVector other = new DoubleVector(new double[] { 4, -5, 6 });
+		assertEquals(12, vector.scalarProduct(other));
+		vector.add(other, 2);
+		assertEquals(new DoubleVector(new double[] { 9, -8, 15 }), vector);
+		vector.scale(0.5);
+		assertEquals(new DoubleVector(new double[] { 4.5, -4, 7.5 }), vector);
+		assertEquals(2, vector.getMaxIndex());
+		vector.add(other);
+		assertEquals(new DoubleVector(new double[] { 8.5, -9, 13.5 }), vector);
+	}
+
+}
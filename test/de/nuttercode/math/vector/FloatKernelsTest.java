@@ -0,0 +1,156 @@
+package de.nuttercode.math.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FloatKernelsTest {
+
+	private static final int[] LENGTHS = { 1, 2, 15, 16, 17, 33, 100, 1031 };
+
+	private static float[] array(int length, Random random) {
+		float[] array = new float[length];
+		for (int a = 0; a < length; a++)
+			array[a] = (float) (random.nextGaussian() * Math.pow(10, random.nextInt(4)));
+		return array;
+	}
+
+	private static double[] toDouble(float[] array) {
+		double[] result = new double[array.length];
+		FloatKernels.toDouble(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	@Test
+	void backendsAreBitIdentical() {
+		assumeTrue(VectorApiFloatKernelBackend.isSupported(), "vector api not supported");
+		FloatKernelBackend scalar = new ScalarFloatKernelBackend();
+		FloatKernelBackend vectorized = new VectorApiFloatKernelBackend();
+		Random random = new Random(1);
+		float[] a, b;
+		for (int length : LENGTHS) {
+			for (int offset : new int[] { 0, 3 }) {
+				a = array(length + offset, random);
+				b = array(length + 5, random);
+				assertEquals(scalar.dot(a, offset, b, 5, length), vectorized.dot(a, offset, b, 5, length),
+						"length " + length);
+				assertEquals(scalar.dotDouble(a, offset, b, 5, length), vectorized.dotDouble(a, offset, b, 5, length),
+						"length " + length);
+				assertEquals(scalar.maxIndex(a, offset, length), vectorized.maxIndex(a, offset, length));
+			}
+		}
+	}
+
+	@Test
+	void doubleAccumulationEqualsDoubleDot() {
+		Random random = new Random(2);
+		float[] a, b;
+		for (int length : LENGTHS) {
+			a = array(length, random);
+			b = array(length, random);
+			double expected = DoubleKernels.dot(toDouble(a), 0, toDouble(b), 0, length);
+			assertEquals(expected, FloatKernels.dotDouble(a, 0, b, 0, length));
+			assertEquals((float) expected, FloatKernels.dot(a, 0, b, 0, length, Accumulation.DOUBLE));
+			assertEquals(expected, new FloatVector(a).scalarProduct(new FloatVector(b), Accumulation.DOUBLE));
+		}
+	}
+
+	@Test
+	void floatAccumulationIsAccurate() {
+		Random random = new Random(3);
+		float[] a, b;
+		for (int length : LENGTHS) {
+			a = array(length, random);
+			b = array(length, random);
+			BigDecimal exact = BigDecimal.ZERO;
+			double absSum = 0;
+			for (int i = 0; i < length; i++) {
+				exact = exact.add(new BigDecimal(a[i]).multiply(new BigDecimal(b[i])));
+				absSum += Math.abs((double) a[i] * b[i]);
+			}
+			assertEquals(exact.doubleValue(), FloatKernels.dot(a, 0, b, 0, length), length * Math.ulp((float) absSum),
+					"length " + length);
+			assertEquals(FloatKernels.dot(a, 0, b, 0, length),
+					FloatKernels.dot(a, 0, b, 0, length, Accumulation.FLOAT));
+		}
+	}
+
+	@Test
+	void activationsAreRoundedDoubleResults() {
+		Random random = new Random(4);
+		for (int length : new int[] { 1, 255, 256, 257, 1000 }) {
+			float[] values = new float[length + 2];
+			for (int a = 0; a < values.length; a++)
+				values[a] = 60 * random.nextFloat() - 30;
+			double[] sigmoid = toDouble(values);
+			double[] tanh = toDouble(values);
+			DoubleKernels.sigmoid(sigmoid, 1, length);
+			DoubleKernels.tanh(tanh, 1, length);
+			float[] expectedSigmoid = values.clone();
+			float[] expectedTanh = values.clone();
+			FloatKernels.toFloat(sigmoid, 1, expectedSigmoid, 1, length);
+			FloatKernels.toFloat(tanh, 1, expectedTanh, 1, length);
+			float[] actualSigmoid = values.clone();
+			float[] actualTanh = values.clone();
+			FloatKernels.sigmoid(actualSigmoid, 1, length);
+			FloatKernels.tanh(actualTanh, 1, length);
+			assertArrayEquals(expectedSigmoid, actualSigmoid);
+			assertArrayEquals(expectedTanh, actualTanh);
+		}
+		float[] relu = { -1, 0, 2, Float.NaN };
+		FloatKernels.relu(relu, 0, 4);
+		assertArrayEquals(new float[] { 0, 0, 2, Float.NaN }, relu);
+	}
+
+	@Test
+	void activationsDoNotAllocate() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		// shorter than a vector, so the double kernels do not allocate before they are compiled
+		float[] x = { -1, 0.5f, 2 };
+		long allocated = Long.MAX_VALUE;
+		long start;
+		for (int round = 0; round < 20; round++) {
+			start = bean.getCurrentThreadAllocatedBytes();
+			for (int run = 0; run < 1000; run++) {
+				FloatKernels.sigmoid(x, 0, x.length);
+				FloatKernels.tanh(x, 0, x.length);
+			}
+			allocated = Math.min(allocated, bean.getCurrentThreadAllocatedBytes() - start);
+		}
+		// a buffer per call would take 80 KB
+		assertTrue(allocated < 1 << 14, allocated + " bytes allocated");
+	}
+
+	@Test
+	void elementWiseKernelsAndVectors() {
+		Random random = new Random(5);
+		float[] x = array(37, random);
+		float[] y = array(37, random);
+		float[] expected = new float[37];
+		for (int a = 0; a < 37; a++)
+			expected[a] = Math.fma(0.5f, x[a], y[a]);
+		FloatVector vector = new FloatVector(y.clone());
+		vector.add(new FloatVector(x), 0.5f);
+		assertArrayEquals(expected, vector.getArray());
+		vector = new FloatVector(y.clone());
+		vector.scale(3);
+		for (int a = 0; a < 37; a++)
+			assertEquals(3 * y[a], vector.getValue(a));
+		x[20] = 1e6f;
+		x[30] = 1e6f;
+		assertEquals(20, new FloatVector(x).getMaxIndex());
+		DoubleVector converted = new FloatVector(x).toDoubleVector();
+		assertArrayEquals(x, new FloatVector(converted).getArray());
+		assertThrows(IndexOutOfBoundsException.class, () -> FloatKernels.maxIndex(x, 0, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> FloatKernels.dot(x, 1, y, 0, 37));
+	}
+
+}
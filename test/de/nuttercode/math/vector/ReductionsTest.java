@@ -0,0 +1,136 @@
+package de.nuttercode.math.vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import de.nuttercode.math.function.Functions;
+import de.nuttercode.math.parallel.Parallelism;
+
+class ReductionsTest {
+
+	@Test
+	void sumIsCorrectlyRoundedForCancellation() {
+		double[] values = new double[100_001];
+		for (int a = 0; a < values.length - 1; a += 2) {
+			values[a] = 1e16;
+			values[a + 1] = -1e16;
+		}
+		values[values.length - 1] = 1;
+		assertEquals(1, Reductions.sum(values, 0, values.length, Parallelism.SEQUENTIAL));
+		assertEquals(1, Reductions.sum(values, 0, values.length, new Parallelism()));
+	}
+
+	@Test
+	void resultDoesNotDependOnParallelism() {
+		Random random = new Random(1);
+		double[] a = new double[1_000_003];
+		double[] b = new double[a.length];
+		BigDecimal exact = BigDecimal.ZERO;
+		for (int i = 0; i < a.length; i++) {
+			a[i] = random.nextGaussian() * Math.pow(10, random.nextInt(12));
+			b[i] = random.nextGaussian();
+			exact = exact.add(new BigDecimal(a[i]).multiply(new BigDecimal(b[i])));
+		}
+		double dot = Reductions.dot(a, 0, b, 0, a.length, Parallelism.SEQUENTIAL);
+		assertEquals(dot, Reductions.dot(a, 0, b, 0, a.length, new Parallelism()));
+		assertEquals(exact.doubleValue(), dot, Math.ulp(exact.doubleValue()) * 2);
+		assertEquals(Reductions.sum(a, 0, a.length, Parallelism.SEQUENTIAL),
+				Reductions.sum(a, 0, a.length, new Parallelism()));
+		assertEquals(Reductions.norm2(a, 0, a.length, Parallelism.SEQUENTIAL),
+				Reductions.norm2(a, 0, a.length, new Parallelism()));
+	}
+
+	@Test
+	void normsAreScaledOnlyWhenNeeded() {
+		Parallelism parallelism = new Parallelism();
+		double[] large = new double[3 * Reductions.BLOCK_SIZE];
+		double[] small = new double[large.length];
+		for (int a = 0; a < large.length; a++) {
+			large[a] = (a % 2 == 0 ? 3 : -4) * 0x1p1000;
+			small[a] = (a % 2 == 0 ? 3 : -4) * 0x1p-1050;
+		}
+		// the squares of the values overflow or underflow, the norms do not
+		double expected = 5 * Math.sqrt(large.length / 2);
+		assertEquals(expected * 0x1p1000, Reductions.norm2(large, 0, large.length, parallelism),
+				Math.ulp(expected * 0x1p1000));
+		assertEquals(expected * 0x1p-1050, Reductions.norm2(small, 0, small.length, Parallelism.SEQUENTIAL),
+				Math.ulp(expected * 0x1p-1050));
+		assertEquals(4 * 0x1p1000, Reductions.normInfinity(large, 0, large.length, parallelism));
+		assertEquals(7 * (large.length / 2) * 0x1p-1050, Reductions.norm1(small, 0, small.length, parallelism));
+		DoubleVector vector = new DoubleVector(new double[] { 3, -4 });
+		assertEquals(5, vector.norm2());
+		assertEquals(7, vector.norm1());
+		assertEquals(4, vector.normInfinity());
+		assertEquals(-1, vector.sum());
+		assertEquals(0, Reductions.norm2(new double[4], 0, 4, parallelism));
+	}
+
+	@Test
+	void meanSquaredErrorIsAccurate() {
+		Random random = new Random(2);
+		double[] a = new double[10_007];
+		double[] b = new double[a.length];
+		BigDecimal exact = BigDecimal.ZERO;
+		BigDecimal difference;
+		for (int i = 0; i < a.length; i++) {
+			a[i] = random.nextGaussian();
+			b[i] = random.nextGaussian();
+			difference = new BigDecimal(a[i]).subtract(new BigDecimal(b[i]));
+			exact = exact.add(difference.multiply(difference));
+		}
+		double expected = exact.doubleValue() / a.length;
+		double error = Functions.MEAN_SQUARED_ERROR.apply(new DoubleVector(a), new DoubleVector(b));
+		assertEquals(expected, error, 4 * Math.ulp(expected));
+		assertEquals(error, Functions.meanSquaredError(new DoubleVector(a), new DoubleVector(b), new Parallelism()));
+	}
+
+	@Test
+	void roundedDifferencesAreCompensated() {
+		Random random = new Random(3);
+		// a - b is always rounded up to a by half an ulp, so every square of a rounded difference is one ulp too
+		// large - the length is a power of two, so the division is exact and only the sum is rounded
+		double[] a = new double[1 << 13];
+		double[] b = new double[a.length];
+		BigDecimal exact = BigDecimal.ZERO;
+		BigDecimal difference;
+		for (int i = 0; i < a.length; i++) {
+			a[i] = 1 + Math.ulp(1.0);
+			b[i] = Math.scalb(1 - Math.scalb(random.nextDouble(), -10), -53);
+			difference = new BigDecimal(a[i]).subtract(new BigDecimal(b[i]));
+			exact = exact.add(difference.multiply(difference));
+		}
+		double expected = exact.doubleValue() / a.length;
+		assertEquals(expected, Reductions.meanSquaredError(a, 0, b, 0, a.length, Parallelism.SEQUENTIAL));
+		assertEquals(expected, Reductions.meanSquaredError(a, 0, b, 0, a.length,
+				new Parallelism(ForkJoinPool.commonPool(), 8, 1)));
+	}
+
+	@Test
+	void nonFiniteSumsAreNotCompensated() {
+		Parallelism parallelism = new Parallelism();
+		double[] infinite = { Double.POSITIVE_INFINITY, 1 };
+		assertEquals(Double.POSITIVE_INFINITY, Reductions.sum(infinite, 0, 2, parallelism));
+		assertEquals(Double.POSITIVE_INFINITY, Reductions.norm1(infinite, 0, 2, parallelism));
+		assertEquals(Double.POSITIVE_INFINITY, new DoubleVector(infinite).sum());
+		double[] overflow = { Double.MAX_VALUE, Double.MAX_VALUE };
+		assertEquals(Double.POSITIVE_INFINITY, Reductions.sum(overflow, 0, 2, parallelism));
+		assertEquals(Double.NEGATIVE_INFINITY, new DoubleVector(new double[] { -Double.MAX_VALUE, -1e300 }).sum());
+		DoubleVector large = new DoubleVector(new double[] { 1e200, 1 });
+		assertEquals(Double.POSITIVE_INFINITY, large.scalarProduct(large, Parallelism.SEQUENTIAL));
+		assertEquals(Double.POSITIVE_INFINITY,
+				Functions.MEAN_SQUARED_ERROR.apply(large, new DoubleVector(new double[2])));
+		assertEquals(Double.NaN, Reductions.sum(new double[] { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY },
+				0, 2, parallelism));
+		double[] blocks = new double[3 * Reductions.BLOCK_SIZE];
+		blocks[5] = Double.MAX_VALUE;
+		blocks[Reductions.BLOCK_SIZE + 5] = Double.MAX_VALUE;
+		blocks[2 * Reductions.BLOCK_SIZE + 5] = -1;
+		assertEquals(Double.POSITIVE_INFINITY, Reductions.sum(blocks, 0, blocks.length, parallelism));
+	}
+
+}
@@ -0,0 +1,128 @@
+package de.nuttercode.math.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SparseDoubleVectorTest {
+
+	private static final int DIMENSION = 5000;
+
+	/**
+	 * @return dense vector with about count non-zero values
+	 */
+	private static DoubleVector dense(int count, Random random) {
+		DoubleVector vector = new DoubleVector(DIMENSION);
+		for (int a = 0; a < count; a++)
+			vector.setValue(2 * random.nextDouble() - 1, random.nextInt(DIMENSION));
+		return vector;
+	}
+
+	/**
+	 * @return sum of the products of the components in ascending order of the
+	 *         indices which are non-zero in a
+	 */
+	private static double reference(DoubleVector a, DoubleVector b) {
+		double sum = 0;
+		for (int i = 0; i < DIMENSION; i++)
+			if (a.getValue(i) != 0)
+				sum += a.getValue(i) * b.getValue(i);
+		return sum;
+	}
+
+	@Test
+	void valuesBehaveLikeDenseVector() {
+		Random random = new Random(1);
+		SparseDoubleVector vector = new SparseDoubleVector(100);
+		double[] expected = new double[100];
+		int index;
+		double value;
+		for (int n = 0; n < 2000; n++) {
+			index = random.nextInt(100);
+			value = random.nextInt(3) == 0 ? 0 : random.nextDouble();
+			vector.setValue(value, index);
+			expected[index] = value;
+			assertEquals(expected[index], vector.getValue(index));
+		}
+		assertArrayEquals(expected, vector.toDoubleVector().getArray());
+		int count = 0;
+		for (int a = 0; a < 100; a++)
+			if (expected[a] != 0)
+				count++;
+		assertEquals(count, vector.getValueCount());
+		for (int k = 1; k < vector.getValueCount(); k++)
+			assertTrue(vector.getIndexArray()[k - 1] < vector.getIndexArray()[k]);
+		SparseDoubleVector copy = new SparseDoubleVector(new DoubleVector(expected));
+		assertEquals(vector, copy);
+		assertEquals(vector.hashCode(), copy.hashCode());
+		assertEquals(vector, new SparseDoubleVector(copy));
+		copy.scale(2);
+		for (int a = 0; a < 100; a++)
+			assertEquals(2 * expected[a], copy.getValue(a));
+	}
+
+	@Test
+	void sparseDenseProducts() {
+		Random random = new Random(2);
+		for (int count : new int[] { 0, 1, 10, 1000 }) {
+			DoubleVector values = dense(count, random);
+			SparseDoubleVector vector = new SparseDoubleVector(values);
+			DoubleVector other = dense(DIMENSION, random);
+			assertEquals(reference(values, other), vector.scalarProduct(other));
+			assertEquals(reference(values, other), other.scalarProduct(vector));
+			DoubleVector sum = new DoubleVector(other);
+			sum.add(vector, -1.5);
+			for (int i = 0; i < DIMENSION; i++)
+				assertEquals(Math.fma(-1.5, values.getValue(i), other.getValue(i)), sum.getValue(i));
+		}
+	}
+
+	@Test
+	void mergedAndSearchedProductsAreIdentical() {
+		Random random = new Random(3);
+		// small counts are searched in the large vector, the others are merged
+		for (int count : new int[] { 0, 2, 10, 40, 200, 3000 }) {
+			DoubleVector small = dense(count, random);
+			DoubleVector large = dense(3000, random);
+			// every index of the small vector is also stored in the large vector
+			for (int i = 0; i < DIMENSION; i++)
+				if (small.getValue(i) != 0 && large.getValue(i) == 0)
+					large.setValue(random.nextDouble(), i);
+			SparseDoubleVector a = new SparseDoubleVector(small);
+			SparseDoubleVector b = new SparseDoubleVector(large);
+			double expected = reference(small, large);
+			assertEquals(expected, a.scalarProduct(b), "count " + count);
+			assertEquals(expected, b.scalarProduct(a), "count " + count);
+			assertEquals(expected, a.scalarProduct(b.getIndexArray(), b.getValueArray(), 0, b.getValueCount()));
+		}
+		SparseDoubleVector a = new SparseDoubleVector(10, new int[] { 1, 4, 7 }, new double[] { 1, 2, 3 });
+		SparseDoubleVector b = new SparseDoubleVector(10, new int[] { 0, 4, 7, 9 }, new double[] { 5, 6, 7, 8 });
+		assertEquals(2 * 6 + 3 * 7, a.scalarProduct(b));
+		int[] indices = { 8, 1, 4, 7, 9 };
+		double[] values = { 0, 10, 20, 30, 40 };
+		assertEquals(1 * 10 + 2 * 20 + 3 * 30, a.scalarProduct(indices, values, 1, 3));
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new SparseDoubleVector(10, new int[] { 3, 3 }, new double[] { 1, 2 }));
+		assertThrows(IllegalArgumentException.class, () -> new SparseDoubleVector(10, new int[] { 10 }, new double[1]));
+		assertThrows(IllegalArgumentException.class, () -> new SparseDoubleVector(10, new int[1], new double[2]));
+		SparseDoubleVector vector = new SparseDoubleVector(10);
+		assertThrows(IndexOutOfBoundsException.class, () -> vector.setValue(1, 10));
+		assertThrows(IllegalArgumentException.class, () -> vector.scalarProduct(new DoubleVector(9)));
+		assertThrows(IllegalArgumentException.class, () -> vector.scalarProduct(new SparseDoubleVector(11)));
+		int[] indices = { 1, 2 };
+		double[] values = { 1, 2 };
+		SparseDoubleVector copied = new SparseDoubleVector(10, indices, values);
+		indices[0] = 0;
+		assertEquals(1, copied.getValue(1));
+	}
+
+}